@@ -51,6 +51,7 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -306,15 +307,87 @@ public class Document implements Serializable {
         PDFALTOOutlineSaxHandler parserOutline = new PDFALTOOutlineSaxHandler(this);
         PDFMetadataSaxHandler parserMetadata = new PDFMetadataSaxHandler(this);
 
-        // get a SAX parser factory
-        SAXParserFactory spf = SAXParserFactory.newInstance();
-
         tokenizations = null;
 
         File file = new File(pathXML);
-		File fileAnnot = new File(pathXML+"_annot.xml");
-        File fileOutline = new File(pathXML+"_outline.xml");
-        File fileMetadata = new File(pathXML+"_metadata.xml");
+        if (documentSource != null && documentSource.isStreaming()) {
+            // tokenization while pdfalto is writing its outputs in named pipes
+            PdfAltoStreamParser.parse(documentSource.startStreamingConversion(), file, parser,
+                DocumentSource.getPdfToXmlSideFiles(file), Arrays.asList(parserAnnot, parserOutline, parserMetadata));
+            tokenizations = parser.getTokenization();
+            outlineRoot = parserOutline.getRootNode();
+            metadata = parserMetadata.getMetadata();
+        } else if (documentSource != null && documentSource.isChunked()) {
+            // the chunks of pages go through the same handler in page order, which numbers the pages
+            // and the token offsets continuously, while the next chunks are still being converted
+            for (int i = 0; i < documentSource.getNbChunks(); i++) {
+                File chunk = documentSource.getXmlChunk(i);
+                parsePdfAltoFiles(chunk, parser, parserAnnot, (i == 0) ? parserOutline : null, 
+                    (i == 0) ? parserMetadata : null);
+            }
+        } else {
+            parsePdfAltoFiles(file, parser, parserAnnot, parserOutline, parserMetadata);
+        }
+
+        if (getBlocks() == null) {
+            throw new GrobidException("PDF parsing resulted in empty content", GrobidExceptionStatus.NO_BLOCKS);
+        }
+
+        // calculating main area
+        calculatePageMainAreas();
+
+        // calculating boxes for pages
+        if (config.isProcessVectorGraphics()) {
+            try {
+                for (GraphicObject o : VectorGraphicBoxCalculator.calculate(this).values()) {
+                    images.add(o);
+                }
+            } catch (Exception e) {
+                throw new GrobidException("Cannot process vector graphics: " + file, e, GrobidExceptionStatus.PARSING_ERROR);
+            }
+        }
+
+        // cache images per page
+        for (GraphicObject go : images) {
+            // filtering out small figures that are likely to be logos and stuff
+            if (go.getType() == GraphicObjectType.BITMAP && !isValidBitmapGraphicObject(go)) {
+                continue;
+            }
+            imagesPerPage.put(go.getPage(), go);
+        }
+
+        HashSet<Integer> keys = new HashSet<>(imagesPerPage.keySet());
+        for (Integer pageNum : keys) {
+
+            Collection<GraphicObject> elements = imagesPerPage.get(pageNum);
+            if (elements.size() > 100) {
+                imagesPerPage.removeAll(pageNum);
+                Engine.getCntManager().i(FigureCounters.TOO_MANY_FIGURES_PER_PAGE);
+            } else {
+                ArrayList<GraphicObject> res = glueImagesIfNecessary(pageNum, Lists.newArrayList(elements));
+                if (res != null) {
+                    imagesPerPage.removeAll(pageNum);
+                    imagesPerPage.putAll(pageNum, res);
+                }
+            }
+        }
+
+        // we filter out possible line numbering for review works
+        // filterLineNumber();
+        return tokenizations;
+    }
+
+    /**
+     * Parsing of the pdfalto output files, the outline and metadata are not parsed if their handler is null.
+     */
+    private void parsePdfAltoFiles(File file, PDFALTOSaxHandler parser, PDFALTOAnnotationSaxHandler parserAnnot,
+                                   PDFALTOOutlineSaxHandler parserOutline, PDFMetadataSaxHandler parserMetadata) {
+        // get a SAX parser factory
+        SAXParserFactory spf = SAXParserFactory.newInstance();
+
+		File fileAnnot = new File(file + "_annot.xml");
+        File fileOutline = new File(file + "_outline.xml");
+        File fileMetadata = new File(file + "_metadata.xml");
         FileInputStream in = null;
         try {
             // parsing of the pdfalto file
@@ -355,7 +428,7 @@ public class Document implements Serializable {
             }
         }
 
-        if (fileOutline.exists()) {
+        if (parserOutline != null && fileOutline.exists()) {
             try {
                 // parsing of the outline XML file (for PDF bookmark)
                 in = new FileInputStream(fileOutline);
@@ -370,7 +443,7 @@ public class Document implements Serializable {
                 IOUtils.closeQuietly(in);
             }
         }
-        if (fileMetadata.exists()) {
+        if (parserMetadata != null && fileMetadata.exists()) {
             try {
                 // parsing of the outline XML file (for PDF bookmark)
                 in = new FileInputStream(fileMetadata);
@@ -385,53 +458,6 @@ public class Document implements Serializable {
                 IOUtils.closeQuietly(in);
             }
         }
-
-        if (getBlocks() == null) {
-            throw new GrobidException("PDF parsing resulted in empty content", GrobidExceptionStatus.NO_BLOCKS);
-        }
-
-        // calculating main area
-        calculatePageMainAreas();
-
-        // calculating boxes for pages
-        if (config.isProcessVectorGraphics()) {
-            try {
-                for (GraphicObject o : VectorGraphicBoxCalculator.calculate(this).values()) {
-                    images.add(o);
-                }
-            } catch (Exception e) {
-                throw new GrobidException("Cannot process vector graphics: " + file, e, GrobidExceptionStatus.PARSING_ERROR);
-            }
-        }
-
-        // cache images per page
-        for (GraphicObject go : images) {
-            // filtering out small figures that are likely to be logos and stuff
-            if (go.getType() == GraphicObjectType.BITMAP && !isValidBitmapGraphicObject(go)) {
-                continue;
-            }
-            imagesPerPage.put(go.getPage(), go);
-        }
-
-        HashSet<Integer> keys = new HashSet<>(imagesPerPage.keySet());
-        for (Integer pageNum : keys) {
-
-            Collection<GraphicObject> elements = imagesPerPage.get(pageNum);
-            if (elements.size() > 100) {
-                imagesPerPage.removeAll(pageNum);
-                Engine.getCntManager().i(FigureCounters.TOO_MANY_FIGURES_PER_PAGE);
-            } else {
-                ArrayList<GraphicObject> res = glueImagesIfNecessary(pageNum, Lists.newArrayList(elements));
-                if (res != null) {
-                    imagesPerPage.removeAll(pageNum);
-                    imagesPerPage.putAll(pageNum, res);
-                }
-            }
-        }
-
-        // we filter out possible line numbering for review works
-        // filterLineNumber();
-        return tokenizations;
     }
 
     private void calculatePageMainAreas() {
@@ -2,6 +2,8 @@ package org.grobid.core.document;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.SystemUtils;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.pdmodel.PDDocument;
 import org.grobid.core.exceptions.GrobidException;
 import org.grobid.core.exceptions.GrobidExceptionStatus;
 import org.grobid.core.exceptions.GrobidResourceException;
@@ -13,9 +15,14 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * Input document to be processed, which could come from a PDF or directly be an XML file. 
@@ -33,6 +40,33 @@ public class DocumentSource {
     private File xmlFile;
     boolean cleanupXml = false;
 
+    // streaming mode, the conversion is postponed until the document is tokenized
+    private boolean streaming = false;
+    private int startPage;
+    private int endPage;
+    private boolean withImages;
+    private boolean withAnnotations;
+    private boolean withOutline;
+
+    private static final ExecutorService streamingConversions = Executors.newCachedThreadPool(r -> {
+        Thread t = new Thread(r, "pdfalto-streaming");
+        t.setDaemon(true);
+        return t;
+    });
+
+    // page-parallel mode, the conversions of the chunks of pages and their outputs, in page order
+    private List<Future<File>> chunkConversions = null;
+    private List<File> chunkXmlFiles = null;
+    // below this size, a PDF is not worth counting its pages
+    private static final long CHUNKING_MIN_BYTES = 512 * 1024;
+
+    private static final ExecutorService chunkConverters = Executors.newFixedThreadPool(
+        Runtime.getRuntime().availableProcessors(), r -> {
+            Thread t = new Thread(r, "pdfalto-chunk");
+            t.setDaemon(true);
+            return t;
+        });
+
 
     private DocumentSource() {
     }
@@ -51,6 +85,28 @@ public class DocumentSource {
 
     public static DocumentSource fromPdf(File pdfFile, int startPage, int endPage, 
 										 boolean withImages, boolean withAnnotations, boolean withOutline) {
+        return fromPdf(pdfFile, startPage, endPage, withImages, withAnnotations, withOutline, false);
+    }
+
+    /**
+     * In streaming mode, the pdfalto outputs are named pipes instead of files: the conversion is only
+     * started by {@link #startStreamingConversion()} when the document is tokenized, and the ALTO XML
+     * is parsed while pdfalto writes it. The XML is then not available anymore as a file, so this mode
+     * is only for the callers which just tokenize the document. It is ignored on Windows. 
+     */
+    public static DocumentSource fromPdf(File pdfFile, int startPage, int endPage, 
+										 boolean withImages, boolean withAnnotations, boolean withOutline, 
+                                         boolean streaming) {
+        return fromPdf(pdfFile, startPage, endPage, withImages, withAnnotations, withOutline, streaming, false);
+    }
+
+    /**
+     * When the vector graphics of the pages are processed, their SVG files are looked up under the 
+     * directory of a single XML file, so the PDF is then never converted by chunks of pages.
+     */
+    public static DocumentSource fromPdf(File pdfFile, int startPage, int endPage, 
+										 boolean withImages, boolean withAnnotations, boolean withOutline, 
+                                         boolean streaming, boolean withVectorGraphics) {
         if (!pdfFile.exists() || pdfFile.isDirectory()) {
             throw new GrobidException("Input PDF file " + pdfFile + " does not exist or a directory", 
                 GrobidExceptionStatus.BAD_INPUT_DATA);
@@ -59,6 +115,31 @@ public class DocumentSource {
         DocumentSource source = new DocumentSource();
         source.cleanupXml = true;
 
+        if (streaming && !SystemUtils.IS_OS_WINDOWS) {
+            source.pdfFile = pdfFile;
+            source.streaming = true;
+            source.startPage = startPage;
+            source.endPage = endPage;
+            source.withImages = withImages;
+            source.withAnnotations = withAnnotations;
+            source.withOutline = withOutline;
+            source.xmlFile = new File(GrobidProperties.getTempPath(), KeyGen.getKey() + ".lxml");
+            try {
+                source.createPipes();
+            } catch (Exception e) {
+                source.close(withImages, withAnnotations, withOutline);
+                throw e;
+            }
+            return source;
+        }
+
+        List<int[]> chunks = getPageChunks(pdfFile, startPage, endPage, withImages || withVectorGraphics);
+        if (chunks != null) {
+            source.pdfFile = pdfFile;
+            source.convertChunks(chunks, withAnnotations, withOutline);
+            return source;
+        }
+
         try {
             source.xmlFile = source.pdf2xml(null, false, startPage, endPage, pdfFile, 
                 GrobidProperties.getTempPath(), withImages, withAnnotations, withOutline);
@@ -104,6 +185,141 @@ public class DocumentSource {
         return pdfToXml.toString();
     }
 
+    /**
+     * @return the files written by pdfalto besides the main ALTO XML file
+     */
+    public static List<File> getPdfToXmlSideFiles(File xmlFile) {
+        return Arrays.asList(new File(xmlFile + "_annot.xml"), new File(xmlFile + "_outline.xml"), 
+            new File(xmlFile + "_metadata.xml"));
+    }
+
+    private void createPipes() {
+        List<String> cmd = new ArrayList<>();
+        cmd.add("mkfifo");
+        cmd.add(xmlFile.getAbsolutePath());
+        for (File sideFile : getPdfToXmlSideFiles(xmlFile)) {
+            cmd.add(sideFile.getAbsolutePath());
+        }
+        Integer exit = null;
+        try {
+            exit = new ProcessBuilder(cmd).start().waitFor();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            throw new GrobidException("Cannot create the named pipes for pdfalto " + cmd, e, 
+                GrobidExceptionStatus.PDFTOXML_CONVERSION_FAILURE);
+        }
+        if (exit == null || exit != 0) {
+            throw new GrobidException("Cannot create the named pipes for pdfalto " + cmd, 
+                GrobidExceptionStatus.PDFTOXML_CONVERSION_FAILURE);
+        }
+    }
+
+    public boolean isStreaming() {
+        return streaming;
+    }
+
+    /**
+     * Starts the pdfalto conversion of a streaming source in the background. The outputs must be consumed 
+     * concurrently, pdfalto blocking until its named pipes are read.
+     *
+     * @return the completion of the conversion, failing with a GrobidException as the non-streaming conversion
+     */
+    public Future<File> startStreamingConversion() {
+        if (!streaming) {
+            throw new IllegalStateException("Document source is not in streaming mode");
+        }
+        return streamingConversions.submit(() -> pdf2xml(null, startPage, endPage, pdfFile, xmlFile, 
+            withImages, withAnnotations, withOutline));
+    }
+
+    /**
+     * Large PDFs are converted by chunks of grobid.3rdparty.pdf2xml.chunk.pages pages running in parallel, 
+     * at most grobid.3rdparty.pdf2xml.chunk.max chunks per PDF. This mode is not used with images or vector 
+     * graphics, the asset and SVG files being looked up under the directory of a single XML file.
+     *
+     * @param withAssets true if the images or the vector graphics of the PDF are processed
+     * @return the first and last page of each chunk, null if the PDF must be converted at once 
+     */
+    private static List<int[]> getPageChunks(File pdfFile, int startPage, int endPage, boolean withAssets) {
+        int chunkPages = GrobidProperties.getPdfToXMLChunkPages();
+        int maxChunks = GrobidProperties.getPdfToXMLChunkMax();
+        if (chunkPages <= 0 || maxChunks < 2 || withAssets || pdfFile.length() < CHUNKING_MIN_BYTES) {
+            return null;
+        }
+
+        int nbPages;
+        try (PDDocument document = PDDocument.load(pdfFile, MemoryUsageSetting.setupTempFileOnly())) {
+            nbPages = document.getNumberOfPages();
+        } catch (Exception e) {
+            // pdfalto will tell what is wrong with this PDF
+            LOGGER.debug("Cannot count the pages of " + pdfFile + ": " + e.getMessage());
+            return null;
+        }
+
+        int first = (startPage > 0) ? startPage : 1;
+        int last = (endPage > 0) ? Math.min(endPage, nbPages) : nbPages;
+        int nbPagesToConvert = last - first + 1;
+        if (nbPagesToConvert < 2 * chunkPages) {
+            return null;
+        }
+        // larger chunks for the longest documents, so that one document does not take all the converters
+        chunkPages = Math.max(chunkPages, (nbPagesToConvert + maxChunks - 1) / maxChunks);
+        List<int[]> chunks = new ArrayList<>();
+        for (int chunkStart = first; chunkStart <= last; chunkStart += chunkPages) {
+            chunks.add(new int[]{chunkStart, Math.min(chunkStart + chunkPages - 1, last)});
+        }
+        LOGGER.debug("Converting " + pdfFile + " in " + chunks.size() + " chunks of " + chunkPages + " pages");
+        return chunks;
+    }
+
+    private void convertChunks(List<int[]> chunks, boolean withAnnotations, boolean withOutline) {
+        chunkConversions = new ArrayList<>();
+        chunkXmlFiles = new ArrayList<>();
+        for (int i = 0; i < chunks.size(); i++) {
+            final int[] chunk = chunks.get(i);
+            final File chunkXml = new File(GrobidProperties.getTempPath(), KeyGen.getKey() + ".lxml");
+            // the outline covers the whole document, it is only needed once
+            final boolean chunkOutline = withOutline && (i == 0);
+            chunkXmlFiles.add(chunkXml);
+            chunkConversions.add(chunkConverters.submit(() -> pdf2xml(null, chunk[0], chunk[1], pdfFile, chunkXml, 
+                false, withAnnotations, chunkOutline)));
+        }
+        xmlFile = chunkXmlFiles.get(0);
+    }
+
+    /**
+     * @return true if the PDF is converted by chunks of pages, see {@link #getXmlChunk(int)}
+     */
+    public boolean isChunked() {
+        return chunkConversions != null;
+    }
+
+    public int getNbChunks() {
+        return (chunkConversions == null) ? 0 : chunkConversions.size();
+    }
+
+    /**
+     * Waits for the conversion of a chunk of pages, so that the chunks already converted can be
+     * parsed while the next ones are still running.
+     *
+     * @return the XML file of the chunk
+     */
+    public File getXmlChunk(int index) {
+        try {
+            return chunkConversions.get(index).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GrobidException("PDF to XML conversion interrupted", e, GrobidExceptionStatus.TIMEOUT);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof GrobidException) {
+                throw (GrobidException) e.getCause();
+            }
+            throw new GrobidException("PDF to XML conversion failed on pdf file " + pdfFile, e.getCause(), 
+                GrobidExceptionStatus.PDFTOXML_CONVERSION_FAILURE);
+        }
+    }
+
     /**
      * Create an XML representation from a pdf file. If tout is true (default),
      * a timeout is used. If force is true, the xml file is always regenerated,
@@ -114,6 +330,19 @@ public class DocumentSource {
     public File pdf2xml(Integer timeout, boolean force, int startPage,
                         int endPage, File pdfPath, File tmpPath, boolean withImages, 
 						boolean withAnnotations, boolean withOutline) {
+        // if the XML representation already exists, no need to redo the
+        // conversion,
+        // except if the force parameter is set to true
+        File tmpPathXML = new File(tmpPath, KeyGen.getKey() + ".lxml");
+        xmlFile = tmpPathXML;
+        if (tmpPathXML.exists() && !force) {
+            return tmpPathXML;
+        }
+        return pdf2xml(timeout, startPage, endPage, pdfPath, tmpPathXML, withImages, withAnnotations, withOutline);
+    }
+
+    private File pdf2xml(Integer timeout, int startPage, int endPage, File pdfPath, File tmpPathXML, 
+                         boolean withImages, boolean withAnnotations, boolean withOutline) {
         LOGGER.debug("start pdf to xml sub process");
         long time = System.currentTimeMillis();
         String pdftoxml0;
@@ -125,43 +354,34 @@ public class DocumentSource {
         if (endPage > 0)
             pdftoxml0 += " -l " + endPage + " ";
 
-        // if the XML representation already exists, no need to redo the
-        // conversion,
-        // except if the force parameter is set to true
-        File tmpPathXML = new File(tmpPath, KeyGen.getKey() + ".lxml");
-        xmlFile = tmpPathXML;
-        File f = tmpPathXML;
-
-        if ((!f.exists()) || force) {
-            List<String> cmd = new ArrayList<>();
-            String[] tokens = pdftoxml0.split(" ");
-            for (String token : tokens) {
-                if (token.trim().length() > 0) {
-                    cmd.add(token);
-                }
+        List<String> cmd = new ArrayList<>();
+        String[] tokens = pdftoxml0.split(" ");
+        for (String token : tokens) {
+            if (token.trim().length() > 0) {
+                cmd.add(token);
             }
-            cmd.add(pdfPath.getAbsolutePath());
-            cmd.add(tmpPathXML.getAbsolutePath());
-            if (GrobidProperties.isContextExecutionServer()) {
-                tmpPathXML = processPdfToXmlServerMode(pdfPath, tmpPathXML, cmd);
-            } else {
-                if (!SystemUtils.IS_OS_WINDOWS) {
-                    cmd = Arrays.asList("bash", "-c", "ulimit -Sv " +
-                            GrobidProperties.getPdfToXMLMemoryLimitMb() * 1024 + " && " + pdftoxml0 + " '" + pdfPath + "' " + tmpPathXML);
-                }
-                LOGGER.debug("Executing command: " + cmd);
-
-                tmpPathXML = processPdfToXmlThreadMode(timeout, pdfPath, tmpPathXML, cmd);
+        }
+        cmd.add(pdfPath.getAbsolutePath());
+        cmd.add(tmpPathXML.getAbsolutePath());
+        if (GrobidProperties.isContextExecutionServer()) {
+            tmpPathXML = processPdfToXmlServerMode(pdfPath, tmpPathXML, cmd);
+        } else {
+            if (!SystemUtils.IS_OS_WINDOWS) {
+                cmd = Arrays.asList("bash", "-c", "ulimit -Sv " +
+                        GrobidProperties.getPdfToXMLMemoryLimitMb() * 1024 + " && " + pdftoxml0 + " '" + pdfPath + "' " + tmpPathXML);
             }
+            LOGGER.debug("Executing command: " + cmd);
 
-            File dataFolder = new File(tmpPathXML.getAbsolutePath() + "_data");
-            File[] files = dataFolder.listFiles();
-            if (files != null && files.length > PDFTOXML_FILES_AMOUNT_LIMIT) {
-                //throw new GrobidException("The temp folder " + dataFolder + " contains " + files.length + " files and exceeds the limit", 
-                //    GrobidExceptionStatus.PARSING_ERROR);
-                LOGGER.warn("The temp folder " + dataFolder + " contains " + files.length + 
-                    " files and exceeds the limit, only the first " + PDFTOXML_FILES_AMOUNT_LIMIT + " asset files will be kept.");
-            }
+            tmpPathXML = processPdfToXmlThreadMode(timeout, pdfPath, tmpPathXML, cmd);
+        }
+
+        File dataFolder = new File(tmpPathXML.getAbsolutePath() + "_data");
+        File[] files = dataFolder.listFiles();
+        if (files != null && files.length > PDFTOXML_FILES_AMOUNT_LIMIT) {
+            //throw new GrobidException("The temp folder " + dataFolder + " contains " + files.length + " files and exceeds the limit", 
+            //    GrobidExceptionStatus.PARSING_ERROR);
+            LOGGER.warn("The temp folder " + dataFolder + " contains " + files.length + 
+                " files and exceeds the limit, only the first " + PDFTOXML_FILES_AMOUNT_LIMIT + " asset files will be kept.");
         }
         LOGGER.debug("pdf to xml sub process process finished. Time to process:" + (System.currentTimeMillis() - time) + "ms");
         return tmpPathXML;
@@ -194,16 +414,16 @@ public class DocumentSource {
                 // timeout
             }
             if (worker.getExitStatus() == null) {
-                tmpPathXML = null;
                 //killing all child processes harshly
                 worker.killProcess();
-                close(true, true, true);
+                cleanFailedConversion(tmpPathXML);
+                tmpPathXML = null;
                 throw new GrobidException("PDF to XML conversion timed out", GrobidExceptionStatus.TIMEOUT);
             }
 
             if (worker.getExitStatus() != 0) {
                 String errorStreamContents = worker.getErrorStreamContents();
-                close(true, true, true);
+                cleanFailedConversion(tmpPathXML);
                 throw new GrobidException("PDF to XML conversion failed on pdf file " + pdfPath + " " +
                         (StringUtils.isEmpty(errorStreamContents) ? "" : ("due to: " + errorStreamContents)),
                         GrobidExceptionStatus.PDFTOXML_CONVERSION_FAILURE);
@@ -246,6 +466,18 @@ public class DocumentSource {
         return tmpPathXML;
     }
 
+    // removes the partial outputs of a failed conversion, which can be one of the chunks of the document
+    private void cleanFailedConversion(File tmpPathXML) {
+        if (!cleanupXml) {
+            return;
+        }
+        try {
+            cleanXmlFile(tmpPathXML, true, true, true);
+        } catch (Exception e) {
+            LOGGER.error("Cannot cleanup resources (just printing exception):", e);
+        }
+    }
+
     private boolean cleanXmlFile(File pathToXml, boolean cleanImages, boolean cleanAnnotations, boolean cleanOutline) {
         boolean success = false;
 
@@ -354,8 +586,19 @@ public class DocumentSource {
 
     public void close(boolean cleanImages, boolean cleanAnnotations, boolean cleanOutline) {
         try {
-            if (cleanupXml) {
-                cleanXmlFile(xmlFile, cleanImages, cleanAnnotations, cleanOutline);
+            if (cleanupXml && chunkXmlFiles != null) {
+                for (int i = 0; i < chunkXmlFiles.size(); i++) {
+                    // a conversion still running would write its files after the cleanup
+                    try {
+                        chunkConversions.get(i).get();
+                    } catch (ExecutionException e) {
+                        // already reported when parsing
+                    }
+                    cleanXmlFile(chunkXmlFiles.get(i), true, true, true);
+                }
+            } else if (cleanupXml) {
+                // the named pipes are always created in streaming mode
+                cleanXmlFile(xmlFile, cleanImages, cleanAnnotations || streaming, cleanOutline || streaming);
             }
         } catch (Exception e) {
             LOGGER.error("Cannot cleanup resources (just printing exception):", e);
@@ -376,6 +619,10 @@ public class DocumentSource {
         this.pdfFile = pdfFile;
     }
 
+    /**
+     * @return the XML file of the PDF, only the one of the first chunk when the PDF is converted by chunks
+     * of pages, see {@link #getXmlChunk(int)}
+     */
     public File getXmlFile() {
         return xmlFile;
     }
@@ -0,0 +1,155 @@
+package org.grobid.core.document;
+
+import org.apache.commons.io.IOUtils;
+import org.grobid.core.exceptions.GrobidException;
+import org.grobid.core.exceptions.GrobidExceptionStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.parsers.SAXParserFactory;
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Parsing of the pdfalto outputs of a streaming {@link DocumentSource} while the conversion is running.
+ * Each named pipe is consumed by its own SAX handler in a separate thread, so that pdfalto never blocks
+ * on a full pipe. The outputs not written by pdfalto (e.g. no outline in the PDF) are closed once the
+ * conversion is over.
+ */
+class PdfAltoStreamParser {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PdfAltoStreamParser.class);
+
+    private static final ExecutorService readers = Executors.newCachedThreadPool(r -> {
+        Thread t = new Thread(r, "pdfalto-stream-reader");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private static final ThreadLocal<SAXParserFactory> saxParserFactory =
+        ThreadLocal.withInitial(SAXParserFactory::newInstance);
+
+    private static class PipeReader {
+        private final File pipe;
+        private final DefaultHandler handler;
+        // true once the pipe has been opened for reading, guarded by this
+        private boolean opened = false;
+        private Future<?> parsing;
+
+        PipeReader(File pipe, DefaultHandler handler) {
+            this.pipe = pipe;
+            this.handler = handler;
+        }
+
+        void start() {
+            parsing = readers.submit(() -> {
+                // blocks until a writer opens the pipe
+                InputStream in = new BufferedInputStream(new FileInputStream(pipe));
+                synchronized (this) {
+                    opened = true;
+                }
+                try {
+                    in.mark(1);
+                    if (in.read() == -1) {
+                        // nothing written for this output
+                        return null;
+                    }
+                    in.reset();
+                    saxParserFactory.get().newSAXParser().parse(in, handler);
+                } finally {
+                    IOUtils.closeQuietly(in);
+                }
+                return null;
+            });
+        }
+
+        /**
+         * Unblocks the reader if the pipe has never been opened by pdfalto, which gives an empty output.
+         * Holding the lock guarantees that a reader which has already opened the pipe is still reading it,
+         * so that opening the pipe for writing here never blocks.
+         */
+        synchronized void release() throws IOException {
+            if (!opened) {
+                new FileOutputStream(pipe).close();
+            }
+        }
+    }
+
+    /**
+     * @param conversion the running pdfalto conversion writing in the pipes
+     * @param main the pipe of the main ALTO XML output and its handler
+     * @param sidePipes the pipes of the additional outputs (annotations, outline, metadata)
+     * @param sideHandlers their handlers, in the same order
+     */
+    static void parse(Future<File> conversion, File main, DefaultHandler mainHandler,
+                      List<File> sidePipes, List<? extends DefaultHandler> sideHandlers) {
+        PipeReader mainReader = new PipeReader(main, mainHandler);
+        List<PipeReader> sideReaders = new ArrayList<>();
+        for (int i = 0; i < sidePipes.size(); i++) {
+            sideReaders.add(new PipeReader(sidePipes.get(i), sideHandlers.get(i)));
+        }
+        List<PipeReader> all = new ArrayList<>(sideReaders);
+        all.add(0, mainReader);
+        for (PipeReader reader : all) {
+            reader.start();
+        }
+
+        GrobidException conversionError = null;
+        try {
+            conversion.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            conversionError = new GrobidException("PDF to XML conversion interrupted", e, GrobidExceptionStatus.TIMEOUT);
+        } catch (ExecutionException e) {
+            conversionError = (e.getCause() instanceof GrobidException) ? (GrobidException) e.getCause() :
+                new GrobidException("PDF to XML conversion failed", e.getCause(), GrobidExceptionStatus.PDFTOXML_CONVERSION_FAILURE);
+        }
+
+        for (PipeReader reader : all) {
+            try {
+                reader.release();
+            } catch (IOException e) {
+                LOGGER.warn("Cannot release the pdfalto output " + reader.pipe, e);
+            }
+        }
+
+        Exception mainError = waitFor(mainReader);
+        for (PipeReader reader : sideReaders) {
+            Exception error = waitFor(reader);
+            if (error != null && conversionError == null) {
+                LOGGER.error("Cannot parse pdfalto output: " + reader.pipe, error);
+            }
+        }
+
+        // an error raised by the handler itself (e.g. too many tokens) makes pdfalto fail on a closed pipe
+        if (mainError instanceof GrobidException) {
+            throw (GrobidException) mainError;
+        } else if (conversionError != null) {
+            throw conversionError;
+        } else if (mainError != null) {
+            throw new GrobidException("Cannot parse pdfalto output: " + main, mainError, GrobidExceptionStatus.PARSING_ERROR);
+        }
+    }
+
+    private static Exception waitFor(PipeReader reader) {
+        try {
+            reader.parsing.get();
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return e;
+        } catch (ExecutionException e) {
+            return (e.getCause() instanceof Exception) ? (Exception) e.getCause() : e;
+        }
+    }
+}
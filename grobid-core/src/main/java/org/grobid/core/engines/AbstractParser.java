@@ -3,6 +3,7 @@ package org.grobid.core.engines;
 import org.grobid.core.GrobidModel;
 import org.grobid.core.analyzers.GrobidAnalyzer;
 import org.grobid.core.engines.tagging.*;
+import org.grobid.core.features.FeatureMatrix;
 import org.grobid.core.utilities.counters.CntManager;
 import org.grobid.core.utilities.counters.impl.CntManagerFactory;
 import org.slf4j.Logger;
@@ -10,6 +11,7 @@ import org.slf4j.LoggerFactory;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.util.List;
 
 public abstract class AbstractParser implements GenericTagger, Closeable {
     private static final Logger LOGGER = LoggerFactory.getLogger(AbstractParser.class);
@@ -42,6 +44,16 @@ public abstract class AbstractParser implements GenericTagger, Closeable {
         return genericTagger.label(data);
     }
 
+    @Override
+    public String label(FeatureMatrix data) {
+        return genericTagger.label(data);
+    }
+
+    @Override
+    public List<String> labelBatch(List<String> data) {
+        return genericTagger.labelBatch(data);
+    }
+
     @Override
     public void close() throws IOException {
         try {
@@ -32,24 +32,8 @@ public class AffiliationAddressParser extends AbstractParser {
                 return null;
             }
 
-            input = UnicodeUtil.normaliseText(input);
-            input = input.trim();
-
-            input = TextUtilities.dehyphenize(input);
-            //StringTokenizer st = new StringTokenizer(input, " \n\t" + TextUtilities.fullPunctuations, true);
-            //List<String> tokenizations = new ArrayList<String>();
-			// TBD: pass the language object to the tokenizer 
-			List<LayoutToken> tokenizations = analyzer.tokenizeWithLayoutToken(input);
-            //while (st.hasMoreTokens()) {
-            //    String tok = st.nextToken();
-			//int p = 0;
-
-            List<String> affiliationBlocks = getAffiliationBlocks(tokenizations);
-            List<List<OffsetPosition>> placesPositions = new ArrayList<List<OffsetPosition>>();
-            placesPositions.add(lexicon.tokenPositionsCityNames(tokenizations));
-            List<List<LayoutToken>> allTokens = new ArrayList<List<LayoutToken>>();
-            allTokens.add(tokenizations);
-            String header = FeaturesVectorAffiliationAddress.addFeaturesAffiliationAddress(affiliationBlocks, allTokens, placesPositions);
+            List<LayoutToken> tokenizations = tokenize(input);
+            String header = getFeatureVector(tokenizations);
 
             String res = label(header);
             return resultBuilder(res, tokenizations, false); // don't use pre-labels
@@ -58,6 +42,62 @@ public class AffiliationAddressParser extends AbstractParser {
         }
     }
 
+    /**
+     * Processing of a list of raw affiliation+address strings, all the sequences being
+     * labelled with a single call to the tagger.
+     *
+     * @param inputs list of raw affiliation+address blocks
+     * @return the structured affiliations of each input, at the same index as the input
+     */
+    public List<List<Affiliation>> processingMultiple(List<String> inputs) {
+        List<List<Affiliation>> results = new ArrayList<List<Affiliation>>();
+        try {
+            List<List<LayoutToken>> allTokenizations = new ArrayList<List<LayoutToken>>();
+            List<String> headers = new ArrayList<String>();
+            for (String input : inputs) {
+                if ((input == null) || (input.length() == 0)) {
+                    allTokenizations.add(null);
+                    headers.add("");
+                    continue;
+                }
+                List<LayoutToken> tokenizations = tokenize(input);
+                allTokenizations.add(tokenizations);
+                headers.add(getFeatureVector(tokenizations));
+            }
+
+            List<String> res = labelBatch(headers);
+            for (int i = 0; i < inputs.size(); i++) {
+                if (allTokenizations.get(i) == null)
+                    results.add(null);
+                else
+                    results.add(resultBuilder(res.get(i), allTokenizations.get(i), false)); // don't use pre-labels
+            }
+        } catch (Exception e) {
+            throw new GrobidException("An exception occurred while running Grobid.", e);
+        }
+        return results;
+    }
+
+    private List<LayoutToken> tokenize(String input) {
+        input = UnicodeUtil.normaliseText(input);
+        input = input.trim();
+
+        input = TextUtilities.dehyphenize(input);
+        //StringTokenizer st = new StringTokenizer(input, " \n\t" + TextUtilities.fullPunctuations, true);
+        //List<String> tokenizations = new ArrayList<String>();
+        // TBD: pass the language object to the tokenizer 
+        return analyzer.tokenizeWithLayoutToken(input);
+    }
+
+    private String getFeatureVector(List<LayoutToken> tokenizations) throws Exception {
+        List<String> affiliationBlocks = getAffiliationBlocks(tokenizations);
+        List<List<OffsetPosition>> placesPositions = new ArrayList<List<OffsetPosition>>();
+        placesPositions.add(lexicon.tokenPositionsCityNames(tokenizations));
+        List<List<LayoutToken>> allTokens = new ArrayList<List<LayoutToken>>();
+        allTokens.add(tokenizations);
+        return FeaturesVectorAffiliationAddress.addFeaturesAffiliationAddress(affiliationBlocks, allTokens, placesPositions);
+    }
+
     protected static List<String> getAffiliationBlocks(List<LayoutToken> tokenizations) {
         ArrayList<String> affiliationBlocks = new ArrayList<String>();
         for(LayoutToken tok : tokenizations) {
@@ -97,178 +97,238 @@ public class AuthorParser {
         if (CollectionUtils.isEmpty(tokens)) {
             return null;
         }
-        List<Person> fullAuthors = null;
         try {
-            List<OffsetPosition> titlePositions = Lexicon.getInstance().tokenPositionsPersonTitle(tokens);
-            List<OffsetPosition> suffixPositions = Lexicon.getInstance().tokenPositionsPersonSuffix(tokens);
-
-            String sequence = FeaturesVectorName.addFeaturesName(tokens, null, 
-                titlePositions, suffixPositions);
+            String sequence = getFeatureVector(tokens);
             if (StringUtils.isEmpty(sequence))
                 return null;
             GenericTagger tagger = head ? namesHeaderParser : namesCitationParser;
             String res = tagger.label(sequence);
 //System.out.println(res);
-            TaggingTokenClusteror clusteror = new TaggingTokenClusteror(head ? GrobidModels.NAMES_HEADER : GrobidModels.NAMES_CITATION, res, tokens);
-            org.grobid.core.data.Person aut = new Person();
-            boolean newMarker = false;
-            String currentMarker = null;
-            List<TaggingTokenCluster> clusters = clusteror.cluster();
-            for (TaggingTokenCluster cluster : clusters) {
-                if (cluster == null) {
-                    continue;
-                }
+            return resultExtraction(res, tokens, pdfAnnotations, head);
+        } catch (Exception e) {
+            throw new GrobidException("An exception occurred while running Grobid.", e);
+        }
+    }
+
+    /**
+     * Processing of several sequences of author names in citations, all the sequences
+     * being labelled with a single call to the tagger.
+     *
+     * @param inputs list of raw author sequences, one per citation
+     * @return List of identified Person entites for each input, at the same index as the input
+     */
+    public List<List<Person>> processingCitationMultiple(List<String> inputs) throws Exception {
+        if (inputs == null) {
+            return null;
+        }
+        List<List<LayoutToken>> tokensList = new ArrayList<>();
+        for (String input : inputs) {
+            if (StringUtils.isEmpty(input)) {
+                tokensList.add(null);
+                continue;
+            }
+            input = input.trim().replaceAll("et\\.? al\\.?.*$", " ");
+            // for language to English for the analyser to avoid any bad surprises
+            tokensList.add(GrobidAnalyzer.getInstance().tokenizeWithLayoutToken(input, new Language("en", 1.0)));
+        }
+        return processingMultiple(tokensList, false);
+    }
+
+    /**
+     * Common batch processing of authors in header or citation
+     *
+     * @param tokensList list of sequences of LayoutToken object to process
+     * @param head - if true use the model for header's name, otherwise the model for names in citation
+     * @return List of identified Person entites for each sequence, at the same index as the sequence
+     */
+    public List<List<Person>> processingMultiple(List<List<LayoutToken>> tokensList, boolean head) {
+        List<List<Person>> results = new ArrayList<>();
+        try {
+            List<String> sequences = new ArrayList<>();
+            for (List<LayoutToken> tokens : tokensList) {
+                String sequence = CollectionUtils.isEmpty(tokens) ? null : getFeatureVector(tokens);
+                sequences.add(sequence == null ? "" : sequence);
+            }
+            GenericTagger tagger = head ? namesHeaderParser : namesCitationParser;
+            List<String> labelled = tagger.labelBatch(sequences);
+            for (int i = 0; i < tokensList.size(); i++) {
+                if (StringUtils.isEmpty(sequences.get(i)))
+                    results.add(null);
+                else
+                    results.add(resultExtraction(labelled.get(i), tokensList.get(i), null, head));
+            }
+        } catch (Exception e) {
+            throw new GrobidException("An exception occurred while running Grobid.", e);
+        }
+        return results;
+    }
 
-                if(pdfAnnotations != null) {
-                    for (LayoutToken authorsToken : cluster.concatTokens()) {
-                        for (PDFAnnotation pdfAnnotation : pdfAnnotations) {
-                            BoundingBox intersectBox = pdfAnnotation.getIntersectionBox(authorsToken);
-                            if (intersectBox != null) {
-                                BoundingBox authorsBox = BoundingBox.fromLayoutToken(authorsToken);
-                                if (intersectBox.equals(authorsBox)) {
-                                } else {
-                                    double pixPerChar = authorsToken.getWidth() / authorsToken.getText().length();
-                                    int charsCovered = (int) ((intersectBox.getWidth() / pixPerChar) + 0.5);
-                                    if (pdfAnnotation.getDestination() != null && pdfAnnotation.getDestination().length() > 0) {
-                                        Matcher orcidMatcher = TextUtilities.ORCIDPattern.matcher(pdfAnnotation.getDestination());
-                                        if (orcidMatcher.find()) {
-                                            // !! here we consider the annot is at the tail or end of the names
-                                            String newToken = authorsToken.getText().substring(0, authorsToken.getText().length() - charsCovered);        
-                                            aut.setORCID(orcidMatcher.group(1) + "-"
-                                                + orcidMatcher.group(2) + "-" + orcidMatcher.group(3)+ "-" + orcidMatcher.group(4));
-                                            authorsToken.setText(newToken);
-                                        }
+    private String getFeatureVector(List<LayoutToken> tokens) throws Exception {
+        List<OffsetPosition> titlePositions = Lexicon.getInstance().tokenPositionsPersonTitle(tokens);
+        List<OffsetPosition> suffixPositions = Lexicon.getInstance().tokenPositionsPersonSuffix(tokens);
+
+        return FeaturesVectorName.addFeaturesName(tokens, null, 
+            titlePositions, suffixPositions);
+    }
+
+    private List<Person> resultExtraction(String res, List<LayoutToken> tokens, List<PDFAnnotation> pdfAnnotations, boolean head) {
+        List<Person> fullAuthors = null;
+        TaggingTokenClusteror clusteror = new TaggingTokenClusteror(head ? GrobidModels.NAMES_HEADER : GrobidModels.NAMES_CITATION, res, tokens);
+        org.grobid.core.data.Person aut = new Person();
+        boolean newMarker = false;
+        String currentMarker = null;
+        List<TaggingTokenCluster> clusters = clusteror.cluster();
+        for (TaggingTokenCluster cluster : clusters) {
+            if (cluster == null) {
+                continue;
+            }
+
+            if(pdfAnnotations != null) {
+                for (LayoutToken authorsToken : cluster.concatTokens()) {
+                    for (PDFAnnotation pdfAnnotation : pdfAnnotations) {
+                        BoundingBox intersectBox = pdfAnnotation.getIntersectionBox(authorsToken);
+                        if (intersectBox != null) {
+                            BoundingBox authorsBox = BoundingBox.fromLayoutToken(authorsToken);
+                            if (intersectBox.equals(authorsBox)) {
+                            } else {
+                                double pixPerChar = authorsToken.getWidth() / authorsToken.getText().length();
+                                int charsCovered = (int) ((intersectBox.getWidth() / pixPerChar) + 0.5);
+                                if (pdfAnnotation.getDestination() != null && pdfAnnotation.getDestination().length() > 0) {
+                                    Matcher orcidMatcher = TextUtilities.ORCIDPattern.matcher(pdfAnnotation.getDestination());
+                                    if (orcidMatcher.find()) {
+                                        // !! here we consider the annot is at the tail or end of the names
+                                        String newToken = authorsToken.getText().substring(0, authorsToken.getText().length() - charsCovered);        
+                                        aut.setORCID(orcidMatcher.group(1) + "-"
+                                            + orcidMatcher.group(2) + "-" + orcidMatcher.group(3)+ "-" + orcidMatcher.group(4));
+                                        authorsToken.setText(newToken);
                                     }
                                 }
                             }
                         }
                     }
-                } 
+                }
+            } 
 
-                TaggingLabel clusterLabel = cluster.getTaggingLabel();
-                Engine.getCntManager().i(clusterLabel);
-                //String clusterContent = LayoutTokensUtil.normalizeText(LayoutTokensUtil.toText(cluster.concatTokens()));
-                String clusterContent = StringUtils.normalizeSpace(LayoutTokensUtil.toText(cluster.concatTokens()));
-                if (clusterContent.trim().length() == 0)
-                    continue;
-                if (clusterLabel.equals(TaggingLabels.NAMES_HEADER_MARKER)) {
-                    // a marker introduces a new author, and the marker could be attached to the previous (usual) 
-                    // or following author (rare)
-                    currentMarker = clusterContent;
-                    newMarker = true;
-                    boolean markerAssigned = false;
-                    if (aut.notNull()) {
-                        if (fullAuthors == null) {
-                            fullAuthors = new ArrayList<Person>();
-                        } 
-                        aut.addMarker(currentMarker);
-                        markerAssigned = true;
-                        
-                        if (!fullAuthors.contains(aut)) {
-                            fullAuthors.add(aut);
-                            aut = new Person();
-                        }
+            TaggingLabel clusterLabel = cluster.getTaggingLabel();
+            Engine.getCntManager().i(clusterLabel);
+            //String clusterContent = LayoutTokensUtil.normalizeText(LayoutTokensUtil.toText(cluster.concatTokens()));
+            String clusterContent = StringUtils.normalizeSpace(LayoutTokensUtil.toText(cluster.concatTokens()));
+            if (clusterContent.trim().length() == 0)
+                continue;
+            if (clusterLabel.equals(TaggingLabels.NAMES_HEADER_MARKER)) {
+                // a marker introduces a new author, and the marker could be attached to the previous (usual) 
+                // or following author (rare)
+                currentMarker = clusterContent;
+                newMarker = true;
+                boolean markerAssigned = false;
+                if (aut.notNull()) {
+                    if (fullAuthors == null) {
+                        fullAuthors = new ArrayList<Person>();
                     } 
-                    if (!markerAssigned) {
-                        aut.addMarker(currentMarker);
-                    }
-                } else if (clusterLabel.equals(TaggingLabels.NAMES_HEADER_TITLE) || 
-                            clusterLabel.equals(TaggingLabels.NAMES_CITATION_TITLE)) {
-                    if (newMarker) {
-                        aut.setTitle(clusterContent);
-                        newMarker = false;
-                    } else if (aut.getTitle() != null) {
-                        if (aut.notNull()) {
-                            if (fullAuthors == null)
-                                fullAuthors = new ArrayList<Person>();
-                            fullAuthors.add(aut);
-                        }
+                    aut.addMarker(currentMarker);
+                    markerAssigned = true;
+                    
+                    if (!fullAuthors.contains(aut)) {
+                        fullAuthors.add(aut);
                         aut = new Person();
-                        aut.setTitle(clusterContent);
-                    } else {
-                        aut.setTitle(clusterContent);
                     }
-                    aut.addLayoutTokens(cluster.concatTokens());
-                } else if (clusterLabel.equals(TaggingLabels.NAMES_HEADER_FORENAME) || 
-                            clusterLabel.equals(TaggingLabels.NAMES_CITATION_FORENAME)) {
-                    if (newMarker) {
-                        aut.setFirstName(clusterContent);
-                        newMarker = false;
-                    } else if (aut.getFirstName() != null) {
-                        // new author
-                        if (aut.notNull()) {
-                            if (fullAuthors == null)
-                                fullAuthors = new ArrayList<Person>();
-                            fullAuthors.add(aut);
-                        }
-                        aut = new Person();
-                        aut.setFirstName(clusterContent);
-                    } else {
-                        aut.setFirstName(clusterContent);
-                    }
-                    aut.addLayoutTokens(cluster.concatTokens());
-                } else if (clusterLabel.equals(TaggingLabels.NAMES_HEADER_MIDDLENAME) || 
-                            clusterLabel.equals(TaggingLabels.NAMES_CITATION_MIDDLENAME)) {
-                    if (newMarker) {
-                        aut.setMiddleName(clusterContent);
-                        newMarker = false;
-                    } else if (aut.getMiddleName() != null) {
-                        aut.setMiddleName(aut.getMiddleName() + " " + clusterContent);
-                    } else {
-                        aut.setMiddleName(clusterContent);
+                } 
+                if (!markerAssigned) {
+                    aut.addMarker(currentMarker);
+                }
+            } else if (clusterLabel.equals(TaggingLabels.NAMES_HEADER_TITLE) || 
+                        clusterLabel.equals(TaggingLabels.NAMES_CITATION_TITLE)) {
+                if (newMarker) {
+                    aut.setTitle(clusterContent);
+                    newMarker = false;
+                } else if (aut.getTitle() != null) {
+                    if (aut.notNull()) {
+                        if (fullAuthors == null)
+                            fullAuthors = new ArrayList<Person>();
+                        fullAuthors.add(aut);
                     }
-                    aut.addLayoutTokens(cluster.concatTokens());
-                } else if (clusterLabel.equals(TaggingLabels.NAMES_HEADER_SURNAME) || 
-                            clusterLabel.equals(TaggingLabels.NAMES_CITATION_SURNAME)) {
-                    if (newMarker) {
-                        aut.setLastName(clusterContent);
-                        newMarker = false;
-                    } else if (aut.getLastName() != null) {
-                        // new author
-                        if (aut.notNull()) {
-                            if (fullAuthors == null)
-                                fullAuthors = new ArrayList<Person>();
-                            fullAuthors.add(aut);
-                        }
-                        aut = new Person();
-                        aut.setLastName(clusterContent);
-                    } else {
-                        aut.setLastName(clusterContent);
+                    aut = new Person();
+                    aut.setTitle(clusterContent);
+                } else {
+                    aut.setTitle(clusterContent);
+                }
+                aut.addLayoutTokens(cluster.concatTokens());
+            } else if (clusterLabel.equals(TaggingLabels.NAMES_HEADER_FORENAME) || 
+                        clusterLabel.equals(TaggingLabels.NAMES_CITATION_FORENAME)) {
+                if (newMarker) {
+                    aut.setFirstName(clusterContent);
+                    newMarker = false;
+                } else if (aut.getFirstName() != null) {
+                    // new author
+                    if (aut.notNull()) {
+                        if (fullAuthors == null)
+                            fullAuthors = new ArrayList<Person>();
+                        fullAuthors.add(aut);
                     }
-                    aut.addLayoutTokens(cluster.concatTokens());
-                } else if (clusterLabel.equals(TaggingLabels.NAMES_HEADER_SUFFIX) || 
-                            clusterLabel.equals(TaggingLabels.NAMES_CITATION_SUFFIX)) {
-                    /*if (newMarker) {
-                        aut.setSuffix(clusterContent);
-                        newMarker = false;
-                    } else*/ 
-                    if (aut.getSuffix() != null) {
-                        aut.setSuffix(aut.getSuffix() + " " + clusterContent);
-                    } else {
-                        aut.setSuffix(clusterContent);
+                    aut = new Person();
+                    aut.setFirstName(clusterContent);
+                } else {
+                    aut.setFirstName(clusterContent);
+                }
+                aut.addLayoutTokens(cluster.concatTokens());
+            } else if (clusterLabel.equals(TaggingLabels.NAMES_HEADER_MIDDLENAME) || 
+                        clusterLabel.equals(TaggingLabels.NAMES_CITATION_MIDDLENAME)) {
+                if (newMarker) {
+                    aut.setMiddleName(clusterContent);
+                    newMarker = false;
+                } else if (aut.getMiddleName() != null) {
+                    aut.setMiddleName(aut.getMiddleName() + " " + clusterContent);
+                } else {
+                    aut.setMiddleName(clusterContent);
+                }
+                aut.addLayoutTokens(cluster.concatTokens());
+            } else if (clusterLabel.equals(TaggingLabels.NAMES_HEADER_SURNAME) || 
+                        clusterLabel.equals(TaggingLabels.NAMES_CITATION_SURNAME)) {
+                if (newMarker) {
+                    aut.setLastName(clusterContent);
+                    newMarker = false;
+                } else if (aut.getLastName() != null) {
+                    // new author
+                    if (aut.notNull()) {
+                        if (fullAuthors == null)
+                            fullAuthors = new ArrayList<Person>();
+                        fullAuthors.add(aut);
                     }
-                    aut.addLayoutTokens(cluster.concatTokens());
+                    aut = new Person();
+                    aut.setLastName(clusterContent);
+                } else {
+                    aut.setLastName(clusterContent);
                 }
-            }
-
-            // add last built author
-            if (aut.notNull()) {
-                if (fullAuthors == null) {
-                    fullAuthors = new ArrayList<Person>();
+                aut.addLayoutTokens(cluster.concatTokens());
+            } else if (clusterLabel.equals(TaggingLabels.NAMES_HEADER_SUFFIX) || 
+                        clusterLabel.equals(TaggingLabels.NAMES_CITATION_SUFFIX)) {
+                /*if (newMarker) {
+                    aut.setSuffix(clusterContent);
+                    newMarker = false;
+                } else*/ 
+                if (aut.getSuffix() != null) {
+                    aut.setSuffix(aut.getSuffix() + " " + clusterContent);
+                } else {
+                    aut.setSuffix(clusterContent);
                 }
-                fullAuthors.add(aut);
+                aut.addLayoutTokens(cluster.concatTokens());
             }
+        }
 
-            // some more person name normalisation
-            if (fullAuthors != null) {
-                for(Person author : fullAuthors) {
-                    author.normalizeName();
-                }
-            } 
-
-        } catch (Exception e) {
-            throw new GrobidException("An exception occurred while running Grobid.", e);
+        // add last built author
+        if (aut.notNull()) {
+            if (fullAuthors == null) {
+                fullAuthors = new ArrayList<Person>();
+            }
+            fullAuthors.add(aut);
         }
+
+        // some more person name normalisation
+        if (fullAuthors != null) {
+            for(Person author : fullAuthors) {
+                author.normalizeName();
+            }
+        } 
         return fullAuthors;
     }
 
@@ -7,6 +7,7 @@ import org.grobid.core.GrobidModels;
 import org.grobid.core.data.BibDataSet;
 import org.grobid.core.data.BiblioItem;
 import org.grobid.core.data.Date;
+import org.grobid.core.data.Person;
 import org.grobid.core.document.Document;
 import org.grobid.core.document.DocumentSource;
 import org.grobid.core.engines.citations.LabeledReferenceResult;
@@ -87,22 +88,9 @@ public class CitationParser extends AbstractParser {
         }
 
         try {
-            List<String> citationBlocks = new ArrayList<>();
-
             //tokens = LayoutTokensUtil.dehyphenize(tokens);
 
-            List<OffsetPosition> journalsPositions = lexicon.tokenPositionsJournalNames(tokens);
-            List<OffsetPosition> abbrevJournalsPositions = lexicon.tokenPositionsAbbrevJournalNames(tokens);
-            List<OffsetPosition> conferencesPositions = lexicon.tokenPositionsConferenceNames(tokens);
-            List<OffsetPosition> publishersPositions = lexicon.tokenPositionsPublisherNames(tokens);
-            List<OffsetPosition> locationsPositions = lexicon.tokenPositionsLocationNames(tokens);
-            List<OffsetPosition> collaborationsPositions = lexicon.tokenPositionsCollaborationNames(tokens);
-            List<OffsetPosition> identifiersPositions = lexicon.tokenPositionsIdentifierPattern(tokens);
-            List<OffsetPosition> urlPositions = lexicon.tokenPositionsUrlPattern(tokens);
-
-            String ress = FeaturesVectorCitation.addFeaturesCitation(tokens, null, journalsPositions, 
-                abbrevJournalsPositions, conferencesPositions, publishersPositions, locationsPositions,
-                collaborationsPositions, identifiersPositions, urlPositions);
+            String ress = getFeatureVector(tokens);
 
             String res = label(ress);
 //System.out.println(res);
@@ -112,38 +100,12 @@ public class CitationParser extends AbstractParser {
                 BiblioItem.cleanTitles(resCitation);
 
                 resCitation.setOriginalAuthors(resCitation.getAuthors());
-                resCitation.setFullAuthors(parsers.getAuthorParser().processingCitation(resCitation.getAuthors()));
+                List<Person> fullAuthors = parsers.getAuthorParser().processingCitation(resCitation.getAuthors());
+                List<Date> dates = null;
                 if (resCitation.getPublicationDate() != null) {
-                    List<Date> dates = parsers.getDateParser().processing(resCitation
-                            .getPublicationDate());
-                    if (dates != null) {
-                        Date bestDate = null;
-                        if (dates.size() > 0) {
-                            // we take the earliest most specified date
-                            for (Date theDate : dates) {
-                                if (bestDate == null) {
-                                    bestDate = theDate;
-                                } else {
-                                    if (bestDate.compareTo(theDate) == 1) {
-                                        bestDate = theDate;
-                                    }
-                                }
-                            }
-                            if (bestDate != null) {
-                                resCitation
-                                        .setNormalizedPublicationDate(bestDate);
-                            }
-                        }
-                    }
+                    dates = parsers.getDateParser().processing(resCitation.getPublicationDate());
                 }
-
-                resCitation.setPageRange(TextUtilities.cleanField(
-                        resCitation.getPageRange(), true));
-                resCitation.setPublisher(TextUtilities.cleanField(
-                        resCitation.getPublisher(), true));
-                resCitation.setJournal(TextUtilities.cleanField(
-                        resCitation.getJournal(), true));
-                resCitation.postProcessPages();
+                postProcessing(resCitation, fullAuthors, dates);
             }
 
             //if (consolidate != 0) 
@@ -159,12 +121,161 @@ public class CitationParser extends AbstractParser {
         }
     }
 
+    /**
+     * Processing of a list of raw citation strings. All the citations are labelled with a 
+     * single call to the citation tagger, and similarly for their author and date fields.
+     *
+     * @param inputs      list of raw citation strings
+     * @param consolidate the consolidation option, see {@link #processing(String, int)}
+     * @return the recognized bibliographical objects at the same index as their input, null
+     * for an input which could not be parsed
+     */
+    public List<BiblioItem> processingStringMultiple(List<String> inputs, int consolidate) {
+        if (inputs == null) {
+            return null;
+        }
+
+        List<String> normalizedInputs = new ArrayList<>();
+        List<List<LayoutToken>> tokenList = new ArrayList<>();
+        for (String input : inputs) {
+            if (StringUtils.isBlank(input)) {
+                normalizedInputs.add(null);
+                tokenList.add(null);
+                continue;
+            }
+            // some cleaning
+            input = UnicodeUtil.normaliseText(input);
+            normalizedInputs.add(input);
+            tokenList.add(analyzer.tokenizeWithLayoutToken(input));
+        }
+
+        List<BiblioItem> results = processingLayoutTokenMultiple(tokenList, consolidate);
+        for (int i = 0; i < results.size(); i++) {
+            // store original references to enable raw output
+            if (results.get(i) != null) {
+                results.get(i).setReference(normalizedInputs.get(i));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Processing of a list of tokenized citations, see {@link #processingStringMultiple(List, int)}.
+     */
+    public List<BiblioItem> processingLayoutTokenMultiple(List<List<LayoutToken>> tokenList, int consolidate) {
+        if (tokenList == null) {
+            return null;
+        }
+
+        List<BiblioItem> results = new ArrayList<>();
+        try {
+            List<String> featureVectors = new ArrayList<>();
+            for (List<LayoutToken> tokens : tokenList) {
+                featureVectors.add(CollectionUtils.isEmpty(tokens) ? "" : getFeatureVector(tokens));
+            }
+
+            List<String> labelled = labelBatch(featureVectors);
+
+            List<String> rawAuthors = new ArrayList<>();
+            List<String> rawDates = new ArrayList<>();
+            for (int i = 0; i < tokenList.size(); i++) {
+                BiblioItem resCitation = null;
+                if (!CollectionUtils.isEmpty(tokenList.get(i))) {
+                    resCitation = resultExtractionLayoutTokens(labelled.get(i), true, tokenList.get(i));
+                }
+                if (resCitation != null) {
+                    BiblioItem.cleanTitles(resCitation);
+                    resCitation.setOriginalAuthors(resCitation.getAuthors());
+                }
+                results.add(resCitation);
+                rawAuthors.add(resCitation == null ? null : resCitation.getAuthors());
+                rawDates.add(resCitation == null ? null : resCitation.getPublicationDate());
+            }
+
+            // post-processing (additional field parsing and cleaning), one batch per field model
+            List<List<Person>> fullAuthors = parsers.getAuthorParser().processingCitationMultiple(rawAuthors);
+            List<List<Date>> dates = parsers.getDateParser().processingMultiple(rawDates);
+            List<BibDataSet> bibDataSets = new ArrayList<>();
+            for (int i = 0; i < results.size(); i++) {
+                BiblioItem resCitation = results.get(i);
+                if (resCitation == null) {
+                    continue;
+                }
+                postProcessing(resCitation, fullAuthors.get(i), dates.get(i));
+                BibDataSet bds = new BibDataSet();
+                bds.setResBib(resCitation);
+                bds.setRawBib(LayoutTokensUtil.toText(tokenList.get(i)));
+                bibDataSets.add(bds);
+            }
+
+            consolidateCitations(bibDataSets, consolidate);
+        } catch (Exception e) {
+            LOGGER.error("An exception occured while running Grobid.", e);
+            throw new GrobidException(
+                    "An exception occured while running Grobid.", e);
+        }
+        return results;
+    }
+
+    private String getFeatureVector(List<LayoutToken> tokens) throws Exception {
+        List<OffsetPosition> journalsPositions = lexicon.tokenPositionsJournalNames(tokens);
+        List<OffsetPosition> abbrevJournalsPositions = lexicon.tokenPositionsAbbrevJournalNames(tokens);
+        List<OffsetPosition> conferencesPositions = lexicon.tokenPositionsConferenceNames(tokens);
+        List<OffsetPosition> publishersPositions = lexicon.tokenPositionsPublisherNames(tokens);
+        List<OffsetPosition> locationsPositions = lexicon.tokenPositionsLocationNames(tokens);
+        List<OffsetPosition> collaborationsPositions = lexicon.tokenPositionsCollaborationNames(tokens);
+        List<OffsetPosition> identifiersPositions = lexicon.tokenPositionsIdentifierPattern(tokens);
+        List<OffsetPosition> urlPositions = lexicon.tokenPositionsUrlPattern(tokens);
+
+        return FeaturesVectorCitation.addFeaturesCitation(tokens, null, journalsPositions, 
+            abbrevJournalsPositions, conferencesPositions, publishersPositions, locationsPositions,
+            collaborationsPositions, identifiersPositions, urlPositions);
+    }
+
+    private void postProcessing(BiblioItem resCitation, List<Person> fullAuthors, List<Date> dates) {
+        resCitation.setFullAuthors(fullAuthors);
+        if (dates != null) {
+            Date bestDate = null;
+            if (dates.size() > 0) {
+                // we take the earliest most specified date
+                for (Date theDate : dates) {
+                    if (bestDate == null) {
+                        bestDate = theDate;
+                    } else {
+                        if (bestDate.compareTo(theDate) == 1) {
+                            bestDate = theDate;
+                        }
+                    }
+                }
+                if (bestDate != null) {
+                    resCitation
+                            .setNormalizedPublicationDate(bestDate);
+                }
+            }
+        }
+
+        resCitation.setPageRange(TextUtilities.cleanField(
+                resCitation.getPageRange(), true));
+        resCitation.setPublisher(TextUtilities.cleanField(
+                resCitation.getPublisher(), true));
+        resCitation.setJournal(TextUtilities.cleanField(
+                resCitation.getJournal(), true));
+        resCitation.postProcessPages();
+    }
+
     public List<BibDataSet> processingReferenceSection(String referenceTextBlock, ReferenceSegmenter referenceSegmenter) {
         List<LabeledReferenceResult> segm = referenceSegmenter.extract(referenceTextBlock);
 
-        List<BibDataSet> results = new ArrayList<>();
+        List<List<LayoutToken>> tokenList = new ArrayList<>();
         for (LabeledReferenceResult ref : segm) {
-            BiblioItem bib = processing(ref.getTokens(), 0);
+            tokenList.add(ref.getTokens());
+        }
+        List<BiblioItem> bibs = processingLayoutTokenMultiple(tokenList, 0);
+
+        List<BibDataSet> results = new ArrayList<>();
+        for (int i = 0; i < segm.size(); i++) {
+            LabeledReferenceResult ref = segm.get(i);
+            BiblioItem bib = bibs.get(i);
             if ((bib != null) && !bib.rejectAsReference()) {
                 BibDataSet bds = new BibDataSet();
                 bds.setRefSymbol(ref.getLabel());
@@ -202,12 +313,21 @@ public class CitationParser extends AbstractParser {
         // consolidation: if selected, is not done individually for each citation but 
         // in a second stage for all citations
         if (references != null) {
+            List<LabeledReferenceResult> nonNullReferences = new ArrayList<>();
+            List<String> referenceTexts = new ArrayList<>();
             for (LabeledReferenceResult ref : references) {
                 // paranoiac check
                 if (ref == null) 
                     continue;
+                nonNullReferences.add(ref);
+                referenceTexts.add(ref.getReferenceText());
+            }
 
-                BiblioItem bib = processing(ref.getReferenceText(), 0);
+            // all the references are labelled as one batch
+            List<BiblioItem> bibs = processingStringMultiple(referenceTexts, 0);
+            for (int i = 0; i < nonNullReferences.size(); i++) {
+                LabeledReferenceResult ref = nonNullReferences.get(i);
+                BiblioItem bib = bibs.get(i);
                 if (bib == null) 
                     continue;
 
@@ -254,30 +374,7 @@ public class CitationParser extends AbstractParser {
         }
 
         // consolidate the set
-        if (consolidate != 0) {
-            Consolidation consolidator = Consolidation.getInstance();
-            if (consolidator.getCntManager() == null)
-                consolidator.setCntManager(cntManager);       
-            Map<Integer,BiblioItem> resConsolidation = null;
-            try {
-                resConsolidation = consolidator.consolidate(results);
-            } catch(Exception e) {
-                throw new GrobidException(
-                "An exception occured while running consolidation on bibliographical references.", e);
-            } 
-            if (resConsolidation != null) {
-                for(int i=0; i<results.size(); i++) {
-                    BiblioItem resCitation = results.get(i).getResBib();
-                    BiblioItem bibo = resConsolidation.get(Integer.valueOf(i));
-                    if (bibo != null) {
-                        if (consolidate == 1)
-                            BiblioItem.correct(resCitation, bibo);
-                        else if (consolidate == 2)
-                            BiblioItem.injectDOI(resCitation, bibo);
-                    }
-                }
-            }
-        }
+        consolidateCitations(results, consolidate);
 
         doc.setBibDataSets(results);
 
@@ -465,6 +562,41 @@ public class CitationParser extends AbstractParser {
         return resCitation;
     }
 
+    /**
+     * Consolidate a set of recognized citations in one stage, the consolidation calls
+     * being run in parallel.
+     *
+     * @param results     the citations to be consolidated, the BiblioItem objects are corrected in place
+     * @param consolidate the consolidation option
+     */
+    public void consolidateCitations(List<BibDataSet> results, int consolidate) {
+        if ((consolidate == 0) || CollectionUtils.isEmpty(results)) {
+            return;
+        }
+        Consolidation consolidator = Consolidation.getInstance();
+        if (consolidator.getCntManager() == null)
+            consolidator.setCntManager(cntManager);       
+        Map<Integer,BiblioItem> resConsolidation = null;
+        try {
+            resConsolidation = consolidator.consolidate(results);
+        } catch(Exception e) {
+            throw new GrobidException(
+            "An exception occured while running consolidation on bibliographical references.", e);
+        } 
+        if (resConsolidation != null) {
+            for(int i=0; i<results.size(); i++) {
+                BiblioItem resCitation = results.get(i).getResBib();
+                BiblioItem bibo = resConsolidation.get(Integer.valueOf(i));
+                if (bibo != null) {
+                    if (consolidate == 1)
+                        BiblioItem.correct(resCitation, bibo);
+                    else if (consolidate == 2)
+                        BiblioItem.injectDOI(resCitation, bibo);
+                }
+            }
+        }
+    }
+
     /**
      * Extract results from a list of citation strings in the training format
      * without any string modification.
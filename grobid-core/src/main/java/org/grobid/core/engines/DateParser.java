@@ -29,155 +29,195 @@ public class DateParser extends AbstractParser {
         if (input == null)
             return null;
 
-        List<Date> dates = null;
-
-        List<String> dateBlocks = new ArrayList<String>();
         try {
-            // force English language for the tokenization only
-			List<String> tokenizations = analyzer.tokenize(input, new Language("en", 1.0));
-			if (tokenizations.size() == 0) 
+            String headerDate = getFeatureVector(input);
+            if (headerDate == null)
                 return null;
-			for(String tok : tokenizations) {
-                if (!tok.equals(" ") && !tok.equals("\n")) {
-                    // parano final sanitisation
-                    tok = tok.replaceAll("[ \n]", "");
-                    dateBlocks.add(tok + " <date>");
-                }
+            String res = label(headerDate);
+            return resultExtraction(res);
+        } catch (Exception e) {
+//			e.printStackTrace();
+            throw new GrobidException("An exception occured while running Grobid.", e);
+        }
+    }
+
+    /**
+     * Processing of a list of raw date strings, all labelled with a single call to the tagger.
+     *
+     * @param inputs list of raw date strings
+     * @return the structured dates recognized in each input, at the same index as the input,
+     * null for an input where no date is found
+     */
+    public List<List<Date>> processingMultiple(List<String> inputs) {
+        if (inputs == null)
+            return null;
+
+        List<List<Date>> results = new ArrayList<List<Date>>();
+        try {
+            List<String> featureVectors = new ArrayList<String>();
+            for (String input : inputs) {
+                String headerDate = (input == null) ? null : getFeatureVector(input);
+                featureVectors.add(headerDate == null ? "" : headerDate);
             }
 
-            String headerDate = FeaturesVectorDate.addFeaturesDate(dateBlocks);
-            String res = label(headerDate);
-            // extract results from the processed file
+            List<String> labelled = labelBatch(featureVectors);
+            for (int i = 0; i < inputs.size(); i++) {
+                if (featureVectors.get(i).isEmpty())
+                    results.add(null);
+                else
+                    results.add(resultExtraction(labelled.get(i)));
+            }
+        } catch (Exception e) {
+            throw new GrobidException("An exception occured while running Grobid.", e);
+        }
+        return results;
+    }
 
-            //System.out.print(res.toString());
-            StringTokenizer st2 = new StringTokenizer(res, "\n");
-            String lastTag = null;
-            org.grobid.core.data.Date date = new Date();
-            int lineCount = 0;
-            String currentMarker = null;
-            while (st2.hasMoreTokens()) {
-                String line = st2.nextToken();
-                if ((line.trim().length() == 0)) {
-                    if (date.isNotNull()) {
-                        if (dates == null)
-                            dates = new ArrayList<Date>();
-                        normalize(date);
-                        dates.add(date);
-                    }
-                    date = new Date();
-                    continue;
+    private String getFeatureVector(String input) throws Exception {
+        List<String> dateBlocks = new ArrayList<String>();
+        // force English language for the tokenization only
+        List<String> tokenizations = analyzer.tokenize(input, new Language("en", 1.0));
+        if (tokenizations.size() == 0)
+            return null;
+        for(String tok : tokenizations) {
+            if (!tok.equals(" ") && !tok.equals("\n")) {
+                // parano final sanitisation
+                tok = tok.replaceAll("[ \n]", "");
+                dateBlocks.add(tok + " <date>");
+            }
+        }
+
+        return FeaturesVectorDate.addFeaturesDate(dateBlocks);
+    }
+
+    private List<Date> resultExtraction(String res) {
+        List<Date> dates = null;
+        // extract results from the processed file
+
+        //System.out.print(res.toString());
+        StringTokenizer st2 = new StringTokenizer(res, "\n");
+        String lastTag = null;
+        org.grobid.core.data.Date date = new Date();
+        int lineCount = 0;
+        String currentMarker = null;
+        while (st2.hasMoreTokens()) {
+            String line = st2.nextToken();
+            if ((line.trim().length() == 0)) {
+                if (date.isNotNull()) {
+                    if (dates == null)
+                        dates = new ArrayList<Date>();
+                    normalize(date);
+                    dates.add(date);
                 }
-                StringTokenizer st3 = new StringTokenizer(line, "\t ");
-                int ll = st3.countTokens();
-                int i = 0;
-                String s1 = null;
-                String s2 = null;
-                while (st3.hasMoreTokens()) {
-                    String s = st3.nextToken().trim();
-                    if (i == 0) {
-                        s2 = s; // string
-                    } else if (i == ll - 1) {
-                        s1 = s; // label
-                    }
-                    i++;
+                date = new Date();
+                continue;
+            }
+            StringTokenizer st3 = new StringTokenizer(line, "\t ");
+            int ll = st3.countTokens();
+            int i = 0;
+            String s1 = null;
+            String s2 = null;
+            while (st3.hasMoreTokens()) {
+                String s = st3.nextToken().trim();
+                if (i == 0) {
+                    s2 = s; // string
+                } else if (i == ll - 1) {
+                    s1 = s; // label
                 }
+                i++;
+            }
 
-                if (s1.equals("<year>") || s1.equals("I-<year>")) {
-                    if (date.getYearString() != null) {
-                        if ((s1.equals("I-<year>")) ||
-                                (!s1.equals(lastTag) && !lastTag.equals("I-<year>"))
-                                ) {
-                            // new date
-                            if (date.isNotNull()) {
-                                if (dates == null)
-                                    dates = new ArrayList<Date>();
-                                normalize(date);
-                                dates.add(date);
-                            }
-
-                            date = new Date();
-                            date.setYearString(s2);
-                        } else {
-                            if (date.getYearString().length() == 0)
-                                date.setYearString(s2);
-                            else if ((date.getYearString().charAt(date.getYearString().length() - 1) == '-')
-                                    | (date.getYearString().charAt(date.getYearString().length() - 1) == '\''))
-                                date.setYearString(date.getYearString() + s2);
-                            else
-                                date.setYearString(date.getYearString() + " " + s2);
+            if (s1.equals("<year>") || s1.equals("I-<year>")) {
+                if (date.getYearString() != null) {
+                    if ((s1.equals("I-<year>")) ||
+                            (!s1.equals(lastTag) && !lastTag.equals("I-<year>"))
+                            ) {
+                        // new date
+                        if (date.isNotNull()) {
+                            if (dates == null)
+                                dates = new ArrayList<Date>();
+                            normalize(date);
+                            dates.add(date);
                         }
-                    } else {
+
+                        date = new Date();
                         date.setYearString(s2);
+                    } else {
+                        if (date.getYearString().length() == 0)
+                            date.setYearString(s2);
+                        else if ((date.getYearString().charAt(date.getYearString().length() - 1) == '-')
+                                | (date.getYearString().charAt(date.getYearString().length() - 1) == '\''))
+                            date.setYearString(date.getYearString() + s2);
+                        else
+                            date.setYearString(date.getYearString() + " " + s2);
                     }
-                } else if (s1.equals("<month>") || s1.equals("I-<month>")) {
-                    if (date.getMonthString() != null) {
-                        if ((s1.equals("I-<month>")) ||
-                                (!s1.equals(lastTag) && !lastTag.equals("I-<month>"))
-                                ) {
-                            // new date
-                            if (date.isNotNull()) {
-                                if (dates == null)
-                                    dates = new ArrayList<Date>();
-                                normalize(date);
-                                dates.add(date);
-                            }
-
-                            date = new Date();
-                            date.setMonthString(s2);
-                        } else {
-                            if (date.getMonthString().length() == 0)
-                                date.setMonthString(s2);
-                            else if ((date.getMonthString().charAt(date.getMonthString().length() - 1) == '-')
-                                    | (date.getMonthString().charAt(date.getMonthString().length() - 1) == '\''))
-                                date.setMonthString(date.getMonthString() + s2);
-                            else
-                                date.setMonthString(date.getMonthString() + " " + s2);
+                } else {
+                    date.setYearString(s2);
+                }
+            } else if (s1.equals("<month>") || s1.equals("I-<month>")) {
+                if (date.getMonthString() != null) {
+                    if ((s1.equals("I-<month>")) ||
+                            (!s1.equals(lastTag) && !lastTag.equals("I-<month>"))
+                            ) {
+                        // new date
+                        if (date.isNotNull()) {
+                            if (dates == null)
+                                dates = new ArrayList<Date>();
+                            normalize(date);
+                            dates.add(date);
                         }
-                    } else {
+
+                        date = new Date();
                         date.setMonthString(s2);
+                    } else {
+                        if (date.getMonthString().length() == 0)
+                            date.setMonthString(s2);
+                        else if ((date.getMonthString().charAt(date.getMonthString().length() - 1) == '-')
+                                | (date.getMonthString().charAt(date.getMonthString().length() - 1) == '\''))
+                            date.setMonthString(date.getMonthString() + s2);
+                        else
+                            date.setMonthString(date.getMonthString() + " " + s2);
                     }
-                } else if (s1.equals("<day>") || s1.equals("I-<day>")) {
-                    if (date.getDayString() != null) {
-                        if ((s1.equals("I-<day>")) ||
-                                (!s1.equals(lastTag) && !lastTag.equals("I-<day>"))
-                                ) {
-                            // new date
-                            if (date.isNotNull()) {
-                                if (dates == null)
-                                    dates = new ArrayList<Date>();
-                                normalize(date);
-                                dates.add(date);
-                            }
-
-                            date = new Date();
-                            date.setDayString(s2);
-                        } else {
-                            if (date.getDayString().length() == 0)
-                                date.setDayString(s2);
-                            else if ((date.getDayString().charAt(date.getDayString().length() - 1) == '-')
-                                    | (date.getDayString().charAt(date.getDayString().length() - 1) == '\''))
-                                date.setDayString(date.getDayString() + s2);
-                            else
-                                date.setDayString(date.getDayString() + " " + s2);
+                } else {
+                    date.setMonthString(s2);
+                }
+            } else if (s1.equals("<day>") || s1.equals("I-<day>")) {
+                if (date.getDayString() != null) {
+                    if ((s1.equals("I-<day>")) ||
+                            (!s1.equals(lastTag) && !lastTag.equals("I-<day>"))
+                            ) {
+                        // new date
+                        if (date.isNotNull()) {
+                            if (dates == null)
+                                dates = new ArrayList<Date>();
+                            normalize(date);
+                            dates.add(date);
                         }
-                    } else {
+
+                        date = new Date();
                         date.setDayString(s2);
+                    } else {
+                        if (date.getDayString().length() == 0)
+                            date.setDayString(s2);
+                        else if ((date.getDayString().charAt(date.getDayString().length() - 1) == '-')
+                                | (date.getDayString().charAt(date.getDayString().length() - 1) == '\''))
+                            date.setDayString(date.getDayString() + s2);
+                        else
+                            date.setDayString(date.getDayString() + " " + s2);
                     }
+                } else {
+                    date.setDayString(s2);
                 }
-
-                lastTag = s1;
-                lineCount++;
-            }
-            if (date.isNotNull()) {
-                if (dates == null)
-                    dates = new ArrayList<Date>();
-                normalize(date);
-                dates.add(date);
             }
 
-        } catch (Exception e) {
-//			e.printStackTrace();
-            throw new GrobidException("An exception occured while running Grobid.", e);
+            lastTag = s1;
+            lineCount++;
+        }
+        if (date.isNotNull()) {
+            if (dates == null)
+                dates = new ArrayList<Date>();
+            normalize(date);
+            dates.add(date);
         }
         return dates;
     }
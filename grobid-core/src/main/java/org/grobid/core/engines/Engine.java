@@ -123,15 +123,10 @@ public class Engine implements Closeable {
      *         each sequence of affiliation + address block.
      */
     public List<List<Affiliation>> processAffiliations(List<String> addressBlocks) throws Exception {
-        List<List<Affiliation>> results = null;
-        for (String addressBlock : addressBlocks) {
-            List<Affiliation> localRes = parsers.getAffiliationAddressParser().processing(addressBlock);
-            if (results == null) {
-                results = new ArrayList<List<Affiliation>>();
-            }
-            results.add(localRes);
+        if ((addressBlocks == null) || (addressBlocks.size() == 0)) {
+            return null;
         }
-        return results;
+        return parsers.getAffiliationAddressParser().processingMultiple(addressBlocks);
     }
 
     /**
@@ -187,13 +182,15 @@ public class Engine implements Closeable {
         List<BiblioItem> finalResults = new ArrayList<BiblioItem>();
         if (references == null || references.size() == 0)
             return finalResults;
-        for (String reference : references) {
-            BiblioItem bib = parsers.getCitationParser().processing(reference, 0);
+        // all the references are labelled as one batch
+        List<BiblioItem> bibs = parsers.getCitationParser().processingStringMultiple(references, 0);
+        for (int i = 0; i < references.size(); i++) {
+            BiblioItem bib = bibs.get(i);
             //if ((bib != null) && !bib.rejectAsReference()) 
             {
                 BibDataSet bds = new BibDataSet();
                 bds.setResBib(bib);
-                bds.setRawBib(reference);
+                bds.setRawBib(references.get(i));
                 results.add(bds);
             }
         }
@@ -1,6 +1,7 @@
 package org.grobid.core.engines;
 
 import com.google.common.collect.Iterables;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.tuple.Pair;
@@ -32,6 +33,7 @@ import org.grobid.core.engines.tagging.GenericTaggerUtils;
 import org.grobid.core.exceptions.GrobidException;
 import org.grobid.core.exceptions.GrobidResourceException;
 import org.grobid.core.features.FeatureFactory;
+import org.grobid.core.features.FeatureMatrix;
 import org.grobid.core.features.FeaturesVectorFulltext;
 import org.grobid.core.lang.Language;
 import org.grobid.core.layout.*;
@@ -64,6 +66,10 @@ import java.util.HashMap;
 import java.util.SortedSet;
 import java.util.StringTokenizer;
 import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.regex.Matcher;
 
 import static org.apache.commons.lang3.StringUtils.*;
@@ -96,6 +102,8 @@ public class FullTextParser extends AbstractParser {
 
     protected EngineParsers parsers;
 
+    private static volatile ExecutorService pipelineExecutor;
+
     /**
      * TODO some documentation...
      */
@@ -109,7 +117,8 @@ public class FullTextParser extends AbstractParser {
 							   GrobidAnalysisConfig config) throws Exception {
 		DocumentSource documentSource = 
 			DocumentSource.fromPdf(inputPdf, config.getStartPage(), config.getEndPage(), 
-				config.getPdfAssetPath() != null, true, false);
+				config.getPdfAssetPath() != null, true, false, GrobidProperties.isPdfToXMLStreaming(), 
+				config.isProcessVectorGraphics());
 		return processing(documentSource, config);
 	}
 
@@ -131,186 +140,296 @@ public class FullTextParser extends AbstractParser {
         }
         try {
 			// general segmentation
-			Document doc = parsers.getSegmentationParser().processing(documentSource, config);
-			SortedSet<DocumentPiece> documentBodyParts = doc.getDocumentPart(SegmentationLabels.BODY);
+			final Document doc = parsers.getSegmentationParser().processing(documentSource, config);
+
+            // the header on one side, the references followed by the body and the annex on the other side, 
+            // only depend on the segmentation and are processed in parallel if a pipeline executor is set
+            final BiblioItem resHeader = new BiblioItem();
+            LabeledFulltext body;
+            Pair<String, List<LayoutToken>> annex;
+            ExecutorService executor = getPipelineExecutor();
+            if (executor == null) {
+                processHeader(doc, resHeader, config);
+                processReferences(doc, config);
+                body = processBody(doc);
+                processCaptions(body, doc);
+                annex = processAnnex(doc);
+            } else {
+                CompletableFuture<Void> headerStage = 
+                    CompletableFuture.runAsync(() -> processHeader(doc, resHeader, config), executor);
+                // the body and annex features depend on the (consolidated) bibliographical references
+                CompletableFuture<Void> referencesStage = 
+                    CompletableFuture.runAsync(() -> processReferences(doc, config), executor);
+                CompletableFuture<LabeledFulltext> bodyStage = referencesStage
+                    .thenApplyAsync(v -> processBody(doc), executor)
+                    .thenCompose(labeled -> processCaptions(labeled, doc, executor).thenApply(v -> labeled));
+                CompletableFuture<Pair<String, List<LayoutToken>>> annexStage = referencesStage
+                    .thenApplyAsync(v -> processAnnex(doc), executor);
+                try {
+                    // all the stages are over when it returns, even if one of them failed
+                    CompletableFuture.allOf(headerStage, bodyStage, annexStage).join();
+                } catch (CompletionException e) {
+                    if (e.getCause() instanceof GrobidException)
+                        throw (GrobidException) e.getCause();
+                    throw new GrobidException("An exception occurred while running Grobid.", e.getCause());
+                }
+                body = bodyStage.join();
+                annex = annexStage.join();
+            }
 
-            // header processing
-            BiblioItem resHeader = new BiblioItem();
-            Pair<String, LayoutTokenization> featSeg = null;
+            // final combination
+            toTEI(doc, // document
+				body.labeled, annex.getLeft(), // labeled data for body and annex
+				body.layoutTokenization, annex.getRight(), // tokenization for body and annex
+				resHeader, // header 
+				body.figures, body.tables, body.equations, 
+				config);
+            return doc;
+        } catch (GrobidException e) {
+			throw e;
+		} catch (Exception e) {
+            throw new GrobidException("An exception occurred while running Grobid.", e);
+        }
+    }
 
-            // using the segmentation model to identify the header zones
-            parsers.getHeaderParser().processingHeaderSection(config, doc, resHeader, false);
+    /**
+     * Labelled body of a document, with its figures, tables and equations.
+     */
+    private static class LabeledFulltext {
+        String labeled = null;
+        LayoutTokenization layoutTokenization = null;
+        List<Figure> figures = null;
+        List<Table> tables = null;
+        List<Equation> equations = null;
+    }
 
-            // The commented part below makes use of the PDF embedded metadata (the so-called XMP) if available 
-            // as fall back to set author and title if they have not been found. 
-            // However tests on PMC set 1942 did not improve recognition. This will have to be re-evaluated with
-            // another, more diverse, testing set and with further updates of the header model. 
-            
-            // ---> DO NOT DELETE !
-            
-            /*if (isBlank(resHeader.getTitle()) || isBlank(resHeader.getAuthors()) || CollectionUtils.isEmpty(resHeader.getFullAuthors())) {
-                // try to exploit PDF embedded metadata (the so-called XMP) if we are still without title/authors
-                // this is risky as those metadata are highly unreliable, but as last chance, why not :)
-                Metadata metadata = doc.getMetadata();
-                if (metadata != null) { 
-                    boolean titleUpdated = false;
-                    boolean authorsUpdated = false;
-
-                    if (isNotBlank(metadata.getTitle()) && isBlank(resHeader.getTitle())) {
-                        if (!endsWithAny(lowerCase(metadata.getTitle()), ".doc", ".pdf", ".tex", ".dvi", ".docx", ".odf", ".odt", ".txt")) {
-                            resHeader.setTitle(metadata.getTitle());
-                            titleUpdated = true;
-                        }
+    /**
+     * Executor shared by the full text parsers of all the engines for running the independent stages 
+     * of a document in parallel, null if the stages are run one after another by the calling thread.
+     */
+    private static ExecutorService getPipelineExecutor() {
+        int nbThreads = GrobidProperties.getFulltextPipelineThreads();
+        if (nbThreads <= 0)
+            return null;
+        if (pipelineExecutor == null) {
+            synchronized (FullTextParser.class) {
+                if (pipelineExecutor == null) {
+                    pipelineExecutor = Executors.newFixedThreadPool(nbThreads, new ThreadFactoryBuilder()
+                        .setNameFormat("fulltext-pipeline-%d")
+                        .setDaemon(true)
+                        .build());
+                }
+            }
+        }
+        return pipelineExecutor;
+    }
+
+    /**
+     * Header processing, including its consolidation and the structuring of the abstract.
+     */
+    private void processHeader(Document doc, BiblioItem resHeader, GrobidAnalysisConfig config) {
+        // using the segmentation model to identify the header zones
+        parsers.getHeaderParser().processingHeaderSection(config, doc, resHeader, false);
+
+        // The commented part below makes use of the PDF embedded metadata (the so-called XMP) if available 
+        // as fall back to set author and title if they have not been found. 
+        // However tests on PMC set 1942 did not improve recognition. This will have to be re-evaluated with
+        // another, more diverse, testing set and with further updates of the header model. 
+        
+        // ---> DO NOT DELETE !
+        
+        /*if (isBlank(resHeader.getTitle()) || isBlank(resHeader.getAuthors()) || CollectionUtils.isEmpty(resHeader.getFullAuthors())) {
+            // try to exploit PDF embedded metadata (the so-called XMP) if we are still without title/authors
+            // this is risky as those metadata are highly unreliable, but as last chance, why not :)
+            Metadata metadata = doc.getMetadata();
+            if (metadata != null) { 
+                boolean titleUpdated = false;
+                boolean authorsUpdated = false;
+
+                if (isNotBlank(metadata.getTitle()) && isBlank(resHeader.getTitle())) {
+                    if (!endsWithAny(lowerCase(metadata.getTitle()), ".doc", ".pdf", ".tex", ".dvi", ".docx", ".odf", ".odt", ".txt")) {
+                        resHeader.setTitle(metadata.getTitle());
+                        titleUpdated = true;
                     }
+                }
 
-                    if (isNotBlank(metadata.getAuthor())
-                        && (isBlank(resHeader.getAuthors()) || CollectionUtils.isEmpty(resHeader.getFullAuthors()))) {
-                        resHeader.setAuthors(metadata.getAuthor());
-                        resHeader.setOriginalAuthors(metadata.getAuthor());
-                        authorsUpdated = true;
-                        List<Person> localAuthors = parsers.getAuthorParser().processingHeader(metadata.getAuthor());
-                        if (localAuthors != null) {
-                            for (Person pers : localAuthors) {
-                                resHeader.addFullAuthor(pers);
-                            }
+                if (isNotBlank(metadata.getAuthor())
+                    && (isBlank(resHeader.getAuthors()) || CollectionUtils.isEmpty(resHeader.getFullAuthors()))) {
+                    resHeader.setAuthors(metadata.getAuthor());
+                    resHeader.setOriginalAuthors(metadata.getAuthor());
+                    authorsUpdated = true;
+                    List<Person> localAuthors = parsers.getAuthorParser().processingHeader(metadata.getAuthor());
+                    if (localAuthors != null) {
+                        for (Person pers : localAuthors) {
+                            resHeader.addFullAuthor(pers);
                         }
                     }
+                }
 
-                    // if title and author have been updated with embedded PDF metadata, we try to consolidate 
-                    // again as required 
-                    if ( titleUpdated || authorsUpdated ) {
-                        parsers.getHeaderParser().consolidateHeader(resHeader, config.getConsolidateHeader());
-                    }
+                // if title and author have been updated with embedded PDF metadata, we try to consolidate 
+                // again as required 
+                if ( titleUpdated || authorsUpdated ) {
+                    parsers.getHeaderParser().consolidateHeader(resHeader, config.getConsolidateHeader());
                 }
-            }*/
-
-            // structure the abstract using the fulltext model
-            if (isNotBlank(resHeader.getAbstract())) {
-                //List<LayoutToken> abstractTokens = resHeader.getLayoutTokens(TaggingLabels.HEADER_ABSTRACT);
-                List<LayoutToken> abstractTokens = resHeader.getAbstractTokens();
-                if (CollectionUtils.isNotEmpty(abstractTokens)) {
-                    abstractTokens = BiblioItem.cleanAbstractLayoutTokens(abstractTokens);
-                    Pair<String, List<LayoutToken>> abstractProcessed = processShort(abstractTokens, doc);
-                    if (abstractProcessed != null) {
-                        // neutralize figure and table annotations (will be considered as paragraphs)
-                        String labeledAbstract = abstractProcessed.getLeft();
-                        labeledAbstract = postProcessLabeledAbstract(labeledAbstract);
-                        resHeader.setLabeledAbstract(labeledAbstract);
-                        resHeader.setLayoutTokensForLabel(abstractProcessed.getRight(), TaggingLabels.HEADER_ABSTRACT);
-                    }
+            }
+        }*/
+
+        // structure the abstract using the fulltext model
+        if (isNotBlank(resHeader.getAbstract())) {
+            //List<LayoutToken> abstractTokens = resHeader.getLayoutTokens(TaggingLabels.HEADER_ABSTRACT);
+            List<LayoutToken> abstractTokens = resHeader.getAbstractTokens();
+            if (CollectionUtils.isNotEmpty(abstractTokens)) {
+                abstractTokens = BiblioItem.cleanAbstractLayoutTokens(abstractTokens);
+                // the abstract is featured without the bibliographical references, which might 
+                // be under processing
+                Pair<String, List<LayoutToken>> abstractProcessed = processShort(abstractTokens, doc, null);
+                if (abstractProcessed != null) {
+                    // neutralize figure and table annotations (will be considered as paragraphs)
+                    String labeledAbstract = abstractProcessed.getLeft();
+                    labeledAbstract = postProcessLabeledAbstract(labeledAbstract);
+                    resHeader.setLabeledAbstract(labeledAbstract);
+                    resHeader.setLayoutTokensForLabel(abstractProcessed.getRight(), TaggingLabels.HEADER_ABSTRACT);
                 }
             }
+        }
+    }
 
-            // citation processing
-            // consolidation, if selected, is not done individually for each citation but 
-            // in a second stage for all citations which is much faster
-            List<BibDataSet> resCitations = parsers.getCitationParser().
-                processingReferenceSection(doc, parsers.getReferenceSegmenterParser(), 0);
-
-            // consolidate the set
-            if (config.getConsolidateCitations() != 0) {
-                Consolidation consolidator = Consolidation.getInstance();
-                if (consolidator.getCntManager() == null)
-                    consolidator.setCntManager(Engine.getCntManager());
-                try {
-                    Map<Integer,BiblioItem> resConsolidation = consolidator.consolidate(resCitations);
-                    for(int i=0; i<resCitations.size(); i++) {
-                        BiblioItem resCitation = resCitations.get(i).getResBib();
-                        BiblioItem bibo = resConsolidation.get(i);
-                        if (bibo != null) {
-                            if (config.getConsolidateCitations() == 1)
-                                BiblioItem.correct(resCitation, bibo);
-                            else if (config.getConsolidateCitations() == 2) 
-                                BiblioItem.injectDOI(resCitation, bibo);
-                        }
+    /**
+     * Citation processing followed by their consolidation, the results being set in the document.
+     */
+    private void processReferences(Document doc, GrobidAnalysisConfig config) {
+        // consolidation, if selected, is not done individually for each citation but 
+        // in a second stage for all citations which is much faster
+        List<BibDataSet> resCitations = parsers.getCitationParser().
+            processingReferenceSection(doc, parsers.getReferenceSegmenterParser(), 0);
+
+        // consolidate the set
+        if (config.getConsolidateCitations() != 0) {
+            Consolidation consolidator = Consolidation.getInstance();
+            if (consolidator.getCntManager() == null)
+                consolidator.setCntManager(Engine.getCntManager());
+            try {
+                Map<Integer,BiblioItem> resConsolidation = consolidator.consolidate(resCitations);
+                for(int i=0; i<resCitations.size(); i++) {
+                    BiblioItem resCitation = resCitations.get(i).getResBib();
+                    BiblioItem bibo = resConsolidation.get(i);
+                    if (bibo != null) {
+                        if (config.getConsolidateCitations() == 1)
+                            BiblioItem.correct(resCitation, bibo);
+                        else if (config.getConsolidateCitations() == 2) 
+                            BiblioItem.injectDOI(resCitation, bibo);
                     }
-                } catch(Exception e) {
-                    throw new GrobidException(
-                    "An exception occured while running consolidation on bibliographical references.", e);
-                } 
+                }
+            } catch(Exception e) {
+                throw new GrobidException(
+                "An exception occured while running consolidation on bibliographical references.", e);
+            } 
+        }
+        doc.setBibDataSets(resCitations);
+    }
+
+    /**
+     * Full text labelling of the body, followed by the figure, table and equation models.
+     * The captions and notes are structured separately.
+     */
+    private LabeledFulltext processBody(Document doc) {
+        LabeledFulltext result = new LabeledFulltext();
+        SortedSet<DocumentPiece> documentBodyParts = doc.getDocumentPart(SegmentationLabels.BODY);
+        Pair<FeatureMatrix, LayoutTokenization> featSeg = getBodyTextFeatured(doc, documentBodyParts);
+        if (featSeg != null) {
+            // if featSeg is null, it usually means that no body segment is found in the
+            // document segmentation
+            FeatureMatrix bodytext = featSeg.getLeft();
+            result.layoutTokenization = featSeg.getRight();
+            if (!bodytext.isEmpty()) {				
+                result.labeled = label(bodytext);
+            } else {
+                LOGGER.debug("Fulltext model: The input to the CRF processing is empty");
             }
-            doc.setBibDataSets(resCitations);
 
-			// full text processing
-			featSeg = getBodyTextFeatured(doc, documentBodyParts);
-			String rese = null;
-			LayoutTokenization layoutTokenization = null;
-			List<Figure> figures = null;
-			List<Table> tables = null;
-			List<Equation> equations = null;
-			if (featSeg != null) {
-				// if featSeg is null, it usually means that no body segment is found in the
-				// document segmentation
-				String bodytext = featSeg.getLeft();
-				layoutTokenization = featSeg.getRight();
-				//tokenizationsBody = featSeg.getB().getTokenization();
-                //layoutTokensBody = featSeg.getB().getLayoutTokens();
-				if ( (bodytext != null) && (bodytext.trim().length() > 0) ) {				
-					rese = label(bodytext);
-				} else {
-					LOGGER.debug("Fulltext model: The input to the CRF processing is empty");
-				}
+            // we apply now the figure and table models based on the fulltext labeled output
+            List<LayoutToken> tokenizations = result.layoutTokenization.getTokenization();
+            result.figures = processFigures(result.labeled, tokenizations, doc);
+            result.tables = processTables(result.labeled, tokenizations, doc);
+            result.equations = processEquations(result.labeled, tokenizations, doc);
+        } else {
+            LOGGER.debug("Fulltext model: The featured body is empty");
+        }
+        return result;
+    }
+
+    /**
+     * Further parse the figure and table captions, and the table notes.
+     */
+    private void processCaptions(LabeledFulltext body, Document doc) {
+        for (Runnable task : getCaptionTasks(body, doc)) {
+            task.run();
+        }
+    }
 
-				// we apply now the figure and table models based on the fulltext labeled output
-				figures = processFigures(rese, layoutTokenization.getTokenization(), doc);
-                // further parse the caption
-                for(Figure figure : figures) {
-                    if ((figure.getCaptionLayoutTokens() != null) && (figure.getCaptionLayoutTokens().size() > 0) ) {
+    /**
+     * Same as {@link #processCaptions(LabeledFulltext, Document)} with all the captions and notes 
+     * structured in parallel.
+     */
+    private CompletableFuture<Void> processCaptions(LabeledFulltext body, Document doc, ExecutorService executor) {
+        List<CompletableFuture<Void>> tasks = new ArrayList<>();
+        for (Runnable task : getCaptionTasks(body, doc)) {
+            tasks.add(CompletableFuture.runAsync(task, executor));
+        }
+        return CompletableFuture.allOf(tasks.toArray(new CompletableFuture[0]));
+    }
+
+    private List<Runnable> getCaptionTasks(LabeledFulltext body, Document doc) {
+        List<Runnable> tasks = new ArrayList<>();
+        if (body.figures != null) {
+            for(Figure figure : body.figures) {
+                if ((figure.getCaptionLayoutTokens() != null) && (figure.getCaptionLayoutTokens().size() > 0) ) {
+                    tasks.add(() -> {
                         Pair<String, List<LayoutToken>> captionProcess = processShort(figure.getCaptionLayoutTokens(), doc);
                         figure.setLabeledCaption(captionProcess.getLeft());
                         figure.setCaptionLayoutTokens(captionProcess.getRight());
-                    }
+                    });
                 }
-
-				tables = processTables(rese, layoutTokenization.getTokenization(), doc);
-                // further parse the caption
-                for(Table table : tables) {
-                    if ( (table.getCaptionLayoutTokens() != null) && (table.getCaptionLayoutTokens().size() > 0) ) {
+            }
+        }
+        if (body.tables != null) {
+            for(Table table : body.tables) {
+                if ( (table.getCaptionLayoutTokens() != null) && (table.getCaptionLayoutTokens().size() > 0) ) {
+                    tasks.add(() -> {
                         Pair<String, List<LayoutToken>> captionProcess = processShort(table.getCaptionLayoutTokens(), doc);
                         table.setLabeledCaption(captionProcess.getLeft());
                         table.setCaptionLayoutTokens(captionProcess.getRight());
-                    }
-                    if ( (table.getNoteLayoutTokens() != null) && (table.getNoteLayoutTokens().size() > 0) ) {
+                    });
+                }
+                if ( (table.getNoteLayoutTokens() != null) && (table.getNoteLayoutTokens().size() > 0) ) {
+                    tasks.add(() -> {
                         Pair<String, List<LayoutToken>> noteProcess = processShort(table.getNoteLayoutTokens(), doc);
                         table.setLabeledNote(noteProcess.getLeft());
                         table.setNoteLayoutTokens(noteProcess.getRight());
-                    }
+                    });
                 }
+            }
+        }
+        return tasks;
+    }
 
-				equations = processEquations(rese, layoutTokenization.getTokenization(), doc);
-			} else {
-				LOGGER.debug("Fulltext model: The featured body is empty");
-			}
-
-
-			// possible annexes (view as a piece of full text similar to the body)
-			documentBodyParts = doc.getDocumentPart(SegmentationLabels.ANNEX);
-            featSeg = getBodyTextFeatured(doc, documentBodyParts);
-			String rese2 = null;
-			List<LayoutToken> tokenizationsBody2 = null;
-			if (featSeg != null) {
-				// if featSeg is null, it usually means that no body segment is found in the
-				// document segmentation
-				String bodytext = featSeg.getLeft();
-				tokenizationsBody2 = featSeg.getRight().getTokenization();
-				if (isNotEmpty(trim(bodytext))) 
-	            	rese2 = label(bodytext);
-				//System.out.println(rese);
-			}
-
-            // final combination
-            toTEI(doc, // document
-				rese, rese2, // labeled data for body and annex
-				layoutTokenization, tokenizationsBody2, // tokenization for body and annex
-				resHeader, // header 
-				figures, tables, equations, 
-				config);
-            return doc;
-        } catch (GrobidException e) {
-			throw e;
-		} catch (Exception e) {
-            throw new GrobidException("An exception occurred while running Grobid.", e);
+    /**
+     * Possible annexes (view as a piece of full text similar to the body), labelled with their tokenization.
+     */
+    private Pair<String, List<LayoutToken>> processAnnex(Document doc) {
+        SortedSet<DocumentPiece> documentBodyParts = doc.getDocumentPart(SegmentationLabels.ANNEX);
+        Pair<FeatureMatrix, LayoutTokenization> featSeg = getBodyTextFeatured(doc, documentBodyParts);
+        String rese2 = null;
+        List<LayoutToken> tokenizationsBody2 = null;
+        if (featSeg != null) {
+            // if featSeg is null, it usually means that no body segment is found in the
+            // document segmentation
+            FeatureMatrix bodytext = featSeg.getLeft();
+            tokenizationsBody2 = featSeg.getRight().getTokenization();
+            if (!bodytext.isEmpty()) 
+                rese2 = label(bodytext);
         }
+        return Pair.of(rese2, tokenizationsBody2);
     }
 
     /**
@@ -358,15 +477,15 @@ public class FullTextParser extends AbstractParser {
             documentParts.add(piece);
         }
 
-        Pair<String, LayoutTokenization> featSeg = getBodyTextFeatured(doc, documentParts);
+        Pair<FeatureMatrix, LayoutTokenization> featSeg = getBodyTextFeatured(doc, documentParts);
         String res = "";
         List<LayoutToken> layoutTokenization = new ArrayList<>();
         if (featSeg != null) {
-            String featuredText = featSeg.getLeft();
+            FeatureMatrix featuredText = featSeg.getLeft();
             LayoutTokenization layouts = featSeg.getRight();
             if (layouts != null)
                 layoutTokenization = layouts.getTokenization();
-            if (isNotBlank(featuredText)) {
+            if (!featuredText.isEmpty()) {
                 res = label(featuredText);
             }
         }  else
@@ -376,6 +495,14 @@ public class FullTextParser extends AbstractParser {
     }
 
     public Pair<String, List<LayoutToken>> processShort(List<LayoutToken> tokens, Document doc) {
+        return processShort(tokens, doc, doc.getBibDataSets());
+    }
+
+    /**
+     * @param bibDataSets the bibliographical references used for featuring the tokens
+     */
+    protected Pair<String, List<LayoutToken>> processShort(List<LayoutToken> tokens, Document doc, 
+                                                           List<BibDataSet> bibDataSets) {
         if (CollectionUtils.isEmpty(tokens))
             return null;
 
@@ -408,15 +535,15 @@ public class FullTextParser extends AbstractParser {
             DocumentPiece piece = new DocumentPiece(dp1, dp2);
             documentParts.add(piece);
         }
-        Pair<String, LayoutTokenization> featSeg = getBodyTextFeatured(doc, documentParts);
+        Pair<FeatureMatrix, LayoutTokenization> featSeg = getBodyTextFeatured(doc, documentParts, bibDataSets);
         String res = null;
         List<LayoutToken> layoutTokenization = null;
         if (featSeg != null) {
-            String featuredText = featSeg.getLeft();
+            FeatureMatrix featuredText = featSeg.getLeft();
             LayoutTokenization layouts = featSeg.getRight();
             if (layouts != null)
                 layoutTokenization = layouts.getTokenization();
-            if ( (featuredText != null) && (featuredText.trim().length() > 0) ) {               
+            if (!featuredText.isEmpty()) {               
                 res = label(featuredText);
             }
         }
@@ -458,13 +585,23 @@ public class FullTextParser extends AbstractParser {
         return result.toString();
     } 
 
-	static public Pair<String, LayoutTokenization> getBodyTextFeatured(Document doc,
+	static public Pair<FeatureMatrix, LayoutTokenization> getBodyTextFeatured(Document doc,
                                                                        SortedSet<DocumentPiece> documentBodyParts) {
+        return getBodyTextFeatured(doc, documentBodyParts, doc.getBibDataSets());
+    }
+
+    /**
+     * @param bibDataSets the bibliographical references of the document, null if not available, from which 
+     *                    the reference callout features are derived
+     */
+	static public Pair<FeatureMatrix, LayoutTokenization> getBodyTextFeatured(Document doc,
+                                                                       SortedSet<DocumentPiece> documentBodyParts,
+                                                                       List<BibDataSet> bibDataSets) {
 		if ((documentBodyParts == null) || (documentBodyParts.size() == 0)) {
 			return null;
 		}
 		FeatureFactory featureFactory = FeatureFactory.getInstance();
-        StringBuilder fulltext = new StringBuilder();
+        FeatureMatrix fulltext = new FeatureMatrix();
         String currentFont = null;
         int currentFontSize = -1;
 
@@ -482,7 +619,6 @@ public class FullTextParser extends AbstractParser {
         // if bibliographical references are available from the bibliographical reference section, we look if we have
         // a numbering associated to the bibliographical references (bib. ref. callout will likely be numerical then)
         String bibRefCalloutType = "UNKNOWN";
-        List<BibDataSet> bibDataSets = doc.getBibDataSets();
         if (bibDataSets != null) {
             try {
                 referenceMarkerMatcher = doc.getReferenceMarkerMatcher();          
@@ -915,7 +1051,7 @@ public class FullTextParser extends AbstractParser {
 							previousFeatures.blockStatus = "BLOCKEND";
 							previousFeatures.lineStatus = "LINEEND";
 						}
-                        fulltext.append(previousFeatures.printVector());
+                        previousFeatures.addTo(fulltext);
                     }
 
 	                n++;
@@ -930,11 +1066,11 @@ public class FullTextParser extends AbstractParser {
 			}
         }
         if (previousFeatures != null) {
-            fulltext.append(previousFeatures.printVector());
+            previousFeatures.addTo(fulltext);
 
         }
 
-        return Pair.of(fulltext.toString(),
+        return Pair.of(fulltext,
             new LayoutTokenization(layoutTokens));
 	}
 
@@ -1163,12 +1299,12 @@ public class FullTextParser extends AbstractParser {
             // FULLTEXT MODEL (body)
 			SortedSet<DocumentPiece> documentBodyParts = doc.getDocumentPart(SegmentationLabels.BODY);
 			if (documentBodyParts != null) {
-				Pair<String, LayoutTokenization> featSeg = getBodyTextFeatured(doc, documentBodyParts);
+				Pair<FeatureMatrix, LayoutTokenization> featSeg = getBodyTextFeatured(doc, documentBodyParts);
 				if (featSeg != null) {
 					// if no textual body part found, nothing to generate
 
 
-    				String bodytext = featSeg.getLeft();
+    				FeatureMatrix bodytext = featSeg.getLeft();
     				List<LayoutToken> tokenizationsBody = featSeg.getRight().getTokenization();
 
     	            // we write the full text untagged
@@ -1248,10 +1384,10 @@ public class FullTextParser extends AbstractParser {
                         headerTokenizations.add(tokenizationsFull.get(i));
                     }
                 }
-                Pair<String, List<LayoutToken>> featuredHeader = parsers.getHeaderParser().getSectionHeaderFeatured(doc, documentHeaderParts);
-                String header = featuredHeader.getLeft();
+                Pair<FeatureMatrix, List<LayoutToken>> featuredHeader = parsers.getHeaderParser().getSectionHeaderFeatured(doc, documentHeaderParts);
+                FeatureMatrix header = featuredHeader.getLeft();
 
-                if ((header != null) && (header.trim().length() > 0)) {
+                if (!header.isEmpty()) {
                     // we write the header untagged
                     String outPathHeader = pathTEI + File.separator + pdfFileName.replace(".pdf", ".training.header");
                     writer = new OutputStreamWriter(new FileOutputStream(new File(outPathHeader), false), StandardCharsets.UTF_8);
@@ -2311,16 +2447,16 @@ public class FullTextParser extends AbstractParser {
 			// acknowledgement is in the back
 			SortedSet<DocumentPiece> documentAcknowledgementParts =
 				doc.getDocumentPart(SegmentationLabels.ACKNOWLEDGEMENT);
-			Pair<String, LayoutTokenization> featSeg =
+			Pair<FeatureMatrix, LayoutTokenization> featSeg =
 				getBodyTextFeatured(doc, documentAcknowledgementParts);
 			List<LayoutToken> tokenizationsAcknowledgement;
 			if (featSeg != null) {
 				// if featSeg is null, it usually means that no body segment is found in the
 				// document segmentation
-				String acknowledgementText = featSeg.getLeft();
+				FeatureMatrix acknowledgementText = featSeg.getLeft();
 				tokenizationsAcknowledgement = featSeg.getRight().getTokenization();
 				String reseAcknowledgement = null;
-				if ( (acknowledgementText != null) && (acknowledgementText.length() >0) )
+				if (!acknowledgementText.isEmpty())
 					reseAcknowledgement = label(acknowledgementText);
 				tei = teiFormatter.toTEIAcknowledgement(tei, reseAcknowledgement,
 					tokenizationsAcknowledgement, resCitations, config);
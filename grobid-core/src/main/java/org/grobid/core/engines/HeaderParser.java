@@ -21,6 +21,7 @@ import org.grobid.core.engines.label.TaggingLabels;
 import org.grobid.core.exceptions.GrobidException;
 import org.grobid.core.exceptions.GrobidExceptionStatus;
 import org.grobid.core.features.FeatureFactory;
+import org.grobid.core.features.FeatureMatrix;
 import org.grobid.core.features.FeaturesVectorHeader;
 import org.grobid.core.lang.Language;
 import org.grobid.core.lexicon.Lexicon;
@@ -98,7 +99,8 @@ public class HeaderParser extends AbstractParser {
     public Pair<String, Document> processing(File input, BiblioItem resHeader, GrobidAnalysisConfig config) {
         DocumentSource documentSource = null;
         try {
-            documentSource = DocumentSource.fromPdf(input, config.getStartPage(), config.getEndPage());
+            documentSource = DocumentSource.fromPdf(input, config.getStartPage(), config.getEndPage(), 
+                false, true, false, GrobidProperties.isPdfToXMLStreaming());
             Document doc = parsers.getSegmentationParser().processing(documentSource, config);
 
             String tei = processingHeaderSection(config, doc, resHeader, true);
@@ -133,11 +135,11 @@ public class HeaderParser extends AbstractParser {
                 }
 
                 //String header = getSectionHeaderFeatured(doc, documentHeaderParts, true);
-                Pair<String, List<LayoutToken>> featuredHeader = getSectionHeaderFeatured(doc, documentHeaderParts);
-                String header = featuredHeader.getLeft();
+                Pair<FeatureMatrix, List<LayoutToken>> featuredHeader = getSectionHeaderFeatured(doc, documentHeaderParts);
+                FeatureMatrix header = featuredHeader.getLeft();
                 List<LayoutToken> headerTokenization = featuredHeader.getRight();
                 String res = null;
-                if ((header != null) && (header.trim().length() > 0)) {
+                if (!header.isEmpty()) {
                     res = label(header);
                     resHeader = resultExtraction(res, headerTokenization, resHeader, doc);
                 }
@@ -374,10 +376,10 @@ public class HeaderParser extends AbstractParser {
     /**
      * Return the header section with features to be processed by the sequence labelling model
      */
-    public Pair<String, List<LayoutToken>> getSectionHeaderFeatured(Document doc,
+    public Pair<FeatureMatrix, List<LayoutToken>> getSectionHeaderFeatured(Document doc,
                                            SortedSet<DocumentPiece> documentHeaderParts) {
         FeatureFactory featureFactory = FeatureFactory.getInstance();
-        StringBuilder header = new StringBuilder();
+        FeatureMatrix header = new FeatureMatrix();
         String currentFont = null;
         int currentFontSize = -1;
 
@@ -778,7 +780,7 @@ public class HeaderParser extends AbstractParser {
                     }
 
                     if (previousFeatures != null)
-                        header.append(previousFeatures.printVector());
+                        previousFeatures.addTo(header);
                     previousFeatures = features;
 
                     n++;
@@ -787,7 +789,7 @@ public class HeaderParser extends AbstractParser {
                 if (previousFeatures != null) {
                     previousFeatures.blockStatus = "BLOCKEND";
                     previousFeatures.lineStatus = "LINEEND";
-                    header.append(previousFeatures.printVector());
+                    previousFeatures.addTo(header);
                     previousFeatures = null;
                 }
             }
@@ -795,7 +797,7 @@ public class HeaderParser extends AbstractParser {
             
         }
 
-        return Pair.of(header.toString(), headerTokenizations);
+        return Pair.of(header, headerTokenizations);
     }
 
     /**
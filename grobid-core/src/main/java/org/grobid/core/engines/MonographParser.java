@@ -13,6 +13,7 @@ import org.grobid.core.exceptions.GrobidExceptionStatus;
 import org.grobid.core.exceptions.GrobidResourceException;
 import org.grobid.core.utilities.GrobidProperties;
 import org.grobid.core.features.FeatureFactory;
+import org.grobid.core.features.FeatureMatrix;
 import org.grobid.core.features.FeaturesVectorMonograph;
 import org.grobid.core.layout.*;
 import org.grobid.core.utilities.GrobidProperties;
@@ -270,7 +271,7 @@ public class MonographParser extends AbstractParser {
 
     private String getFeatureVectorsAsString(Document doc, Map<String, Integer> patterns,
                                      Map<String, Boolean> firstTimePattern) {
-        StringBuilder fulltext = new StringBuilder();
+        FeatureMatrix fulltext = new FeatureMatrix();
         int documentLength = doc.getDocumentLenghtChar();
 
         String currentFont = null;
@@ -596,8 +597,7 @@ public class MonographParser extends AbstractParser {
                     }
 
                     if (previousFeatures != null) {
-                        String vector = previousFeatures.printVector();
-                        fulltext.append(vector);
+                        previousFeatures.addTo(fulltext);
                     }
                     previousFeatures = features;
                 }
@@ -616,7 +616,7 @@ public class MonographParser extends AbstractParser {
             }
         }
         if (previousFeatures != null)
-            fulltext.append(previousFeatures.printVector());
+            previousFeatures.addTo(fulltext);
 
         return fulltext.toString();
     }
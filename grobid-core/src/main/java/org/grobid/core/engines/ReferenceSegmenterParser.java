@@ -11,8 +11,10 @@ import org.grobid.core.engines.citations.LabeledReferenceResult;
 import org.grobid.core.engines.citations.ReferenceSegmenter;
 import org.grobid.core.engines.label.SegmentationLabels;
 import org.grobid.core.engines.tagging.GenericTaggerUtils;
+import org.grobid.core.engines.tagging.LabeledResult;
 import org.grobid.core.exceptions.GrobidException;
 import org.grobid.core.features.FeatureFactory;
+import org.grobid.core.features.FeatureMatrix;
 import org.grobid.core.features.FeaturesVectorReferenceSegmenter;
 import org.grobid.core.layout.Block;
 import org.grobid.core.layout.LayoutToken;
@@ -21,7 +23,6 @@ import org.grobid.core.tokenization.TaggingTokenSynchronizer;
 import org.grobid.core.utilities.BoundingBoxCalculator;
 //import org.grobid.core.utilities.Pair;
 import org.grobid.core.utilities.TextUtilities;
-import org.grobid.core.utilities.Triple;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -76,7 +77,7 @@ public class ReferenceSegmenterParser extends AbstractParser implements Referenc
 
     public List<LabeledReferenceResult> extract(Document doc, SortedSet<DocumentPiece> referencesParts, boolean training) {
 
-		Pair<String,List<LayoutToken>> featSeg = getReferencesSectionFeatured(doc, referencesParts);
+		Pair<FeatureMatrix,List<LayoutToken>> featSeg = getReferencesSectionFeatured(doc, referencesParts);
 		String res;
 		List<LayoutToken> tokenizationsReferences;
 		if (featSeg == null) {
@@ -84,7 +85,7 @@ public class ReferenceSegmenterParser extends AbstractParser implements Referenc
 		}
 		// if featSeg is null, it usually means that no reference segment is found in the
 		// document segmentation
-		String featureVector = featSeg.getLeft();
+		FeatureMatrix featureVector = featSeg.getLeft();
 		tokenizationsReferences = featSeg.getRight();
 		try {
 			res = label(featureVector);
@@ -96,19 +97,18 @@ public class ReferenceSegmenterParser extends AbstractParser implements Referenc
 			return null;
 		}
         // if we extract for generating training data, we also give back the used features
-        List<Triple<String, String, String>> labeled = GenericTaggerUtils.getTokensWithLabelsAndFeatures(res, training);
-
-        return getExtractionResult(tokenizationsReferences, labeled);
+        return getExtractionResult(tokenizationsReferences, LabeledResult.of(res), training);
     }
 
-    private List<LabeledReferenceResult> getExtractionResult(List<LayoutToken> tokenizations, List<Triple<String, String, String>> labeled) {
+    private List<LabeledReferenceResult> getExtractionResult(List<LayoutToken> tokenizations, LabeledResult labeled,
+                                                             boolean addFeatureStrings) {
         final List<LabeledReferenceResult> resultList = new ArrayList<>();
         final StringBuilder reference = new StringBuilder();
         final List<LayoutToken> referenceTokens = new ArrayList<>();
         final StringBuilder features = new StringBuilder();
         final StringBuilder referenceLabel = new StringBuilder();
 
-        TaggingTokenSynchronizer synchronizer = new TaggingTokenSynchronizer(null, labeled, tokenizations);
+        TaggingTokenSynchronizer synchronizer = new TaggingTokenSynchronizer(null, labeled, tokenizations, addFeatureStrings);
 
         Function<LabeledTokensContainer, Void> function = new Function<LabeledTokensContainer, Void>() {
             @Override public Void apply(LabeledTokensContainer container) {
@@ -173,7 +173,7 @@ public class ReferenceSegmenterParser extends AbstractParser implements Referenc
 
 	public Pair<String,String> createTrainingData(Document doc, int id) {
 		SortedSet<DocumentPiece> referencesParts = doc.getDocumentPart(SegmentationLabels.REFERENCES);
-		Pair<String,List<LayoutToken>> featSeg = getReferencesSectionFeatured(doc, referencesParts);
+		Pair<FeatureMatrix,List<LayoutToken>> featSeg = getReferencesSectionFeatured(doc, referencesParts);
 		String res;
 		List<LayoutToken> tokenizations;
 		if (featSeg == null) {
@@ -181,7 +181,7 @@ public class ReferenceSegmenterParser extends AbstractParser implements Referenc
 		}
 		// if featSeg is null, it usually means that no reference segment is found in the
 		// document segmentation
-		String featureVector = featSeg.getLeft();
+		FeatureMatrix featureVector = featSeg.getLeft();
 		tokenizations = featSeg.getRight();
 		try {
 			res = label(featureVector);
@@ -326,7 +326,7 @@ public class ReferenceSegmenterParser extends AbstractParser implements Referenc
                 "    </text>\n" +
                 "</tei>\n");
 
-		return Pair.of(sb.toString(), featureVector);
+		return Pair.of(sb.toString(), featureVector.toString());
     }
 
 
@@ -415,7 +415,7 @@ public class ReferenceSegmenterParser extends AbstractParser implements Referenc
         return result;
     }
 
-	static public Pair<String,List<LayoutToken>> getReferencesSectionFeatured(Document doc,
+	static public Pair<FeatureMatrix,List<LayoutToken>> getReferencesSectionFeatured(Document doc,
 												SortedSet<DocumentPiece> referencesParts) {
 		if ((referencesParts == null) || (referencesParts.size() == 0)) {
 			return null;
@@ -426,7 +426,7 @@ public class ReferenceSegmenterParser extends AbstractParser implements Referenc
 			return null;
 		}
 
-		StringBuilder citations = new StringBuilder();
+		FeatureMatrix citations = new FeatureMatrix();
         boolean newline;
 //        String currentFont = null;
 //        int currentFontSize = -1;
@@ -779,14 +779,14 @@ System.out.println("");
 				features.punctuationProfile = currentLineProfile;
 
                 if (previousFeatures != null)
-                    citations.append(previousFeatures.printVector());
+                    previousFeatures.addTo(citations);
                 //mm++;
                 previousFeatures = features;
 			}
 		}
 		if (previousFeatures != null)
-	      	citations.append(previousFeatures.printVector());
+	      	previousFeatures.addTo(citations);
 
-	   	return Pair.of(citations.toString(), tokenizationsReferences);
+	   	return Pair.of(citations, tokenizationsReferences);
 	}
 }
@@ -10,6 +10,7 @@ import org.grobid.core.engines.config.GrobidAnalysisConfig;
 import org.grobid.core.exceptions.GrobidException;
 import org.grobid.core.exceptions.GrobidExceptionStatus;
 import org.grobid.core.features.FeatureFactory;
+import org.grobid.core.features.FeatureMatrix;
 import org.grobid.core.features.FeaturesVectorSegmentation;
 import org.grobid.core.layout.*;
 import org.grobid.core.utilities.GrobidProperties;
@@ -128,8 +129,8 @@ public class Segmentation extends AbstractParser {
         }
 
         doc.produceStatistics();
-        String content = getAllLinesFeatured(doc);
-        if (isNotEmpty(trim(content))) {
+        FeatureMatrix content = getAllLinesFeatureMatrix(doc);
+        if (content != null && !content.isEmpty()) {
             String labelledResult = label(content);
             // set the different sections of the Document object
             doc = BasicStructureBuilder.generalResultSegmentation(doc, labelledResult, tokenizations);
@@ -236,6 +237,15 @@ public class Segmentation extends AbstractParser {
      * Regarding layout features: font, size and style are the one associated to the first token of the line.
      */
     public String getAllLinesFeatured(Document doc) {
+        FeatureMatrix features = getAllLinesFeatureMatrix(doc);
+        return features == null ? null : features.toString();
+    }
+
+    /**
+     * Same as {@link #getAllLinesFeatured(Document)}, the features being kept as a matrix until passed to the
+     * tagger.
+     */
+    public FeatureMatrix getAllLinesFeatureMatrix(Document doc) {
 
         List<Block> blocks = doc.getBlocks();
         if ((blocks == null) || blocks.size() == 0) {
@@ -283,15 +293,12 @@ public class Segmentation extends AbstractParser {
             }
         }
 
-        String featuresAsString = getFeatureVectorsAsString(doc,
-                patterns, firstTimePattern);
-
-        return featuresAsString;
+        return getFeatureMatrix(doc, patterns, firstTimePattern);
     }
 
-    private String getFeatureVectorsAsString(Document doc, Map<String, Integer> patterns,
+    private FeatureMatrix getFeatureMatrix(Document doc, Map<String, Integer> patterns,
                                      Map<String, Boolean> firstTimePattern) {
-        StringBuilder fulltext = new StringBuilder();
+        FeatureMatrix fulltext = new FeatureMatrix();
         int documentLength = doc.getDocumentLenghtChar();
 
         String currentFont = null;
@@ -617,8 +624,7 @@ public class Segmentation extends AbstractParser {
                     }
 
                     if (previousFeatures != null) {
-                        String vector = previousFeatures.printVector();
-                        fulltext.append(vector);
+                        previousFeatures.addTo(fulltext);
                     }
                     previousFeatures = features;
                 }
@@ -637,9 +643,9 @@ public class Segmentation extends AbstractParser {
             }
         }
         if (previousFeatures != null)
-            fulltext.append(previousFeatures.printVector());
+            previousFeatures.addTo(fulltext);
 
-        return fulltext.toString();
+        return fulltext;
     }
 
 
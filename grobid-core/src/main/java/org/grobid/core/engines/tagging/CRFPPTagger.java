@@ -11,6 +11,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * User: zholudev
@@ -32,29 +34,30 @@ public class CRFPPTagger implements GenericTagger {
 
     protected String getTaggerResult(Iterable<String> st, String type) {
         Tagger tagger = null;
-        StringBuilder res;
         try {
             tagger = feedTaggerAndParse(st);
-
-            res = new StringBuilder();
-            for (int i = 0; i < tagger.size(); i++) {
-                for (int j = 0; j < tagger.xsize(); j++) {
-                    res.append(tagger.x(i, j)).append("\t");
-                }
-
-                if (type != null) {
-                    res.append(type).append("\t");
-                }
-
-                res.append(tagger.y2(i));
-                res.append("\n");
-            }
+            return printTaggerResult(tagger, type);
         } finally {
             if (tagger != null) {
                 tagger.delete();
             }
         }
+    }
+
+    private static String printTaggerResult(Tagger tagger, String type) {
+        StringBuilder res = new StringBuilder();
+        for (int i = 0; i < tagger.size(); i++) {
+            for (int j = 0; j < tagger.xsize(); j++) {
+                res.append(tagger.x(i, j)).append("\t");
+            }
 
+            if (type != null) {
+                res.append(type).append("\t");
+            }
+
+            res.append(tagger.y2(i));
+            res.append("\n");
+        }
         return res.toString();
     }
 
@@ -63,6 +66,32 @@ public class CRFPPTagger implements GenericTagger {
         return label(Splitter.on("\n").split(data));
     }
 
+    /**
+     * CRF++ parses one sequence at a time, but the same native tagger is reused for all
+     * the sequences of the batch.
+     */
+    @Override
+    public List<String> labelBatch(List<String> data) {
+        List<String> res = new ArrayList<>(data.size());
+        Tagger tagger = null;
+        try {
+            tagger = getNewTagger();
+            for (String sequence : data) {
+                if (sequence.trim().isEmpty()) {
+                    res.add("");
+                    continue;
+                }
+                feedTaggerAndParse(tagger, Splitter.on("\n").split(sequence));
+                res.add(printTaggerResult(tagger, null));
+            }
+        } finally {
+            if (tagger != null) {
+                tagger.delete();
+            }
+        }
+        return res;
+    }
+
     @Override
     public void close() throws IOException {
 
@@ -6,6 +6,7 @@ import org.grobid.core.GrobidModels;
 import org.grobid.core.jni.DeLFTModel;
 
 import java.io.IOException;
+import java.util.List;
 
 /**
  * 
@@ -29,6 +30,11 @@ public class DeLFTTagger implements GenericTagger {
         return delftModel.label(data);
     }
 
+    @Override
+    public List<String> labelBatch(List<String> data) {
+        return delftModel.labelBatch(data);
+    }
+
     @Override
     public void close() throws IOException {
         delftModel.close();
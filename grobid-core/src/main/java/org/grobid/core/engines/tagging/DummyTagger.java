@@ -34,6 +34,13 @@ public class DummyTagger implements GenericTagger {
         return "<dummy>";
     }
 
+    @Override
+    public List<String> labelBatch(List<String> data) {
+        final List<String> output = new ArrayList<>();
+        data.forEach(d -> output.add(label(d)));
+        return output;
+    }
+
     @Override
     public void close() throws IOException {
 
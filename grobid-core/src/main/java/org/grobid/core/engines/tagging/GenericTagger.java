@@ -1,6 +1,9 @@
 package org.grobid.core.engines.tagging;
 
+import org.grobid.core.features.FeatureMatrix;
+
 import java.io.Closeable;
+import java.util.List;
 
 /**
  * User: zholudev
@@ -9,4 +12,19 @@ import java.io.Closeable;
 public interface GenericTagger extends Closeable {
     String label(Iterable<String> data);
     String label(String data);
+
+    /**
+     * Label the rows of a feature matrix, the result being in the same format as {@link #label(String)}.
+     * The text form of the matrix is rendered in one go, the native taggers only taking text.
+     */
+    default String label(FeatureMatrix data) {
+        return label(data.toString());
+    }
+
+    /**
+     * Label several independent sequences in one call to the underlying engine. The result list
+     * has the same size as the input list, the labelled result of each input sequence being
+     * at the same index, in the same format as {@link #label(String)}.
+     */
+    List<String> labelBatch(List<String> data);
 }
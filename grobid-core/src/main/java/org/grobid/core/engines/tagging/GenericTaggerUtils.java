@@ -10,7 +10,6 @@ import org.wipo.analyzers.wipokr.utils.StringUtil;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.function.Function;
 import java.util.regex.Pattern;
 
 /**
@@ -29,13 +28,22 @@ public class GenericTaggerUtils {
 
     public static final Pattern SEPARATOR_PATTERN = Pattern.compile("[\t ]");
 
+    // separator between two independent sequences in the input and output of a tagger
+    public static final String SEQUENCE_SEPARATOR = "\n\n";
+
     /**
      * @param labeledResult labeled result from a tagger
      * @return a list of pairs - first element in a pair is a token itself, the second is a label (e.g. <footnote> or I-<footnote>)
      * Note an empty line in the result will be transformed to a 'null' pointer of a pair
+     * @see LabeledResult for walking through a result without building a pair per token
      */
     public static List<Pair<String, String>> getTokensAndLabels(String labeledResult) {
-        return processLabeledResult(labeledResult, splits -> Pair.of(splits.get(0), splits.get(splits.size() - 1)));
+        LabeledResult result = LabeledResult.of(labeledResult);
+        List<Pair<String, String>> res = new ArrayList<>(result.size());
+        for (int i = 0; i < result.size(); i++) {
+            res.add(result.isEmptyRow(i) ? null : Pair.of(result.getToken(i), result.getLabel(i)));
+        }
+        return res;
     }
 
     /**
@@ -46,32 +54,113 @@ public class GenericTaggerUtils {
      */
     public static List<Triple<String, String, String>> getTokensWithLabelsAndFeatures(String labeledResult,
                                                                                       final boolean addFeatureString) {
-        Function<List<String>, Triple<String, String, String>> fromSplits = splits -> {
-            String featureString = addFeatureString ? Joiner.on("\t").join(splits.subList(0, splits.size() - 1)) : null;
-            return new Triple<>(
-                splits.get(0),
-                splits.get(splits.size() - 1),
-                featureString);
-        };
-
-        return processLabeledResult(labeledResult, fromSplits);
+        LabeledResult result = LabeledResult.of(labeledResult);
+        List<Triple<String, String, String>> res = new ArrayList<>(result.size());
+        for (int i = 0; i < result.size(); i++) {
+            res.add(result.isEmptyRow(i) ? null : new Triple<>(result.getToken(i), result.getLabel(i),
+                addFeatureString ? result.getFeatureString(i) : null));
+        }
+        return res;
+    }
+
+    /**
+     * @param sequences list of feature sequences to be labelled in one call
+     * @return the sequences concatenated in a single tagger input, empty sequences being skipped
+     */
+    public static String joinSequences(List<String> sequences) {
+        StringBuilder res = new StringBuilder();
+        for (String sequence : sequences) {
+            if (StringUtils.isBlank(sequence)) {
+                continue;
+            }
+            if (res.length() > 0) {
+                res.append(SEQUENCE_SEPARATOR);
+            }
+            res.append(StringUtils.strip(sequence, "\n"));
+        }
+        return res.toString();
+    }
+
+    /**
+     * @param data tagger input or output
+     * @return the number of sequences, i.e. blocks of non-empty lines separated by empty lines
+     */
+    public static int countSequences(String data) {
+        if (data == null) {
+            return 0;
+        }
+        int count = 0;
+        boolean inSequence = false;
+        for (String line : Splitter.on('\n').split(data)) {
+            if (line.trim().isEmpty()) {
+                inSequence = false;
+            } else if (!inSequence) {
+                inSequence = true;
+                count++;
+            }
+        }
+        return count;
     }
 
-    private static <T> List<T> processLabeledResult(String labeledResult, Function<List<String>, T> fromSplits) {
-        String[] lines = labeledResult.split("\n");
-        List<T> res = new ArrayList<>(lines.length);
-        for (String line : lines) {
-            line = line.trim();
-            if (line.isEmpty()) {
-                res.add(null);
+    /**
+     * @param labeledResult labeled result from a tagger
+     * @return the list of labeled sequences, i.e. blocks of non-empty lines separated by empty lines
+     */
+    public static List<String> splitSequences(String labeledResult) {
+        List<String> res = new ArrayList<>();
+        if (labeledResult == null) {
+            return res;
+        }
+        StringBuilder current = new StringBuilder();
+        for (String line : Splitter.on('\n').split(labeledResult)) {
+            if (line.trim().isEmpty()) {
+                if (current.length() > 0) {
+                    res.add(current.toString());
+                    current = new StringBuilder();
+                }
                 continue;
             }
-            List<String> splits = Splitter.on(SEPARATOR_PATTERN).splitToList(line);
-            res.add(fromSplits.apply(splits));
+            if (current.length() > 0) {
+                current.append("\n");
+            }
+            current.append(line);
+        }
+        if (current.length() > 0) {
+            res.add(current.toString());
+        }
+        return res;
+    }
+
+    /**
+     * Group the labeled sequences resulting from a batch back to the input they come from, an input
+     * containing itself possibly several sequences.
+     *
+     * @param labeledSequences labeled sequences in the order of the batch
+     * @param inputs           the original inputs of the batch
+     * @param separator        separator inserted between the labeled sequences of the same input
+     * @return one labeled result per input, an empty string for inputs without corresponding result
+     */
+    public static List<String> groupSequences(List<String> labeledSequences, List<String> inputs, String separator) {
+        List<String> res = new ArrayList<>(inputs.size());
+        int index = 0;
+        for (String input : inputs) {
+            int nbSequences = countSequences(input);
+            int end = Math.min(index + nbSequences, labeledSequences.size());
+            res.add(index < end ? Joiner.on(separator).join(labeledSequences.subList(index, end)) : "");
+            index = end;
         }
         return res;
     }
 
+    /**
+     * @param labeledResult labeled result from a tagger applied to the joined inputs
+     * @param inputs        the inputs of the batch, see {@link #joinSequences(List)}
+     * @return one labeled result per input
+     */
+    public static List<String> splitBatchResult(String labeledResult, List<String> inputs) {
+        return groupSequences(splitSequences(labeledResult), inputs, SEQUENCE_SEPARATOR);
+    }
+
     public static String getPlainIOBLabel(String label) {
         return isBeginningOfIOBEntity(label) ? StringUtil.substring(label, 2) : label;
     }
@@ -0,0 +1,219 @@
+package org.grobid.core.engines.tagging;
+
+import org.grobid.core.utilities.Triple;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Index-based view of the labeled result of a tagger, one row per line of the result: the token is the
+ * first field of the line, the label the last one and the features all the fields but the label.
+ * An empty line, separating two sequences, is an empty row.
+ *
+ * The result is scanned once, keeping only the offsets of the fields of each line and the id of its label,
+ * the labels being interned in the order of their first occurrence. The tokens and feature strings are
+ * only extracted on demand, so that walking through a result does not allocate per token.
+ */
+public class LabeledResult {
+    public static final int NO_LABEL = -1;
+
+    // offsets of a row in the text: line start, token end, features end, label start, line end
+    private static final int STRIDE = 5;
+
+    private final String text;
+    private int[] offsets;
+    private int[] labelIds;
+    private int nbRows = 0;
+
+    private final List<String> labels = new ArrayList<>();
+    private int[] labelHashes = new int[16];
+
+    private LabeledResult(String text, int capacity) {
+        this.text = text;
+        this.offsets = new int[Math.max(capacity, 1) * STRIDE];
+        this.labelIds = new int[Math.max(capacity, 1)];
+    }
+
+    /**
+     * @param labeledResult labeled result from a tagger, the fields of a line being separated by a tab or a space
+     */
+    public static LabeledResult of(String labeledResult) {
+        LabeledResult result = new LabeledResult(labeledResult, 64);
+        int length = labeledResult.length();
+        // like String.split, the trailing empty lines are ignored unless the result is empty
+        while (length > 0 && labeledResult.charAt(length - 1) == '\n')
+            length--;
+        if (length == 0 && !labeledResult.isEmpty())
+            return result;
+
+        int lineStart = 0;
+        while (lineStart <= length) {
+            int lineEnd = labeledResult.indexOf('\n', lineStart);
+            if (lineEnd == -1 || lineEnd > length)
+                lineEnd = length;
+            result.addLine(lineStart, lineEnd);
+            lineStart = lineEnd + 1;
+        }
+        return result;
+    }
+
+    /**
+     * @param tokensAndLabels token, label and optional feature string of each row, null for an empty row,
+     *                        see {@link GenericTaggerUtils#getTokensWithLabelsAndFeatures(String, boolean)}
+     */
+    public static LabeledResult of(List<Triple<String, String, String>> tokensAndLabels) {
+        StringBuilder builder = new StringBuilder();
+        for (Triple<String, String, String> row : tokensAndLabels) {
+            if (row != null)
+                builder.append(row.getC() != null ? row.getC() : row.getA()).append('\t').append(row.getB());
+            builder.append('\n');
+        }
+
+        LabeledResult result = new LabeledResult(builder.toString(), tokensAndLabels.size());
+        int lineStart = 0;
+        for (Triple<String, String, String> row : tokensAndLabels) {
+            if (row == null) {
+                result.addRow(lineStart, lineStart, lineStart, lineStart, lineStart, NO_LABEL);
+                lineStart++;
+                continue;
+            }
+            int labelStart = lineStart + (row.getC() != null ? row.getC() : row.getA()).length() + 1;
+            int lineEnd = labelStart + row.getB().length();
+            result.addRow(lineStart, lineStart + row.getA().length(), row.getC() != null ? labelStart - 1 : -1,
+                labelStart, lineEnd, result.internLabel(labelStart, lineEnd));
+            lineStart = lineEnd + 1;
+        }
+        return result;
+    }
+
+    private void addLine(int lineStart, int lineEnd) {
+        // trimmed like String.trim
+        while (lineStart < lineEnd && text.charAt(lineStart) <= ' ')
+            lineStart++;
+        while (lineEnd > lineStart && text.charAt(lineEnd - 1) <= ' ')
+            lineEnd--;
+        if (lineStart == lineEnd) {
+            addRow(lineStart, lineStart, lineStart, lineStart, lineStart, NO_LABEL);
+            return;
+        }
+
+        int tokenEnd = lineStart;
+        while (tokenEnd < lineEnd && !isSeparator(text.charAt(tokenEnd)))
+            tokenEnd++;
+        int featuresEnd = lineEnd;
+        while (featuresEnd > tokenEnd && !isSeparator(text.charAt(featuresEnd - 1)))
+            featuresEnd--;
+        int labelStart = featuresEnd;
+        if (featuresEnd == tokenEnd) {
+            // single field, being both the token and the label
+            labelStart = lineStart;
+            featuresEnd = lineStart;
+        } else {
+            featuresEnd--;
+        }
+        addRow(lineStart, tokenEnd, featuresEnd, labelStart, lineEnd, internLabel(labelStart, lineEnd));
+    }
+
+    private static boolean isSeparator(char c) {
+        return c == '\t' || c == ' ';
+    }
+
+    private void addRow(int lineStart, int tokenEnd, int featuresEnd, int labelStart, int lineEnd, int labelId) {
+        if (nbRows == labelIds.length) {
+            labelIds = Arrays.copyOf(labelIds, nbRows * 2);
+            offsets = Arrays.copyOf(offsets, nbRows * 2 * STRIDE);
+        }
+        int base = nbRows * STRIDE;
+        offsets[base] = lineStart;
+        offsets[base + 1] = tokenEnd;
+        offsets[base + 2] = featuresEnd;
+        offsets[base + 3] = labelStart;
+        offsets[base + 4] = lineEnd;
+        labelIds[nbRows++] = labelId;
+    }
+
+    private int internLabel(int start, int end) {
+        int hash = 0;
+        for (int i = start; i < end; i++)
+            hash = 31 * hash + text.charAt(i);
+        for (int id = 0; id < labels.size(); id++) {
+            String label = labels.get(id);
+            if (labelHashes[id] == hash && label.length() == end - start
+                && text.regionMatches(start, label, 0, label.length()))
+                return id;
+        }
+        if (labels.size() == labelHashes.length)
+            labelHashes = Arrays.copyOf(labelHashes, labelHashes.length * 2);
+        labelHashes[labels.size()] = hash;
+        labels.add(text.substring(start, end));
+        return labels.size() - 1;
+    }
+
+    public int size() {
+        return nbRows;
+    }
+
+    /**
+     * @return true if the row is an empty line of the result, having neither token nor label
+     */
+    public boolean isEmptyRow(int row) {
+        return labelIds[row] == NO_LABEL;
+    }
+
+    /**
+     * @return the id of the label of the row, the same label having the same id in all the rows,
+     * or {@link #NO_LABEL} for an empty row
+     */
+    public int getLabelId(int row) {
+        return labelIds[row];
+    }
+
+    public String getLabel(int row) {
+        return isEmptyRow(row) ? null : labels.get(labelIds[row]);
+    }
+
+    /**
+     * @return the label of an id, see {@link #getLabelId(int)}
+     */
+    public String getLabelOf(int labelId) {
+        return labels.get(labelId);
+    }
+
+    public int getLabelCount() {
+        return labels.size();
+    }
+
+    public String getToken(int row) {
+        return isEmptyRow(row) ? null : text.substring(offsets[row * STRIDE], offsets[row * STRIDE + 1]);
+    }
+
+    /**
+     * @return true if the token of the row is the given text once its spaces and new lines are removed
+     */
+    public boolean isToken(int row, String original) {
+        if (isEmptyRow(row))
+            return false;
+        int position = offsets[row * STRIDE];
+        int end = offsets[row * STRIDE + 1];
+        for (int i = 0; i < original.length(); i++) {
+            char c = original.charAt(i);
+            if (c == ' ' || c == '\n')
+                continue;
+            if (position == end || text.charAt(position++) != c)
+                return false;
+        }
+        return position == end;
+    }
+
+    /**
+     * @return all the fields of the row but the label, separated by tabs, or null for an empty row
+     * or a row given without features
+     */
+    public String getFeatureString(int row) {
+        int featuresEnd = offsets[row * STRIDE + 2];
+        if (isEmptyRow(row) || featuresEnd == -1)
+            return null;
+        return text.substring(offsets[row * STRIDE], featuresEnd).replace(' ', '\t');
+    }
+}
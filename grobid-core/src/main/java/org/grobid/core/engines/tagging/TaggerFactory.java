@@ -2,11 +2,16 @@ package org.grobid.core.engines.tagging;
 
 import org.grobid.core.GrobidModel;
 import org.grobid.core.GrobidModels;
+import org.grobid.core.exceptions.GrobidException;
 import org.grobid.core.utilities.GrobidProperties;
 import org.grobid.core.main.LibraryLoader;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import java.io.File;
 
 import org.slf4j.Logger;
@@ -20,49 +25,122 @@ import org.slf4j.LoggerFactory;
 public class TaggerFactory {
     public static final Logger LOGGER = LoggerFactory.getLogger(TaggerFactory.class);
 
-    private static Map<GrobidModel, GenericTagger> cache = new HashMap<>();
+    // the loading of a model runs outside of the map, so that it does not hold the lock of a bin shared
+    // with other models
+    private static Map<GrobidModel, FutureTask<GenericTagger>> cache = new ConcurrentHashMap<>();
+
+    // number of tagger lookups, and among them the lookups which had to wait for (or raced with)
+    // the loading of the same model by another thread
+    private static final LongAdder lookups = new LongAdder();
+    private static final LongAdder contendedLookups = new LongAdder();
+    private static final LongAdder contendedWaitNanos = new LongAdder();
 
     private TaggerFactory() {}
 
-    public static synchronized GenericTagger getTagger(GrobidModel model) {
+    public static GenericTagger getTagger(GrobidModel model) {
         return getTagger(model, GrobidProperties.getGrobidCRFEngine(model));
     }
 
-    public static synchronized GenericTagger getTagger(GrobidModel model, GrobidCRFEngine engine) {
-        GenericTagger t = cache.get(model);
-        if (t == null) {
+    /**
+     * Lookups of an already loaded model do not take any lock. The taggers are shared by all
+     * the engines, their labelling methods being thread-safe.
+     */
+    public static GenericTagger getTagger(GrobidModel model, GrobidCRFEngine engine) {
+        lookups.increment();
+        FutureTask<GenericTagger> task = cache.get(model);
+        if (task != null && task.isDone()) {
+            return getLoadedTagger(model, task);
+        }
+
+        if (task == null) {
             if(model.equals(GrobidModels.DUMMY)) {
                 return new DummyTagger(model);
             }
 
-            if(engine != null) {
-                switch (engine) {
-                    case CRFPP:
-                        t = new CRFPPTagger(model);
-                        break;
-                    case WAPITI:
-                        t = new WapitiTagger(model);
-                        break;
-                    case DELFT:
-                        // be sure the native JEP lib can be loaded
-//                        try {
-//                            String libraryFolder = LibraryLoader.getLibraryFolder();
-//                            System.out.println(libraryFolder);
-//                            LibraryLoader.addLibraryPath(libraryFolder);
-//                        } catch (Exception e) {
-//                            LOGGER.info("Loading JEP native library for DeLFT failed", e);
-//                        }
-
-                        t = new DeLFTTagger(model);
-                        break;
-                    default:
-                        throw new IllegalStateException("Unsupported Grobid sequence labelling engine: " + GrobidProperties.getGrobidCRFEngine());
-                }
-                cache.put(model, t);
-            } else {
+            if(engine == null) {
                 throw new IllegalStateException("Unsupported or null Grobid sequence labelling engine: " + GrobidProperties.getGrobidCRFEngine());
             }
+
+            FutureTask<GenericTagger> newTask = new FutureTask<>(() -> createTagger(model, engine));
+            task = cache.putIfAbsent(model, newTask);
+            if (task == null) {
+                newTask.run();
+                return getLoadedTagger(model, newTask);
+            }
+        }
+
+        long start = System.nanoTime();
+        try {
+            return getLoadedTagger(model, task);
+        } finally {
+            contendedLookups.increment();
+            contendedWaitNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Waits for the loading of a model, a model which failed to load being forgotten so that the next
+     * lookup loads it again.
+     */
+    private static GenericTagger getLoadedTagger(GrobidModel model, FutureTask<GenericTagger> task) {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GrobidException("Interrupted while waiting for the model " + model.getModelName(), e);
+        } catch (ExecutionException e) {
+            cache.remove(model, task);
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new GrobidException("Cannot load the model " + model.getModelName(), cause);
+        }
+    }
+
+    private static GenericTagger createTagger(GrobidModel model, GrobidCRFEngine engine) {
+        switch (engine) {
+            case CRFPP:
+                return new CRFPPTagger(model);
+            case WAPITI:
+                return new WapitiTagger(model);
+            case DELFT:
+                // be sure the native JEP lib can be loaded
+//                try {
+//                    String libraryFolder = LibraryLoader.getLibraryFolder();
+//                    System.out.println(libraryFolder);
+//                    LibraryLoader.addLibraryPath(libraryFolder);
+//                } catch (Exception e) {
+//                    LOGGER.info("Loading JEP native library for DeLFT failed", e);
+//                }
+
+                return new DeLFTTagger(model);
+            default:
+                throw new IllegalStateException("Unsupported Grobid sequence labelling engine: " + GrobidProperties.getGrobidCRFEngine());
         }
-        return t;
+    }
+
+    /**
+     * @return total number of tagger lookups
+     */
+    public static long getLookupCount() {
+        return lookups.sum();
+    }
+
+    /**
+     * @return number of lookups which found the model being loaded by another thread
+     */
+    public static long getContendedLookupCount() {
+        return contendedLookups.sum();
+    }
+
+    /**
+     * @return cumulated time spent by the contended lookups waiting for a model, in milliseconds
+     */
+    public static long getContendedWaitTime() {
+        return TimeUnit.NANOSECONDS.toMillis(contendedWaitNanos.sum());
     }
 }
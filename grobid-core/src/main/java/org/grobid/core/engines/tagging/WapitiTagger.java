@@ -6,6 +6,7 @@ import org.grobid.core.GrobidModels;
 import org.grobid.core.jni.WapitiModel;
 
 import java.io.IOException;
+import java.util.List;
 
 /**
  * User: zholudev
@@ -29,6 +30,11 @@ public class WapitiTagger implements GenericTagger {
         return wapitiModel.label(data);
     }
 
+    @Override
+    public List<String> labelBatch(List<String> data) {
+        return wapitiModel.labelBatch(data);
+    }
+
     @Override
     public void close() throws IOException {
         wapitiModel.close();
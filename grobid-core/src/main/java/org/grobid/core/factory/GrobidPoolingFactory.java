@@ -1,27 +1,25 @@
 package org.grobid.core.factory;
 
+import java.util.Map;
 import java.util.NoSuchElementException;
 
-import org.apache.commons.pool.PoolableObjectFactory;
-import org.apache.commons.pool.impl.GenericObjectPool;
 import org.grobid.core.engines.Engine;
 import org.grobid.core.exceptions.GrobidException;
 import org.grobid.core.utilities.GrobidProperties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class GrobidPoolingFactory extends AbstractEngineFactory implements
-		PoolableObjectFactory {
+public class GrobidPoolingFactory extends AbstractEngineFactory {
 
 	/**
 	 * A pool which contains objects of type Engine for the conversion.
 	 */
-	private static volatile GenericObjectPool grobidEnginePool = null;
-	private static volatile Boolean grobidEnginePoolControl = false;
+	private static volatile InstrumentedPool<Engine> grobidEnginePool = null;
+	private static final Object grobidEnginePoolControl = new Object();
 	private static final Logger LOGGER = LoggerFactory
 			.getLogger(GrobidPoolingFactory.class);
 
-	private static volatile Boolean preload = false;
+	private static volatile boolean preload = false;
 
 	/**
 	 * Constructor.
@@ -32,27 +30,20 @@ public class GrobidPoolingFactory extends AbstractEngineFactory implements
 	}
 
 	/**
-	 * Creates a pool for {@link Engine} objects. So a number of objects is
-	 * always available and ready to start immediatly.
-	 * 
-	 * @return GenericObjectPool
+	 * Creates a pool for {@link Engine} objects. Returned engines are kept warm in
+	 * the pool and re-used by the next borrowers.
+	 *
+	 * @return InstrumentedPool
 	 */
-	protected static GenericObjectPool newPoolInstance() {
+	protected static InstrumentedPool<Engine> newPoolInstance() {
 		if (grobidEnginePool == null) {
 			// initialize grobidEnginePool
-			LOGGER.debug("synchronized newPoolInstance");
 			synchronized (grobidEnginePoolControl) {
 				if (grobidEnginePool == null) {
-					grobidEnginePool = new GenericObjectPool(GrobidPoolingFactory.newInstance());
-					//grobidEnginePool.setFactory(GrobidPoolingFactory.newInstance());
-					grobidEnginePool
-							.setWhenExhaustedAction(GenericObjectPool.WHEN_EXHAUSTED_BLOCK);
-					grobidEnginePool.setMaxWait(GrobidProperties.getPoolMaxWait());
-					grobidEnginePool.setMaxActive(GrobidProperties.getMaxPoolConnections());
-					grobidEnginePool.setTestWhileIdle(false);
-					grobidEnginePool.setLifo(false);
-					grobidEnginePool.setTimeBetweenEvictionRunsMillis(2000);
-					grobidEnginePool.setMaxIdle(0);
+					LOGGER.debug("synchronized newPoolInstance");
+					final GrobidPoolingFactory factory = GrobidPoolingFactory.newInstance();
+					grobidEnginePool = new InstrumentedPool<>(() -> factory.createEngine(preload),
+							GrobidProperties.getMaxPoolConnections());
 				}
 			}
 		}
@@ -61,90 +52,100 @@ public class GrobidPoolingFactory extends AbstractEngineFactory implements
 
 	/**
 	 * Obtains an instance from this pool.<br>
-	 * 
+	 *
 	 * By contract, clients must call {@link GrobidPoolingFactory#returnEngine}
 	 * when they finish to use the engine.
+	 *
+	 * @throws NoSuchElementException if no engine becomes available within the configured time
 	 */
-	public static synchronized Engine getEngineFromPool(boolean preloadModels) {
+	public static Engine getEngineFromPool(boolean preloadModels) {
 		preload = preloadModels;
-		if (grobidEnginePool == null) {
-			grobidEnginePool = newPoolInstance();
-		}
-		Engine engine = null;
+		InstrumentedPool<Engine> pool = newPoolInstance();
+		Engine engine;
 		try {
-			engine = (Engine) grobidEnginePool.borrowObject();
+			engine = pool.borrow(GrobidProperties.getPoolMaxWait());
 		} catch (NoSuchElementException nseExp) {
-			throw new NoSuchElementException();
+			throw nseExp;
 		} catch (Exception exp) {
 			throw new GrobidException("An error occurred while getting an engine from the engine pool", exp);
 		}
-		LOGGER.info("Number of Engines in pool active/max: "
-				+ grobidEnginePool.getNumActive() + "/"
-				+ grobidEnginePool.getMaxActive());
+		if (LOGGER.isDebugEnabled()) {
+			LOGGER.debug("Number of Engines in pool active/idle/max: "
+					+ pool.getNumActive() + "/" + pool.getNumIdle() + "/" + pool.getMaxSize());
+		}
 		return engine;
 	}
 
 	/**
-	 * By contract, engine must have been obtained using
-	 * {@link GrobidPoolingFactory#getEngineFromPool}.<br>
+	 * Obtains an instance from this pool, waiting as long as needed for a free engine, for the
+	 * background processing which is not bounded by the maximum wait of the requests. The waits
+	 * are not counted as timeouts of the pool.<br>
+	 *
+	 * By contract, clients must call {@link GrobidPoolingFactory#returnEngine}
+	 * when they finish to use the engine.
+	 *
+	 * @throws InterruptedException if the thread is interrupted while waiting
 	 */
-	public static void returnEngine(Engine engine) {
+	public static Engine waitForEngineFromPool(boolean preloadModels) throws InterruptedException {
+		preload = preloadModels;
+		InstrumentedPool<Engine> pool = newPoolInstance();
 		try {
-			//engine.close();
-			if (grobidEnginePool == null) 
-				System.out.println("grobidEnginePool is null !");
-			grobidEnginePool.returnObject(engine);
+			return pool.borrow(-1);
+		} catch (NoSuchElementException nseExp) {
+			// without time limit, the borrow only fails when interrupted
+			if (Thread.interrupted()) {
+				throw new InterruptedException(nseExp.getMessage());
+			}
+			throw nseExp;
 		} catch (Exception exp) {
-			throw new GrobidException(
-					"An error occurred while returning an engine from the engine pool", exp);
+			throw new GrobidException("An error occurred while getting an engine from the engine pool", exp);
 		}
 	}
 
 	/**
-	 * Creates and returns an instance of GROBIDFactory. The init() method will
-	 * be called.
-	 * 
-	 * @return
-	 */
-	protected static GrobidPoolingFactory newInstance() {
-		return new GrobidPoolingFactory();
-	}
-
-	/**
-	 * {@inheritDoc}
+	 * By contract, engine must have been obtained using
+	 * {@link GrobidPoolingFactory#getEngineFromPool}.<br>
 	 */
-	@Override
-	public void activateObject(Object arg0) throws Exception {
+	public static void returnEngine(Engine engine) {
+		if (grobidEnginePool == null) {
+			throw new GrobidException("An engine is returned while the engine pool has not been created");
+		}
+		grobidEnginePool.release(engine);
 	}
 
 	/**
-	 * {@inheritDoc}
+	 * Changes the maximum number of engines of the pool at runtime.
 	 */
-	@Override
-	public void destroyObject(Object arg0) throws Exception {
+	public static void setPoolSize(int size) {
+		newPoolInstance().setMaxSize(size);
+		GrobidProperties.setMaxPoolConnections(String.valueOf(size));
+		LOGGER.info("Engine pool resized to " + size);
 	}
 
 	/**
-	 * {@inheritDoc}
+	 * @return the engine pool, or null if no engine has been requested yet; unlike the other 
+	 * accessors, this does not create the pool, so that it can be used for monitoring
 	 */
-	@Override
-	public Object makeObject() throws Exception {
-		return (createEngine(this.preload));
+	public static InstrumentedPool<Engine> getPool() {
+		return grobidEnginePool;
 	}
 
 	/**
-	 * {@inheritDoc}
+	 * @return the current state of the pool: max size, active, idle and waiting counts, and the
+	 * histograms of the time spent waiting for an engine and of the total borrow time
 	 */
-	@Override
-	public void passivateObject(Object arg0) throws Exception {
+	public static Map<String, Object> getPoolStatistics() {
+		return newPoolInstance().getStatistics();
 	}
 
 	/**
-	 * {@inheritDoc}
+	 * Creates and returns an instance of GROBIDFactory. The init() method will
+	 * be called.
+	 *
+	 * @return
 	 */
-	@Override
-	public boolean validateObject(Object arg0) {
-		return false;
+	protected static GrobidPoolingFactory newInstance() {
+		return new GrobidPoolingFactory();
 	}
 
 }
@@ -0,0 +1,205 @@
+package org.grobid.core.factory;
+
+import org.grobid.core.utilities.counters.LatencyHistogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool of reusable objects, typically engines which are expensive to create.
+ *
+ * A borrower only waits for a free slot, never for another borrower: the slots are semaphore permits
+ * and the idle objects are kept in a lock-free stack, so that the most recently used (warm) objects
+ * are handed out first. Objects are created lazily, outside of any lock, when no idle one is available.
+ * The maximum size can be changed at runtime: extra slots are usable immediately, and when shrinking,
+ * the objects in excess are dropped when returned. Only the objects currently borrowed can be released,
+ * other releases are ignored so that they cannot add slots to the pool.
+ */
+public class InstrumentedPool<T> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(InstrumentedPool.class);
+
+    private final Supplier<T> factory;
+
+    private final ResizableSemaphore slots;
+    private final Deque<T> idle = new ConcurrentLinkedDeque<>();
+    // objects handed out and not yet released, by identity
+    private final Set<T> borrowed = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+    private volatile int maxSize;
+    private final Object resizeLock = new Object();
+
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final LongAdder created = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+
+    // time spent waiting for a free slot
+    private final LatencyHistogram waitTimes = new LatencyHistogram();
+    // total time of a borrow, including the creation of a new object
+    private final LatencyHistogram borrowTimes = new LatencyHistogram();
+
+    private static class ResizableSemaphore extends Semaphore {
+        ResizableSemaphore(int permits) {
+            super(permits, true);
+        }
+
+        @Override
+        protected void reducePermits(int reduction) {
+            super.reducePermits(reduction);
+        }
+    }
+
+    public InstrumentedPool(Supplier<T> factory, int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("The size of the pool must be at least 1, got " + maxSize);
+        }
+        this.factory = factory;
+        this.maxSize = maxSize;
+        this.slots = new ResizableSemaphore(maxSize);
+    }
+
+    /**
+     * Obtains an object from the pool, waiting at most maxWaitMillis for a free slot (no limit if negative).
+     * By contract, the object must be given back with {@link #release}.
+     *
+     * @throws NoSuchElementException if no slot was freed in time
+     */
+    public T borrow(long maxWaitMillis) {
+        long start = System.nanoTime();
+        boolean acquired;
+        waiting.incrementAndGet();
+        try {
+            if (maxWaitMillis < 0) {
+                slots.acquire();
+                acquired = true;
+            } else {
+                acquired = slots.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new NoSuchElementException("Interrupted while waiting for a free object in the pool");
+        } finally {
+            waiting.decrementAndGet();
+        }
+        waitTimes.record(System.nanoTime() - start);
+        if (!acquired) {
+            timeouts.increment();
+            throw new NoSuchElementException("No free object in the pool after " + maxWaitMillis + " ms");
+        }
+
+        T object = idle.pollFirst();
+        if (object == null) {
+            try {
+                object = factory.get();
+            } catch (RuntimeException e) {
+                slots.release();
+                throw e;
+            }
+            created.increment();
+        }
+        borrowed.add(object);
+        active.incrementAndGet();
+        borrowTimes.record(System.nanoTime() - start);
+        return object;
+    }
+
+    /**
+     * Gives back an object obtained with {@link #borrow}. Releasing an object which is not currently 
+     * borrowed from this pool, for instance a second time, has no effect.
+     */
+    public void release(T object) {
+        if (object == null || !borrowed.remove(object)) {
+            LOGGER.warn("Ignoring the release of an object which is not borrowed from the pool");
+            return;
+        }
+        int stillActive = active.decrementAndGet();
+        if (stillActive + idle.size() < maxSize) {
+            idle.offerFirst(object);
+        } else {
+            // the pool has been shrunk in the meantime
+            dropped.increment();
+        }
+        slots.release();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Changes the maximum number of objects of the pool. Borrowers already waiting benefit immediately
+     * from an increase, a decrease applies as soon as enough objects are returned.
+     */
+    public void setMaxSize(int newMaxSize) {
+        if (newMaxSize < 1) {
+            throw new IllegalArgumentException("The size of the pool must be at least 1, got " + newMaxSize);
+        }
+        synchronized (resizeLock) {
+            int delta = newMaxSize - maxSize;
+            maxSize = newMaxSize;
+            if (delta > 0) {
+                slots.release(delta);
+            } else if (delta < 0) {
+                slots.reducePermits(-delta);
+                while (active.get() + idle.size() > newMaxSize && idle.pollLast() != null) {
+                    dropped.increment();
+                }
+            }
+        }
+    }
+
+    public int getNumActive() {
+        return active.get();
+    }
+
+    public int getNumIdle() {
+        return idle.size();
+    }
+
+    public int getNumWaiting() {
+        return waiting.get();
+    }
+
+    public long getNumCreated() {
+        return created.sum();
+    }
+
+    public long getNumTimeouts() {
+        return timeouts.sum();
+    }
+
+    public LatencyHistogram getWaitTimes() {
+        return waitTimes;
+    }
+
+    public LatencyHistogram getBorrowTimes() {
+        return borrowTimes;
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("maxSize", getMaxSize());
+        result.put("active", getNumActive());
+        result.put("idle", getNumIdle());
+        result.put("waiting", getNumWaiting());
+        result.put("created", getNumCreated());
+        result.put("dropped", dropped.sum());
+        result.put("timeouts", getNumTimeouts());
+        result.put("waitTime", waitTimes.toMap());
+        result.put("borrowTime", borrowTimes.toMap());
+        return result;
+    }
+}
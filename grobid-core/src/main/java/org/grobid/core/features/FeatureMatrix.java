@@ -0,0 +1,109 @@
+package org.grobid.core.features;
+
+import java.util.Arrays;
+
+/**
+ * Feature vectors of a sequence of tokens, filled by the FeaturesVector* classes: one row per token and
+ * one column per feature.
+ *
+ * The cells reference the value strings, so that filling the rows does not concatenate any string.
+ * The text form expected by the taggers and used for the training data, one line per token with the
+ * values separated by a space, is rendered in a single pass into a pre-sized buffer by {@link #toString()}.
+ */
+public class FeatureMatrix {
+    private static final String[] SMALL_INTS = new String[128];
+
+    static {
+        for (int i = 0; i < SMALL_INTS.length; i++)
+            SMALL_INTS[i] = Integer.toString(i);
+    }
+
+    private String[] cells = new String[256];
+    private int nbCells = 0;
+    // end (excluded) of the cells of each row
+    private int[] rowEnds = new int[16];
+    private int nbRows = 0;
+    // length of the text form
+    private int textLength = 0;
+
+    /**
+     * Add a value to the current row, null being rendered as "null" like in a concatenated string.
+     */
+    public FeatureMatrix add(String value) {
+        if (value == null)
+            value = "null";
+        if (nbCells == cells.length)
+            cells = Arrays.copyOf(cells, cells.length * 2);
+        if (nbCells > getRowStart(nbRows))
+            textLength++;
+        cells[nbCells++] = value;
+        textLength += value.length();
+        return this;
+    }
+
+    /**
+     * Add a binary feature to the current row, as 1 or 0.
+     */
+    public FeatureMatrix add(boolean value) {
+        return add(value ? "1" : "0");
+    }
+
+    public FeatureMatrix add(int value) {
+        return add(value >= 0 && value < SMALL_INTS.length ? SMALL_INTS[value] : Integer.toString(value));
+    }
+
+    /**
+     * End the current row, the following values being added to a new row.
+     */
+    public void endRow() {
+        if (nbRows == rowEnds.length)
+            rowEnds = Arrays.copyOf(rowEnds, rowEnds.length * 2);
+        rowEnds[nbRows++] = nbCells;
+        textLength++;
+    }
+
+    private int getRowStart(int row) {
+        return row == 0 ? 0 : rowEnds[row - 1];
+    }
+
+    public boolean isEmpty() {
+        return nbRows == 0;
+    }
+
+    public int getRowCount() {
+        return nbRows;
+    }
+
+    public int getColumnCount(int row) {
+        return rowEnds[row] - getRowStart(row);
+    }
+
+    public String getValue(int row, int column) {
+        return cells[getRowStart(row) + column];
+    }
+
+    /**
+     * Append the text form of the rows, each row being a line ended by a new line character.
+     */
+    public void appendTo(StringBuilder builder) {
+        int cell = 0;
+        for (int row = 0; row < nbRows; row++) {
+            for (int start = cell; cell < rowEnds[row]; cell++) {
+                if (cell > start)
+                    builder.append(' ');
+                builder.append(cells[cell]);
+            }
+            builder.append('\n');
+        }
+    }
+
+    /**
+     * @return the text form of the rows, as expected by the taggers and written in the training data
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder(textLength);
+        appendTo(builder);
+        return builder.toString();
+    }
+}
@@ -33,86 +33,78 @@ public class FeaturesVectorAffiliationAddress {
     // one of NOPUNCT, OPENBRACKET, ENDBRACKET, DOT, COMMA, HYPHEN, QUOTE, PUNCT (default)
 
     public String printVector() {
-        if (string == null) return null;
-        if (string.length() == 0) return null;
-        StringBuffer res = new StringBuffer();
+        FeatureMatrix matrix = new FeatureMatrix();
+        if (!addTo(matrix))
+            return null;
+        return matrix.toString();
+    }
+
+    /**
+     * Add the features of the token as a new row of the matrix.
+     *
+     * @return false if there is no token, in which case nothing is added
+     */
+    public boolean addTo(FeatureMatrix matrix) {
+        if (string == null) return false;
+        if (string.length() == 0) return false;
 
         // token string (1)
-        res.append(string);
+        matrix.add(string);
 
         // lowercase string
-        res.append(" " + string.toLowerCase());
+        matrix.add(string.toLowerCase());
 
         // prefix (4)
-        res.append(" " + TextUtilities.prefix(string, 1));
-        res.append(" " + TextUtilities.prefix(string, 2));
-        res.append(" " + TextUtilities.prefix(string, 3));
-        res.append(" " + TextUtilities.prefix(string, 4));
+        matrix.add(TextUtilities.prefix(string, 1));
+        matrix.add(TextUtilities.prefix(string, 2));
+        matrix.add(TextUtilities.prefix(string, 3));
+        matrix.add(TextUtilities.prefix(string, 4));
 
         // suffix (4)
-        res.append(" " + TextUtilities.suffix(string, 1));
-        res.append(" " + TextUtilities.suffix(string, 2));
-        res.append(" " + TextUtilities.suffix(string, 3));
-        res.append(" " + TextUtilities.suffix(string, 4));
+        matrix.add(TextUtilities.suffix(string, 1));
+        matrix.add(TextUtilities.suffix(string, 2));
+        matrix.add(TextUtilities.suffix(string, 3));
+        matrix.add(TextUtilities.suffix(string, 4));
 
         // line information (1)
-        res.append(" " + lineStatus);
+        matrix.add(lineStatus);
 
         // capitalisation (1)
         if (digit.equals("ALLDIGIT"))
-            res.append(" NOCAPS");
+            matrix.add("NOCAPS");
         else
-            res.append(" " + capitalisation);
+            matrix.add(capitalisation);
 
         // digit information (1)
-        res.append(" " + digit);
+        matrix.add(digit);
 
         // character information (1)
-        if (singleChar)
-            res.append(" 1");
-        else
-            res.append(" 0");
+        matrix.add(singleChar);
 
         // lexical information (5)
-        if (properName)
-            res.append(" 1");
-        else
-            res.append(" 0");
+        matrix.add(properName);
 
-        if (commonName)
-            res.append(" 1");
-        else
-            res.append(" 0");
+        matrix.add(commonName);
 
-        if (firstName)
-            res.append(" 1");
-        else
-            res.append(" 0");
+        matrix.add(firstName);
 
-        if (locationName)
-            res.append(" 1");
-        else
-            res.append(" 0");
+        matrix.add(locationName);
 
-        if (countryName)
-            res.append(" 1");
-        else
-            res.append(" 0");
+        matrix.add(countryName);
 
         // punctuation information (1)
-        res.append(" " + punctType); // in case the token is a punctuation (NO otherwise)
+        matrix.add(punctType); // in case the token is a punctuation (NO otherwise)
 
-        res.append(" ").append(wordShape);
+        matrix.add(wordShape);
 
         // label - for training data (1)
         if (label != null)
-            res.append(" " + label + "\n");
+            matrix.add(label);
         else
-            res.append(" 0\n");
-
-
+            matrix.add("0");
 
-        return res.toString();
+        matrix.endRow();
+        return true;
     }
 
     /**
@@ -52,126 +52,96 @@ public class FeaturesVectorCitation {
     public boolean isKnownIdentifier = false;
 
     public String printVector() {
-        if (string == null) return null;
-        if (string.length() == 0) return null;
-        StringBuilder res = new StringBuilder();
+        FeatureMatrix matrix = new FeatureMatrix();
+        if (!addTo(matrix))
+            return null;
+        return matrix.toString();
+    }
+
+    /**
+     * Add the features of the token as a new row of the matrix.
+     *
+     * @return false if there is no token, in which case nothing is added
+     */
+    public boolean addTo(FeatureMatrix matrix) {
+        if (string == null) return false;
+        if (string.length() == 0) return false;
 
         // token string (1)
-        res.append(string);
+        matrix.add(string);
 
         // lowercase string (1)
-        res.append(" ").append(string.toLowerCase());
+        matrix.add(string.toLowerCase());
 
         // prefix (4)
-        res.append(" " + TextUtilities.prefix(string, 1));
-        res.append(" " + TextUtilities.prefix(string, 2));
-        res.append(" " + TextUtilities.prefix(string, 3));
-        res.append(" " + TextUtilities.prefix(string, 4));
+        matrix.add(TextUtilities.prefix(string, 1));
+        matrix.add(TextUtilities.prefix(string, 2));
+        matrix.add(TextUtilities.prefix(string, 3));
+        matrix.add(TextUtilities.prefix(string, 4));
 
         // suffix (4)
-        res.append(" " + TextUtilities.suffix(string, 1));
-        res.append(" " + TextUtilities.suffix(string, 2));
-        res.append(" " + TextUtilities.suffix(string, 3));
-        res.append(" " + TextUtilities.suffix(string, 4));
+        matrix.add(TextUtilities.suffix(string, 1));
+        matrix.add(TextUtilities.suffix(string, 2));
+        matrix.add(TextUtilities.suffix(string, 3));
+        matrix.add(TextUtilities.suffix(string, 4));
 
         // line information (1)
-        res.append(" ").append(lineStatus);
+        matrix.add(lineStatus);
 
         // capitalisation (1)
         if (digit.equals("ALLDIGIT"))
-            res.append(" NOCAPS");
+            matrix.add("NOCAPS");
         else
-            res.append(" ").append(capitalisation);
+            matrix.add(capitalisation);
 
         // digit information (1)
-        res.append(" ").append(digit);
+        matrix.add(digit);
 
         // character information (1)
-        if (singleChar)
-            res.append(" 1");
-        else
-            res.append(" 0");
+        matrix.add(singleChar);
 
         // lexical information (9)
-        if (properName)
-            res.append(" 1");
-        else
-            res.append(" 0");
+        matrix.add(properName);
 
-        if (commonName)
-            res.append(" 1");
-        else
-            res.append(" 0");
+        matrix.add(commonName);
 
-        if (firstName)
-            res.append(" 1");
-        else
-            res.append(" 0");
+        matrix.add(firstName);
 
-        if (lastName)
-            res.append(" 1");
-        else
-            res.append(" 0");
+        matrix.add(lastName);
 
-        if (isKnownLocation)
-            res.append(" 1");
-        else
-            res.append(" 0");
+        matrix.add(isKnownLocation);
 
-        if (year)
-            res.append(" 1");
-        else
-            res.append(" 0");
+        matrix.add(year);
 
-        if (month)
-            res.append(" 1");
-        else
-            res.append(" 0");
+        matrix.add(month);
 
-        if (http)
-            res.append(" 1");
-        else
-            res.append(" 0");
+        matrix.add(http);
 
-        if (isKnownCollaboration)
-            res.append(" 1");
-        else
-            res.append(" 0");
+        matrix.add(isKnownCollaboration);
 
         // bibliographical information(3)
-        if (isKnownJournalTitle || isKnownAbbrevJournalTitle)
-            res.append(" 1");
-        else
-            res.append(" 0");
+        matrix.add(isKnownJournalTitle || isKnownAbbrevJournalTitle);
 
-        if (isKnownConferenceTitle)
-            res.append(" 1");
-        else
-            res.append(" 0");
+        matrix.add(isKnownConferenceTitle);
 
-        if (isKnownPublisher)
-            res.append(" 1");
-        else
-            res.append(" 0");
+        matrix.add(isKnownPublisher);
 
-        if (isKnownIdentifier)
-            res.append(" 1");
-        else
-            res.append(" 0");
+        matrix.add(isKnownIdentifier);
 
         // punctuation information (1)
-        res.append(" ").append(punctType); // in case the token is a punctuation (NO otherwise)
+        matrix.add(punctType); // in case the token is a punctuation (NO otherwise)
 
         // relative position in the sequence (1)
-        res.append(" ").append(relativePosition);
+        matrix.add(relativePosition);
 
         // label - for training data (1)
         if (label != null)
-            res.append(" ").append(label).append("\n");
+            matrix.add(label);
         else
-            res.append(" 0\n");
+            matrix.add("0");
 
-        return res.toString();
+        matrix.endRow();
+        return true;
     }
 
 
@@ -201,7 +171,7 @@ public class FeaturesVectorCitation {
 
         FeatureFactory featureFactory = FeatureFactory.getInstance();
 
-        StringBuilder citation = new StringBuilder();
+        FeatureMatrix citation = new FeatureMatrix();
 
         int currentJournalPositions = 0;
         int currentAbbrevJournalPositions = 0;
@@ -584,7 +554,7 @@ public class FeaturesVectorCitation {
 
             features.label = tag;
 
-            citation.append(features.printVector());
+            features.addTo(citation);
 
             previousTag = tag;
             previousText = text;
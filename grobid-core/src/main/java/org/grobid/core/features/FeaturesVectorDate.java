@@ -25,67 +25,70 @@ public class FeaturesVectorDate {
     public boolean containPunct = false;
 
     public String printVector() {
-        if (string == null) return null;
-        if (string.length() == 0) return null;
-        StringBuffer res = new StringBuffer();
+        FeatureMatrix matrix = new FeatureMatrix();
+        if (!addTo(matrix))
+            return null;
+        return matrix.toString();
+    }
+
+    /**
+     * Add the features of the token as a new row of the matrix.
+     *
+     * @return false if there is no token, in which case nothing is added
+     */
+    public boolean addTo(FeatureMatrix matrix) {
+        if (string == null) return false;
+        if (string.length() == 0) return false;
 
         // token string (1)
-        res.append(string);
+        matrix.add(string);
 
         // lowercase string
-        res.append(" " + string.toLowerCase());
+        matrix.add(string.toLowerCase());
 
         // prefix (4)
-        res.append(" " + TextUtilities.prefix(string, 1));
-        res.append(" " + TextUtilities.prefix(string, 2));
-        res.append(" " + TextUtilities.prefix(string, 3));
-        res.append(" " + TextUtilities.prefix(string, 4));
+        matrix.add(TextUtilities.prefix(string, 1));
+        matrix.add(TextUtilities.prefix(string, 2));
+        matrix.add(TextUtilities.prefix(string, 3));
+        matrix.add(TextUtilities.prefix(string, 4));
 
         // suffix (4)
-        res.append(" " + TextUtilities.suffix(string, 1));
-        res.append(" " + TextUtilities.suffix(string, 2));
-        res.append(" " + TextUtilities.suffix(string, 3));
-        res.append(" " + TextUtilities.suffix(string, 4));
+        matrix.add(TextUtilities.suffix(string, 1));
+        matrix.add(TextUtilities.suffix(string, 2));
+        matrix.add(TextUtilities.suffix(string, 3));
+        matrix.add(TextUtilities.suffix(string, 4));
 
         // line information (1)
-        res.append(" " + lineStatus);
+        matrix.add(lineStatus);
 
         // capitalisation (1)
         if (digit.equals("ALLDIGIT"))
-            res.append(" NOCAPS");
+            matrix.add("NOCAPS");
         else
-            res.append(" " + capitalisation);
+            matrix.add(capitalisation);
 
         // digit information (1)
-        res.append(" " + digit);
+        matrix.add(digit);
 
         // character information (1)
-        if (singleChar)
-            res.append(" 1");
-        else
-            res.append(" 0");
+        matrix.add(singleChar);
 
         // lexical information (2)
-        if (year)
-            res.append(" 1");
-        else
-            res.append(" 0");
+        matrix.add(year);
 
-        if (month)
-            res.append(" 1");
-        else
-            res.append(" 0");
+        matrix.add(month);
 
         // punctuation information (2)
-        res.append(" " + punctType); // in case the token is a punctuation (NO otherwise)
+        matrix.add(punctType); // in case the token is a punctuation (NO otherwise)
 
         // label - for training data (1)
         if (label != null)
-            res.append(" " + label + "\n");
+            matrix.add(label);
         else
-            res.append(" 0\n");
+            matrix.add("0");
 
-        return res.toString();
+        matrix.endRow();
+        return true;
     }
 
     /**
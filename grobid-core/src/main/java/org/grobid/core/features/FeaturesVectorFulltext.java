@@ -48,87 +48,86 @@ public class FeaturesVectorFulltext {
     public boolean superscript = false;
 
     public String printVector() {
-        if (string == null) return null;
-        if (string.length() == 0) return null;
-        StringBuffer res = new StringBuffer();
+        FeatureMatrix matrix = new FeatureMatrix();
+        if (!addTo(matrix))
+            return null;
+        return matrix.toString();
+    }
+
+    /**
+     * Add the features of the token as a new row of the matrix.
+     *
+     * @return false if there is no token, in which case nothing is added
+     */
+    public boolean addTo(FeatureMatrix matrix) {
+        if (string == null) return false;
+        if (string.length() == 0) return false;
 
         // token string (1)
-        res.append(string);
+        matrix.add(string);
 
         // lowercase string
-        res.append(" " + string.toLowerCase());
+        matrix.add(string.toLowerCase());
 
         // prefix (4)
-        res.append(" " + TextUtilities.prefix(string, 1));
-        res.append(" " + TextUtilities.prefix(string, 2));
-        res.append(" " + TextUtilities.prefix(string, 3));
-        res.append(" " + TextUtilities.prefix(string, 4));
+        matrix.add(TextUtilities.prefix(string, 1));
+        matrix.add(TextUtilities.prefix(string, 2));
+        matrix.add(TextUtilities.prefix(string, 3));
+        matrix.add(TextUtilities.prefix(string, 4));
 
         // suffix (4)
-        res.append(" " + TextUtilities.suffix(string, 1));
-        res.append(" " + TextUtilities.suffix(string, 2));
-        res.append(" " + TextUtilities.suffix(string, 3));
-        res.append(" " + TextUtilities.suffix(string, 4));
+        matrix.add(TextUtilities.suffix(string, 1));
+        matrix.add(TextUtilities.suffix(string, 2));
+        matrix.add(TextUtilities.suffix(string, 3));
+        matrix.add(TextUtilities.suffix(string, 4));
 
 		// at this stage, we have written 10 features
 
         // block information (1)
-        res.append(" " + blockStatus);
+        matrix.add(blockStatus);
 
         // line information (1)
-        res.append(" " + lineStatus);
+        matrix.add(lineStatus);
 		
 		// line position/identation (1)
-		res.append(" " + alignmentStatus);
+		matrix.add(alignmentStatus);
 
         // font information (1)
-        res.append(" " + fontStatus);
+        matrix.add(fontStatus);
 
         // font size information (1)
-        res.append(" " + fontSize);
+        matrix.add(fontSize);
 
         // string type information (3)
-        if (bold)
-            res.append(" 1");
-        else
-            res.append(" 0");
+        matrix.add(bold);
 
-        if (italic)
-            res.append(" 1");
-        else
-            res.append(" 0");
+        matrix.add(italic);
 
         // capitalisation (1)
         if (digit.equals("ALLDIGIT"))
-            res.append(" NOCAPS");
+            matrix.add("NOCAPS");
         else
-            res.append(" " + capitalisation);
+            matrix.add(capitalisation);
 
         // digit information (1)
-        res.append(" " + digit);
+        matrix.add(digit);
 
         // character information (1)
-        if (singleChar)
-            res.append(" 1");
-        else
-            res.append(" 0");
+        matrix.add(singleChar);
 
 		// at this stage, we have written 20 features
 
         // punctuation information (1)
-        res.append(" " + punctType); // in case the token is a punctuation (NO otherwise)
+        matrix.add(punctType); // in case the token is a punctuation (NO otherwise)
 
         // relative document position (1)
-        res.append(" " + relativeDocumentPosition);
+        matrix.add(relativeDocumentPosition);
 
         // relative page position (1)
-        res.append(" " + relativePagePosition);
+        matrix.add(relativePagePosition);
 
 		// proximity of a graphic to the current block (2)
-        if (bitmapAround)
-            res.append(" 1");
-        else
-            res.append(" 0");
+        matrix.add(bitmapAround);
 
         /*if (vectorAround)
             res.append(" 1");
@@ -151,23 +150,16 @@ public class FeaturesVectorFulltext {
           */
 
         if (calloutType != null) 
-            res.append(" " + calloutType);
+            matrix.add(calloutType);
         else 
-            res.append(" UNKNOWN");
+            matrix.add("UNKNOWN");
  
-        if (calloutKnown)
-            res.append(" 1");
-        else
-            res.append(" 0");
-
-        if (superscript)
-            res.append(" 1");
-        else
-            res.append(" 0");
+        matrix.add(calloutKnown);
 
-        res.append("\n");
+        matrix.add(superscript);
 
-        return res.toString();
+        matrix.endRow();
+        return true;
     }
 
 }
\ No newline at end of file
@@ -53,116 +53,97 @@ public class FeaturesVectorHeader {
     public boolean largerThanAverageFont = false;
 
     public String printVector() {
-        if (string == null) return null;
-        if (string.length() == 0) return null;
-        StringBuffer res = new StringBuffer();
+        FeatureMatrix matrix = new FeatureMatrix();
+        if (!addTo(matrix))
+            return null;
+        return matrix.toString();
+    }
+
+    /**
+     * Add the features of the token as a new row of the matrix.
+     *
+     * @return false if there is no token, in which case nothing is added
+     */
+    public boolean addTo(FeatureMatrix matrix) {
+        if (string == null) return false;
+        if (string.length() == 0) return false;
 
         // token string (1)
-        res.append(string);
+        matrix.add(string);
 
         // lowercase string
-        res.append(" " + string.toLowerCase());
+        matrix.add(string.toLowerCase());
 
         // prefix (4)
-        res.append(" " + TextUtilities.prefix(string, 1));
-        res.append(" " + TextUtilities.prefix(string, 2));
-        res.append(" " + TextUtilities.prefix(string, 3));
-        res.append(" " + TextUtilities.prefix(string, 4));
+        matrix.add(TextUtilities.prefix(string, 1));
+        matrix.add(TextUtilities.prefix(string, 2));
+        matrix.add(TextUtilities.prefix(string, 3));
+        matrix.add(TextUtilities.prefix(string, 4));
 
         // suffix (4)
-        res.append(" " + TextUtilities.suffix(string, 1));
-        res.append(" " + TextUtilities.suffix(string, 2));
-        res.append(" " + TextUtilities.suffix(string, 3));
-        res.append(" " + TextUtilities.suffix(string, 4));
+        matrix.add(TextUtilities.suffix(string, 1));
+        matrix.add(TextUtilities.suffix(string, 2));
+        matrix.add(TextUtilities.suffix(string, 3));
+        matrix.add(TextUtilities.suffix(string, 4));
 
         // 10 first features written at this stage
 
         // block information (1)
-        res.append(" " + blockStatus);
+        matrix.add(blockStatus);
 
         // line information (1)
-        res.append(" " + lineStatus);
+        matrix.add(lineStatus);
 		
 		// line position/indentation (1)
-        res.append(" " + alignmentStatus);
+        matrix.add(alignmentStatus);
 
         // font information (1)
-        res.append(" " + fontStatus);
+        matrix.add(fontStatus);
 
         // font size information (1)
-        res.append(" " + fontSize);
+        matrix.add(fontSize);
 
         // string type information (2)
-        if (bold)
-            res.append(" 1");
-        else
-            res.append(" 0");
+        matrix.add(bold);
 
-        if (italic)
-            res.append(" 1");
-        else
-            res.append(" 0");
+        matrix.add(italic);
 
         // capitalisation (1)
         if (digit.equals("ALLDIGIT"))
-            res.append(" NOCAPS");
+            matrix.add("NOCAPS");
         else
-            res.append(" " + capitalisation);
+            matrix.add(capitalisation);
 
         // digit information (1)
-        res.append(" " + digit);
+        matrix.add(digit);
 
         // character information (1)
-        if (singleChar)
-            res.append(" 1");
-        else
-            res.append(" 0");
+        matrix.add(singleChar);
 
         // 20 first features written at this stage
 
         // lexical information (7)
-        if (properName)
-            res.append(" 1");
-        else
-            res.append(" 0");
+        matrix.add(properName);
 
-        if (commonName)
-            res.append(" 1");
-        else
-            res.append(" 0");
+        matrix.add(commonName);
 
         /*if (firstName)
             res.append(" 1");
         else
             res.append(" 0");*/
 
-        if (year)
-            res.append(" 1");
-        else
-            res.append(" 0");
+        matrix.add(year);
 
-        if (month)
-            res.append(" 1");
-        else
-            res.append(" 0");
+        matrix.add(month);
 
-        if (locationName)
-            res.append(" 1");
-        else
-            res.append(" 0");
+        matrix.add(locationName);
 
-        if (email)
-            res.append(" 1");
-        else
-            res.append(" 0");
+        matrix.add(email);
 
-        if (http)
-            res.append(" 1");
-        else
-            res.append(" 0");
+        matrix.add(http);
 
         // punctuation information (1)
-        res.append(" " + punctType); // in case the token is a punctuation (NO otherwise)
+        matrix.add(punctType); // in case the token is a punctuation (NO otherwise)
 
         // 28 features written at this point
 
@@ -174,30 +155,22 @@ public class FeaturesVectorHeader {
         //res.append(" " + characterDensity);
         //res.append(" " + 0);
 
-        if (largestFont)
-            res.append(" 1");
-        else
-            res.append(" 0");
+        matrix.add(largestFont);
 
-        if (smallestFont)
-            res.append(" 1");
-        else
-            res.append(" 0");
+        matrix.add(smallestFont);
 
-        if (largerThanAverageFont)
-            res.append(" 1");
-        else
-            res.append(" 0");
+        matrix.add(largerThanAverageFont);
 
         // 31 features written at this point
 
         // label - for training data (1)
         if (label != null)
-            res.append(" " + label + "\n");
+            matrix.add(label);
         else
-            res.append(" 0\n");
+            matrix.add("0");
 
-        return res.toString();
+        matrix.endRow();
+        return true;
     }
 
 }
\ No newline at end of file
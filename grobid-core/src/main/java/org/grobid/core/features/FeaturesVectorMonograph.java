@@ -55,170 +55,151 @@ public class FeaturesVectorMonograph {
     public int characterDensity = 0; // discretized 
 
     public String printVector() {
-        if (string == null) return null;
-        if (string.length() == 0) return null;
-        StringBuffer res = new StringBuffer();
+        FeatureMatrix matrix = new FeatureMatrix();
+        if (!addTo(matrix))
+            return null;
+        return matrix.toString();
+    }
+
+    /**
+     * Add the features of the token as a new row of the matrix.
+     *
+     * @return false if there is no token, in which case nothing is added
+     */
+    public boolean addTo(FeatureMatrix matrix) {
+        if (string == null) return false;
+        if (string.length() == 0) return false;
 
         // token string (1)
-        res.append(string);
+        matrix.add(string);
 		
 		// second token string
 		if (secondString != null)
-			res.append(" " + secondString);
+			matrix.add(secondString);
 		else
-			res.append(" " + string);
+			matrix.add(string);
 		
         // lowercase string
-        res.append(" " + string.toLowerCase());
+        matrix.add(string.toLowerCase());
 
         // prefix (4)
-        res.append(" " + TextUtilities.prefix(string, 1));
-        res.append(" " + TextUtilities.prefix(string, 2));
-        res.append(" " + TextUtilities.prefix(string, 3));
-        res.append(" " + TextUtilities.prefix(string, 4));
+        matrix.add(TextUtilities.prefix(string, 1));
+        matrix.add(TextUtilities.prefix(string, 2));
+        matrix.add(TextUtilities.prefix(string, 3));
+        matrix.add(TextUtilities.prefix(string, 4));
 
         // block information (1)
 		if (blockStatus != null)
-			res.append(" " + blockStatus);
+			matrix.add(blockStatus);
         //res.append(" 0");
 
         // line information (1)
 		if (lineStatus != null)
-			res.append(" " + lineStatus);
+			matrix.add(lineStatus);
 		
         // line alignment/identation information (1)
         //res.append(" " + alignmentStatus);
 
         // page information (1)
-        res.append(" " + pageStatus);
+        matrix.add(pageStatus);
 
         // font information (1)
-        res.append(" " + fontStatus);
+        matrix.add(fontStatus);
 
         // font size information (1)
-        res.append(" " + fontSize);
+        matrix.add(fontSize);
 
         // string type information (3)
-        if (bold)
-            res.append(" 1");
-        else
-            res.append(" 0");
+        matrix.add(bold);
 
-        if (italic)
-            res.append(" 1");
-        else
-            res.append(" 0");
+        matrix.add(italic);
 
         // capitalisation (1)
         if (digit.equals("ALLDIGIT"))
-            res.append(" NOCAPS");
+            matrix.add("NOCAPS");
         else
-            res.append(" " + capitalisation);
+            matrix.add(capitalisation);
 
         // digit information (1)
-        res.append(" " + digit);
+        matrix.add(digit);
 
         // character information (1)
-        if (singleChar)
-            res.append(" 1");
-        else
-            res.append(" 0");
+        matrix.add(singleChar);
 
         // lexical information (9)
-        if (properName)
-            res.append(" 1");
-        else
-            res.append(" 0");
+        matrix.add(properName);
 
-        if (commonName)
-            res.append(" 1");
-        else
-            res.append(" 0");
+        matrix.add(commonName);
 
-        if (firstName)
-            res.append(" 1");
-        else
-            res.append(" 0");
+        matrix.add(firstName);
 
-        if (year)
-            res.append(" 1");
-        else
-            res.append(" 0");
+        matrix.add(year);
 
-        if (month)
-            res.append(" 1");
-        else
-            res.append(" 0");
+        matrix.add(month);
 
-        if (email)
-            res.append(" 1");
-        else
-            res.append(" 0");
+        matrix.add(email);
 
-        if (http)
-            res.append(" 1");
-        else
-            res.append(" 0");
+        matrix.add(http);
 
         // punctuation information (1)
 		if (punctType != null)
-			res.append(" " + punctType); // in case the token is a punctuation (NO otherwise)
+			matrix.add(punctType); // in case the token is a punctuation (NO otherwise)
 
         // relative document position (1)
-        res.append(" " + relativeDocumentPosition);
+        matrix.add(relativeDocumentPosition);
 
         // relative page position coordinate (1)
         //res.append(" " + relativePagePosition);
 		
         // relative page position characters (1)
-        res.append(" " + relativePagePositionChar);
+        matrix.add(relativePagePositionChar);
 		
 		// punctuation profile
 		if ( (punctuationProfile == null) || (punctuationProfile.length() == 0) ) {
 			// string profile
-			res.append(" no");
+			matrix.add("no");
 			// number of punctuation symbols in the line
-			res.append(" 0");
+			matrix.add("0");
 		}
 		else {
 			// string profile
-			res.append(" " + punctuationProfile);
+			matrix.add(punctuationProfile);
 			// number of punctuation symbols in the line
-			res.append(" "+punctuationProfile.length());
+			matrix.add(punctuationProfile.length());
 		}
 
 		// current line length on a predefined scale and relative to the longest line of the current block
-		res.append(" " + lineLength);
+		matrix.add(lineLength);
 
         if (bitmapAround) {
-            res.append(" 1");
+            matrix.add("1");
         } else {
-            res.append(" 0");
+            matrix.add("0");
         }
 
         if (vectorAround) {
-            res.append(" 1");
+            matrix.add("1");
         } else {
-            res.append(" 0");
+            matrix.add("0");
         }
 
         if (repetitivePattern) {
-            res.append(" 1");
+            matrix.add("1");
         } else {
-            res.append(" 0");
+            matrix.add("0");
         }
 
         if (firstRepetitivePattern) {
-            res.append(" 1");
+            matrix.add("1");
         } else {
-            res.append(" 0");
+            matrix.add("0");
         }
 
         // if the block is in the page main area (1)
         if (inMainArea) {
-            res.append(" 1");
+            matrix.add("1");
         } else {
-            res.append(" 0");
+            matrix.add("0");
         }
 
         // space with previous block, discretised (1)
@@ -236,9 +217,8 @@ public class FeaturesVectorMonograph {
               res.append(" 0\n");
           */
 
-        res.append("\n");
-
-        return res.toString();
+        matrix.endRow();
+        return true;
     }
 
 }
\ No newline at end of file
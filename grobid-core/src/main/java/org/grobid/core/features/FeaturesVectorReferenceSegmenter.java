@@ -47,120 +47,108 @@ public class FeaturesVectorReferenceSegmenter {
 
     // true if the token is part of a predefinied name (single or multi-token)
     public String printVector() {
-        if (string == null) return null;
-        if (string.length() == 0) return null;
-        StringBuilder res = new StringBuilder();
+        FeatureMatrix matrix = new FeatureMatrix();
+        if (!addTo(matrix))
+            return null;
+        return matrix.toString();
+    }
+
+    /**
+     * Add the features of the token as a new row of the matrix.
+     *
+     * @return false if there is no token, in which case nothing is added
+     */
+    public boolean addTo(FeatureMatrix matrix) {
+        if (string == null) return false;
+        if (string.length() == 0) return false;
 
         // token string (1)
-        res.append(string);
+        matrix.add(string);
 
         // lowercase string (1)
-        res.append(" ").append(string.toLowerCase());
+        matrix.add(string.toLowerCase());
 
         // prefix (4)
-        res.append(" " + TextUtilities.prefix(string, 1));
-        res.append(" " + TextUtilities.prefix(string, 2));
-        res.append(" " + TextUtilities.prefix(string, 3));
-        res.append(" " + TextUtilities.prefix(string, 4));
+        matrix.add(TextUtilities.prefix(string, 1));
+        matrix.add(TextUtilities.prefix(string, 2));
+        matrix.add(TextUtilities.prefix(string, 3));
+        matrix.add(TextUtilities.prefix(string, 4));
 
         // suffix (4)
-        res.append(" " + TextUtilities.suffix(string, 1));
-        res.append(" " + TextUtilities.suffix(string, 2));
-        res.append(" " + TextUtilities.suffix(string, 3));
-        res.append(" " + TextUtilities.suffix(string, 4));
+        matrix.add(TextUtilities.suffix(string, 1));
+        matrix.add(TextUtilities.suffix(string, 2));
+        matrix.add(TextUtilities.suffix(string, 3));
+        matrix.add(TextUtilities.suffix(string, 4));
 
         // line information (1)
-        res.append(" ").append(lineStatus);
+        matrix.add(lineStatus);
 		
 		// line position/indentation (1)
-		res.append(" " + alignmentStatus);
+		matrix.add(alignmentStatus);
 
         // capitalisation (1)
         if (digit.equals("ALLDIGIT"))
-            res.append(" NOCAPS");
+            matrix.add("NOCAPS");
         else
-            res.append(" ").append(capitalisation);
+            matrix.add(capitalisation);
 
         // digit information (1)
-        res.append(" ").append(digit);
+        matrix.add(digit);
 
         // character information (1)
-        if (singleChar)
-            res.append(" 1");
-        else
-            res.append(" 0");
+        matrix.add(singleChar);
 
         // lexical information (8)
-        if (properName)
-            res.append(" 1");
-        else
-            res.append(" 0");
+        matrix.add(properName);
 
-        if (commonName)
-            res.append(" 1");
-        else
-            res.append(" 0");
+        matrix.add(commonName);
 
         /* TODO: to review, never set! */ 
-        if (firstName)
-            res.append(" 1");
-        else
-            res.append(" 0");
+        matrix.add(firstName);
 
         /* TODO: to review, never set! */ 
-        if (locationName)
-            res.append(" 1");
-        else
-            res.append(" 0");
+        matrix.add(locationName);
 
-        if (year)
-            res.append(" 1");
-        else
-            res.append(" 0");
+        matrix.add(year);
 
-        if (month)
-            res.append(" 1");
-        else
-            res.append(" 0");
+        matrix.add(month);
 
         /*if (email)
             res.append(" 1");
         else
             res.append(" 0");
 		*/
-        if (http)
-            res.append(" 1");
-        else
-            res.append(" 0");
+        matrix.add(http);
 
         // punctuation information (1)
-        res.append(" ").append(punctType); // in case the token is a punctuation (NO otherwise)
+        matrix.add(punctType); // in case the token is a punctuation (NO otherwise)
 
         // relative length on the line as compared to the max line length on a predefined scale (1)
-        res.append(" ").append(relativePosition);
+        matrix.add(relativePosition);
 
 		// relative position in the line on a predefined scale (1)
-		res.append(" " + lineLength);
+		matrix.add(lineLength);
 
         // block information (1)
 		//if (blockStatus != null)
-		res.append(" " + blockStatus);
+		matrix.add(blockStatus);
 
 		// punctuation profile
 		if ( (punctuationProfile == null) || (punctuationProfile.length() == 0) )
-			res.append(" no");
+			matrix.add("no");
 		else {
 			int theLength = punctuationProfile.length();
 			if (theLength > 10) 
 				theLength = 10;
-			res.append(" " + theLength);
+			matrix.add(theLength);
 		}
         // label - for training data (1)
         if (label != null)
-            res.append(" ").append(label).append("\n");
+            matrix.add(label);
         else
-            res.append(" 0\n");
+            matrix.add("0");
 
-        return res.toString();
+        matrix.endRow();
+        return true;
     }
 }
@@ -0,0 +1,217 @@
+package org.grobid.core.jni;
+
+import org.grobid.core.engines.tagging.GenericTaggerUtils;
+import org.grobid.core.exceptions.GrobidException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Micro-batching of the labelling calls to the same DeLFT model coming from concurrent threads.
+ *
+ * The calls are queued and a dispatcher thread merges them into a single tagging call of at most
+ * maxBatchSize sequences (a single call with more sequences makes its own batch). A batch is closed when 
+ * it is full or when its first call has waited maxWait milliseconds, then dispatched to the next free
+ * JEP worker. The labelled sequences are finally split back to each caller.
+ */
+public class DeLFTBatchScheduler {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DeLFTBatchScheduler.class);
+
+    /**
+     * The actual tagging of a merged input, returning one labelled string per sequence of the input.
+     */
+    public interface BatchTagger {
+        List<String> tag(String data) throws Exception;
+    }
+
+    private final String modelName;
+    private final BatchTagger tagger;
+    private final int maxBatchSize;
+    private final long maxWaitNanos;
+
+    private final BlockingDeque<PendingLabelling> queue = new LinkedBlockingDeque<>();
+    // one permit per JEP worker, so that batches are formed while the workers are busy
+    private final Semaphore workers;
+    private final ExecutorService batchExecutor;
+    private final Thread dispatcher;
+    private volatile boolean closed = false;
+
+    private final AtomicLong nbBatches = new AtomicLong();
+    private final AtomicLong nbCalls = new AtomicLong();
+
+    private static class PendingLabelling {
+        private final String data;
+        private final int nbSequences;
+        private final long arrival = System.nanoTime();
+        private final CompletableFuture<List<String>> result = new CompletableFuture<>();
+
+        PendingLabelling(String data) {
+            this.data = data;
+            this.nbSequences = GenericTaggerUtils.countSequences(data);
+        }
+    }
+
+    public DeLFTBatchScheduler(String modelName, BatchTagger tagger, int nbWorkers, int maxBatchSize, long maxWaitMillis) {
+        this.modelName = modelName;
+        this.tagger = tagger;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+        this.workers = new Semaphore(Math.max(1, nbWorkers));
+        this.batchExecutor = Executors.newFixedThreadPool(Math.max(1, nbWorkers), r -> {
+            Thread t = new Thread(r, "delft-batch-" + modelName);
+            t.setDaemon(true);
+            return t;
+        });
+        this.dispatcher = new Thread(this::dispatch, "delft-batch-dispatcher-" + modelName);
+        this.dispatcher.setDaemon(true);
+        this.dispatcher.start();
+    }
+
+    /**
+     * Queue the data to be labelled and block until the batch containing it has been tagged.
+     *
+     * @return the labelled data, one string per sequence of the input data
+     */
+    public List<String> tag(String data) throws InterruptedException, ExecutionException {
+        if (closed) {
+            throw closedException();
+        }
+        PendingLabelling pending = new PendingLabelling(data);
+        queue.add(pending);
+        // a close() racing with this call may have drained the queue before the call was added
+        if (closed && queue.remove(pending)) {
+            pending.result.completeExceptionally(closedException());
+        }
+        return pending.result.get();
+    }
+
+    private void dispatch() {
+        while (!closed) {
+            List<PendingLabelling> batch = new ArrayList<>();
+            try {
+                PendingLabelling first = queue.take();
+                batch.add(first);
+                int size = first.nbSequences;
+
+                // wait for more calls until the batch is full or the first call has waited long enough
+                long deadline = first.arrival + maxWaitNanos;
+                while (size < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingLabelling next = (remaining > 0) ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) {
+                        break;
+                    }
+                    if (size + next.nbSequences > maxBatchSize) {
+                        // kept for the next batch
+                        queue.offerFirst(next);
+                        break;
+                    }
+                    batch.add(next);
+                    size += next.nbSequences;
+                }
+
+                workers.acquire();
+                // calls which arrived while waiting for a free worker are added without further wait
+                PendingLabelling next;
+                while ((next = queue.peekFirst()) != null && size + next.nbSequences <= maxBatchSize) {
+                    batch.add(queue.pollFirst());
+                    size += next.nbSequences;
+                }
+            } catch (InterruptedException e) {
+                for (PendingLabelling pending : batch) {
+                    pending.result.completeExceptionally(e);
+                }
+                Thread.currentThread().interrupt();
+                break;
+            }
+
+            final List<PendingLabelling> toProcess = batch;
+            try {
+                batchExecutor.execute(() -> {
+                    try {
+                        process(toProcess);
+                    } finally {
+                        workers.release();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                workers.release();
+                fail(toProcess, closed ? closedException() : e);
+            }
+        }
+        // calls which were queued while the dispatcher was stopping
+        List<PendingLabelling> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        fail(remaining, closedException());
+    }
+
+    private void process(List<PendingLabelling> batch) {
+        List<String> inputs = new ArrayList<>(batch.size());
+        for (PendingLabelling pending : batch) {
+            inputs.add(pending.data);
+        }
+        nbBatches.incrementAndGet();
+        nbCalls.addAndGet(batch.size());
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("DeLFT model " + modelName + ": tagging a batch of " + batch.size() + " call(s)");
+        }
+
+        try {
+            List<String> labelled = tagger.tag(GenericTaggerUtils.joinSequences(inputs));
+            int nbSequences = 0;
+            for (PendingLabelling pending : batch) {
+                nbSequences += pending.nbSequences;
+            }
+            if (labelled == null || labelled.size() != nbSequences) {
+                throw new GrobidException("DeLFT model " + modelName + " returned " + 
+                    (labelled == null ? 0 : labelled.size()) + " labelled sequences for " + nbSequences + " input sequences");
+            }
+            int index = 0;
+            for (PendingLabelling pending : batch) {
+                int end = index + pending.nbSequences;
+                pending.result.complete(new ArrayList<>(labelled.subList(index, end)));
+                index = end;
+            }
+        } catch (Exception e) {
+            fail(batch, e);
+        }
+    }
+
+    private static void fail(List<PendingLabelling> batch, Throwable cause) {
+        for (PendingLabelling pending : batch) {
+            pending.result.completeExceptionally(cause);
+        }
+    }
+
+    private IllegalStateException closedException() {
+        return new IllegalStateException("The batch scheduler of DeLFT model " + modelName + " is closed");
+    }
+
+    /**
+     * @return number of batches tagged so far
+     */
+    public long getNbBatches() {
+        return nbBatches.get();
+    }
+
+    /**
+     * @return number of labelling calls served so far, the ratio with the number of batches
+     * giving the average batch size
+     */
+    public long getNbCalls() {
+        return nbCalls.get();
+    }
+
+    public void close() {
+        closed = true;
+        dispatcher.interrupt();
+        batchExecutor.shutdown();
+        List<PendingLabelling> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        fail(remaining, closedException());
+    }
+}
@@ -2,9 +2,9 @@ package org.grobid.core.jni;
 
 import org.grobid.core.GrobidModel;
 import org.grobid.core.engines.label.TaggingLabels;
+import org.grobid.core.engines.tagging.GenericTaggerUtils;
 import org.grobid.core.exceptions.GrobidException;
 import org.grobid.core.utilities.GrobidProperties;
-import org.grobid.core.utilities.IOUtilities;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -29,11 +29,24 @@ public class DeLFTModel {
     // Exploit JNI CPython interpreter to execute load and execute a DeLFT deep learning model 
     private String modelName;
 
+    // merges the concurrent labelling calls to this model, null if micro-batching is disabled
+    private DeLFTBatchScheduler scheduler = null;
+
     public DeLFTModel(GrobidModel model) {
         this.modelName = model.getModelName().replace("-", "_");
         try {
             LOGGER.info("Loading DeLFT model for " + model.getModelName() + "...");
-            JEPThreadPool.getInstance().run(new InitModel(this.modelName, GrobidProperties.getInstance().getModelPath()));
+            long[] runtimes = JEPThreadPool.getInstance().runOnAllWorkers(
+                new InitModel(this.modelName, GrobidProperties.getInstance().getModelPath()));
+            for (int i = 0; i < runtimes.length; i++) {
+                LOGGER.info("DeLFT model " + this.modelName + " loaded on JEP worker " + i + " in " + runtimes[i] + " ms");
+            }
+            int maxBatchSize = GrobidProperties.getDeLFTBatchMaxSize();
+            if (maxBatchSize > 1) {
+                scheduler = new DeLFTBatchScheduler(this.modelName, 
+                    input -> JEPThreadPool.getInstance().call(new LabelTask(this.modelName, input)), 
+                    JEPThreadPool.getInstance().getPoolSize(), maxBatchSize, GrobidProperties.getDeLFTBatchMaxWait());
+            }
         } catch(InterruptedException e) {
             LOGGER.error("DeLFT model " + this.modelName + " initialization failed", e);
         }
@@ -60,7 +73,7 @@ public class DeLFTModel {
         } 
     } 
 
-    private class LabelTask implements Callable<String> { 
+    private class LabelTask implements Callable<List<String>> { 
         private String data;
         private String modelName;
 
@@ -70,94 +83,94 @@ public class DeLFTModel {
             this.data = data;
         }
 
-        private void setJepStringValueWithFileFallback(
-            Jep jep, String name, String value
-        ) throws JepException, IOException {
-            try {
-                jep.set(name, value);
-            } catch(JepException e) {
-                File tempFile = IOUtilities.newTempFile(name, ".data");
-                LOGGER.debug(
-                    "Falling back to file {} due to exception: {}",
-                    tempFile, e.toString()
-                );
-                IOUtilities.writeInFile(tempFile.getAbsolutePath(), value);
-                jep.eval("from pathlib import Path");
-                jep.eval(
-                    name + " = Path('" + tempFile.getAbsolutePath() +
-                    "').read_text(encoding='utf-8')"
-                );
-                tempFile.delete();
-            }
-        }
-
+        /**
+         * Only the tokens (first column of the input) are used by the DeLFT models, so only
+         * the tokens are transferred to python, as one compact string with a space between tokens
+         * and a new line between sequences. The labels come back the same way, which avoids 
+         * serializing and re-parsing the whole feature matrix and converting nested python lists 
+         * into java objects.
+         *
+         * @return the labelled data, one string per input sequence (block of non-empty lines)
+         */
         @Override
-        public String call() { 
+        public List<String> call() { 
             Jep jep = JEPThreadPool.getInstance().getJEPInstance(); 
-            StringBuilder labelledData = new StringBuilder();
-            try {
-                //System.out.println(this.data);
+            List<String> labelledSequences = new ArrayList<>();
+
+            // single pass over the input lines, grouping them by sequence and collecting the tokens
+            List<List<String>> sequences = new ArrayList<>();
+            StringBuilder tokens = new StringBuilder();
+            List<String> sequence = null;
+            for (String inputLine : this.data.split("\n")) {
+                inputLine = inputLine.trim();
+                if (inputLine.length() == 0) {
+                    sequence = null;
+                    continue;
+                }
+                if (sequence == null) {
+                    sequence = new ArrayList<>();
+                    sequences.add(sequence);
+                    if (tokens.length() > 0)
+                        tokens.append("\n");
+                } else {
+                    tokens.append(" ");
+                }
+                sequence.add(inputLine);
+                int end = 0;
+                while (end < inputLine.length() && inputLine.charAt(end) != ' ' && inputLine.charAt(end) != '\t')
+                    end++;
+                tokens.append(inputLine, 0, end);
+            }
+            if (sequences.size() == 0)
+                return labelledSequences;
 
+            try {
                 // load and tag
-                this.setJepStringValueWithFileFallback(jep, "input", this.data);
-                jep.eval("x_all, f_all = load_data_crf_string(input)");
-                Object objectResults = jep.getValue(this.modelName+".tag(x_all, None)");
-                
-                // inject back the labels
-                List<List<List<String>>> results = (List<List<List<String>>>) objectResults;
-                BufferedReader bufReader = new BufferedReader(new StringReader(data));
-                String inputLine;
-                int i = 0; // sentence index
-                int j = 0; // word index in the sentence
-                List<List<String>> result = results.get(0);
-                while ((inputLine = bufReader.readLine()) != null) {
-                    inputLine = inputLine.trim();
-                    if ((inputLine.length() == 0) && (j != 0)) {
-                        j = 0;
-                        i++;
-                        if (i == results.size())
-                            break;
-                        result = results.get(i);
-                        continue;
-                    }
+                jep.set("input_tokens", tokens.toString());
+                jep.eval("x_all = [s.split(' ') for s in input_tokens.split('\\n')]");
+                // first is the token, second is the label (DeLFT format)
+                jep.eval("labels = '\\n'.join([' '.join([t[1] for t in s]) for s in " + 
+                    this.modelName + ".tag(x_all, None)])");
+                String labels = (String) jep.getValue("labels");
 
-                    if (inputLine.length() == 0)
-                        continue;
-                    labelledData.append(inputLine);
-                    labelledData.append(" ");
-
-                    if (j >= result.size()) {
-                        labelledData.append(TaggingLabels.OTHER_LABEL);
-                    } else {
-                        List<String> pair = result.get(j);
-                        // first is the token, second is the label (DeLFT format)
-                        String token = pair.get(0);
-                        String label = pair.get(1);
-                        labelledData.append(DeLFTModel.delft2grobidLabel(label));
+                // inject back the labels
+                String[] labelLines = labels.split("\n", -1);
+                for (int i = 0; i < sequences.size() && i < labelLines.length; i++) {
+                    String[] sequenceLabels = labelLines[i].split(" ");
+                    StringBuilder labelledData = new StringBuilder();
+                    int j = 0; // word index in the sentence
+                    for (String inputLine : sequences.get(i)) {
+                        labelledData.append(inputLine);
+                        labelledData.append(" ");
+                        if (j >= sequenceLabels.length || sequenceLabels[j].isEmpty()) {
+                            labelledData.append(TaggingLabels.OTHER_LABEL);
+                        } else {
+                            labelledData.append(DeLFTModel.delft2grobidLabel(sequenceLabels[j]));
+                        }
+                        labelledData.append("\n");
+                        j++;
                     }
-                    labelledData.append("\n");
-                    j++;
+                    labelledSequences.add(labelledData.toString());
                 }
-                
+
                 // cleaning
-                jep.eval("del input");
+                jep.eval("del input_tokens");
                 jep.eval("del x_all");
-                jep.eval("del f_all");
+                jep.eval("del labels");
                 //jep.eval("K.clear_session()");
             } catch(JepException e) {
                 LOGGER.error("DeLFT model labelling via JEP failed", e);
-            } catch(IOException e) {
-                LOGGER.error("DeLFT model labelling failed", e);
             }
-            //System.out.println(labelledData.toString());
-            return labelledData.toString();
+            //System.out.println(labelledSequences.toString());
+            return labelledSequences;
         } 
     } 
 
     public String label(String data) {
         String result = null;
         try {
-            result = JEPThreadPool.getInstance().call(new LabelTask(this.modelName, data));
+            List<String> labelledSequences = tag(data);
+            result = String.join("", labelledSequences);
         } catch(InterruptedException e) {
             LOGGER.error("DeLFT model " + this.modelName + " labelling interrupted", e);
         } catch(ExecutionException e) {
@@ -166,6 +179,33 @@ public class DeLFTModel {
         return result;
     }
 
+    /**
+     * Label several inputs with a single call to the DeLFT model, so that all the sequences
+     * are tagged as one batch by the python side. 
+     */
+    public List<String> labelBatch(List<String> data) {
+        String input = GenericTaggerUtils.joinSequences(data);
+        if (input.isEmpty()) {
+            return GenericTaggerUtils.groupSequences(new ArrayList<>(), data, "");
+        }
+        try {
+            List<String> labelledSequences = tag(input);
+            return GenericTaggerUtils.groupSequences(labelledSequences, data, "");
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GrobidException("DeLFT model " + this.modelName + " batch labelling interrupted", e);
+        } catch(ExecutionException e) {
+            throw new GrobidException("DeLFT model " + this.modelName + " batch labelling failed", e.getCause());
+        }
+    }
+
+    private List<String> tag(String data) throws InterruptedException, ExecutionException {
+        if (scheduler != null) {
+            return scheduler.tag(data);
+        }
+        return JEPThreadPool.getInstance().call(new LabelTask(this.modelName, data));
+    }
+
     /**
      * Training via JNI CPython interpreter (JEP). It appears that after some epochs, the JEP thread
      * usually hangs... Possibly issues with IO threads at the level of JEP (output not consumed because
@@ -275,7 +315,11 @@ public class DeLFTModel {
     public synchronized void close() {
         try {
             LOGGER.info("Close DeLFT model " + this.modelName + "...");
-            JEPThreadPool.getInstance().run(new CloseModel(this.modelName));
+            if (scheduler != null) {
+                scheduler.close();
+                scheduler = null;
+            }
+            JEPThreadPool.getInstance().runOnAllWorkers(new CloseModel(this.modelName));
         } catch(InterruptedException e) {
             LOGGER.error("Close DeLFT model " + this.modelName + " task failed", e);
         }
@@ -20,6 +20,10 @@ import org.slf4j.LoggerFactory;
  * JEP presents the following constraint: A thread that creates a JEP instance
  * must be reused for all method calls to that JEP instance. For ensuring this,
  * we pool the Jep instances in a singleton class.
+ *
+ * The pool has a configurable number of workers (grobid.delft.nb_threads), each 
+ * worker being a single thread with its own interpreter. Models are loaded in every 
+ * interpreter and labelling tasks are dispatched to the least loaded worker. 
  */
 
 public class JEPThreadPool {
@@ -27,7 +31,11 @@ public class JEPThreadPool {
 
     private int POOL_SIZE = 1;
 
-    private ExecutorService executor;
+    // one single thread executor per worker, so that a worker always uses the same JEP instance
+    private List<ExecutorService> executors;
+    // number of tasks submitted and not yet completed for each worker, guarded by loadLock
+    private int[] pendingTasks;
+    private final Object loadLock = new Object();
     private Map<Long, Jep> jepInstances;
 
     private static volatile JEPThreadPool instance;
@@ -43,6 +51,9 @@ public class JEPThreadPool {
      * Creates a new instance.
      */
     private static synchronized void getNewInstance() {
+        if (instance != null) {
+            return;
+        }
         LOGGER.debug("Get new instance of JEPThreadPool");
         instance = new JEPThreadPool();
     }
@@ -51,13 +62,22 @@ public class JEPThreadPool {
      * Hidden constructor
      */
     private JEPThreadPool() {
-        // creating a pool of POOL_SIZE threads
-        //executor = Executors.newFixedThreadPool(POOL_SIZE); 
-        executor = Executors.newSingleThreadExecutor();
+        POOL_SIZE = GrobidProperties.getDeLFTNbThreads();
+        LOGGER.info("Creating a pool of " + POOL_SIZE + " JEP worker(s)");
+        // creating a pool of POOL_SIZE single threads
+        executors = new ArrayList<>(POOL_SIZE);
+        pendingTasks = new int[POOL_SIZE];
+        for (int i = 0; i < POOL_SIZE; i++) {
+            executors.add(Executors.newSingleThreadExecutor());
+        }
         // each of these threads is associated to a JEP instance
         jepInstances = new ConcurrentHashMap<>();
     }
 
+    public int getPoolSize() {
+        return POOL_SIZE;
+    }
+
     private File getAndValidateDelftPath() {
         File delftPath = new File(GrobidProperties.getDeLFTFilePath());
         if (!delftPath.exists()) {
@@ -77,6 +97,10 @@ public class JEPThreadPool {
             config.addIncludePaths(sitePackagesPath.toString());
         }
         config.setClassLoader(Thread.currentThread().getContextClassLoader());
+        if (POOL_SIZE > 1) {
+            // numpy does not support being loaded in several sub-interpreters
+            config.addSharedModules("numpy");
+        }
         return config;
     }
 
@@ -129,37 +153,126 @@ public class JEPThreadPool {
      * The method will return to the thread its dedicated Jep instance
      * (or create one the first time).
      */
-    public synchronized Jep getJEPInstance() {
+    public Jep getJEPInstance() {
         long threadId = Thread.currentThread().getId();
         Jep jep = jepInstances.get(threadId);
         if (jep == null) {
-            LOGGER.info("Creating JEP instance for thread " + threadId);
-            jep = this.createJEPInstance();
-            jepInstances.put(threadId, jep);
+            jep = createJEPInstanceForThread(threadId);
         }
         try {
             jep.isValidThread();
         } catch (JepException e) {
             LOGGER.warn("JEP instance no longer usable, creating new instance", e);
-            jep = this.createJEPInstance();
-            jepInstances.put(threadId, jep);
+            jep = createJEPInstanceForThread(threadId);
         }
         return jep;
     }
 
+    /**
+     * Interpreters are created one at a time, only the lookup of an existing instance 
+     * is free of lock.
+     */
+    private synchronized Jep createJEPInstanceForThread(long threadId) {
+        LOGGER.info("Creating JEP instance for thread " + threadId);
+        Jep jep = this.createJEPInstance();
+        jepInstances.put(threadId, jep);
+        return jep;
+    }
+
+    /**
+     * Run a task on the least loaded worker and wait until it is done.
+     */
     public void run(Runnable task) throws InterruptedException {
-        System.out.println("running thread: " + Thread.currentThread().getId());
-        Future future = executor.submit(task);
+        Future future = submit(acquireLeastLoadedWorker(), task);
         // wait until done (in ms)
         while (!future.isDone()) {
             Thread.sleep(1);
         }
     }
 
-    public String call(Callable<String> task) throws InterruptedException, ExecutionException {
-        Future<String> future = executor.submit(task);
-        // block until done
-        return future.get();
+    /**
+     * Run a task on every worker, for instance to load a model in each interpreter, 
+     * and wait until all of them are done.
+     *
+     * @return the runtime of the task on each worker, in milliseconds
+     */
+    public long[] runOnAllWorkers(Runnable task) throws InterruptedException {
+        long[] runtimes = new long[POOL_SIZE];
+        List<Future> futures = new ArrayList<>(POOL_SIZE);
+        for (int i = 0; i < POOL_SIZE; i++) {
+            final int worker = i;
+            synchronized (loadLock) {
+                pendingTasks[worker]++;
+            }
+            futures.add(submit(worker, () -> {
+                long start = System.currentTimeMillis();
+                task.run();
+                runtimes[worker] = System.currentTimeMillis() - start;
+            }));
+        }
+        for (Future future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                LOGGER.error("JEP task failed on one of the workers", e.getCause());
+            }
+        }
+        return runtimes;
+    }
+
+    /**
+     * Submit a task to the least loaded worker and block until its result is available.
+     */
+    public <T> T call(Callable<T> task) throws InterruptedException, ExecutionException {
+        int worker = acquireLeastLoadedWorker();
+        try {
+            Future<T> future = executors.get(worker).submit(task);
+            // block until done
+            return future.get();
+        } finally {
+            releaseWorker(worker);
+        }
+    }
+
+    /**
+     * Submit a task to a worker whose load has already been incremented, the load is 
+     * decremented when the task is done.
+     */
+    private Future<?> submit(int worker, Runnable task) {
+        try {
+            return executors.get(worker).submit(() -> {
+                try {
+                    task.run();
+                } finally {
+                    releaseWorker(worker);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            releaseWorker(worker);
+            throw e;
+        }
+    }
+
+    /**
+     * Select the least loaded worker and increment its load in a single step, so that 
+     * concurrent callers do not all pick the same idle worker.
+     */
+    private int acquireLeastLoadedWorker() {
+        synchronized (loadLock) {
+            int best = 0;
+            for (int i = 1; i < POOL_SIZE && pendingTasks[best] > 0; i++) {
+                if (pendingTasks[i] < pendingTasks[best])
+                    best = i;
+            }
+            pendingTasks[best]++;
+            return best;
+        }
+    }
+
+    private void releaseWorker(int worker) {
+        synchronized (loadLock) {
+            pendingTasks[worker]--;
+        }
     }
 
 }
\ No newline at end of file
@@ -4,22 +4,61 @@ import fr.limsi.wapiti.SWIGTYPE_p_mdl_t;
 import fr.limsi.wapiti.Wapiti;
 import org.grobid.core.GrobidModel;
 import org.grobid.core.GrobidModels;
+import org.grobid.core.engines.tagging.GenericTaggerUtils;
 import org.grobid.core.exceptions.GrobidException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * User: zholudev
  * Date: 3/17/14
+ *
+ * The native model (weights and quarks) is read-only once loaded and is shared by all the 
+ * labelling threads, each native labelling call using its own temporary structures. Labelling 
+ * does not take any lock: the model is reference counted so that a concurrent close() only 
+ * frees the native model after the last running labelling call.
  */
 public class WapitiModel {
     public static final Logger LOGGER = LoggerFactory.getLogger(WapitiModel.class);
 
-    private SWIGTYPE_p_mdl_t model;
+    private final AtomicReference<ModelHandle> handle = new AtomicReference<>();
     private File modelFile;
 
+    private static class ModelHandle {
+        private final SWIGTYPE_p_mdl_t model;
+        // one reference held by the WapitiModel itself, plus one per running labelling call
+        private final AtomicInteger references = new AtomicInteger(1);
+
+        ModelHandle(SWIGTYPE_p_mdl_t model) {
+            this.model = model;
+        }
+
+        boolean acquire() {
+            while (true) {
+                int current = references.get();
+                if (current == 0) {
+                    // already freed
+                    return false;
+                }
+                if (references.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        void release() {
+            if (references.decrementAndGet() == 0) {
+                Wapiti.freeModel(model);
+            }
+        }
+    }
+
     public WapitiModel(File modelFile) {
         this.modelFile = modelFile;
         init();
@@ -31,32 +70,64 @@ public class WapitiModel {
     }
 
     private synchronized void init() {
-        if (model != null) {
+        if (handle.get() != null) {
             return;
         }
         if (!modelFile.exists() || modelFile.isDirectory()) {
             throw new GrobidException("Model file does not exists or a directory: " + modelFile.getAbsolutePath());
         }
         LOGGER.info("Loading model: " + modelFile + " (size: " + modelFile.length() + ")");
-        model = WapitiWrapper.getModel(modelFile);
+        handle.set(new ModelHandle(WapitiWrapper.getModel(modelFile)));
     }
 
     public String label(String data) {
-        if (model == null) {
-            LOGGER.warn("Model has been already closed, reopening: " + modelFile.getAbsolutePath());
-            init();
+        ModelHandle current = acquireModel();
+        String label;
+        try {
+            label = WapitiWrapper.label(current.model, data).trim();
+        } finally {
+            current.release();
         }
-        String label = WapitiWrapper.label(model, data).trim();
         //TODO: VZ: Grobid currently expects tabs as separators whereas wapiti uses spaces for separating features.
         // for now it is safer to replace, although it does not look nice
-        label = label.replaceAll(" ", "\t");
+        label = label.replace(' ', '\t');
         return label;
     }
 
+    private ModelHandle acquireModel() {
+        while (true) {
+            ModelHandle current = handle.get();
+            if (current == null) {
+                LOGGER.warn("Model has been already closed, reopening: " + modelFile.getAbsolutePath());
+                init();
+                continue;
+            }
+            if (current.acquire()) {
+                return current;
+            }
+        }
+    }
+
+    /**
+     * Label several sequences with a single call to the native Wapiti library, the sequences
+     * being separated by an empty line as in a usual Wapiti input file.
+     */
+    public List<String> labelBatch(List<String> data) {
+        String input = GenericTaggerUtils.joinSequences(data);
+        if (input.isEmpty()) {
+            List<String> results = new ArrayList<>(data.size());
+            for (int i = 0; i < data.size(); i++) {
+                results.add("");
+            }
+            return results;
+        }
+        return GenericTaggerUtils.splitBatchResult(label(input), data);
+    }
+
     public synchronized void close() {
-        if (model != null) {
-            Wapiti.freeModel(model);
-            model = null;
+        ModelHandle current = handle.getAndSet(null);
+        if (current != null) {
+            current.release();
         }
     }
 
@@ -2,6 +2,7 @@ package org.grobid.core.lang;
 
 import org.grobid.core.utilities.OffsetPosition;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -15,4 +16,17 @@ public interface SentenceDetector {
      *         position of the recognized sentence in the text
      */
     public List<OffsetPosition> detect(String text);
+
+    /**
+     * Detects sentence boundaries in several texts, typically all the paragraphs of a document
+     * @param texts texts to detect sentence boundaries
+     * @return for each text, the list of offset positions of the recognized sentences in this text
+     */
+    default List<List<OffsetPosition>> detect(List<String> texts) {
+        List<List<OffsetPosition>> result = new ArrayList<>();
+        for (String text : texts) {
+            result.add(detect(text));
+        }
+        return result;
+    }
 }
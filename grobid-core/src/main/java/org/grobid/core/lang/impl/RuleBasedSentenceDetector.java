@@ -0,0 +1,324 @@
+package org.grobid.core.lang.impl;
+
+import org.grobid.core.lang.SentenceDetector;
+import org.grobid.core.utilities.OffsetPosition;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Implementation of sentence segmentation in plain Java, following the main rules of the Pragmatic
+ * Segmenter for English (abbreviations, initials, numbers, ellipsis, punctuation between quotes and
+ * parenthesis, numbered references).
+ *
+ * The boundaries are decided while scanning the original text, so the offsets are exact and there is
+ * no script container: the detector has no state and can be shared by all the threads.
+ */
+public class RuleBasedSentenceDetector implements SentenceDetector {
+
+    // see languages/common.rb in the Pragmatic Segmenter
+    private static final Set<String> ABBREVIATIONS = new HashSet<>(Arrays.asList(
+        "adj", "adm", "adv", "al", "ala", "alta", "apr", "arc", "ariz", "ark", "art", "assn", "asst", "attys",
+        "aug", "ave", "bart", "bld", "bldg", "blvd", "brig", "bros", "btw", "cal", "calif", "capt", "cl", "cmdr",
+        "co", "col", "colo", "comdr", "con", "conn", "corp", "cpl", "cres", "ct", "d.phil", "dak", "dec", "del",
+        "dept", "det", "dist", "dr", "dr.phil", "dr.philos", "drs", "e.g", "ens", "esp", "esq", "etc", "exp",
+        "expy", "ext", "feb", "fed", "fig", "fla", "ft", "fwy", "fy", "ga", "gen", "gov", "hon", "hosp", "hr",
+        "hway", "hwy", "i.e", "ia", "id", "ida", "ill", "inc", "ind", "ing", "insp", "is", "jan", "jr", "jul",
+        "jun", "kan", "kans", "ken", "ky", "la", "lt", "ltd", "maj", "man", "mar", "mass", "may", "md", "me",
+        "med", "messrs", "mex", "mfg", "mich", "min", "minn", "miss", "mlle", "mm", "mme", "mo", "mont", "mr",
+        "mrs", "ms", "msgr", "mssrs", "mt", "mtn", "neb", "nebr", "nev", "no", "nos", "nov", "nr", "oct", "ok",
+        "okla", "ont", "op", "ord", "ore", "p", "pa", "pd", "pde", "penn", "penna", "pfc", "ph", "ph.d", "pl",
+        "plz", "pp", "prof", "pvt", "que", "rd", "rs", "ref", "rep", "reps", "res", "rev", "rt", "sask", "sec",
+        "sen", "sens", "sep", "sept", "sfc", "sgt", "sr", "st", "supt", "surg", "tce", "tenn", "tex", "univ",
+        "usafa", "u.s", "ut", "va", "v", "ver", "viz", "vs", "vt", "wash", "wis", "wisc", "wy", "wyo", "yuk"));
+
+    // abbreviations placed before a name, never ending a sentence
+    private static final Set<String> PREPOSITIVE_ABBREVIATIONS = new HashSet<>(Arrays.asList(
+        "adm", "attys", "brig", "capt", "cmdr", "col", "cpl", "det", "dr", "gen", "gov", "ing", "lt", "maj",
+        "md", "mr", "mrs", "ms", "mt", "messrs", "mssrs", "prof", "ph", "rep", "reps", "rev", "sen", "sens",
+        "sgt", "st", "supt", "v", "vs"));
+
+    // abbreviations placed before a number
+    private static final Set<String> NUMBER_ABBREVIATIONS = new HashSet<>(Arrays.asList(
+        "art", "ext", "no", "nos", "p", "pp"));
+
+    // abbreviations ending a sentence when followed by one of the sentence starters
+    private static final Set<String> BOUNDARY_ABBREVIATIONS = new HashSet<>(Arrays.asList(
+        "u.s", "u.k", "e.u", "u.s.a", "i", "i.v"));
+
+    private static final Set<String> SENTENCE_STARTERS = new HashSet<>(Arrays.asList(
+        "A", "Being", "Did", "For", "He", "How", "However", "I", "In", "It", "Millions", "More", "She", "That",
+        "The", "There", "They", "We", "What", "When", "Where", "Who", "Why"));
+
+    private static final String TERMINAL_PUNCTUATIONS = ".!?。．！？";
+
+    // the full width punctuations end a sentence without following space
+    private static final String FULL_WIDTH_PUNCTUATIONS = "。．！？";
+
+    private static final String CLOSING_PUNCTUATIONS = "\"'”’»)]";
+
+    // punctuations between these pairs do not end a sentence
+    private static final String PROTECTED_OPENINGS = "([\"“«";
+    private static final String PROTECTED_CLOSINGS = ")]\"”»";
+    // maximum number of characters looked at for the closing of a quotation or parenthesis, so that
+    // unmatched openings do not make the segmentation quadratic
+    private static final int MAX_PROTECTED_LENGTH = 500;
+
+    @Override
+    public List<OffsetPosition> detect(String text) {
+        List<OffsetPosition> result = new ArrayList<>();
+        if (text == null)
+            return result;
+
+        int length = text.length();
+        int start = skipSpaces(text, 0);
+        int i = start;
+        while (i < length) {
+            char c = text.charAt(i);
+            int end = -1;
+            int protectedEnd = getProtectedEnd(text, i);
+            if (protectedEnd != -1) {
+                // a quotation or parenthesis ending with a sentence, e.g. (This is it.) The next...
+                i = protectedEnd;
+                if (TERMINAL_PUNCTUATIONS.indexOf(text.charAt(protectedEnd - 2)) != -1) {
+                    int next = skipSpaces(text, protectedEnd);
+                    if (next == length || (next > protectedEnd && Character.isUpperCase(text.charAt(next))))
+                        end = protectedEnd;
+                }
+            } else if (TERMINAL_PUNCTUATIONS.indexOf(c) != -1) {
+                end = getSentenceEnd(text, start, i);
+                // the rest of a run of punctuations is not considered again
+                do {
+                    i++;
+                } while (i < length && TERMINAL_PUNCTUATIONS.indexOf(text.charAt(i)) != -1);
+            } else {
+                i++;
+            }
+            if (end != -1) {
+                result.add(new OffsetPosition(start, end));
+                start = skipSpaces(text, end);
+                i = start;
+            }
+        }
+
+        // the remaining text is a sentence without final punctuation
+        if (start < length) {
+            int end = length;
+            while (end > start && Character.isWhitespace(text.charAt(end - 1)))
+                end--;
+            result.add(new OffsetPosition(start, end));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the end offset of the sentence ending with the punctuation at the given position,
+     * or -1 if it is not a sentence boundary.
+     */
+    private static int getSentenceEnd(String text, int start, int position) {
+        int length = text.length();
+        char c = text.charAt(position);
+
+        // a run of punctuations (ellipsis, ?!, !!) ends the sentence as a whole
+        int end = position + 1;
+        while (end < length && TERMINAL_PUNCTUATIONS.indexOf(text.charAt(end)) != -1)
+            end++;
+        int next = skipSpaces(text, end);
+        char nextChar = next < length ? text.charAt(next) : 0;
+
+        if (end - position > 1 && c == '.') {
+            // ellipsis, only a boundary before an upper case letter
+            if (next < length && !Character.isUpperCase(nextChar))
+                return -1;
+        } else if (c == '.') {
+            if (!isBoundaryPeriod(text, start, position))
+                return -1;
+            int referenceEnd = getNumberedReferenceEnd(text, position);
+            if (referenceEnd != -1)
+                return referenceEnd;
+        } else if (c == '!') {
+            // mid-sentence exclamation, e.g. "Yahoo! was", "stop!, he said"
+            if (next > end && Character.isLowerCase(nextChar))
+                return -1;
+            if (nextChar == ',' && next == end)
+                return -1;
+        }
+
+        // closing quotes and brackets belong to the ending sentence
+        while (end < length && CLOSING_PUNCTUATIONS.indexOf(text.charAt(end)) != -1)
+            end++;
+
+        if (end < length && !Character.isWhitespace(text.charAt(end)) &&
+            FULL_WIDTH_PUNCTUATIONS.indexOf(c) == -1)
+            return -1;
+        if (end > position + 1 && CLOSING_PUNCTUATIONS.indexOf(text.charAt(end - 1)) != -1) {
+            // quotation continued by the sentence, e.g. "Why?" she asked
+            next = skipSpaces(text, end);
+            if (next < length && Character.isLowerCase(text.charAt(next)))
+                return -1;
+        }
+        return end;
+    }
+
+    private static boolean isBoundaryPeriod(String text, int start, int position) {
+        int length = text.length();
+        char previous = position > 0 ? text.charAt(position - 1) : ' ';
+        char following = position + 1 < length ? text.charAt(position + 1) : ' ';
+
+        // period before a number, e.g. .5 or 3.5, except for numbered references
+        if (Character.isDigit(following))
+            return getNumberedReferenceEnd(text, position) != -1;
+        // multi-period abbreviations, emails and urls, e.g. U.S.A, www.grobid.org
+        if (Character.isLetterOrDigit(previous) && Character.isLetterOrDigit(following))
+            return false;
+        // possessive abbreviation, e.g. Dr.'s
+        if (text.startsWith("'s", position + 1) &&
+            (position + 3 == length || Character.isWhitespace(text.charAt(position + 3))))
+            return false;
+
+        int next = skipSpaces(text, position + 1);
+        char nextChar = next < length ? text.charAt(next) : 0;
+        boolean spaceAfter = next > position + 1;
+        String word = getPreviousWord(text, position);
+        String lowerWord = word.toLowerCase();
+        String nextWord = getNextWord(text, next);
+
+        // numbered item at the start, e.g. 1. Introduction
+        if (word.length() > 0 && word.length() <= 2 && isDigits(word) && position - word.length() == start &&
+            spaceAfter)
+            return false;
+
+        if (BOUNDARY_ABBREVIATIONS.contains(lowerWord) && spaceAfter && SENTENCE_STARTERS.contains(nextWord))
+            return true;
+
+        // initials, e.g. J. Smith
+        if (word.length() == 1 && Character.isUpperCase(word.charAt(0)) && (spaceAfter || following == ','))
+            return false;
+
+        // multi-period abbreviations, e.g. e.g. or i.e.
+        if (isMultiPeriodAbbreviation(word))
+            return false;
+
+        if (ABBREVIATIONS.contains(lowerWord)) {
+            if (PREPOSITIVE_ABBREVIATIONS.contains(lowerWord)) {
+                if (spaceAfter)
+                    return false;
+                if (following == ':' && position + 2 < length && Character.isDigit(text.charAt(position + 2)))
+                    return false;
+            }
+            if (Character.isUpperCase(nextChar))
+                return true;
+            if (NUMBER_ABBREVIATIONS.contains(lowerWord))
+                return !(spaceAfter && (Character.isDigit(nextChar) || nextChar == '('));
+            if (!spaceAfter && ".:-?,".indexOf(following) != -1)
+                return false;
+            if (spaceAfter && (Character.isLowerCase(nextChar) || Character.isDigit(nextChar) || nextChar == '('))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Numbered references right after a period and before an upper case letter, e.g. "as reported.12 The"
+     * or "as reported.[3, 4] The", returns the end offset of the reference, or -1.
+     */
+    private static int getNumberedReferenceEnd(String text, int position) {
+        int length = text.length();
+        if (position == 0 || Character.isDigit(text.charAt(position - 1)) ||
+            Character.isWhitespace(text.charAt(position - 1)))
+            return -1;
+        int end = position + 1;
+        if (end < length && text.charAt(end) == '[') {
+            int closing = text.indexOf(']', end);
+            if (closing == -1 || closing - end > 30)
+                return -1;
+            for (int i = end + 1; i < closing; i++) {
+                if ("0123456789, -".indexOf(text.charAt(i)) == -1)
+                    return -1;
+            }
+            end = closing + 1;
+        } else {
+            int digits = 0;
+            while (end < length && Character.isDigit(text.charAt(end))) {
+                end++;
+                digits++;
+            }
+            if (digits == 0 || digits > 3)
+                return -1;
+        }
+        if (end + 1 < length && Character.isWhitespace(text.charAt(end)) &&
+            Character.isUpperCase(text.charAt(end + 1)))
+            return end;
+        return -1;
+    }
+
+    /**
+     * If a quotation or parenthesis is opened at the given position, returns the end offset of the
+     * span, or -1. Spans longer than MAX_PROTECTED_LENGTH characters are not protected.
+     */
+    private static int getProtectedEnd(String text, int position) {
+        int index = PROTECTED_OPENINGS.indexOf(text.charAt(position));
+        if (index == -1)
+            return -1;
+        char opening = PROTECTED_OPENINGS.charAt(index);
+        char closing = PROTECTED_CLOSINGS.charAt(index);
+        int limit = Math.min(text.length(), position + 1 + MAX_PROTECTED_LENGTH);
+        for (int i = position + 1; i < limit; i++) {
+            char c = text.charAt(i);
+            if (c == closing)
+                return i > position + 1 ? i + 1 : -1;
+            // nested parenthesis, only the inner one is protected
+            if (c == opening)
+                return -1;
+        }
+        return -1;
+    }
+
+    private static boolean isMultiPeriodAbbreviation(String word) {
+        if (word.length() < 3)
+            return false;
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            if (i % 2 == 0 && !Character.isLetter(c))
+                return false;
+            if (i % 2 == 1 && c != '.')
+                return false;
+        }
+        return word.length() % 2 == 1;
+    }
+
+    private static boolean isDigits(String word) {
+        for (int i = 0; i < word.length(); i++) {
+            if (!Character.isDigit(word.charAt(i)))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * The word ending at the given position, without opening punctuations.
+     */
+    private static String getPreviousWord(String text, int position) {
+        int begin = position;
+        while (begin > 0 && !Character.isWhitespace(text.charAt(begin - 1)) &&
+            PROTECTED_OPENINGS.indexOf(text.charAt(begin - 1)) == -1 && text.charAt(begin - 1) != '\'')
+            begin--;
+        return text.substring(begin, position);
+    }
+
+    private static String getNextWord(String text, int position) {
+        int end = position;
+        while (end < text.length() && Character.isLetter(text.charAt(end)))
+            end++;
+        return text.substring(position, end);
+    }
+
+    private static int skipSpaces(String text, int position) {
+        while (position < text.length() && Character.isWhitespace(text.charAt(position)))
+            position++;
+        return position;
+    }
+}
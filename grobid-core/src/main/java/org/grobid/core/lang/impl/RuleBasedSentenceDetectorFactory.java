@@ -0,0 +1,16 @@
+package org.grobid.core.lang.impl;
+
+import org.grobid.core.lang.SentenceDetector;
+import org.grobid.core.lang.SentenceDetectorFactory;
+
+/**
+ * Implementation of a sentence segmenter factory with the rule-based Java segmenter
+ */
+public class RuleBasedSentenceDetectorFactory implements SentenceDetectorFactory {
+    // the detector has no state, so a single instance is shared
+    private static final SentenceDetector instance = new RuleBasedSentenceDetector();
+
+    public SentenceDetector getInstance() {
+        return instance;
+    }
+}
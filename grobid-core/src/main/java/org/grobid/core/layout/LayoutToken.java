@@ -21,18 +21,13 @@ public class LayoutToken implements Comparable<LayoutToken>, Serializable {
     public double x = -1.0;
     public double width = 0.0;
     public double height = 0.0;
-    private String font = null;
-    private boolean bold = false;
-    private boolean italic = false;
-    private String colorFont = null;
+    // font, colour, bold, italic, rotation, subscript and superscript, shared by the tokens having the same ones
+    private LayoutTokenStyle style = LayoutTokenStyle.DEFAULT;
     public double fontSize = 0.0;
-    private boolean rotation = false;
     private int page = -1;
     private boolean newLineAfter;
     private int blockPtr;
 	private int offset = 0;
-    private boolean subscript = false;
-    private boolean superscript = false;
 	
 	/**
 	 * All TaggingLabel accumulated for this token
@@ -52,25 +47,16 @@ public class LayoutToken implements Comparable<LayoutToken>, Serializable {
         this.x = token.x;
         this.width = token.width;
         this.height = token.height;
-        this.font = token.font;
-        this.bold = token.bold;
-        this.italic = token.italic;
-        this.colorFont = token.colorFont;
+        this.style = token.style;
         this.fontSize = token.fontSize;
-        this.rotation = token.rotation;
         this.page = token.page;
         this.newLineAfter = token.newLineAfter;
         this.blockPtr = token.blockPtr;
         this.offset = token.offset;
-        this.subscript = token.subscript;
-        this.superscript = token.superscript;
 
         // deep copy of the TaggingLabel list
         if (token.labels != null) {
-            this.labels = new ArrayList<TaggingLabel>();
-            for(TaggingLabel l : token.labels) {
-                this.labels.add(l);
-            }
+            this.labels = new ArrayList<TaggingLabel>(token.labels);
         }
     }
     
@@ -79,12 +65,23 @@ public class LayoutToken implements Comparable<LayoutToken>, Serializable {
     	this.addLabel(label);
     }
 
+    public LayoutTokenStyle getStyle() {
+        return style;
+    }
+
+    /**
+     * Set all the style attributes at once, see {@link LayoutTokenStyle#of}
+     */
+    public void setStyle(LayoutTokenStyle style) {
+        this.style = style;
+    }
+
     public void setFont(String f) {
-        font = f;
+        style = style.withFont(f);
     }
 
     public String getFont() {
-        return font;
+        return style.getFont();
     }
 
     public void setText(String f) {
@@ -93,11 +90,11 @@ public class LayoutToken implements Comparable<LayoutToken>, Serializable {
     }
 
     public void setRotation(boolean b) {
-        rotation = b;
+        style = style.withRotation(b);
     }
 
     public boolean getRotation() {
-        return rotation;
+        return style.getRotation();
     }
 
     public String getText() {
@@ -109,55 +106,55 @@ public class LayoutToken implements Comparable<LayoutToken>, Serializable {
     }
 
     public void setColorFont(String f) {
-        colorFont = f;
+        style = style.withColorFont(f);
     }
 
     public String getColorFont() {
-        return colorFont;
+        return style.getColorFont();
     }
 
     public void setBold(boolean b) {
-        bold = b;
+        style = style.withBold(b);
     }
 
     public void setItalic(boolean i) {
-        italic = i;
+        style = style.withItalic(i);
     }
 
     public boolean isBold() {
-        return bold;
+        return style.isBold();
     }
 
     /** @use isBold() **/
     @Deprecated
     public boolean getBold() {
-        return bold;
+        return style.isBold();
     }
 
     public boolean isItalic() {
-        return italic;
+        return style.isItalic();
     }
 
     /** @use isItalic() **/
     @Deprecated
     public boolean getItalic() {
-        return italic;
+        return style.isItalic();
     }
 
     public boolean isSubscript() {
-        return subscript;
+        return style.isSubscript();
     }
 
     public void setSubscript(boolean script) {
-        this.subscript = script;
+        style = style.withSubscript(script);
     }
 
     public boolean isSuperscript() {
-        return superscript;
+        return style.isSuperscript();
     }
 
     public void setSuperscript(boolean script) {
-        this.superscript = script;
+        style = style.withSuperscript(script);
     }
 
     public void setFontSize(double d) {
@@ -245,15 +242,16 @@ public class LayoutToken implements Comparable<LayoutToken>, Serializable {
 	 * Check if a given TaggingLabel is associated with this token
 	 */
 	public boolean hasLabel(TaggingLabel label) {
-		return this.labels.contains(label);
+		return this.labels != null && this.labels.contains(label);
 	}
 	
 	/**
 	 * Add a TaggingLabel to this token
 	 */
 	public void addLabel(TaggingLabel label) {
+		// a token gets usually one or two labels
 		if (this.labels == null)
-			this.labels = new ArrayList<TaggingLabel>();
+			this.labels = new ArrayList<TaggingLabel>(2);
 		if (!hasLabel(label))
 			this.labels.add(label);
 	}
@@ -276,13 +274,13 @@ public class LayoutToken implements Comparable<LayoutToken>, Serializable {
         result = 31 * result + (int) (temp ^ (temp >>> 32));
         temp = Double.doubleToLongBits(height);
         result = 31 * result + (int) (temp ^ (temp >>> 32));
-        result = 31 * result + (font != null ? font.hashCode() : 0);
-        result = 31 * result + (bold ? 1 : 0);
-        result = 31 * result + (italic ? 1 : 0);
-        result = 31 * result + (colorFont != null ? colorFont.hashCode() : 0);
+        result = 31 * result + (getFont() != null ? getFont().hashCode() : 0);
+        result = 31 * result + (isBold() ? 1 : 0);
+        result = 31 * result + (isItalic() ? 1 : 0);
+        result = 31 * result + (getColorFont() != null ? getColorFont().hashCode() : 0);
         temp = Double.doubleToLongBits(fontSize);
         result = 31 * result + (int) (temp ^ (temp >>> 32));
-        result = 31 * result + (rotation ? 1 : 0);
+        result = 31 * result + (getRotation() ? 1 : 0);
         result = 31 * result + page;
         return result;
     }
@@ -0,0 +1,130 @@
+package org.grobid.core.layout;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Font and text attributes of a {@link LayoutToken}, shared by all the tokens having the same ones.
+ *
+ * A document has a handful of distinct styles for up to millions of tokens, so the styles are immutable
+ * and interned: a token only holds a reference to its style instead of its own font and colour strings
+ * and flags. The interning is weak, a style being released once no token uses it anymore.
+ */
+public final class LayoutTokenStyle implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final Interner<LayoutTokenStyle> STYLES = Interners.newWeakInterner();
+
+    private static final int BOLD = 1;
+    private static final int ITALIC = 1 << 1;
+    private static final int ROTATION = 1 << 2;
+    private static final int SUBSCRIPT = 1 << 3;
+    private static final int SUPERSCRIPT = 1 << 4;
+
+    public static final LayoutTokenStyle DEFAULT = STYLES.intern(new LayoutTokenStyle(null, null, 0));
+
+    private final String font;
+    private final String colorFont;
+    private final int flags;
+
+    private LayoutTokenStyle(String font, String colorFont, int flags) {
+        this.font = font;
+        this.colorFont = colorFont;
+        this.flags = flags;
+    }
+
+    public static LayoutTokenStyle of(String font, String colorFont, boolean bold, boolean italic, boolean rotation,
+                                      boolean subscript, boolean superscript) {
+        return of(font, colorFont, (bold ? BOLD : 0) | (italic ? ITALIC : 0) | (rotation ? ROTATION : 0)
+            | (subscript ? SUBSCRIPT : 0) | (superscript ? SUPERSCRIPT : 0));
+    }
+
+    private static LayoutTokenStyle of(String font, String colorFont, int flags) {
+        return STYLES.intern(new LayoutTokenStyle(font, colorFont, flags));
+    }
+
+    public String getFont() {
+        return font;
+    }
+
+    public String getColorFont() {
+        return colorFont;
+    }
+
+    public boolean isBold() {
+        return (flags & BOLD) != 0;
+    }
+
+    public boolean isItalic() {
+        return (flags & ITALIC) != 0;
+    }
+
+    public boolean getRotation() {
+        return (flags & ROTATION) != 0;
+    }
+
+    public boolean isSubscript() {
+        return (flags & SUBSCRIPT) != 0;
+    }
+
+    public boolean isSuperscript() {
+        return (flags & SUPERSCRIPT) != 0;
+    }
+
+    public LayoutTokenStyle withFont(String font) {
+        return Objects.equals(this.font, font) ? this : of(font, colorFont, flags);
+    }
+
+    public LayoutTokenStyle withColorFont(String colorFont) {
+        return Objects.equals(this.colorFont, colorFont) ? this : of(font, colorFont, flags);
+    }
+
+    public LayoutTokenStyle withBold(boolean bold) {
+        return withFlag(BOLD, bold);
+    }
+
+    public LayoutTokenStyle withItalic(boolean italic) {
+        return withFlag(ITALIC, italic);
+    }
+
+    public LayoutTokenStyle withRotation(boolean rotation) {
+        return withFlag(ROTATION, rotation);
+    }
+
+    public LayoutTokenStyle withSubscript(boolean subscript) {
+        return withFlag(SUBSCRIPT, subscript);
+    }
+
+    public LayoutTokenStyle withSuperscript(boolean superscript) {
+        return withFlag(SUPERSCRIPT, superscript);
+    }
+
+    private LayoutTokenStyle withFlag(int flag, boolean value) {
+        int newFlags = value ? flags | flag : flags & ~flag;
+        return newFlags == flags ? this : of(font, colorFont, newFlags);
+    }
+
+    // deserialized styles are shared like the other ones
+    private Object readResolve() {
+        return STYLES.intern(this);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof LayoutTokenStyle))
+            return false;
+        LayoutTokenStyle that = (LayoutTokenStyle) o;
+        return flags == that.flags && Objects.equals(font, that.font) && Objects.equals(colorFont, that.colorFont);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(font, colorFont, flags);
+    }
+}
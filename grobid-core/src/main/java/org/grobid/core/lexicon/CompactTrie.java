@@ -0,0 +1,184 @@
+package org.grobid.core.lexicon;
+
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable trie of token sequences, used by {@link FastMatcher} once its terms are loaded.
+ *
+ * The tokens are interned as int ids and the nodes are stored in flat arrays: the children of a node
+ * are a range of the label and target arrays, sorted by token id. Compared to nested hash maps, it takes
+ * a fraction of the heap and looking up a token or a child does not allocate.
+ *
+ * The arrays are buffers, so that a trie read from a lexicon snapshot is used directly from the
+ * memory-mapped file rather than copied on the heap.
+ */
+final class CompactTrie {
+    // key marking the end of a term in the nested maps used for loading the terms
+    static final String TERM_END = "#";
+
+    static final int ROOT = 0;
+    static final int NONE = -1;
+
+    // the entry index of a token is its id
+    private final StringTable tokens;
+
+    // children of node n are at the indices childStart[n] to childStart[n+1] excluded
+    private final IntBuffer childStart;
+    private final IntBuffer childLabels;
+    private final IntBuffer childTargets;
+    // bit set of the nodes ending a term
+    private final LongBuffer terminals;
+    private final int nbTerms;
+
+    private CompactTrie(StringTable tokens, IntBuffer childStart, IntBuffer childLabels, IntBuffer childTargets,
+                        LongBuffer terminals) {
+        this.tokens = tokens;
+        this.childStart = childStart;
+        this.childLabels = childLabels;
+        this.childTargets = childTargets;
+        this.terminals = terminals;
+
+        int count = 0;
+        for (int i = 0; i < terminals.limit(); i++)
+            count += Long.bitCount(terminals.get(i));
+        this.nbTerms = count;
+    }
+
+    /**
+     * Build the trie from nested maps having a token as key and the map of the following tokens
+     * as value, the end of a term being marked with the {@link #TERM_END} key.
+     */
+    static CompactTrie build(Map root) {
+        Map<String, Integer> tokenIds = new HashMap<>();
+        List<String> tokenList = new ArrayList<>();
+
+        // nodes are numbered breadth first, so the edges of each node are contiguous
+        List<Map> nodes = new ArrayList<>();
+        nodes.add(root);
+        int[] childStart = new int[16];
+        long[] edges = new long[16];
+        int nbEdges = 0;
+        BitSet terminals = new BitSet();
+        for (int n = 0; n < nodes.size(); n++) {
+            Map node = nodes.get(n);
+            if (n + 1 >= childStart.length)
+                childStart = Arrays.copyOf(childStart, childStart.length * 2);
+            childStart[n] = nbEdges;
+            for (Object entry : node.entrySet()) {
+                String token = (String) ((Map.Entry) entry).getKey();
+                if (token.equals(TERM_END)) {
+                    terminals.set(n);
+                    continue;
+                }
+                Integer id = tokenIds.get(token);
+                if (id == null) {
+                    id = tokenList.size();
+                    tokenIds.put(token, id);
+                    tokenList.add(token);
+                }
+                if (nbEdges == edges.length)
+                    edges = Arrays.copyOf(edges, edges.length * 2);
+                edges[nbEdges++] = ((long) id << 32) | nodes.size();
+                nodes.add((Map) ((Map.Entry) entry).getValue());
+            }
+            // sorted by token id for the binary search of a child
+            Arrays.sort(edges, childStart[n], nbEdges);
+        }
+        childStart[nodes.size()] = nbEdges;
+
+        int[] childLabels = new int[nbEdges];
+        int[] childTargets = new int[nbEdges];
+        for (int i = 0; i < nbEdges; i++) {
+            childLabels[i] = (int) (edges[i] >>> 32);
+            childTargets[i] = (int) edges[i];
+        }
+        return new CompactTrie(StringTable.build(tokenList), IntBuffer.wrap(Arrays.copyOf(childStart, nodes.size() + 1)),
+            IntBuffer.wrap(childLabels), IntBuffer.wrap(childTargets), LongBuffer.wrap(terminals.toLongArray()));
+    }
+
+    /**
+     * Write the trie in a lexicon snapshot.
+     */
+    void write(LexiconSnapshot.Output out) throws IOException {
+        out.writeTable(tokens);
+        out.writeInts(childStart);
+        out.writeInts(childLabels);
+        out.writeInts(childTargets);
+        out.writeLongs(terminals);
+    }
+
+    /**
+     * Read a trie written in a lexicon snapshot, its buffers being views of the snapshot.
+     */
+    static CompactTrie read(LexiconSnapshot.Input in) {
+        StringTable tokens = in.readTable();
+        IntBuffer childStart = in.readInts();
+        IntBuffer childLabels = in.readInts();
+        IntBuffer childTargets = in.readInts();
+        LongBuffer terminals = in.readLongs();
+        return new CompactTrie(tokens, childStart, childLabels, childTargets, terminals);
+    }
+
+    /**
+     * Back to nested maps, for loading further terms.
+     */
+    Map toMap() {
+        return toMap(ROOT);
+    }
+
+    private Map toMap(int node) {
+        Map result = new HashMap();
+        if (isTerminal(node))
+            result.put(TERM_END, new HashMap());
+        for (int i = childStart.get(node); i < childStart.get(node + 1); i++) {
+            result.put(tokens.getKey(childLabels.get(i)), toMap(childTargets.get(i)));
+        }
+        return result;
+    }
+
+    /**
+     * @return the id of the token, or {@link #NONE} if no term contains it
+     */
+    int getTokenId(String token) {
+        return tokens.indexOf(token);
+    }
+
+    /**
+     * @return the node following the given one with the token, or {@link #NONE}
+     */
+    int getChild(int node, int tokenId) {
+        int low = childStart.get(node);
+        int high = childStart.get(node + 1) - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int label = childLabels.get(middle);
+            if (label < tokenId)
+                low = middle + 1;
+            else if (label > tokenId)
+                high = middle - 1;
+            else
+                return childTargets.get(middle);
+        }
+        return NONE;
+    }
+
+    /**
+     * @return true if a term ends at the node
+     */
+    boolean isTerminal(int node) {
+        int word = node >>> 6;
+        return word < terminals.limit() && (terminals.get(word) & (1L << node)) != 0;
+    }
+
+    int getNbTerms() {
+        return nbTerms;
+    }
+}
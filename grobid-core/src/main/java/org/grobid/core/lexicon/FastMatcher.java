@@ -26,12 +26,21 @@ import static org.apache.commons.lang3.StringUtils.isBlank;
  * @author Patrice Lopez
  */
 public final class FastMatcher {
+    // terms being loaded, as nested maps of tokens
     private Map terms = null;
 
+    // terms compacted for the matching, built at the first matching once the terms are loaded
+    private volatile CompactTrie trie = null;
+
     public FastMatcher() {
-        if (terms == null) {
-            terms = new HashMap();
-        }
+        terms = new HashMap();
+    }
+
+    /**
+     * Matcher of already compacted terms, typically read from a lexicon snapshot.
+     */
+    FastMatcher(CompactTrie trie) {
+        this.trie = trie;
     }
 
     public FastMatcher(File file) {
@@ -137,10 +146,6 @@ public final class FastMatcher {
         InputStreamReader reader = new InputStreamReader(is, UTF_8);
         BufferedReader bufReader = new BufferedReader(reader);
         String line;
-        if (terms == null) {
-            terms = new HashMap();
-        }
-        //Map t = terms;
         int nbTerms = 0;
         //String token = null;
         while ((line = bufReader.readLine()) != null) {
@@ -177,10 +182,15 @@ public final class FastMatcher {
     /**
      * Load a term to the fast matcher
      */
-    public int loadTerm(String term, org.grobid.core.analyzers.Analyzer analyzer, boolean ignoreDelimiters, boolean caseSensitive) {
+    public synchronized int loadTerm(String term, org.grobid.core.analyzers.Analyzer analyzer, boolean ignoreDelimiters, boolean caseSensitive) {
         int nbTerms = 0;
         if (isBlank(term))
             return 0;
+        if (terms == null) {
+            // the terms have already been compacted, we go back to the loading structure
+            terms = (trie == null) ? new HashMap() : trie.toMap();
+            trie = null;
+        }
         Map t = terms;
         //StringTokenizer st = new StringTokenizer(term, " \n\t" + TextUtilities.fullPunctuations, false);
         //while (st.hasMoreTokens()) {
@@ -208,10 +218,10 @@ public final class FastMatcher {
         }
         // end of the term
         if (t != terms) {
-            Map t2 = (Map) t.get("#");
+            Map t2 = (Map) t.get(CompactTrie.TERM_END);
             if (t2 == null) {
                 t2 = new HashMap();
-                t.put("#", t2);
+                t.put(CompactTrie.TERM_END, t2);
             }
             nbTerms++;
             t = terms;
@@ -221,6 +231,118 @@ public final class FastMatcher {
 
     private static String delimiters = TextUtilities.delimiters;
 
+    /**
+     * The compacted terms, built at the first call once the terms are loaded.
+     */
+    CompactTrie getTrie() {
+        CompactTrie result = trie;
+        if (result == null) {
+            synchronized (this) {
+                if (trie == null) {
+                    trie = CompactTrie.build(terms);
+                    terms = null;
+                }
+                result = trie;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Matches in progress while going through the tokens of a text: the trie node reached, the start and
+     * the end position of the matched tokens. The arrays are reused from one token to the next.
+     */
+    private static final class OpenMatches {
+        private final CompactTrie trie;
+        private final List<OffsetPosition> results = new ArrayList<>();
+        private int size = 0;
+        private int[] nodes = new int[8];
+        private int[] starts = new int[8];
+        private int[] ends = new int[8];
+        private int[] nextNodes = new int[8];
+        private int[] nextStarts = new int[8];
+        private int[] nextEnds = new int[8];
+
+        OpenMatches(CompactTrie trie) {
+            this.trie = trie;
+        }
+
+        /**
+         * Continue the open matches with the next token, and start a new match at this token.
+         * The matches not continued and ending a term are added to the results.
+         *
+         * @param token the token, already normalised
+         * @param start the start position of the token
+         * @param end   the end position of the token
+         */
+        void next(String token, int start, int end) {
+            int tokenId = trie.getTokenId(token);
+            int nextSize = 0;
+            for (int i = 0; i < size; i++) {
+                if (tokenId != CompactTrie.NONE) {
+                    int child = trie.getChild(nodes[i], tokenId);
+                    if (child != CompactTrie.NONE) {
+                        ensureCapacity(nextSize + 1);
+                        nextNodes[nextSize] = child;
+                        nextStarts[nextSize] = starts[i];
+                        nextEnds[nextSize] = end;
+                        nextSize++;
+                    }
+                }
+                if (trie.isTerminal(nodes[i])) {
+                    // end of the current term, matching successful
+                    results.add(new OffsetPosition(starts[i], ends[i]));
+                }
+            }
+
+            // we start new matching starting at the current token
+            if (tokenId != CompactTrie.NONE) {
+                int child = trie.getChild(CompactTrie.ROOT, tokenId);
+                if (child != CompactTrie.NONE) {
+                    ensureCapacity(nextSize + 1);
+                    nextNodes[nextSize] = child;
+                    nextStarts[nextSize] = start;
+                    nextEnds[nextSize] = end;
+                    nextSize++;
+                }
+            }
+
+            int[] tmp = nodes;
+            nodes = nextNodes;
+            nextNodes = tmp;
+            tmp = starts;
+            starts = nextStarts;
+            nextStarts = tmp;
+            tmp = ends;
+            ends = nextEnds;
+            nextEnds = tmp;
+            size = nextSize;
+        }
+
+        /**
+         * @return the results, including the open matches ending a term at the end of the text
+         */
+        List<OffsetPosition> finish() {
+            for (int i = 0; i < size; i++) {
+                if (trie.isTerminal(nodes[i])) {
+                    // end of the current term, matching successful
+                    results.add(new OffsetPosition(starts[i], ends[i]));
+                }
+            }
+            size = 0;
+            return results;
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity > nextNodes.length) {
+                int newLength = Math.max(capacity, nextNodes.length * 2);
+                nextNodes = Arrays.copyOf(nextNodes, newLength);
+                nextStarts = Arrays.copyOf(nextStarts, newLength);
+                nextEnds = Arrays.copyOf(nextEnds, newLength);
+            }
+        }
+    }
+
     /**
      * Identify terms in a piece of text and gives corresponding token positions.
      * All the matches are returned.
@@ -241,10 +363,7 @@ public final class FastMatcher {
      * @return the list of offset positions of the matches, an empty list if no match have been found
      */
     public List<OffsetPosition> matchToken(String text, boolean caseSensitive) {
-        List<OffsetPosition> results = new ArrayList<OffsetPosition>();
-        List<Integer> startPos = new ArrayList<Integer>();
-        List<Integer> lastNonSeparatorPos = new ArrayList<Integer>();
-        List<Map> t = new ArrayList<Map>();
+        OpenMatches matches = new OpenMatches(getTrie());
         int currentPos = 0;
         StringTokenizer st = new StringTokenizer(text, delimiters, true);
         while (st.hasMoreTokens()) {
@@ -264,64 +383,12 @@ public final class FastMatcher {
             if (!caseSensitive) 
                 token = token.toLowerCase();
 
-            // we try to complete opened matching
-            int i = 0;
-            List<Map> new_t = new ArrayList<Map>();
-            List<Integer> new_startPos = new ArrayList<Integer>();
-            List<Integer> new_lastNonSeparatorPos = new ArrayList<Integer>();
-            // continuation of current opened matching
-            for (Map tt : t) {
-                Map t2 = (Map) tt.get(token);
-                if (t2 != null) {
-                    new_t.add(t2);
-                    new_startPos.add(startPos.get(i));
-                    new_lastNonSeparatorPos.add(currentPos);
-                }
-                //else
-                {
-                    t2 = (Map) tt.get("#");
-                    if (t2 != null) {
-                        // end of the current term, matching sucesssful
-                        OffsetPosition ofp = new OffsetPosition();
-                        ofp.start = startPos.get(i).intValue();
-                        ofp.end = lastNonSeparatorPos.get(i).intValue();
-                        results.add(ofp);
-                    }
-                }
-                i++;
-            }
-
-            // we start new matching starting at the current token
-            Map t2 = (Map) terms.get(token);
-            if (t2 != null) {
-                new_t.add(t2);
-                new_startPos.add(Integer.valueOf(currentPos));
-                new_lastNonSeparatorPos.add(currentPos);
-            }
-
-            t = new_t;
-            startPos = new_startPos;
-            lastNonSeparatorPos = new_lastNonSeparatorPos;
+            matches.next(token, currentPos, currentPos);
             currentPos++;
         }
 
         // test if the end of the string correspond to the end of a term
-        int i = 0;
-        if (t != null) {
-            for (Map tt : t) {
-                Map t2 = (Map) tt.get("#");
-                if (t2 != null) {
-                    // end of the current term, matching sucesssful
-                    OffsetPosition ofp = new OffsetPosition();
-                    ofp.start = startPos.get(i).intValue();
-                    ofp.end = lastNonSeparatorPos.get(i).intValue();
-                    results.add(ofp);
-                }
-                i++;
-            }
-        }
-
-        return results;
+        return matches.finish();
     }
 
     /**
@@ -364,10 +431,7 @@ public final class FastMatcher {
             return new ArrayList<OffsetPosition>();
         }
 
-        List<OffsetPosition> results = new ArrayList<>();
-        List<Integer> startPosition = new ArrayList<>();
-        List<Integer> lastNonSeparatorPos = new ArrayList<>();
-        List<Map> currentMatches = new ArrayList<>();
+        OpenMatches matches = new OpenMatches(getTrie());
         int currentPos = 0;
         for(LayoutToken token : tokens) {
             if (token.getText().equals(" ") || token.getText().equals("\n")) {
@@ -384,61 +448,12 @@ public final class FastMatcher {
             if (!caseSensitive)
                 tokenText = tokenText.toLowerCase();
 
-            // we try to complete opened matching
-            int i = 0;
-            List<Map> matchesTreeList = new ArrayList<>();
-            List<Integer> matchesPosition = new ArrayList<>();
-            List<Integer> new_lastNonSeparatorPos = new ArrayList<>();
-
-            // we check whether the current token matches as continuation of a previous match.
-            for (Map currentMatch : currentMatches) {
-                Map childMatches = (Map) currentMatch.get(tokenText);
-                if (childMatches != null) {
-                    matchesTreeList.add(childMatches);
-                    matchesPosition.add(startPosition.get(i));
-                    new_lastNonSeparatorPos.add(currentPos);
-                }
-
-                //check if the token itself is present, I add the match in the list of results
-                childMatches = (Map) currentMatch.get("#");
-                if (childMatches != null) {
-                    // end of the current term, matching successful
-                    OffsetPosition ofp = new OffsetPosition(startPosition.get(i), lastNonSeparatorPos.get(i));
-                    results.add(ofp);
-                }
-
-                i++;
-            }
-
-            // we start new matching starting at the current token
-            Map match = (Map) terms.get(tokenText);
-            if (match != null) {
-                matchesTreeList.add(match);
-                matchesPosition.add(currentPos);
-                new_lastNonSeparatorPos.add(currentPos);
-            }
-
-            currentMatches = matchesTreeList;
-            startPosition = matchesPosition;
-            lastNonSeparatorPos = new_lastNonSeparatorPos;
+            matches.next(tokenText, currentPos, currentPos);
             currentPos++;
         }
 
         // test if the end of the string correspond to the end of a term
-        int i = 0;
-        if (currentMatches != null) {
-            for (Map tt : currentMatches) {
-                Map t2 = (Map) tt.get("#");
-                if (t2 != null) {
-                    // end of the current term, matching successful
-                    OffsetPosition ofp = new OffsetPosition(startPosition.get(i), lastNonSeparatorPos.get(i));
-                    results.add(ofp);
-                }
-                i++;
-            }
-        }
-
-        return results;
+        return matches.finish();
     }
 
     /**
@@ -472,10 +487,7 @@ public final class FastMatcher {
      * list if no match have been found
      */
     public List<OffsetPosition> matchCharacter(String text, boolean caseSensitive) {
-        List<OffsetPosition> results = new ArrayList<>();
-        List<Integer> startPosition = new ArrayList<>();
-        List<Integer> lastNonSeparatorPos = new ArrayList<>();
-        List<Map> currentMatches = new ArrayList<>();
+        OpenMatches matches = new OpenMatches(getTrie());
         int currentPos = 0;
         StringTokenizer st = new StringTokenizer(text, delimiters, true);
         while (st.hasMoreTokens()) {
@@ -496,63 +508,13 @@ public final class FastMatcher {
             if (!caseSensitive) 
                 token = token.toLowerCase();
 
-            // we try to complete opened matching
-            int i = 0;
-            List<Map> matchesTreeList = new ArrayList<>();
-            List<Integer> matchesPosition = new ArrayList<>();
-            List<Integer> new_lastNonSeparatorPos = new ArrayList<>();
-
-            // we check whether the current token matches as continuation of a previous match.
-            for (Map currentMatch : currentMatches) {
-                Map childMatches = (Map) currentMatch.get(token);
-                if (childMatches != null) {
-                    matchesTreeList.add(childMatches);
-                    matchesPosition.add(startPosition.get(i));
-                    new_lastNonSeparatorPos.add(currentPos + token.length());
-                }
-
-                //check if the token itself is present, I add the match in the list of results
-                childMatches = (Map) currentMatch.get("#");
-                if (childMatches != null) {
-                    // end of the current term, matching successful
-                    OffsetPosition ofp = new OffsetPosition(startPosition.get(i), lastNonSeparatorPos.get(i));
-                    results.add(ofp);
-                }
-
-                i++;
-            }
-
             //TODO: e.g. The Bronx matches 'The Bronx' and 'Bronx' is this correct? 
-
-            // we start new matching starting at the current token
-            Map match = (Map) terms.get(token);
-            if (match != null) {
-                matchesTreeList.add(match);
-                matchesPosition.add(currentPos);
-                new_lastNonSeparatorPos.add(currentPos + token.length());
-            }
-
-            currentMatches = matchesTreeList;
-            startPosition = matchesPosition;
-            lastNonSeparatorPos = new_lastNonSeparatorPos;
+            matches.next(token, currentPos, currentPos + token.length());
             currentPos += token.length();
         }
 
         // test if the end of the string correspond to the end of a term
-        int i = 0;
-        if (currentMatches != null) {
-            for (Map tt : currentMatches) {
-                Map t2 = (Map) tt.get("#");
-                if (t2 != null) {
-                    // end of the current term, matching successful
-                    OffsetPosition ofp = new OffsetPosition(startPosition.get(i), lastNonSeparatorPos.get(i));
-                    results.add(ofp);
-                }
-                i++;
-            }
-        }
-
-        return results;
+        return matches.finish();
     }
 
     /**
@@ -581,11 +543,7 @@ public final class FastMatcher {
      * list if no match have been found
      */
     public List<OffsetPosition> matchCharacterLayoutToken(List<LayoutToken> tokens, boolean caseSensitive) {
-        List<OffsetPosition> results = new ArrayList<>();
-        List<Integer> startPosition = new ArrayList<>();
-        List<Integer> lastNonSeparatorPos = new ArrayList<>();
-        List<Map> currentMatches = new ArrayList<>();
-
+        OpenMatches matches = new OpenMatches(getTrie());
         int currentPos = 0;
 
         for (LayoutToken token : tokens) {
@@ -606,61 +564,12 @@ public final class FastMatcher {
             if (!caseSensitive)
                 tokenString = tokenString.toLowerCase();
 
-            // we try to complete opened matching
-            int i = 0;
-            List<Map> matchesTreeList = new ArrayList<>();
-            List<Integer> matchesPosition = new ArrayList<>();
-            List<Integer> new_lastNonSeparatorPos = new ArrayList<>();
-
-            // we check whether the current token matches as continuation of a previous match.
-            for (Map currentMatch : currentMatches) {
-                Map childMatches = (Map) currentMatch.get(tokenString);
-                if (childMatches != null) {
-                    matchesTreeList.add(childMatches);
-                    matchesPosition.add(startPosition.get(i));
-                    new_lastNonSeparatorPos.add(currentPos);
-                }
-
-                //check if the token itself is present, I add the match in the list of results
-                childMatches = (Map) currentMatch.get("#");
-                if (childMatches != null) {
-                    // end of the current term, matching successful
-                    OffsetPosition ofp = new OffsetPosition(startPosition.get(i), lastNonSeparatorPos.get(i));
-                    results.add(ofp);
-                }
-
-                i++;
-            }
-
-            // we start new matching starting at the current token
-            Map match = (Map) terms.get(tokenString);
-            if (match != null) {
-                matchesTreeList.add(match);
-                matchesPosition.add(currentPos);
-                new_lastNonSeparatorPos.add(currentPos);
-            }
-
-            currentMatches = matchesTreeList;
-            startPosition = matchesPosition;
-            lastNonSeparatorPos = new_lastNonSeparatorPos;
+            matches.next(tokenString, currentPos, currentPos);
             currentPos++;
         }
 
         // test if the end of the string correspond to the end of a term
-        int i = 0;
-        if (currentMatches != null) {
-            for (Map tt : currentMatches) {
-                Map t2 = (Map) tt.get("#");
-                if (t2 != null) {
-                    // end of the current term, matching successful
-                    OffsetPosition ofp = new OffsetPosition(startPosition.get(i), lastNonSeparatorPos.get(i));
-                    results.add(ofp);
-                }
-                i++;
-            }
-        }
-
-        return results;
+        return matches.finish();
     }
 
 
@@ -7,8 +7,11 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.util.AbstractSet;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.ArrayList;
 import java.util.Map;
@@ -19,6 +22,7 @@ import java.util.regex.*;
 import javax.xml.parsers.SAXParser;
 import javax.xml.parsers.SAXParserFactory;
 
+import com.google.common.collect.Iterators;
 import org.apache.commons.io.IOUtils;
 import org.grobid.core.exceptions.GrobidException;
 import org.grobid.core.exceptions.GrobidResourceException;
@@ -88,26 +92,120 @@ public class Lexicon {
      * Hidden constructor
      */
     private Lexicon() {
+        String lexiconPath = GrobidProperties.getGrobidHomePath() + File.separator + "lexicon" + File.separator;
+        final String englishPath = lexiconPath + "wordforms" + File.separator + "english.wf";
+        final String germanPath = lexiconPath + "wordforms" + File.separator + "german.wf";
+        final String[] lastNamesPaths = {lexiconPath + "names" + File.separator + "names.family", 
+            lexiconPath + "names" + File.separator + "lastname.5k"};
+        final String[] firstNamesPaths = {lexiconPath + "names" + File.separator + "names.female", 
+            lexiconPath + "names" + File.separator + "names.male", 
+            lexiconPath + "names" + File.separator + "firstname.5k"};
+        final String countryCodesPath = lexiconPath + "countries" + File.separator + "CountryCodes.xml";
+
+        List<File> sources = new ArrayList<>();
+        sources.add(new File(englishPath));
+        sources.add(new File(germanPath));
+        for (String path : lastNamesPaths)
+            sources.add(new File(path));
+        for (String path : firstNamesPaths)
+            sources.add(new File(path));
+        sources.add(new File(countryCodesPath));
+
+        LexiconSnapshot snapshot = LexiconSnapshot.getInstance();
+        if (snapshot != null && readSnapshot(snapshot, sources))
+            return;
+
         initDictionary();
         initNames();
 		// the loading of the journal and conference names is lazy
-        addDictionary(GrobidProperties.getGrobidHomePath() + File.separator + 
-			"lexicon"+File.separator+"wordforms"+File.separator+"english.wf", Language.EN);
-        addDictionary(GrobidProperties.getGrobidHomePath() + File.separator + 
-			"lexicon"+File.separator+"wordforms"+File.separator+"german.wf", Language.EN);
-        addLastNames(GrobidProperties.getGrobidHomePath() + File.separator +
-			"lexicon"+File.separator+"names"+File.separator+"names.family");
-		addLastNames(GrobidProperties.getGrobidHomePath() + File.separator +
-			"lexicon"+File.separator+"names"+File.separator+"lastname.5k");
-        addFirstNames(GrobidProperties.getGrobidHomePath() + File.separator + 
-			"lexicon"+File.separator+"names"+File.separator+"names.female");
-        addFirstNames(GrobidProperties.getGrobidHomePath() + File.separator + 
-			"lexicon"+File.separator+"names"+File.separator+"names.male");
-		addFirstNames(GrobidProperties.getGrobidHomePath() + File.separator + 
-			"lexicon"+File.separator+"names"+File.separator+"firstname.5k");
+        addDictionary(englishPath, Language.EN);
+        addDictionary(germanPath, Language.EN);
+        for (String path : lastNamesPaths)
+            addLastNames(path);
+        for (String path : firstNamesPaths)
+            addFirstNames(path);
         initCountryCodes();
-        addCountryCodes(GrobidProperties.getGrobidHomePath() + File.separator +
-            "lexicon"+File.separator+"countries"+File.separator+"CountryCodes.xml");
+        addCountryCodes(countryCodesPath);
+
+        if (snapshot != null) {
+            snapshot.write("lexicon", sources, out -> {
+                out.writeSet(dictionary_en);
+                out.writeSet(dictionary_de);
+                out.writeSet(lastNames);
+                out.writeSet(firstNames);
+                out.writeMap(countryCodes);
+                out.writeSet(countries);
+            });
+            // the mapped snapshot replaces the loaded sets, so that they are off-heap and shared between JVMs
+            readSnapshot(snapshot, sources);
+        }
+    }
+
+    private boolean readSnapshot(LexiconSnapshot snapshot, List<File> sources) {
+        return snapshot.read("lexicon", sources, in -> {
+            Set<String> english = in.readSet();
+            Set<String> german = in.readSet();
+            Set<String> last = in.readSet();
+            Set<String> first = in.readSet();
+            Map<String, String> codes = in.readMap();
+            Set<String> countryNames = in.readSet();
+
+            // entries can still be added with addDictionary, addFirstNames and addLastNames
+            dictionary_en = new ExtensibleSet(english);
+            dictionary_de = new ExtensibleSet(german);
+            lastNames = new ExtensibleSet(last);
+            firstNames = new ExtensibleSet(first);
+            countryCodes = codes;
+            countries = countryNames;
+            return Boolean.TRUE;
+        }) != null;
+    }
+
+    /**
+     * Load all the lexical resources, including the ones loaded lazily, which builds their snapshots 
+     * if they are enabled.
+     */
+    public void initAll() {
+        initJournals();
+        initConferences();
+        initPublishers();
+        initCities();
+        initCollaborations();
+        initOrganisations();
+        initOrgForms();
+        initLocations();
+        initPersonTitles();
+        initPersonSuffix();
+    }
+
+    /**
+     * Matcher of the terms of the given files, read from its snapshot when up to date.
+     *
+     * @param name name of the snapshot
+     * @param paths files of the terms, relative to the grobid home
+     */
+    private FastMatcher getMatcher(String name, String... paths) throws IOException {
+        List<File> sources = new ArrayList<>();
+        for (String path : paths)
+            sources.add(new File(GrobidProperties.getGrobidHomePath() + path));
+
+        LexiconSnapshot snapshot = LexiconSnapshot.getInstance();
+        if (snapshot != null) {
+            FastMatcher matcher = snapshot.read(name, sources, LexiconSnapshot.Input::readMatcher);
+            if (matcher != null)
+                return matcher;
+        }
+        FastMatcher matcher = new FastMatcher(sources.get(0));
+        for (int i = 1; i < sources.size(); i++)
+            matcher.loadTerms(sources.get(i));
+        if (snapshot != null) {
+            snapshot.write(name, sources, out -> out.writeMatcher(matcher));
+            // the mapped snapshot replaces the loaded matcher, so that it is off-heap and shared between JVMs
+            FastMatcher mapped = snapshot.read(name, sources, LexiconSnapshot.Input::readMatcher);
+            if (mapped != null)
+                return mapped;
+        }
+        return matcher;
     }
 
     private void initDictionary() {
@@ -397,42 +495,45 @@ public class Lexicon {
 
     public void initJournals() {
         try {
-            abbrevJournalPattern = new FastMatcher(new
-                    File(GrobidProperties.getGrobidHomePath() + "/lexicon/journals/abbrev_journals.txt"));
+            abbrevJournalPattern = getMatcher("abbrev_journals", "/lexicon/journals/abbrev_journals.txt");
 
-            journalPattern = new FastMatcher(new
-                    File(GrobidProperties.getGrobidHomePath() + "/lexicon/journals/journals.txt"));
+            journalPattern = getMatcher("journals", "/lexicon/journals/journals.txt");
         } catch (PatternSyntaxException e) {
             throw new GrobidResourceException(
                     "Error when compiling lexicon matcher for abbreviated journal names.", e);
+        } catch (IOException e) {
+            throw new GrobidResourceException("Cannot read the lexicon matcher for journal names.", e);
         }
     }
 
     public void initConferences() {
         // ArrayList<String> conferences = new ArrayList<String>();
         try {
-            conferencePattern = new FastMatcher(new
-                    File(GrobidProperties.getGrobidHomePath() + "/lexicon/journals/proceedings.txt"));
+            conferencePattern = getMatcher("proceedings", "/lexicon/journals/proceedings.txt");
         } catch (PatternSyntaxException e) {
             throw new GrobidResourceException("Error when compiling lexicon matcher for conference names.", e);
+        } catch (IOException e) {
+            throw new GrobidResourceException("Cannot read the lexicon matcher for conference names.", e);
         }
     }
 
     public void initPublishers() {
         try {
-            publisherPattern = new FastMatcher(new
-                    File(GrobidProperties.getGrobidHomePath() + "/lexicon/publishers/publishers.txt"));
+            publisherPattern = getMatcher("publishers", "/lexicon/publishers/publishers.txt");
         } catch (PatternSyntaxException e) {
             throw new GrobidResourceException("Error when compiling lexicon matcher for conference names.", e);
+        } catch (IOException e) {
+            throw new GrobidResourceException("Cannot read the lexicon matcher for publisher names.", e);
         }
     }
 
     public void initCities() {
         try {
-            cityPattern = new FastMatcher(new
-                    File(GrobidProperties.getGrobidHomePath() + "/lexicon/places/cities15000.txt"));
+            cityPattern = getMatcher("cities", "/lexicon/places/cities15000.txt");
         } catch (PatternSyntaxException e) {
             throw new GrobidResourceException("Error when compiling lexicon matcher for cities.", e);
+        } catch (IOException e) {
+            throw new GrobidResourceException("Cannot read the lexicon matcher for cities.", e);
         }
     }
 
@@ -440,23 +541,21 @@ public class Lexicon {
         try {
             //collaborationPattern = new FastMatcher(new
             //        File(GrobidProperties.getGrobidHomePath() + "/lexicon/organisations/collaborations.txt"));
-            collaborationPattern = new FastMatcher(new
-                    File(GrobidProperties.getGrobidHomePath() + "/lexicon/organisations/inspire_collaborations.txt"));
+            collaborationPattern = getMatcher("collaborations", "/lexicon/organisations/inspire_collaborations.txt");
         } catch (PatternSyntaxException e) {
             throw new GrobidResourceException("Error when compiling lexicon matcher for collaborations.", e);
+        } catch (IOException e) {
+            throw new GrobidResourceException("Cannot read the lexicon matcher for collaborations.", e);
         }
     }
 
 	public void initOrganisations() {
         try {
-            organisationPattern = new FastMatcher(new
-                    File(GrobidProperties.getGrobidHomePath() + "/lexicon/organisations/WikiOrganizations.lst"));
-			organisationPattern.loadTerms(new File(GrobidProperties.getGrobidHomePath() + 
-				"/lexicon/organisations/government.government_agency"));
-			organisationPattern.loadTerms(new File(GrobidProperties.getGrobidHomePath() + 
-				"/lexicon/organisations/known_corporations.lst"));
-			organisationPattern.loadTerms(new File(GrobidProperties.getGrobidHomePath() + 
-				"/lexicon/organisations/venture_capital.venture_funded_company"));
+            organisationPattern = getMatcher("organisations", 
+                "/lexicon/organisations/WikiOrganizations.lst",
+                "/lexicon/organisations/government.government_agency",
+                "/lexicon/organisations/known_corporations.lst",
+                "/lexicon/organisations/venture_capital.venture_funded_company");
         } catch (PatternSyntaxException e) {
             throw new GrobidResourceException("Error when compiling lexicon matcher for organisations.", e);
         } catch (IOException e) {
@@ -469,8 +568,7 @@ public class Lexicon {
 	
 	public void initOrgForms() {
         try {
-			orgFormPattern = new FastMatcher(new
-                    File(GrobidProperties.getGrobidHomePath() + "/lexicon/organisations/orgClosings.txt"));	
+			orgFormPattern = getMatcher("org_closings", "/lexicon/organisations/orgClosings.txt");
         } catch (PatternSyntaxException e) {
             throw new GrobidResourceException("Error when compiling lexicon matcher for organisations.", e);
         } catch (Exception e) {
@@ -480,28 +578,31 @@ public class Lexicon {
 	
 	public void initLocations() {
         try {
-            locationPattern = new FastMatcher(new
-                    File(GrobidProperties.getGrobidHomePath() + "/lexicon/places/location.txt"));
+            locationPattern = getMatcher("locations", "/lexicon/places/location.txt");
         } catch (PatternSyntaxException e) {
             throw new GrobidResourceException("Error when compiling lexicon matcher for locations.", e);
+        } catch (IOException e) {
+            throw new GrobidResourceException("Cannot read the lexicon matcher for locations.", e);
         }
     }
 
 	public void initPersonTitles() {
         try {
-            personTitlePattern = new FastMatcher(new
-                    File(GrobidProperties.getGrobidHomePath() + "/lexicon/names/VincentNgPeopleTitles.txt"));
+            personTitlePattern = getMatcher("person_titles", "/lexicon/names/VincentNgPeopleTitles.txt");
         } catch (PatternSyntaxException e) {
             throw new GrobidResourceException("Error when compiling lexicon matcher for person titles.", e);
+        } catch (IOException e) {
+            throw new GrobidResourceException("Cannot read the lexicon matcher for person titles.", e);
         }
     }
 
     public void initPersonSuffix() {
         try {
-            personSuffixPattern = new FastMatcher(new
-                    File(GrobidProperties.getGrobidHomePath() + "/lexicon/names/suffix.txt"));
+            personSuffixPattern = getMatcher("person_suffix", "/lexicon/names/suffix.txt");
         } catch (PatternSyntaxException e) {
             throw new GrobidResourceException("Error when compiling lexicon matcher for person name suffix.", e);
+        } catch (IOException e) {
+            throw new GrobidResourceException("Cannot read the lexicon matcher for person name suffix.", e);
         }
     }
 
@@ -1041,4 +1142,36 @@ public class Lexicon {
         return Utilities.convertStringOffsetToTokenOffset(textResult, tokens);
     }
 
+    /**
+     * Read-only set of a snapshot, with a heap set for the entries added after the loading.
+     */
+    private static final class ExtensibleSet extends AbstractSet<String> {
+        private final Set<String> base;
+        private final Set<String> additions = new HashSet<>();
+
+        ExtensibleSet(Set<String> base) {
+            this.base = base;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return base.contains(o) || additions.contains(o);
+        }
+
+        @Override
+        public boolean add(String s) {
+            return !base.contains(s) && additions.add(s);
+        }
+
+        @Override
+        public int size() {
+            return base.size() + additions.size();
+        }
+
+        @Override
+        public Iterator<String> iterator() {
+            return Iterators.concat(base.iterator(), Collections.unmodifiableSet(additions).iterator());
+        }
+    }
+
 }
@@ -0,0 +1,296 @@
+package org.grobid.core.lexicon;
+
+import org.apache.commons.io.FileUtils;
+import org.grobid.core.utilities.GrobidProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Binary snapshots of the lexical resources, so that the lexicon files do not have to be read and
+ * tokenized again at every start.
+ *
+ * A snapshot file starts with a format version and the size and modification time of the source files
+ * it has been built from. It is ignored, and then rebuilt by the caller, when the format or one of the
+ * source files has changed.
+ *
+ * The snapshots are memory-mapped and the sets, maps and matchers read from them use the mapped bytes in
+ * place: they are not on the heap, and several JVMs on the same host share them through the page cache.
+ *
+ * The snapshots can be built in advance with the main method of this class, e.g. when building a
+ * docker image, otherwise they are built at the first loading of each resource.
+ */
+public class LexiconSnapshot {
+    private static final Logger LOGGER = LoggerFactory.getLogger(LexiconSnapshot.class);
+
+    private static final int MAGIC = 0x474c4558; // GLEX
+    // to be increased at each change of the format of a snapshot or of its content
+    static final int VERSION = 2;
+
+    private final File directory;
+
+    /**
+     * Reads the content of a snapshot.
+     */
+    public interface Loader<T> {
+        T load(Input in) throws IOException;
+    }
+
+    /**
+     * Writes the content of a snapshot.
+     */
+    public interface Saver {
+        void save(Output out) throws IOException;
+    }
+
+    public LexiconSnapshot(File directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * @return the snapshots of the configured directory, or null if the snapshots are disabled
+     */
+    public static LexiconSnapshot getInstance() {
+        File directory = GrobidProperties.getLexiconSnapshotPath();
+        if (directory == null || !GrobidProperties.isResourcesInHome())
+            return null;
+        return new LexiconSnapshot(directory);
+    }
+
+    private File getFile(String name) {
+        return new File(directory, name + ".bin");
+    }
+
+    /**
+     * @return the content of the snapshot, or null if there is no snapshot up to date with the sources
+     */
+    public <T> T read(String name, List<File> sources, Loader<T> loader) {
+        File file = getFile(name);
+        if (!file.exists())
+            return null;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            Input in = new Input(buffer);
+            if (in.readInt() != MAGIC || in.readInt() != VERSION)
+                return null;
+            int nbSources = in.readInt();
+            if (nbSources != sources.size())
+                return null;
+            for (File source : sources) {
+                if (!in.readString().equals(source.getName()) || in.readLong() != source.length() ||
+                    in.readLong() != source.lastModified())
+                    return null;
+            }
+            T result = loader.load(in);
+            LOGGER.info("Lexicon resource " + name + " loaded from its snapshot");
+            return result;
+        } catch (IOException | BufferUnderflowException | IllegalArgumentException e) {
+            LOGGER.warn("Cannot read the lexicon snapshot " + file + ", it will be rebuilt: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Writes the snapshot of a resource. A failure is only logged, the resource being then loaded from
+     * its sources at the next start.
+     */
+    public void write(String name, List<File> sources, Saver saver) {
+        File file = getFile(name);
+        File tmp = null;
+        try {
+            if (!directory.exists() && !directory.mkdirs() && !directory.exists())
+                throw new IOException("cannot create " + directory);
+            tmp = File.createTempFile(name + ".bin.", ".tmp", directory);
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(sources.size());
+                Output output = new Output(out);
+                for (File source : sources) {
+                    output.writeString(source.getName());
+                    out.writeLong(source.length());
+                    out.writeLong(source.lastModified());
+                }
+                saver.save(output);
+            }
+            // written aside then moved, so that another JVM never reads a partial snapshot
+            Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOGGER.warn("Cannot write the lexicon snapshot " + file + ": " + e.getMessage());
+            FileUtils.deleteQuietly(tmp);
+        }
+    }
+
+    /**
+     * Content of a snapshot being read.
+     */
+    public static class Input {
+        private final ByteBuffer buffer;
+
+        Input(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        public int readInt() {
+            return buffer.getInt();
+        }
+
+        public long readLong() {
+            return buffer.getLong();
+        }
+
+        public String readString() {
+            byte[] bytes = new byte[buffer.getInt()];
+            buffer.get(bytes);
+            return new String(bytes, UTF_8);
+        }
+
+        /**
+         * @return a view of the next bytes of the snapshot, prefixed by their count
+         */
+        ByteBuffer readBuffer() {
+            return slice(buffer.getInt());
+        }
+
+        IntBuffer readInts() {
+            return slice(buffer.getInt() * 4).asIntBuffer();
+        }
+
+        LongBuffer readLongs() {
+            return slice(buffer.getInt() * 8).asLongBuffer();
+        }
+
+        StringTable readTable() {
+            return new StringTable(readBuffer());
+        }
+
+        /**
+         * @return a read-only set using the snapshot in place
+         */
+        public Set<String> readSet() {
+            return readTable().asSet();
+        }
+
+        /**
+         * @return a read-only map using the snapshot in place
+         */
+        public Map<String, String> readMap() {
+            return readTable().asMap();
+        }
+
+        private ByteBuffer slice(int length) {
+            ByteBuffer slice = buffer.duplicate();
+            // cast for the Buffer methods, which are only overridden in ByteBuffer since Java 9
+            ((Buffer) slice).limit(slice.position() + length);
+            ((Buffer) buffer).position(buffer.position() + length);
+            return slice.slice();
+        }
+
+        public FastMatcher readMatcher() {
+            return new FastMatcher(CompactTrie.read(this));
+        }
+    }
+
+    /**
+     * Content of a snapshot being written.
+     */
+    public static class Output {
+        private final DataOutputStream out;
+
+        Output(DataOutputStream out) {
+            this.out = out;
+        }
+
+        public void writeInt(int value) throws IOException {
+            out.writeInt(value);
+        }
+
+        public void writeLong(long value) throws IOException {
+            out.writeLong(value);
+        }
+
+        public void writeString(String value) throws IOException {
+            byte[] bytes = value.getBytes(UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+
+        void writeBuffer(ByteBuffer values) throws IOException {
+            out.writeInt(values.remaining());
+            if (values.hasArray()) {
+                out.write(values.array(), values.arrayOffset() + values.position(), values.remaining());
+            } else {
+                for (int i = values.position(); i < values.limit(); i++)
+                    out.write(values.get(i));
+            }
+        }
+
+        void writeInts(IntBuffer values) throws IOException {
+            out.writeInt(values.limit());
+            for (int i = 0; i < values.limit(); i++)
+                out.writeInt(values.get(i));
+        }
+
+        void writeLongs(LongBuffer values) throws IOException {
+            out.writeInt(values.limit());
+            for (int i = 0; i < values.limit(); i++)
+                out.writeLong(values.get(i));
+        }
+
+        void writeTable(StringTable table) throws IOException {
+            writeBuffer(table.getBuffer());
+        }
+
+        public void writeSet(Set<String> set) throws IOException {
+            StringTable table = StringTable.of(set);
+            writeTable(table != null ? table : StringTable.build(set));
+        }
+
+        public void writeMap(Map<String, String> map) throws IOException {
+            StringTable table = StringTable.of(map);
+            writeTable(table != null ? table : StringTable.build(map));
+        }
+
+        public void writeMatcher(FastMatcher matcher) throws IOException {
+            matcher.getTrie().write(this);
+        }
+    }
+
+    /**
+     * Builds the snapshots of all the lexical resources.
+     *
+     * @param args the path to the grobid home, optional
+     */
+    public static void main(String[] args) {
+        if (args.length > 0) {
+            GrobidProperties.getInstance(new org.grobid.core.main.GrobidHomeFinder(java.util.Arrays.asList(args[0])));
+        } else {
+            GrobidProperties.getInstance();
+        }
+        if (getInstance() == null) {
+            System.err.println("The lexicon snapshots are disabled, see grobid.lexicon.snapshot.path");
+            System.exit(1);
+        }
+        Lexicon.getInstance().initAll();
+    }
+}
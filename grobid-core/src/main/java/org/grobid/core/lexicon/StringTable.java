@@ -0,0 +1,265 @@
+package org.grobid.core.lexicon;
+
+import java.nio.ByteBuffer;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Read-only hash table of strings stored in a byte buffer, possibly with a value for each string.
+ *
+ * When the buffer is a memory-mapped lexicon snapshot, the strings stay off-heap: they are shared through
+ * the page cache by all the JVMs mapping the same snapshot and are not scanned by the garbage collector.
+ * The strings are stored as UTF-16 chars so that a look-up compares them in place, without decoding.
+ *
+ * Layout of the buffer: number of entries, capacity of the open addressing table, the table giving the
+ * index + 1 of the entry in each slot (0 for empty slots), the offset of each entry, then the entries,
+ * each being a length-prefixed key followed, for a map, by its length-prefixed value.
+ */
+final class StringTable {
+    static final int NONE = -1;
+
+    private static final int HEADER = 8;
+
+    private final ByteBuffer buffer;
+    private final int size;
+    private final int mask;
+    private final int offsets;
+
+    StringTable(ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.size = buffer.getInt(0);
+        this.mask = buffer.getInt(4) - 1;
+        this.offsets = HEADER + (mask + 1) * 4;
+    }
+
+    static StringTable build(Collection<String> keys) {
+        return build(keys.toArray(new String[0]), null);
+    }
+
+    static StringTable build(Map<String, String> map) {
+        String[] keys = new String[map.size()];
+        String[] values = new String[map.size()];
+        int i = 0;
+        for (Map.Entry<String, String> entry : map.entrySet()) {
+            keys[i] = entry.getKey();
+            values[i++] = entry.getValue();
+        }
+        return build(keys, values);
+    }
+
+    /**
+     * @param keys   distinct strings, the index of a key being its entry index
+     * @param values value of each key, or null for a set
+     */
+    static StringTable build(String[] keys, String[] values) {
+        int capacity = Integer.highestOneBit(Math.max(keys.length, 1) * 2 - 1) << 1;
+        int dataSize = 0;
+        for (int i = 0; i < keys.length; i++) {
+            dataSize += 4 + keys[i].length() * 2;
+            if (values != null)
+                dataSize += 4 + values[i].length() * 2;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER + (capacity + keys.length) * 4 + dataSize);
+        buffer.putInt(0, keys.length);
+        buffer.putInt(4, capacity);
+
+        int offsets = HEADER + capacity * 4;
+        int position = offsets + keys.length * 4;
+        for (int i = 0; i < keys.length; i++) {
+            int slot = hash(keys[i]) & (capacity - 1);
+            while (buffer.getInt(HEADER + slot * 4) != 0)
+                slot = (slot + 1) & (capacity - 1);
+            buffer.putInt(HEADER + slot * 4, i + 1);
+            buffer.putInt(offsets + i * 4, position);
+            position = putString(buffer, position, keys[i]);
+            if (values != null)
+                position = putString(buffer, position, values[i]);
+        }
+        return new StringTable(buffer);
+    }
+
+    private static int putString(ByteBuffer buffer, int position, String value) {
+        buffer.putInt(position, value.length());
+        position += 4;
+        for (int i = 0; i < value.length(); i++, position += 2)
+            buffer.putChar(position, value.charAt(i));
+        return position;
+    }
+
+    /**
+     * @return a view of the buffer, for writing it in a snapshot
+     */
+    ByteBuffer getBuffer() {
+        return buffer.duplicate();
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return the index of the entry of the key, or {@link #NONE}
+     */
+    int indexOf(String key) {
+        int slot = hash(key) & mask;
+        while (true) {
+            int index = buffer.getInt(HEADER + slot * 4) - 1;
+            if (index == NONE || equals(buffer.getInt(offsets + index * 4), key))
+                return index;
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    String getKey(int index) {
+        return getString(buffer.getInt(offsets + index * 4));
+    }
+
+    String getValue(int index) {
+        int position = buffer.getInt(offsets + index * 4);
+        return getString(position + 4 + buffer.getInt(position) * 2);
+    }
+
+    private boolean equals(int position, String key) {
+        int length = buffer.getInt(position);
+        if (length != key.length())
+            return false;
+        position += 4;
+        for (int i = 0; i < length; i++, position += 2) {
+            if (buffer.getChar(position) != key.charAt(i))
+                return false;
+        }
+        return true;
+    }
+
+    private String getString(int position) {
+        char[] chars = new char[buffer.getInt(position)];
+        position += 4;
+        for (int i = 0; i < chars.length; i++, position += 2)
+            chars[i] = buffer.getChar(position);
+        return new String(chars);
+    }
+
+    private static int hash(String key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * @return the keys as an unmodifiable set
+     */
+    Set<String> asSet() {
+        return new KeySet();
+    }
+
+    /**
+     * @return the keys and values as an unmodifiable map
+     */
+    Map<String, String> asMap() {
+        return new ValueMap();
+    }
+
+    private class KeySet extends AbstractSet<String> {
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof String && indexOf((String) o) != NONE;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Iterator<String> iterator() {
+            return new Iterator<String>() {
+                private int index = 0;
+
+                @Override
+                public boolean hasNext() {
+                    return index < size;
+                }
+
+                @Override
+                public String next() {
+                    if (index >= size)
+                        throw new NoSuchElementException();
+                    return getKey(index++);
+                }
+            };
+        }
+
+        StringTable getTable() {
+            return StringTable.this;
+        }
+    }
+
+    private class ValueMap extends AbstractMap<String, String> {
+        @Override
+        public String get(Object key) {
+            if (!(key instanceof String))
+                return null;
+            int index = indexOf((String) key);
+            return index == NONE ? null : getValue(index);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key instanceof String && indexOf((String) key) != NONE;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Set<Entry<String, String>> entrySet() {
+            return new AbstractSet<Entry<String, String>>() {
+                @Override
+                public int size() {
+                    return size;
+                }
+
+                @Override
+                public Iterator<Entry<String, String>> iterator() {
+                    return new Iterator<Entry<String, String>>() {
+                        private int index = 0;
+
+                        @Override
+                        public boolean hasNext() {
+                            return index < size;
+                        }
+
+                        @Override
+                        public Entry<String, String> next() {
+                            if (index >= size)
+                                throw new NoSuchElementException();
+                            int current = index++;
+                            return new SimpleImmutableEntry<>(getKey(current), getValue(current));
+                        }
+                    };
+                }
+            };
+        }
+
+        StringTable getTable() {
+            return StringTable.this;
+        }
+    }
+
+    /**
+     * @return the table of a set or map view, to be written as is, or null for another collection
+     */
+    static StringTable of(Object collection) {
+        if (collection instanceof KeySet)
+            return ((KeySet) collection).getTable();
+        if (collection instanceof ValueMap)
+            return ((ValueMap) collection).getTable();
+        return null;
+    }
+}
@@ -6,6 +6,7 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 import java.util.List;
 import java.util.ArrayList;
 
@@ -65,6 +66,10 @@ public class ProcessRunner extends Thread {
                 f.setAccessible(true);
                 pid = f.getLong(p);
                 f.setAccessible(false);
+            } else {
+                // Java 9+
+                Method m = Process.class.getMethod("pid");
+                pid = (Long) m.invoke(p);
             }
         } catch (Exception e) {
             pid = null;
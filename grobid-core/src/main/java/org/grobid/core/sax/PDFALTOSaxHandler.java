@@ -16,6 +16,7 @@ import org.xml.sax.helpers.DefaultHandler;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
 
@@ -51,6 +52,8 @@ public class PDFALTOSaxHandler extends DefaultHandler {
 
 	private StringBuffer blabla = null;
 	private List<LayoutToken> tokenizations = null;
+	// token texts of the document, see internText
+	private Map<String, String> tokenTexts = new HashMap<>();
 
 	private Document doc = null;
 
@@ -103,6 +106,15 @@ public class PDFALTOSaxHandler extends DefaultHandler {
 		}
 	}
 
+	/**
+	 * @return the single instance of the token text in the document, a document repeating the same
+	 * words and punctuations over and over
+	 */
+	private String internText(String text) {
+		String interned = tokenTexts.putIfAbsent(text, text);
+		return interned != null ? interned : text;
+	}
+
 	public List<LayoutToken> getTokenization() {
 		return tokenizations;
 	}
@@ -571,6 +583,7 @@ public class PDFALTOSaxHandler extends DefaultHandler {
                         totalLength += t.length();
                     }
                     double prevSubWidth = 0;
+                    LayoutTokenStyle tokenStyle = null;
 
                     for(String tok : subTokenizations) {
 
@@ -589,7 +602,7 @@ public class PDFALTOSaxHandler extends DefaultHandler {
 
                                 // blabla.append(" ");
                                 blabla.append(tok);
-                                token.setText(tok);
+                                token.setText(internText(tok));
 
                                 addToken(token);
 
@@ -599,18 +612,15 @@ public class PDFALTOSaxHandler extends DefaultHandler {
                                 textStyle.setFontSize(textStyle.getFontSize() / 2);
                             }
 
-                            if (textStyle.getFontName() != null)
-                                token.setFont(textStyle.getFontName().toLowerCase());
-                            else
-                                token.setFont("default");
-                            token.setItalic(textStyle.isItalic());
-                            token.setBold(textStyle.isBold());
-                            token.setRotation(currentRotation);
+                            // the sub-tokens share the style of the pdfalto token
+                            if (tokenStyle == null) {
+                                tokenStyle = LayoutTokenStyle.of(
+                                    textStyle.getFontName() != null ? textStyle.getFontName().toLowerCase() : "default",
+                                    textStyle.getFontColor(), textStyle.isBold(), textStyle.isItalic(), currentRotation,
+                                    textStyle.isSubscript(), textStyle.isSuperscript());
+                            }
+                            token.setStyle(tokenStyle);
                             token.setPage(currentPage);
-                            token.setColorFont(textStyle.getFontColor());
-
-                            token.setSubscript(textStyle.isSubscript());
-                            token.setSuperscript(textStyle.isSuperscript());
 
                             token.setX(subTokX);
                             token.setY(currentY);
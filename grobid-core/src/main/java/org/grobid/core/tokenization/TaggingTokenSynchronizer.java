@@ -3,8 +3,10 @@ package org.grobid.core.tokenization;
 import com.google.common.collect.Iterators;
 import com.google.common.collect.PeekingIterator;
 import org.grobid.core.GrobidModel;
+import org.grobid.core.engines.label.TaggingLabel;
 import org.grobid.core.engines.label.TaggingLabels;
 import org.grobid.core.engines.tagging.GenericTaggerUtils;
+import org.grobid.core.engines.tagging.LabeledResult;
 import org.grobid.core.layout.LayoutToken;
 import org.grobid.core.utilities.LayoutTokensUtil;
 import org.grobid.core.utilities.Triple;
@@ -12,6 +14,7 @@ import org.grobid.core.utilities.Triple;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 
 /**
  * Created by zholudev on 11/01/16.
@@ -19,12 +22,15 @@ import java.util.List;
  */
 public class TaggingTokenSynchronizer implements Iterator<LabeledTokensContainer>, Iterable<LabeledTokensContainer> {
     private final GrobidModel grobidModel;
-    private final Iterator<Triple<String, String, String>> tokensAndLabelsIt;
+    private final LabeledResult tokensAndLabels;
+    private final boolean addFeatureStrings;
     private final PeekingIterator<LayoutToken> tokenizationsIt;
     private int tokensAndLabelsPtr;
     private int tokenizationsPtr;
-    private List<Triple<String, String, String>> tokensAndLabels;
     private List<LayoutToken> tokenizations;
+    // tagging label and beginning flag of each label id of the result, resolved once
+    private final TaggingLabel[] taggingLabels;
+    private final boolean[] beginnings;
 
     public TaggingTokenSynchronizer(GrobidModel grobidModel, String result, List<LayoutToken> tokenizations) {
         this(grobidModel, result, tokenizations, false);
@@ -32,34 +38,49 @@ public class TaggingTokenSynchronizer implements Iterator<LabeledTokensContainer
 
     public TaggingTokenSynchronizer(GrobidModel grobidModel, String result, List<LayoutToken> tokenizations,
                                     boolean addFeatureStrings) {
-        this(grobidModel, GenericTaggerUtils.getTokensWithLabelsAndFeatures(result, addFeatureStrings), tokenizations);
+        this(grobidModel, LabeledResult.of(result), tokenizations, addFeatureStrings);
     }
 
     public TaggingTokenSynchronizer(GrobidModel grobidModel, List<Triple<String, String, String>> tokensAndLabels, List<LayoutToken> tokenizations) {
+        this(grobidModel, LabeledResult.of(tokensAndLabels), tokenizations, true);
+    }
+
+    public TaggingTokenSynchronizer(GrobidModel grobidModel, LabeledResult tokensAndLabels, List<LayoutToken> tokenizations,
+                                    boolean addFeatureStrings) {
         this.grobidModel = grobidModel;
         this.tokensAndLabels = tokensAndLabels;
-        tokensAndLabelsIt = this.tokensAndLabels.iterator();
+        this.addFeatureStrings = addFeatureStrings;
         this.tokenizations = tokenizations;
         tokenizationsIt = Iterators.peekingIterator(this.tokenizations.iterator());
+
+        taggingLabels = new TaggingLabel[tokensAndLabels.getLabelCount()];
+        beginnings = new boolean[tokensAndLabels.getLabelCount()];
+        for (int id = 0; id < taggingLabels.length; id++) {
+            String label = tokensAndLabels.getLabelOf(id);
+            taggingLabels[id] = TaggingLabels.labelFor(grobidModel, label);
+            beginnings[id] = GenericTaggerUtils.isBeginningOfEntity(label);
+        }
     }
 
     @Override
     public boolean hasNext() {
-        return tokensAndLabelsIt.hasNext();
+        return tokensAndLabelsPtr < tokensAndLabels.size();
     }
 
     @Override
     //null value indicates an empty line in a tagging result
     public LabeledTokensContainer next() {
-        Triple<String, String, String> p = tokensAndLabelsIt.next();
-
-        if (p == null) {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        int row = tokensAndLabelsPtr;
+        if (tokensAndLabels.isEmptyRow(row)) {
+            tokensAndLabelsPtr++;
             return null;
         }
 
-        String resultToken = p.getA();
-        String label = p.getB();
-        String featureString = p.getC();
+        int labelId = tokensAndLabels.getLabelId(row);
+        TaggingLabel taggingLabel = taggingLabels[labelId];
 
         List<LayoutToken> layoutTokenBuffer = new ArrayList<>();
         boolean stop = false;
@@ -70,7 +91,7 @@ public class TaggingTokenSynchronizer implements Iterator<LabeledTokensContainer
         while ((!stop) && (tokenizationsIt.hasNext())) {
             LayoutToken layoutToken = tokenizationsIt.next();
             
-            layoutToken.addLabel(TaggingLabels.labelFor(grobidModel, label));
+            layoutToken.addLabel(taggingLabel);
 
             layoutTokenBuffer.add(layoutToken);
             String tokOriginal = layoutToken.t();
@@ -79,7 +100,7 @@ public class TaggingTokenSynchronizer implements Iterator<LabeledTokensContainer
                 newLine = true;
             } else if (LayoutTokensUtil.spaceyToken(tokOriginal)) {
                 addSpace = true;
-            } else if (tokOriginal.replaceAll("[ \n]","").equals(resultToken)) {
+            } else if (tokensAndLabels.isToken(row, tokOriginal)) {
                 stop = true;
             } else if (tokOriginal.isEmpty()) {
               // no op
@@ -110,10 +131,12 @@ public class TaggingTokenSynchronizer implements Iterator<LabeledTokensContainer
 
         tokensAndLabelsPtr++;
         LabeledTokensContainer labeledTokensContainer =
-                new LabeledTokensContainer(layoutTokenBuffer, resultToken, TaggingLabels.labelFor(grobidModel, label),
-                GenericTaggerUtils.isBeginningOfEntity(label));
+                new LabeledTokensContainer(layoutTokenBuffer, tokensAndLabels.getToken(row), taggingLabel,
+                beginnings[labelId]);
 
-        labeledTokensContainer.setFeatureString(featureString);
+        if (addFeatureStrings) {
+            labeledTokensContainer.setFeatureString(tokensAndLabels.getFeatureString(row));
+        }
         labeledTokensContainer.setTrailingSpace(addSpace);
         labeledTokensContainer.setTrailingNewLine(newLine);
 
@@ -124,8 +147,8 @@ public class TaggingTokenSynchronizer implements Iterator<LabeledTokensContainer
         int limit = 5;
         StringBuilder sb = new StringBuilder();
         for (int i = Math.max(0, tokensAndLabelsPtr - limit); i < Math.min(tokensAndLabelsPtr + limit, tokensAndLabels.size()); i++) {
-            Triple<String, String, String> s = tokensAndLabels.get(i);
-            String str = i == tokensAndLabelsPtr ? "-->\t'" + s.getA() + "'" : "\t'" + s.getA() + "'";
+            String s = tokensAndLabels.getToken(i);
+            String str = i == tokensAndLabelsPtr ? "-->\t'" + s + "'" : "\t'" + s + "'";
             sb.append(str).append("\n");
         }
 
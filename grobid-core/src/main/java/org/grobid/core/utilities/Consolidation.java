@@ -32,6 +32,7 @@ import java.util.StringTokenizer;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
 
 import com.rockymadden.stringmetric.similarity.RatcliffObershelpMetric;
 import scala.Option;
@@ -51,6 +52,7 @@ public class Consolidation {
     private CrossrefClient client = null;
     private WorkDeserializer workDeserializer = null;
     private CntManager cntManager = null;
+    private ConsolidationCache cache = null;
 
     public enum GrobidConsolidationService {
         CROSSREF("crossref"),
@@ -106,6 +108,12 @@ public class Consolidation {
         else 
             client = CrossrefClient.getInstance();
         workDeserializer = new WorkDeserializer();   
+        if (GrobidProperties.getConsolidationCacheSize() > 0) {
+            cache = new ConsolidationCache(GrobidProperties.getConsolidationCacheSize(),
+                TimeUnit.HOURS.toMillis(GrobidProperties.getConsolidationCacheTtlHours()),
+                TimeUnit.HOURS.toMillis(GrobidProperties.getConsolidationCacheNegativeTtlHours()),
+                GrobidProperties.getConsolidationCachePath());
+        }
     }
 
     public void setCntManager(CntManager cntManager) {
@@ -262,7 +270,8 @@ public class Consolidation {
                 doiQuery = false;
             }
 
-            client.<BiblioItem>pushRequest("works", arguments, workDeserializer, threadId, new CrossrefRequestListener<BiblioItem>(0) {
+            String cacheKey = getCacheKey(arguments, doi, title, aut, getYear(bib), rawCitation);
+            lookup(cacheKey, arguments, threadId, new CrossrefRequestListener<BiblioItem>(0) {
                 
                 @Override
                 public void onSuccess(List<BiblioItem> res) {
@@ -337,6 +346,11 @@ public class Consolidation {
         }
         n = 0;
         long threadId = Thread.currentThread().getId();
+        // with glutton, the lookups not found in the cache can be sent by batches once all the references are visited
+        int batchSize = (GrobidProperties.getInstance().getConsolidationService() == GrobidConsolidationService.GLUTTON) ? 
+            GrobidProperties.getGluttonBatchSize() : 0;
+        List<Map<String, String>> batchArguments = new ArrayList<Map<String, String>>();
+        List<CrossrefRequestListener<BiblioItem>> batchListeners = new ArrayList<CrossrefRequestListener<BiblioItem>>();
         for(BibDataSet bibDataSet : biblios) {
             final BiblioItem theBiblio = bibDataSet.getResBib();
 
@@ -475,7 +489,8 @@ public class Consolidation {
                     doiQuery = false;
                 }
 
-                client.<BiblioItem>pushRequest("works", arguments, workDeserializer, threadId, new CrossrefRequestListener<BiblioItem>(n) {
+                String cacheKey = getCacheKey(arguments, doi, title, aut, getYear(theBiblio), rawCitation);
+                CrossrefRequestListener<BiblioItem> listener = new CrossrefRequestListener<BiblioItem>(n) {
                     
                     @Override
                     public void onSuccess(List<BiblioItem> res) {
@@ -501,17 +516,118 @@ public class Consolidation {
                     public void onError(int status, String message, Exception exception) {
                         LOGGER.info("Consolidation service returns error ("+status+") : "+message);
                     }
-                });
+                };
+                if (batchSize > 1) {
+                    if (!notifyFromCache(cacheKey, listener)) {
+                        batchArguments.add(arguments);
+                        batchListeners.add(withCaching(cacheKey, listener));
+                    }
+                } else {
+                    lookup(cacheKey, arguments, threadId, listener);
+                }
             } catch(Exception e) {
                 LOGGER.info("Consolidation error - " + ExceptionUtils.getStackTrace(e));
             } 
             n++;
         }
+        if (batchArguments.size() > 0) {
+            try {
+                ((GluttonClient)client).<BiblioItem>pushBatchRequest(batchArguments, workDeserializer, threadId, 
+                    batchListeners, batchSize);
+            } catch(Exception e) {
+                LOGGER.info("Consolidation error - " + ExceptionUtils.getStackTrace(e));
+            }
+        }
         client.finish(threadId);
 
         return results;
     }
 
+    /**
+     * Sends the request to the consolidation service, unless its response is already in the cache
+     * in which case the listener is notified immediately
+     */
+    private void lookup(String cacheKey, Map<String, String> arguments, long threadId, 
+                        CrossrefRequestListener<BiblioItem> listener) throws Exception {
+        if (notifyFromCache(cacheKey, listener))
+            return;
+        client.<BiblioItem>pushRequest("works", arguments, workDeserializer, threadId, withCaching(cacheKey, listener));
+    }
+
+    /**
+     * Notifies the listener with the cached response of the lookup, if any
+     *
+     * @return true if the lookup was in the cache
+     */
+    private boolean notifyFromCache(String cacheKey, CrossrefRequestListener<BiblioItem> listener) throws Exception {
+        if (cache == null || cacheKey == null)
+            return false;
+
+        ConsolidationCache.Entry cached = cache.get(cacheKey);
+        if (cached == null) {
+            if (cntManager != null)
+                cntManager.i(ConsolidationCounters.CONSOLIDATION_CACHE_MISS);
+            return false;
+        }
+
+        if (cntManager != null)
+            cntManager.i(ConsolidationCounters.CONSOLIDATION_CACHE_HIT);
+        CrossrefRequestListener.Response<BiblioItem> response = new CrossrefRequestListener.Response<BiblioItem>();
+        response.status = cached.getStatus();
+        if (!cached.isNegative()) {
+            response.body = cached.getBody();
+            response.results = workDeserializer.parse(cached.getBody());
+        }
+        listener.notify(response);
+        return true;
+    }
+
+    /**
+     * @return a listener caching the response of the service before notifying the given listener
+     */
+    private CrossrefRequestListener<BiblioItem> withCaching(final String cacheKey, 
+                                                            final CrossrefRequestListener<BiblioItem> listener) {
+        if (cache == null || cacheKey == null)
+            return listener;
+        return new CrossrefRequestListener<BiblioItem>(listener.getRank()) {
+            @Override
+            public void notify(CrossrefRequestListener.Response<BiblioItem> response) {
+                if (response != null)
+                    cacheResponse(cacheKey, response);
+                listener.notify(response);
+            }
+        };
+    }
+
+    /**
+     * Only the definitive answers are cached: a found reference, or nothing found. Errors and 
+     * unavailability of the service are not.
+     */
+    private void cacheResponse(String cacheKey, CrossrefRequestListener.Response<BiblioItem> response) {
+        if (response.errorException != null)
+            return;
+        if (response.status >= 200 && response.status < 300 && response.body != null) {
+            cache.put(cacheKey, response.status, response.hasResults() ? response.body : null);
+        } else if (response.status == 404) {
+            cache.put(cacheKey, response.status, null);
+        }
+    }
+
+    private String getCacheKey(Map<String, String> arguments, String doi, String title, String aut, 
+                               String year, String rawCitation) {
+        String service = GrobidProperties.getInstance().getConsolidationService().getExt();
+        // without post-validation, glutton might return a result it would have rejected otherwise
+        if ("false".equals(arguments.get("postValidate")))
+            service += "-nopostvalidation";
+        return ConsolidationCache.key(service, doi, title, aut, year, rawCitation);
+    }
+
+    private static String getYear(BiblioItem bib) {
+        if ( (bib.getNormalizedPublicationDate() != null) && (bib.getNormalizedPublicationDate().getYear() != -1) )
+            return "" + bib.getNormalizedPublicationDate().getYear();
+        return bib.getYear();
+    }
+
     /**
      * Try to consolidate some uncertain bibliographical data with crossref REST API service based on
      * the DOI if it is around
@@ -0,0 +1,225 @@
+package org.grobid.core.utilities;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.text.Normalizer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Cache of the responses of the consolidation service (CrossRef or biblio-glutton), keyed on the
+ * normalized query: the DOI when available, otherwise the title, first author and year, otherwise
+ * the raw citation.
+ *
+ * The raw responses are cached rather than the deserialized results, so that every hit gives new
+ * bibliographical objects and goes through the usual post-validation. The lookups without result are
+ * cached too, with their own (shorter) time to live. The most recently used entries are kept in memory,
+ * and optionally in a directory with one file per entry so that the cache survives restarts.
+ */
+public class ConsolidationCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConsolidationCache.class);
+
+    private final Map<String, Entry> entries;
+    private final long ttlMillis;
+    private final long negativeTtlMillis;
+    private final File directory;
+
+    /**
+     * A cached response: body of a successful lookup, or no body if nothing was found.
+     */
+    public static class Entry {
+        private final int status;
+        private final String body;
+        private final long expires;
+
+        Entry(int status, String body, long expires) {
+            this.status = status;
+            this.body = body;
+            this.expires = expires;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+
+        public String getBody() {
+            return body;
+        }
+
+        public boolean isNegative() {
+            return body == null;
+        }
+
+        boolean isExpired(long now) {
+            return now >= expires;
+        }
+    }
+
+    /**
+     * @param maxSize           maximum number of entries kept in memory
+     * @param ttlMillis         time to live of a response with a body
+     * @param negativeTtlMillis time to live of a lookup without result
+     * @param directory         directory of the persistent entries, null for a memory cache only
+     */
+    public ConsolidationCache(final int maxSize, long ttlMillis, long negativeTtlMillis, File directory) {
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+        this.ttlMillis = ttlMillis;
+        this.negativeTtlMillis = negativeTtlMillis;
+        this.directory = directory;
+        if (directory != null && !directory.exists() && !directory.mkdirs()) {
+            LOGGER.warn("Cannot create the consolidation cache directory " + directory + ", results cached in memory only");
+        }
+    }
+
+    /**
+     * Builds the cache key of a lookup, or returns null if there is not enough information to identify
+     * the reference.
+     *
+     * @param service the consolidation service and the variant of the query, as a cached response only
+     *                answers the same kind of lookup
+     */
+    public static String key(String service, String doi, String title, String author, String year, String rawCitation) {
+        if (StringUtils.isNotBlank(doi)) {
+            String normalizedDoi = doi.trim().toLowerCase();
+            normalizedDoi = StringUtils.removeStart(normalizedDoi, "https://doi.org/");
+            normalizedDoi = StringUtils.removeStart(normalizedDoi, "http://dx.doi.org/");
+            return service + "|doi|" + normalizedDoi;
+        }
+        if (StringUtils.isNotBlank(title) && StringUtils.isNotBlank(author)) {
+            return service + "|tay|" + normalize(title) + "|" + normalize(author) + "|" + StringUtils.defaultString(year).trim();
+        }
+        if (StringUtils.isNotBlank(rawCitation)) {
+            return service + "|raw|" + normalize(rawCitation);
+        }
+        return null;
+    }
+
+    /**
+     * Lower case without accents, punctuation nor extra spaces.
+     */
+    static String normalize(String text) {
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFD)
+            .replaceAll("\\p{InCombiningDiacriticalMarks}+", "")
+            .toLowerCase();
+        return normalized.replaceAll("[^\\p{L}\\p{N}]+", " ").trim();
+    }
+
+    /**
+     * @return the cached response, or null if the lookup must be done
+     */
+    public Entry get(String key) {
+        long now = System.currentTimeMillis();
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+            if (entry != null && entry.isExpired(now)) {
+                entries.remove(key);
+                entry = null;
+            }
+        }
+        if (entry == null && directory != null) {
+            entry = read(key, now);
+            if (entry != null) {
+                synchronized (entries) {
+                    entries.put(key, entry);
+                }
+            }
+        }
+        return entry;
+    }
+
+    /**
+     * Caches the response of a lookup.
+     *
+     * @param body the response, null if nothing was found
+     */
+    public void put(String key, int status, String body) {
+        long now = System.currentTimeMillis();
+        Entry entry = new Entry(status, body, now + (body == null ? negativeTtlMillis : ttlMillis));
+        synchronized (entries) {
+            entries.put(key, entry);
+        }
+        if (directory != null) {
+            write(key, entry);
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private File getFile(String key) {
+        String hash = SHA1.getSHA1(key);
+        return new File(new File(directory, hash.substring(0, 2)), hash);
+    }
+
+    /**
+     * An entry is stored as its key, expiration time and status on the first lines, followed by the body.
+     */
+    private Entry read(String key, long now) {
+        File file = getFile(key);
+        if (!file.exists()) {
+            return null;
+        }
+        try {
+            String content = FileUtils.readFileToString(file, UTF_8);
+            String[] parts = content.split("\n", 4);
+            if (parts.length < 3 || !parts[0].equals(key)) {
+                return null;
+            }
+            Entry entry = new Entry(Integer.parseInt(parts[2]), parts.length == 4 ? parts[3] : null,
+                Long.parseLong(parts[1]));
+            if (entry.isExpired(now)) {
+                FileUtils.deleteQuietly(file);
+                return null;
+            }
+            return entry;
+        } catch (IOException | NumberFormatException e) {
+            LOGGER.warn("Cannot read the cached consolidation result " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void write(String key, Entry entry) {
+        File file = getFile(key);
+        // the key would be cut by a line break, such an entry is cached in memory only
+        if (key.indexOf('\n') != -1) {
+            return;
+        }
+        StringBuilder content = new StringBuilder();
+        content.append(key).append('\n').append(entry.expires).append('\n').append(entry.status);
+        if (entry.body != null) {
+            content.append('\n').append(entry.body);
+        }
+        File tmp = null;
+        try {
+            File parent = file.getParentFile();
+            if (!parent.exists() && !parent.mkdirs() && !parent.exists()) {
+                throw new IOException("cannot create " + parent);
+            }
+            // written aside then moved, so that a concurrent reader never sees a partial entry
+            tmp = File.createTempFile(file.getName(), ".tmp", parent);
+            FileUtils.writeStringToFile(tmp, content.toString(), UTF_8);
+            Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOGGER.warn("Cannot write the cached consolidation result " + file + ": " + e.getMessage());
+            FileUtils.deleteQuietly(tmp);
+        }
+    }
+}
@@ -38,4 +38,16 @@ public class ConsolidationCounters {
             return "TOTAL_BIB_REF";
         }
     };
+    public static final Countable CONSOLIDATION_CACHE_HIT = new Countable() {
+        @Override
+        public String getName() {
+            return "CONSOLIDATION_CACHE_HIT";
+        }
+    };
+    public static final Countable CONSOLIDATION_CACHE_MISS = new Countable() {
+        @Override
+        public String getName() {
+            return "CONSOLIDATION_CACHE_MISS";
+        }
+    };
 }
\ No newline at end of file
@@ -411,6 +411,16 @@ public class GrobidProperties {
         return new File(getPropertyValue(GrobidPropertyKeys.PROP_TMP_PATH, System.getProperty("java.io.tmpdir")));
     }
 
+    /**
+     * Returns the directory of the files kept across requests, e.g. the files of the service jobs. It is
+     * under the temporary path, but the cleaning of the old temporary files leaves it untouched.
+     *
+     * @return a directory for files living longer than the temp files
+     */
+    public static File getWorkPath() {
+        return new File(getTempPath(), "work");
+    }
+
     public static void setNativeLibraryPath(final String nativeLibPath) {
         setPropertyValue(GrobidPropertyKeys.PROP_NATIVE_LIB_PATH, nativeLibPath);
     }
@@ -457,6 +467,38 @@ public class GrobidProperties {
         );
     }
 
+    /**
+     * Returns the number of JEP workers used to run DeLFT models, each worker having its own 
+     * python interpreter with the models loaded. 
+     *
+     * @return number of JEP workers, 1 by default
+     */
+    public static int getDeLFTNbThreads() {
+        int nbThreads = Integer.parseInt(getPropertyValue(GrobidPropertyKeys.PROP_GROBID_DELFT_NB_THREADS, "1"));
+        if (nbThreads < 1) {
+            return 1;
+        }
+        return nbThreads;
+    }
+
+    /**
+     * Returns the maximum number of sequences merged in a single DeLFT tagging call when 
+     * labelling calls from concurrent threads are micro-batched. A value of 1 or less, the default, 
+     * disables micro-batching.
+     */
+    public static int getDeLFTBatchMaxSize() {
+        return Integer.parseInt(getPropertyValue(GrobidPropertyKeys.PROP_GROBID_DELFT_BATCH_MAX_SIZE, "1"));
+    }
+
+    /**
+     * Returns the maximum time a DeLFT labelling call waits for other calls to be merged with.
+     *
+     * @return time to wait in milliseconds.
+     */
+    public static long getDeLFTBatchMaxWait() {
+        return Long.parseLong(getPropertyValue(GrobidPropertyKeys.PROP_GROBID_DELFT_BATCH_MAX_WAIT, "5"));
+    }
+
     public static String getGluttonHost() {
         return getPropertyValue(GrobidPropertyKeys.PROP_GLUTTON_HOST);
     }
@@ -471,6 +513,23 @@ public class GrobidProperties {
             return Integer.valueOf(val);
     }
 
+    /**
+     * Returns the maximum number of references looked up in one glutton request when consolidating
+     * the bibliographical references of a document, 0 or 1 meaning one request per reference. Batches 
+     * need a glutton server answering on /service/lookup/batch, which biblio-glutton does not provide.
+     */
+    public static int getGluttonBatchSize() {
+        return Integer.parseInt(getPropertyValue(GrobidPropertyKeys.PROP_GLUTTON_BATCH_SIZE, "0"), 10);
+    }
+
+    /**
+     * Returns the number of threads shared by the full text processings for running in parallel the 
+     * independent stages of a document (header, references, body, annex), 0 for running them sequentially.
+     */
+    public static int getFulltextPipelineThreads() {
+        return Integer.parseInt(getPropertyValue(GrobidPropertyKeys.PROP_FULLTEXT_PIPELINE_THREADS, "0"), 10);
+    }
+
     public static boolean useELMo() {
         String rawValue = getPropertyValue(GrobidPropertyKeys.PROP_GROBID_DELFT_ELMO);
         if (rawValue.equals("true"))
@@ -591,6 +650,34 @@ public class GrobidProperties {
         return Integer.parseInt(getPropertyValue(GrobidPropertyKeys.PROP_3RD_PARTY_PDFTOXML_TIMEOUT_SEC, "60"), 10) * 1000;
     }
 
+    /**
+     * Returns true if the header and full text processing parse the pdfalto outputs while the
+     * conversion is running, via named pipes instead of temporary files.
+     */
+    public static boolean isPdfToXMLStreaming() {
+        return Boolean.valueOf(getPropertyValue(GrobidPropertyKeys.PROP_3RD_PARTY_PDFTOXML_STREAMING, "false"));
+    }
+
+    /**
+     * Returns the number of pages of the chunks converted in parallel for the PDF having at least two 
+     * chunks, 0 meaning that a PDF is always converted at once.
+     *
+     * @return number of pages per chunk
+     */
+    public static Integer getPdfToXMLChunkPages() {
+        return Integer.parseInt(getPropertyValue(GrobidPropertyKeys.PROP_3RD_PARTY_PDFTOXML_CHUNK_PAGES, "0"), 10);
+    }
+
+    /**
+     * Returns the maximum number of chunks of pages of a PDF, which bounds the conversions running
+     * in parallel for one document.
+     *
+     * @return maximum number of chunks per PDF
+     */
+    public static Integer getPdfToXMLChunkMax() {
+        return Integer.parseInt(getPropertyValue(GrobidPropertyKeys.PROP_3RD_PARTY_PDFTOXML_CHUNK_MAX, "4"), 10);
+    }
+
     /**
      * Returns the number of threads, given in the grobid-property file.
      *
@@ -670,6 +757,17 @@ public class GrobidProperties {
         return Utilities.stringToBoolean(getPropertyValue(GrobidPropertyKeys.PROP_RESOURCE_INHOME, "true"));
     }
 
+    /**
+     * Returns the directory of the binary snapshots of the lexical resources, or null if the
+     * snapshots are disabled.
+     */
+    public static File getLexiconSnapshotPath() {
+        String val = getPropertyValue(GrobidPropertyKeys.PROP_LEXICON_SNAPSHOT_PATH);
+        if (StringUtils.isBlank(val))
+            return null;
+        return new File(val);
+    }
+
     /**
      * Sets if resources like firstnames, lastnames and countries are supposed
      * to be read from grobid-home folder, given in the grobid-property file.
@@ -789,6 +887,15 @@ public class GrobidProperties {
         return Integer.parseInt(getPropertyValue(GrobidPropertyKeys.PROP_GROBID_MAX_CONNECTIONS));
     }
 
+    /**
+     * Sets the maximum parallel connections allowed in the pool.
+     *
+     * @param maxConnections the number of connections
+     */
+    public static void setMaxPoolConnections(final String maxConnections) {
+        setPropertyValue(GrobidPropertyKeys.PROP_GROBID_MAX_CONNECTIONS, maxConnections);
+    }
+
     /**
      * Returns maximum time to wait before timeout when the pool is full.
      *
@@ -814,6 +921,55 @@ public class GrobidProperties {
         setPropertyValue(GrobidPropertyKeys.PROP_CONSOLIDATION_SERVICE, service);
     }
 
+    /**
+     * Returns the maximum number of consolidation results kept in memory, 0 meaning that the
+     * results are not cached.
+     */
+    public static int getConsolidationCacheSize() {
+        return Integer.parseInt(getPropertyValue(GrobidPropertyKeys.PROP_CONSOLIDATION_CACHE_SIZE, "0"), 10);
+    }
+
+    /**
+     * Returns the time to live in hours of a cached consolidation result.
+     */
+    public static long getConsolidationCacheTtlHours() {
+        return Long.parseLong(getPropertyValue(GrobidPropertyKeys.PROP_CONSOLIDATION_CACHE_TTL_HOURS, "720"), 10);
+    }
+
+    /**
+     * Returns the time to live in hours of a cached lookup without result, usually shorter as the
+     * reference might be indexed later by the consolidation service.
+     */
+    public static long getConsolidationCacheNegativeTtlHours() {
+        return Long.parseLong(getPropertyValue(GrobidPropertyKeys.PROP_CONSOLIDATION_CACHE_NEGATIVE_TTL_HOURS, "24"), 10);
+    }
+
+    /**
+     * Returns the directory of the persistent consolidation cache, or null if the results are
+     * only cached in memory.
+     */
+    public static File getConsolidationCachePath() {
+        String val = getPropertyValue(GrobidPropertyKeys.PROP_CONSOLIDATION_CACHE_PATH);
+        if (StringUtils.isBlank(val))
+            return null;
+        return new File(val);
+    }
+
+    /**
+     * Returns the maximum number of pooled HTTP connections to the consolidation services.
+     */
+    public static int getConsolidationMaxConnections() {
+        return Integer.parseInt(getPropertyValue(GrobidPropertyKeys.PROP_CONSOLIDATION_MAX_CONNECTIONS, "64"), 10);
+    }
+
+    /**
+     * Returns the maximum number of pooled HTTP connections to one consolidation service host, 
+     * which is also the number of lookups executed in parallel.
+     */
+    public static int getConsolidationMaxConnectionsPerRoute() {
+        return Integer.parseInt(getPropertyValue(GrobidPropertyKeys.PROP_CONSOLIDATION_MAX_CONNECTIONS_PER_ROUTE, "32"), 10);
+    }
+
     /**
      * Returns if the execution context is stand alone or server.
      *
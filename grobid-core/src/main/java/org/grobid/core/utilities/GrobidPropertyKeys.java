@@ -15,11 +15,17 @@ public interface GrobidPropertyKeys {
     String PROP_3RD_PARTY_PDFTOXML = "grobid.3rdparty.pdf2xml.path";
     String PROP_3RD_PARTY_PDFTOXML_MEMORY_LIMIT = "grobid.3rdparty.pdf2xml.memory.limit.mb";
     String PROP_3RD_PARTY_PDFTOXML_TIMEOUT_SEC = "grobid.3rdparty.pdf2xml.memory.timeout.sec";
+    String PROP_3RD_PARTY_PDFTOXML_STREAMING = "grobid.3rdparty.pdf2xml.streaming";
+    String PROP_3RD_PARTY_PDFTOXML_CHUNK_PAGES = "grobid.3rdparty.pdf2xml.chunk.pages";
+    String PROP_3RD_PARTY_PDFTOXML_CHUNK_MAX = "grobid.3rdparty.pdf2xml.chunk.max";
 
     String PROP_GROBID_CRF_ENGINE = "grobid.crf.engine";
     String PROP_GROBID_DELFT_PATH = "grobid.delft.install";
     String PROP_GROBID_DELFT_REDIRECT_OUTPUT = "grobid.delft.redirect_output";
     String PROP_GROBID_DELFT_ELMO = "grobid.delft.useELMo";
+    String PROP_GROBID_DELFT_NB_THREADS = "grobid.delft.nb_threads";
+    String PROP_GROBID_DELFT_BATCH_MAX_SIZE = "grobid.delft.batch.max_size";
+    String PROP_GROBID_DELFT_BATCH_MAX_WAIT = "grobid.delft.batch.max_wait_ms";
     String PROP_USE_LANG_ID = "grobid.use_language_id";
     String PROP_LANG_DETECTOR_FACTORY = "grobid.language_detector_factory";
     String PROP_SENTENCE_DETECTOR_FACTORY = "grobid.sentence_detector_factory";
@@ -63,6 +69,9 @@ public interface GrobidPropertyKeys {
 
     String PROP_GLUTTON_HOST = "org.grobid.glutton.host";
     String PROP_GLUTTON_PORT = "org.grobid.glutton.port";
+    String PROP_GLUTTON_BATCH_SIZE = "org.grobid.glutton.batch.size";
+
+    String PROP_FULLTEXT_PIPELINE_THREADS = "grobid.fulltext.pipeline.threads";
 
     /**
      * Determines if properties like the firstnames, lastnames country codes and
@@ -71,6 +80,11 @@ public interface GrobidPropertyKeys {
      */
     String PROP_RESOURCE_INHOME = "grobid.resources.inHome";
 
+    /**
+     * Directory of the binary snapshots of the lexical resources (empty for disabling the snapshots)
+     */
+    String PROP_LEXICON_SNAPSHOT_PATH = "grobid.lexicon.snapshot.path";
+
     /**
      * The name of the env-entry located in the web.xml, via which the
      * grobid-service.propeties path is set.
@@ -106,6 +120,21 @@ public interface GrobidPropertyKeys {
      */
     String PROP_CONSOLIDATION_SERVICE = "grobid.consolidation.service";
 
+    /**
+     * Cache of the consolidation results: maximum number of entries kept in memory (0 for no cache),
+     * time to live of the found and not found results, and optional directory of the persistent cache.
+     */
+    String PROP_CONSOLIDATION_CACHE_SIZE = "grobid.consolidation.cache.size";
+    String PROP_CONSOLIDATION_CACHE_TTL_HOURS = "grobid.consolidation.cache.ttl.hours";
+    String PROP_CONSOLIDATION_CACHE_NEGATIVE_TTL_HOURS = "grobid.consolidation.cache.negative.ttl.hours";
+    String PROP_CONSOLIDATION_CACHE_PATH = "grobid.consolidation.cache.path";
+
+    /**
+     * Size of the pool of HTTP connections to the consolidation service, in total and per host.
+     */
+    String PROP_CONSOLIDATION_MAX_CONNECTIONS = "grobid.consolidation.max.connections";
+    String PROP_CONSOLIDATION_MAX_CONNECTIONS_PER_ROUTE = "grobid.consolidation.max.connections.per.route";
+
     /**
      * The defined paths to create.
      */
@@ -114,7 +114,7 @@ public class IOUtilities {
         
         try {
             // sanity cleaning
-            Utilities.deleteOldies(GrobidProperties.getTempPath(), 300);
+            Utilities.deleteOldies(GrobidProperties.getTempPath(), 300, GrobidProperties.getWorkPath());
             LOGGER.debug("Removing " + file.getAbsolutePath());
             file.delete();
         } catch (Exception exp) {
@@ -1,5 +1,9 @@
 package org.grobid.core.utilities;
 
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
@@ -45,6 +49,28 @@ public class SHA1 {
 		return sha1;
 	}
 
+	/**
+	 * Return the hash value of the content of a file using SHA1 algorithm, the file being read by chunks.
+	 *
+	 * @param file the file to hash.
+	 * @return The hashed value.
+	 */
+	public static String getSHA1(File file) throws IOException {
+		String sha1 = "";
+		try (InputStream in = new FileInputStream(file)) {
+			MessageDigest crypt = MessageDigest.getInstance("SHA-1");
+			byte[] buffer = new byte[8192];
+			int len;
+			while ((len = in.read(buffer)) > 0) {
+				crypt.update(buffer, 0, len);
+			}
+			sha1 = byteToHex(crypt.digest());
+		} catch (NoSuchAlgorithmException exp) {
+			LOGGER.error(ERROR_WHILE_EXECUTING_SHA1 + exp);
+		}
+		return sha1;
+	}
+
 	/**
 	 * Convert from byte to hexa.
 	 * @param hash the input in bytes.
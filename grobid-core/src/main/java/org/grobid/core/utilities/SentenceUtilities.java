@@ -88,34 +88,35 @@ public class SentenceUtilities {
             return null;
         try {
             List<OffsetPosition> sentencePositions = sdf.getInstance().detect(text);
+            return applyForbidden(sentencePositions, forbidden);
+        } catch (Exception e) {
+            LOGGER.warn("Cannot detect sentences. ", e);
+            return null;
+        }
+    }
 
-            // to be sure, we sort the forbidden positions
+    /**
+     * Run for sentence identification on several texts in one call, typically all the paragraphs of a 
+     * document, with for each text its forbidden span constraints (see 
+     * {@link #runSentenceDetection(String, List)}).
+     *
+     * @param texts
+     *            texts to segment into sentences
+     * @param forbidden
+     *            for each text, list of offset positions where sentence boundaries are forbidden, 
+     *            or null if there is no constraint
+     * @return for each text, list of offset positions for the identified sentences, relative to this text
+     */
+    public List<List<OffsetPosition>> runSentenceDetection(List<String> texts, List<List<OffsetPosition>> forbidden) {
+        if (texts == null)
+            return null;
+        try {
+            List<List<OffsetPosition>> sentencePositions = sdf.getInstance().detect(texts);
             if (forbidden == null)
                 return sentencePositions;
-
-            Collections.sort(forbidden);
-
-            // cancel sentence boundaries within the forbidden spans
-            List<OffsetPosition> finalSentencePositions = new ArrayList<>();
-            int forbiddenIndex = 0;
-            for(int j=0; j < sentencePositions.size(); j++) {
-                OffsetPosition position = sentencePositions.get(j);
-                for(int i=forbiddenIndex; i < forbidden.size(); i++) {
-                    OffsetPosition forbiddenPos = forbidden.get(i);
-                    if (forbiddenPos.end < position.end) 
-                        continue;
-                    if (forbiddenPos.start > position.end) 
-                        break;
-                    while ( (forbiddenPos.start < position.end && position.end < forbiddenPos.end) ) {
-                        if (j+1 < sentencePositions.size()) {
-                            position.end = sentencePositions.get(j+1).end;
-                            j++;
-                            forbiddenIndex = i;
-                        } else
-                            break;
-                    }
-                }
-                finalSentencePositions.add(position);
+            List<List<OffsetPosition>> finalSentencePositions = new ArrayList<>();
+            for(int i=0; i < sentencePositions.size(); i++) {
+                finalSentencePositions.add(applyForbidden(sentencePositions.get(i), forbidden.get(i)));
             }
             return finalSentencePositions;
         } catch (Exception e) {
@@ -124,4 +125,39 @@ public class SentenceUtilities {
         }
     }
 
+    /**
+     * Cancel the sentence boundaries within the forbidden spans.
+     */
+    private static List<OffsetPosition> applyForbidden(List<OffsetPosition> sentencePositions, List<OffsetPosition> forbidden) {
+        if (forbidden == null)
+            return sentencePositions;
+
+        // to be sure, we sort the forbidden positions
+        Collections.sort(forbidden);
+
+        // cancel sentence boundaries within the forbidden spans
+        List<OffsetPosition> finalSentencePositions = new ArrayList<>();
+        int forbiddenIndex = 0;
+        for(int j=0; j < sentencePositions.size(); j++) {
+            OffsetPosition position = sentencePositions.get(j);
+            for(int i=forbiddenIndex; i < forbidden.size(); i++) {
+                OffsetPosition forbiddenPos = forbidden.get(i);
+                if (forbiddenPos.end < position.end) 
+                    continue;
+                if (forbiddenPos.start > position.end) 
+                    break;
+                while ( (forbiddenPos.start < position.end && position.end < forbiddenPos.end) ) {
+                    if (j+1 < sentencePositions.size()) {
+                        position.end = sentencePositions.get(j+1).end;
+                        j++;
+                        forbiddenIndex = i;
+                    } else
+                        break;
+                }
+            }
+            finalSentencePositions.add(position);
+        }
+        return finalSentencePositions;
+    }
+
 }
\ No newline at end of file
@@ -139,6 +139,41 @@ public class UnicodeUtil {
                                             + "\\u27ED" // mathematical right white tortoise shell bracket, called bracket but totally looks like parenthesis
                                             + "]";
 
+    // replacement of each char by normaliseText, 0 for the chars kept as they are
+    private static final char[] NORMALISED_CHARS = new char[Character.MAX_VALUE + 1];
+
+    static {
+        // when a char belongs to several classes, the first replacement applies like with the successive
+        // replaceAll calls it stands for
+        addNormalisedChars(my_whitespace_chars, ' ');
+        addNormalisedChars(new_line_chars, '\n');
+        for (int c = 0; c <= Character.MAX_VALUE; c++) {
+            if (NORMALISED_CHARS[c] == 0 && Character.getType(c) == Character.DASH_PUNCTUATION)
+                NORMALISED_CHARS[c] = '-';
+        }
+        addNormalisedChars(horizontal_low_lines_chars, '_');
+        addNormalisedChars(vertical_lines_chars, '|');
+        addNormalisedChars(bullet_chars, '•');
+        addNormalisedChars(open_parenthesis, '(');
+        addNormalisedChars(close_parenthesis, ')');
+        // unchanged chars being marked by 0, a char replaced by itself is simply kept
+        for (int c = 0; c <= Character.MAX_VALUE; c++) {
+            if (NORMALISED_CHARS[c] == c)
+                NORMALISED_CHARS[c] = 0;
+        }
+    }
+
+    /**
+     * @param charClass character class made of escaped code points, like the ones above
+     */
+    private static void addNormalisedChars(String charClass, char replacement) {
+        for (int i = charClass.indexOf("\\u"); i != -1; i = charClass.indexOf("\\u", i + 6)) {
+            char c = (char) Integer.parseInt(charClass.substring(i + 2, i + 6), 16);
+            if (NORMALISED_CHARS[c] == 0)
+                NORMALISED_CHARS[c] = replacement;
+        }
+    }
+
 	/**
      * Normalise the space, EOL and punctuation unicode characters.
      *
@@ -148,45 +183,17 @@ public class UnicodeUtil {
      * so that the token can be used to generate a robust feature vector
      * legible as Wapiti input.
      *
+     * The text is normalised in a single pass with a replacement table built from the character
+     * classes above (and the \p{Pd} dash punctuation property), the text being returned as is when
+     * no character has to be replaced.
+     *
      * @param text to be normalised
      * @return normalised string, legible for Wapiti feature generation
      */
     public static String normaliseText(String text) {
         if (text == null)
             return null;
-
-        // see https://docs.oracle.com/javase/8/docs/api/java/lang/Character.html
-        // for Unicode character properties supported by Java
-
-        // normalise all horizontal space separator characters 
-        text = text.replaceAll(my_whitespace_chars, " ");
-
-        // normalise all EOL - special handling of "\r\n" as one single newline
-        text = text.replace("\r\n", "\n").replaceAll(new_line_chars, "\n");
-
-        // normalize dash via the unicode dash punctuation property
-        // note: we don't add the "hyphen bullet" character \\u2043 because it's actually a bullet
-        text = text.replaceAll("\\p{Pd}", "-");
-
-        // normalize horizontal low lines
-        text = text.replaceAll(horizontal_low_lines_chars, "_");
-
-        // normalize vertical lines
-        text = text.replaceAll(vertical_lines_chars, "|");
-
-        // bullet normalisation
-        text = text.replaceAll(bullet_chars, "•");
-
-        // opening parenthesis normalisation
-        text = text.replaceAll(open_parenthesis, "(");
-
-        // closing parenthesis normalisation
-        text = text.replaceAll(close_parenthesis, ")");
-
-        // remove all control charcaters?
-        //text = text.replaceAll("\\p{Cntrl}", " ");
-
-        return text;
+        return normalise(text, false);
     }
 
     /**
@@ -197,6 +204,47 @@ public class UnicodeUtil {
      */
     public static String normaliseTextAndRemoveSpaces(String text) {
         // parano sanitising
-        return normaliseText(text).replaceAll("[ \n]", "");
+        return normalise(text, true);
+    }
+
+    private static String normalise(String text, boolean removeSpaces) {
+        int length = text.length();
+        int i = 0;
+        while (i < length && !isReplaced(text, i, removeSpaces))
+            i++;
+        if (i == length)
+            return text;
+
+        char[] res = new char[length];
+        text.getChars(0, i, res, 0);
+        int size = i;
+        for (; i < length; i++) {
+            char c = text.charAt(i);
+            char replacement = NORMALISED_CHARS[c];
+            if (c == '\r' && i + 1 < length && text.charAt(i + 1) == '\n') {
+                // "\r\n" as one single newline
+                i++;
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(text.charAt(i + 1))
+                && Character.getType(Character.toCodePoint(c, text.charAt(i + 1))) == Character.DASH_PUNCTUATION) {
+                replacement = '-';
+                i++;
+            } else if (replacement == 0) {
+                replacement = c;
+            }
+            if (!removeSpaces || (replacement != ' ' && replacement != '\n'))
+                res[size++] = replacement;
+        }
+        return new String(res, 0, size);
+    }
+
+    /**
+     * @return true if the char at the given index has to be replaced or removed
+     */
+    private static boolean isReplaced(String text, int index, boolean removeSpaces) {
+        char c = text.charAt(index);
+        if (NORMALISED_CHARS[c] != 0 || (removeSpaces && (c == ' ' || c == '\n')))
+            return true;
+        return Character.isHighSurrogate(c) && index + 1 < text.length()
+            && Character.getType(text.codePointAt(index)) == Character.DASH_PUNCTUATION;
     }
-}
\ No newline at end of file
+}
@@ -64,7 +64,19 @@ public class Utilities {
 		return deleteOldies(dir, maxLifeInSeconds, true);
 	}
 
+	/**
+	 * Same as {@link #deleteOldies(File, int)}, the excluded directory and its content being kept
+	 * whatever their age.
+	 */
+	public static boolean deleteOldies(File dir, int maxLifeInSeconds, File excluded) {
+		return deleteOldies(dir, maxLifeInSeconds, true, excluded == null ? null : excluded.getAbsoluteFile());
+	}
+
 	public static boolean deleteOldies(File dir, int maxLifeInSeconds, boolean root) {
+		return deleteOldies(dir, maxLifeInSeconds, root, null);
+	}
+
+	private static boolean deleteOldies(File dir, int maxLifeInSeconds, boolean root, File excluded) {
 		Date currentDate = new Date();
 		long currentDateMillisec = currentDate.getTime();
 		boolean empty = true;
@@ -73,9 +85,13 @@ public class Utilities {
 		if (dir.isDirectory()) {
 			File[] children = dir.listFiles();
 			for (int i = 0; i < children.length; i++) {
+				if (excluded != null && children[i].getAbsoluteFile().equals(excluded)) {
+					empty = false;
+					continue;
+				}
 				long millisec = children[i].lastModified();
 				if (millisec < threasholdMillisec) {
-					success = deleteOldies(children[i], maxLifeInSeconds, false);
+					success = deleteOldies(children[i], maxLifeInSeconds, false, excluded);
 					if (!success) {
 						return false;
 					}
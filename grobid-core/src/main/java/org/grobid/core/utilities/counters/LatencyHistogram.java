@@ -0,0 +1,99 @@
+package org.grobid.core.utilities.counters;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of latencies over fixed buckets, from 1ms to 1 minute.
+ * Recording is cheap enough to be done for every call of a hot path.
+ */
+public class LatencyHistogram {
+    // upper bounds of the buckets in milliseconds, the last bucket is unbounded
+    private static final long[] BOUNDS = {1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000, 10000, 30000, 60000};
+
+    private final LongAdder[] buckets = new LongAdder[BOUNDS.length + 1];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    public LatencyHistogram() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public void record(long nanos) {
+        long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+        int i = 0;
+        while (i < BOUNDS.length && millis >= BOUNDS[i]) {
+            i++;
+        }
+        buckets[i].increment();
+        count.increment();
+        totalNanos.add(nanos);
+        long max;
+        while (nanos > (max = maxNanos.get()) && !maxNanos.compareAndSet(max, nanos)) {
+            // retry
+        }
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public double getMeanMillis() {
+        long n = count.sum();
+        return n == 0 ? 0.0 : totalNanos.sum() / (n * 1000000.0);
+    }
+
+    public double getMaxMillis() {
+        return maxNanos.get() / 1000000.0;
+    }
+
+    /**
+     * @return upper bound in milliseconds of the bucket containing the given percentile (between 0 and 100)
+     * of the recorded latencies, -1 if it falls in the unbounded last bucket
+     */
+    public long getPercentileMillis(double percentile) {
+        long n = count.sum();
+        if (n == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(n * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < BOUNDS.length; i++) {
+            seen += buckets[i].sum();
+            if (seen >= rank) {
+                return BOUNDS[i];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return the number of recorded latencies per bucket, keyed by the bucket upper bound
+     */
+    public Map<String, Long> getBuckets() {
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (int i = 0; i < BOUNDS.length; i++) {
+            result.put("<" + BOUNDS[i] + "ms", buckets[i].sum());
+        }
+        result.put(">=" + BOUNDS[BOUNDS.length - 1] + "ms", buckets[BOUNDS.length].sum());
+        return result;
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("count", getCount());
+        result.put("meanMs", getMeanMillis());
+        result.put("maxMs", getMaxMillis());
+        result.put("p50Ms", getPercentileMillis(50));
+        result.put("p95Ms", getPercentileMillis(95));
+        result.put("p99Ms", getPercentileMillis(99));
+        result.put("buckets", getBuckets());
+        return result;
+    }
+}
@@ -0,0 +1,60 @@
+package org.grobid.core.utilities.crossref;
+
+import org.apache.http.HttpHost;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.DefaultProxyRoutePlanner;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.grobid.core.utilities.GrobidProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HTTP client shared by the requests to the consolidation services (CrossRef and biblio-glutton).
+ * The connections are pooled and kept alive between the lookups, avoiding a new TCP/TLS handshake
+ * for each citation. The client is thread-safe and must not be closed by the requests.
+ */
+public class ConsolidationHttpClient {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConsolidationHttpClient.class);
+
+    // connections idle for longer are closed, the services closing them on their side anyway
+    private static final long MAX_IDLE_SECONDS = 30;
+
+    private static volatile CloseableHttpClient instance;
+
+    private ConsolidationHttpClient() {
+    }
+
+    public static CloseableHttpClient getInstance() {
+        if (instance == null) {
+            synchronized (ConsolidationHttpClient.class) {
+                if (instance == null) {
+                    instance = create(GrobidProperties.getConsolidationMaxConnections(),
+                        GrobidProperties.getConsolidationMaxConnectionsPerRoute());
+                }
+            }
+        }
+        return instance;
+    }
+
+    static CloseableHttpClient create(int maxConnections, int maxConnectionsPerRoute) {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(maxConnections);
+        connectionManager.setDefaultMaxPerRoute(maxConnectionsPerRoute);
+
+        HttpClientBuilder builder = HttpClients.custom()
+            .setConnectionManager(connectionManager)
+            .evictExpiredConnections()
+            .evictIdleConnections(MAX_IDLE_SECONDS, TimeUnit.SECONDS);
+        if (GrobidProperties.getProxyHost() != null) {
+            HttpHost proxy = new HttpHost(GrobidProperties.getProxyHost(), GrobidProperties.getProxyPort());
+            builder.setRoutePlanner(new DefaultProxyRoutePlanner(proxy));
+        }
+        LOGGER.info("Consolidation HTTP client with " + maxConnections + " pooled connections, " +
+            maxConnectionsPerRoute + " per route");
+        return builder.build();
+    }
+}
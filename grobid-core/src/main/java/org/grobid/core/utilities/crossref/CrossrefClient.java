@@ -18,6 +18,7 @@ import java.util.concurrent.ExecutionException;
 
 import org.apache.commons.lang3.concurrent.TimedSemaphore;
 import org.apache.http.client.ClientProtocolException;
+import org.grobid.core.utilities.GrobidProperties;
 import org.grobid.core.utilities.crossref.CrossrefRequestListener.Response;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -62,7 +63,8 @@ public class CrossrefClient implements Closeable {
      * Hidden constructor
      */
     protected CrossrefClient() {
-		this.executorService = Executors.newCachedThreadPool(r -> {
+		// no more parallel requests than pooled connections to the service, the others would only wait for a connection
+		this.executorService = Executors.newFixedThreadPool(GrobidProperties.getConsolidationMaxConnectionsPerRoute(), r -> {
             Thread t = Executors.defaultThreadFactory().newThread(r);
             t.setDaemon(true);
             return t;
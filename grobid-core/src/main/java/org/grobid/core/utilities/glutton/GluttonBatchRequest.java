@@ -0,0 +1,168 @@
+package org.grobid.core.utilities.glutton;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import org.apache.http.client.ResponseHandler;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.util.EntityUtils;
+
+import org.grobid.core.exceptions.GrobidResourceException;
+import org.grobid.core.utilities.crossref.ConsolidationHttpClient;
+import org.grobid.core.utilities.crossref.CrossrefDeserializer;
+import org.grobid.core.utilities.crossref.CrossrefRequestListener;
+import org.grobid.core.utilities.crossref.CrossrefRequestListener.Response;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Glutton request for several references at once. The queries are posted as a JSON array of objects
+ * having the fields of the single lookup, and glutton answers with a JSON array of the same size
+ * giving, at the same index, the matched record or null if nothing was found.
+ *
+ * Each reference has its own listener, notified as for a single request.
+ *
+ * The batch endpoint ({@link #BATCH_PATH}) is not part of the upstream biblio-glutton service, so
+ * the batch mode is only usable with a glutton server providing it.
+ */
+public class GluttonBatchRequest<T extends Object> {
+
+    public static final String BATCH_PATH = "/service/lookup/batch";
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    protected final String url;
+    protected final List<Map<String, String>> params;
+    protected final CrossrefDeserializer<T> deserializer;
+    protected final List<CrossrefRequestListener<T>> listeners;
+
+    /**
+     * @param url       the batch lookup service
+     * @param params    the query parameters of each reference, as for a single request
+     * @param listeners the listener of each reference, in the same order
+     */
+    public GluttonBatchRequest(String url, List<Map<String, String>> params, CrossrefDeserializer<T> deserializer,
+                               List<CrossrefRequestListener<T>> listeners) {
+        this.url = url;
+        this.params = params;
+        this.deserializer = deserializer;
+        this.listeners = listeners;
+    }
+
+    /**
+     * Execute the request, every listener being notified once with the answer for its reference
+     */
+    public void execute() {
+        CloseableHttpClient httpclient = ConsolidationHttpClient.getInstance();
+        List<Response<T>> messages;
+        try {
+            HttpPost httppost = new HttpPost(url);
+            httppost.setEntity(new StringEntity(mapper.writeValueAsString(toQueries()), ContentType.APPLICATION_JSON));
+
+            ResponseHandler<List<Response<T>>> responseHandler = response -> {
+                List<Response<T>> answered = new ArrayList<Response<T>>();
+                int status = response.getStatusLine().getStatusCode();
+                if (status == 503) {
+                    throw new GrobidResourceException();
+                } else if (status < 200 || status >= 300) {
+                    for (int i = 0; i < listeners.size(); i++) {
+                        Response<T> message = new Response<T>();
+                        message.status = status;
+                        message.errorMessage = response.getStatusLine().getReasonPhrase();
+                        answered.add(message);
+                    }
+                    return answered;
+                }
+
+                String body = response.getEntity() == null ? null : EntityUtils.toString(response.getEntity());
+                JsonNode answers = body == null ? null : mapper.readTree(body);
+                if (answers == null || !answers.isArray() || answers.size() != listeners.size()) {
+                    throw new IllegalStateException("Glutton batch lookup answered " +
+                        (answers != null && answers.isArray() ? answers.size() + " results" : "no array") +
+                        " for " + listeners.size() + " references");
+                }
+                for (JsonNode answer : answers) {
+                    answered.add(toResponse(answer));
+                }
+                return answered;
+            };
+
+            messages = httpclient.execute(httppost, responseHandler);
+
+        } catch (GrobidResourceException gre) {
+            try {
+                TimeUnit.SECONDS.sleep(1);
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                notifyError(ie);
+                return;
+            }
+            execute();
+            return;
+        } catch (Exception e) {
+            notifyError(e);
+            return;
+        }
+
+        // listeners are notified once the whole answer is read, so that each of them is notified once
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).notify(messages.get(i));
+        }
+    }
+
+    private ArrayNode toQueries() {
+        ArrayNode queries = mapper.createArrayNode();
+        for (Map<String, String> oneParams : params) {
+            ObjectNode query = queries.addObject();
+            for (Entry<String, String> cursor : oneParams.entrySet()) {
+                String key = cursor.getKey();
+                if (GluttonRequest.identifiers.contains(key)) {
+                    key = key.toLowerCase();
+                    if (key.equals("pmcid"))
+                        key = "pmc";
+                } else {
+                    key = GluttonRequest.mapFromCrossref(key);
+                }
+                query.put(key, cursor.getValue());
+            }
+        }
+        return queries;
+    }
+
+    /**
+     * A reference without match is answered with a 404 status, like a single lookup not finding anything
+     */
+    private Response<T> toResponse(JsonNode answer) throws IOException {
+        Response<T> message = new Response<T>();
+        if (answer == null || answer.isNull() || answer.size() == 0) {
+            message.status = 404;
+        } else {
+            message.status = 200;
+            message.body = answer.toString();
+            message.results = deserializer.parse(message.body);
+        }
+        return message;
+    }
+
+    private void notifyError(Exception e) {
+        for (CrossrefRequestListener<T> listener : listeners) {
+            Response<T> message = new Response<T>();
+            message.setException(e, this.toString());
+            listener.notify(message);
+        }
+    }
+
+    public String toString() {
+        return " (batch of " + params.size() + " references)";
+    }
+}
@@ -143,6 +143,36 @@ public class GluttonClient extends CrossrefClient {
         }
     }
 
+    /**
+     * Push the lookups of several references, sent to glutton by batches of at most batchSize references, 
+     * then wait the responses through the listener of each reference.
+     *
+     * @param params        query parameters of each reference
+     * @param deserializer  json response deserializer, ex: WorkDeserializer to convert metadata to BiblioItem
+     * @param threadId      the java identifier of the thread providing the request (e.g. via Thread.currentThread().getId())
+     * @param listeners     catch the response of each reference, in the same order as params
+     * @param batchSize     maximum number of references per request
+     */
+    public <T extends Object> void pushBatchRequest(List<Map<String, String>> params, CrossrefDeserializer<T> deserializer, 
+            long threadId, List<CrossrefRequestListener<T>> listeners, int batchSize) throws Exception {
+        String url = GluttonRequest.getServiceUrl() + GluttonBatchRequest.BATCH_PATH;
+        for (int start = 0; start < params.size(); start += batchSize) {
+            int end = Math.min(start + batchSize, params.size());
+            final GluttonBatchRequest<T> request = new GluttonBatchRequest<T>(url, 
+                new ArrayList<Map<String, String>>(params.subList(start, end)), deserializer, 
+                new ArrayList<CrossrefRequestListener<T>>(listeners.subList(start, end)));
+            synchronized(this) {
+                logger.info(request + ": New batch request in the pool");
+                Future<?> f = executorService.submit(request::execute);
+                List<Future<?>> localFutures = this.futures.get(new Long(threadId));
+                if (localFutures == null)
+                    localFutures = new ArrayList<Future<?>>();
+                localFutures.add(f);
+                this.futures.put(new Long(threadId), localFutures);
+            }
+        }
+    }
+
     /**
      * Wait for all request from a specific thread to be completed
      */
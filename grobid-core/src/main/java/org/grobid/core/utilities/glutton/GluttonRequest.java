@@ -19,9 +19,7 @@ import org.apache.http.client.ResponseHandler;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.utils.URIBuilder;
 import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClients;
 import org.apache.http.util.EntityUtils;
-import org.apache.http.HttpHost;
 import org.apache.http.conn.params.*;
 import org.apache.http.impl.conn.*;
 
@@ -29,6 +27,7 @@ import org.grobid.core.utilities.crossref.CrossrefRequestListener;
 import org.grobid.core.utilities.crossref.CrossrefRequestListener.Response;
 import org.grobid.core.utilities.crossref.CrossrefDeserializer;
 import org.grobid.core.utilities.crossref.CrossrefRequest;
+import org.grobid.core.utilities.crossref.ConsolidationHttpClient;
 import org.grobid.core.exceptions.GrobidResourceException;
 
 import org.apache.commons.io.IOUtils;
@@ -91,30 +90,10 @@ public class GluttonRequest<T extends Object> extends Observable {
             notifyListeners(message);
             return;
         }
-        CloseableHttpClient httpclient = null;
-        if (GrobidProperties.getProxyHost() != null) {
-            HttpHost proxy = new HttpHost(GrobidProperties.getProxyHost(), GrobidProperties.getProxyPort());
-            DefaultProxyRoutePlanner routePlanner = new DefaultProxyRoutePlanner(proxy);
-            httpclient = HttpClients.custom()
-                .setRoutePlanner(routePlanner)
-                .build();
-        } else {
-            httpclient = HttpClients.createDefault();   
-        }
+        CloseableHttpClient httpclient = ConsolidationHttpClient.getInstance();
 
         try {
-            String url = GrobidProperties.getInstance().getGluttonHost();
-            if (url == null) {
-                throw new Exception("Invalid url for glutton service");
-            }
-            Integer port = GrobidProperties.getInstance().getGluttonPort();
-            if (port != null) {
-                int portInt = port.intValue();
-                if (portInt != 0) {
-                    url += ":" + portInt;
-                }
-            }
-            URIBuilder uriBuilder = new URIBuilder("http://" + url + BASE_PATH);
+            URIBuilder uriBuilder = new URIBuilder(getServiceUrl() + BASE_PATH);
             
             //String path = BASE_PATH;
             //uriBuilder.setPath(path);
@@ -175,6 +154,7 @@ public class GluttonRequest<T extends Object> extends Observable {
 
                     if (entity != null) {
                         String body = EntityUtils.toString(entity);
+                        message.body = body;
                         message.results = deserializer.parse(body);
                     }
                 }
@@ -187,11 +167,6 @@ public class GluttonRequest<T extends Object> extends Observable {
             httpclient.execute(httpget, responseHandler);
             
         } catch (GrobidResourceException gre) {
-            try {
-                httpclient.close();
-            } catch (IOException e) { 
-                // to log
-            }
             try {
                 TimeUnit.SECONDS.sleep(1);
             } catch (InterruptedException ie) {
@@ -202,21 +177,31 @@ public class GluttonRequest<T extends Object> extends Observable {
             CrossrefRequestListener.Response<T> message = new CrossrefRequestListener.Response<T>();
             message.setException(e, this.toString());
             notifyListeners(message);
-        } finally {
-            try {
-                httpclient.close();
-            } catch (IOException e) {           
-                CrossrefRequestListener.Response<T> message = new CrossrefRequestListener.Response<T>();
-                message.setException(e, this.toString());
-                notifyListeners(message);
+        }
+    }
+
+    /**
+     * Base url of the glutton service, from the grobid properties
+     */
+    static String getServiceUrl() throws Exception {
+        String url = GrobidProperties.getInstance().getGluttonHost();
+        if (url == null) {
+            throw new Exception("Invalid url for glutton service");
+        }
+        Integer port = GrobidProperties.getInstance().getGluttonPort();
+        if (port != null) {
+            int portInt = port.intValue();
+            if (portInt != 0) {
+                url += ":" + portInt;
             }
         }
+        return "http://" + url;
     }
 
     /**
      * Mapping CrossRef API field arguments to the ones of glutton, to ensure compatibility
      */
-    private String mapFromCrossref(String field) {
+    static String mapFromCrossref(String field) {
         if (field.equals("query.bibliographic"))
             return "biblio";
  
@@ -0,0 +1,99 @@
+package org.grobid.core.document;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.SystemUtils;
+import org.grobid.core.exceptions.GrobidException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.xml.sax.Attributes;
+import org.xml.sax.helpers.DefaultHandler;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assume.assumeFalse;
+
+public class PdfAltoStreamParserTest {
+
+    private File directory;
+    private File main;
+    private List<File> sides;
+
+    private static class ElementCollector extends DefaultHandler {
+        final List<String> elements = new ArrayList<>();
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            elements.add(qName);
+        }
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        assumeFalse(SystemUtils.IS_OS_WINDOWS);
+        directory = Files.createTempDirectory("pdfalto-stream").toFile();
+        main = new File(directory, "test.lxml");
+        sides = DocumentSource.getPdfToXmlSideFiles(main);
+        List<String> cmd = new ArrayList<>(Arrays.asList("mkfifo", main.getAbsolutePath()));
+        for (File side : sides) {
+            cmd.add(side.getAbsolutePath());
+        }
+        assertThat(new ProcessBuilder(cmd).start().waitFor(), is(0));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if (directory != null) {
+            FileUtils.deleteDirectory(directory);
+        }
+    }
+
+    private static void write(File pipe, String content) throws Exception {
+        try (OutputStream out = new FileOutputStream(pipe)) {
+            out.write(content.getBytes(UTF_8));
+        }
+    }
+
+    @Test
+    public void testParse_outputsNotWritten_shouldBeEmpty() throws Exception {
+        // only the main output and the outline are written, the annotations and metadata are never opened
+        Future<File> conversion = CompletableFuture.supplyAsync(() -> {
+            try {
+                write(main, "<alto><Page><String/><String/></Page></alto>");
+                write(sides.get(1), "<outline><item/></outline>");
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+            return main;
+        });
+
+        ElementCollector mainHandler = new ElementCollector();
+        List<ElementCollector> sideHandlers = Arrays.asList(new ElementCollector(), new ElementCollector(), new ElementCollector());
+        PdfAltoStreamParser.parse(conversion, main, mainHandler, sides, sideHandlers);
+
+        assertThat(mainHandler.elements, is(Arrays.asList("alto", "Page", "String", "String")));
+        assertThat(sideHandlers.get(0).elements.size(), is(0));
+        assertThat(sideHandlers.get(1).elements, is(Arrays.asList("outline", "item")));
+        assertThat(sideHandlers.get(2).elements.size(), is(0));
+    }
+
+    @Test(expected = GrobidException.class)
+    public void testParse_conversionFailure_shouldThrowException() throws Exception {
+        CompletableFuture<File> conversion = new CompletableFuture<>();
+        conversion.completeExceptionally(new GrobidException("PDF to XML conversion failed"));
+
+        PdfAltoStreamParser.parse(conversion, main, new ElementCollector(), sides,
+            Arrays.asList(new ElementCollector(), new ElementCollector(), new ElementCollector()));
+    }
+}
@@ -29,6 +29,12 @@ public class DummyTaggerTest {
             is(equalTo("bao\t<dummy>\nmiao\t<dummy>\nciao\t<dummy>")));
     }
 
+    @Test
+    public void testDummyTagger_batch() {
+        assertThat(target.labelBatch(Arrays.asList("bao", "miao")),
+            is(equalTo(Arrays.asList("<dummy>", "<dummy>"))));
+    }
+
     @Test(expected = GrobidException.class)
     public void testWrongModelInitialisation_shouldThrowException() {
         target = new DummyTagger(GrobidModels.HEADER);
@@ -2,6 +2,9 @@ package org.grobid.core.engines.tagging;
 
 import org.junit.Test;
 
+import java.util.Arrays;
+import java.util.List;
+
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.*;
 
@@ -54,4 +57,40 @@ public class GenericTaggerUtilsTest {
     public void testIsBeginningOfEntity_B_false2() throws Exception {
         assertFalse(GenericTaggerUtils.isBeginningOfEntity("<B-status>"));
     }
+
+    @Test
+    public void testJoinSequences_shouldSkipEmptySequences() throws Exception {
+        List<String> sequences = Arrays.asList("a f1\nb f2\n", "", "c f3");
+
+        assertThat(GenericTaggerUtils.joinSequences(sequences), is("a f1\nb f2\n\nc f3"));
+    }
+
+    @Test
+    public void testCountSequences() throws Exception {
+        assertThat(GenericTaggerUtils.countSequences("a f1\nb f2\n\n\nc f3\n"), is(2));
+        assertThat(GenericTaggerUtils.countSequences("  \n"), is(0));
+    }
+
+    @Test
+    public void testSplitBatchResult_shouldRegroupSequencesPerInput() throws Exception {
+        List<String> inputs = Arrays.asList("a f1\nb f2", "", "c f3\n\nd f4", "e f5");
+        String labeled = "a f1\tL1\nb f2\tL2\n\nc f3\tL3\n\nd f4\tL4\n\ne f5\tL5\n";
+
+        List<String> results = GenericTaggerUtils.splitBatchResult(labeled, inputs);
+
+        assertThat(results.size(), is(4));
+        assertThat(results.get(0), is("a f1\tL1\nb f2\tL2"));
+        assertThat(results.get(1), is(""));
+        assertThat(results.get(2), is("c f3\tL3\n\nd f4\tL4"));
+        assertThat(results.get(3), is("e f5\tL5"));
+    }
+
+    @Test
+    public void testSplitBatchResult_missingResults_shouldReturnEmptyStrings() throws Exception {
+        List<String> inputs = Arrays.asList("a f1", "b f2");
+
+        List<String> results = GenericTaggerUtils.splitBatchResult("a f1\tL1", inputs);
+
+        assertThat(results, is(Arrays.asList("a f1\tL1", "")));
+    }
 }
\ No newline at end of file
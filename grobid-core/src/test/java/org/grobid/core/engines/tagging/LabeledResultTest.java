@@ -0,0 +1,72 @@
+package org.grobid.core.engines.tagging;
+
+import org.grobid.core.utilities.Triple;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class LabeledResultTest {
+
+    @Test
+    public void testOf_shouldIndexTokensAndLabels() {
+        LabeledResult result = LabeledResult.of("Title title 1\tI-<title>\nof of 0\t<title>\n\nAbstract abstract 1 I-<title>\n");
+
+        assertThat(result.size(), is(4));
+        assertThat(result.getToken(0), is("Title"));
+        assertThat(result.getLabel(0), is("I-<title>"));
+        assertThat(result.getLabel(1), is("<title>"));
+        assertThat(result.isEmptyRow(2), is(true));
+        assertThat(result.getToken(2), nullValue());
+        assertThat(result.getLabelId(2), is(LabeledResult.NO_LABEL));
+        assertThat(result.getLabelId(3), is(result.getLabelId(0)));
+        assertThat(result.getLabelCount(), is(2));
+    }
+
+    @Test
+    public void testGetFeatureString_shouldJoinFieldsWithTabs() {
+        LabeledResult result = LabeledResult.of("  Title title 1\t<title>  \nalone\n");
+
+        assertThat(result.getFeatureString(0), is("Title\ttitle\t1"));
+        assertThat(result.getToken(1), is("alone"));
+        assertThat(result.getLabel(1), is("alone"));
+        assertThat(result.getFeatureString(1), is(""));
+    }
+
+    @Test
+    public void testOf_shouldMatchTokensWithLabelsAndFeatures() {
+        String labeled = "a f1 f2\t<x>\n \nb\t<y>\n\n\n";
+        LabeledResult result = LabeledResult.of(labeled);
+
+        assertThat(result.size(), is(3));
+        assertThat(GenericTaggerUtils.getTokensWithLabelsAndFeatures(labeled, true), is(Arrays.asList(
+            new Triple<>("a", "<x>", "a\tf1\tf2"), null, new Triple<>("b", "<y>", "b"))));
+        assertThat(LabeledResult.of("").size(), is(1));
+        assertThat(LabeledResult.of("\n\n").size(), is(0));
+    }
+
+    @Test
+    public void testIsToken_shouldIgnoreSpacesAndNewLines() {
+        LabeledResult result = LabeledResult.of("Figure\t<figure>\n");
+
+        assertThat(result.isToken(0, "Fig ure\n"), is(true));
+        assertThat(result.isToken(0, "Fig"), is(false));
+        assertThat(result.isToken(0, "Figures"), is(false));
+    }
+
+    @Test
+    public void testOfTriples_shouldKeepFeatureStrings() {
+        LabeledResult result = LabeledResult.of(Arrays.asList(
+            new Triple<>("a", "<x>", "a\tf1"), null, new Triple<>("b", "<y>", null)));
+
+        assertThat(result.size(), is(3));
+        assertThat(result.getToken(0), is("a"));
+        assertThat(result.getFeatureString(0), is("a\tf1"));
+        assertThat(result.isEmptyRow(1), is(true));
+        assertThat(result.getLabel(2), is("<y>"));
+        assertThat(result.getFeatureString(2), nullValue());
+    }
+}
@@ -7,7 +7,7 @@ import org.junit.Before;
 import org.junit.Test;
 import org.powermock.reflect.Whitebox;
 
-import java.util.HashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
@@ -18,12 +18,12 @@ public class TaggerFactoryTest {
     public void setUp() throws Exception {
         LibraryLoader.load();
 
-        Whitebox.setInternalState(TaggerFactory.class, "cache", new HashMap<>());
+        Whitebox.setInternalState(TaggerFactory.class, "cache", new ConcurrentHashMap<>());
     }
 
     @After
     public void tearDown() throws Exception {
-        Whitebox.setInternalState(TaggerFactory.class, "cache", new HashMap<>());
+        Whitebox.setInternalState(TaggerFactory.class, "cache", new ConcurrentHashMap<>());
     }
 
 
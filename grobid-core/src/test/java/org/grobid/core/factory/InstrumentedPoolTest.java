@@ -0,0 +1,131 @@
+package org.grobid.core.factory;
+
+import org.junit.Test;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class InstrumentedPoolTest {
+
+    private final AtomicInteger nbCreated = new AtomicInteger();
+    private final InstrumentedPool<Object> pool = new InstrumentedPool<>(() -> {
+        nbCreated.incrementAndGet();
+        return new Object();
+    }, 2);
+
+    @Test
+    public void testReleasedObjectIsReused() throws Exception {
+        Object first = pool.borrow(100);
+        pool.release(first);
+        Object second = pool.borrow(100);
+
+        assertThat(second, sameInstance(first));
+        assertThat(nbCreated.get(), is(1));
+        assertThat(pool.getNumActive(), is(1));
+        assertThat(pool.getNumIdle(), is(0));
+        assertThat(pool.getBorrowTimes().getCount(), is(2L));
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testBorrowTimesOutWhenExhausted() throws Exception {
+        pool.borrow(100);
+        pool.borrow(100);
+        try {
+            pool.borrow(10);
+        } finally {
+            assertThat(pool.getNumTimeouts(), is(1L));
+        }
+    }
+
+    @Test
+    public void testBorrowWithoutLimitWaitsForRelease() throws Exception {
+        Object first = pool.borrow(100);
+        pool.borrow(100);
+
+        AtomicReference<Object> result = new AtomicReference<>();
+        Thread waiter = new Thread(() -> result.set(pool.borrow(-1)));
+        waiter.start();
+        while (pool.getNumWaiting() == 0) {
+            Thread.sleep(1);
+        }
+        pool.release(first);
+        waiter.join(5000);
+
+        assertThat(result.get(), sameInstance(first));
+        assertThat(pool.getNumTimeouts(), is(0L));
+    }
+
+    @Test
+    public void testGrowWakesUpWaitingBorrower() throws Exception {
+        pool.borrow(100);
+        pool.borrow(100);
+
+        CountDownLatch borrowed = new CountDownLatch(1);
+        AtomicReference<Object> result = new AtomicReference<>();
+        Thread waiter = new Thread(() -> {
+            result.set(pool.borrow(-1));
+            borrowed.countDown();
+        });
+        waiter.start();
+        while (pool.getNumWaiting() == 0) {
+            Thread.sleep(1);
+        }
+
+        pool.setMaxSize(3);
+        borrowed.await();
+
+        assertThat(result.get(), notNullValue());
+        assertThat(pool.getNumActive(), is(3));
+        assertThat(pool.getNumWaiting(), is(0));
+    }
+
+    @Test
+    public void testShrinkDropsReturnedObjects() throws Exception {
+        Object first = pool.borrow(100);
+        Object second = pool.borrow(100);
+
+        pool.setMaxSize(1);
+        pool.release(first);
+        pool.release(second);
+
+        assertThat(pool.getNumActive(), is(0));
+        assertThat(pool.getNumIdle(), is(1));
+
+        pool.borrow(100);
+        try {
+            pool.borrow(10);
+        } catch (NoSuchElementException e) {
+            // expected, a single slot is left
+            return;
+        }
+        throw new AssertionError("The pool should have been shrunk to a single object");
+    }
+
+    @Test
+    public void testReleaseOfObjectNotBorrowedIsIgnored() throws Exception {
+        Object first = pool.borrow(100);
+        pool.release(first);
+        pool.release(first);
+        pool.release(new Object());
+
+        assertThat(pool.getNumActive(), is(0));
+        assertThat(pool.getNumIdle(), is(1));
+
+        pool.borrow(100);
+        pool.borrow(100);
+        try {
+            pool.borrow(10);
+        } catch (NoSuchElementException e) {
+            // expected, the extra releases have not added slots
+            return;
+        }
+        throw new AssertionError("The pool should not have more than two slots");
+    }
+}
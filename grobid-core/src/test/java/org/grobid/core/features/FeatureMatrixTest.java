@@ -0,0 +1,58 @@
+package org.grobid.core.features;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class FeatureMatrixTest {
+
+    @Test
+    public void testToString_shouldRenderOneLinePerRow() {
+        FeatureMatrix matrix = new FeatureMatrix();
+        matrix.add("Title").add("title").add(true).add(3).endRow();
+        matrix.add("of").add("of").add(false).add(3).endRow();
+
+        assertThat(matrix.toString(), is("Title title 1 3\nof of 0 3\n"));
+        assertThat(matrix.getRowCount(), is(2));
+        assertThat(matrix.getColumnCount(1), is(4));
+        assertThat(matrix.getValue(1, 0), is("of"));
+    }
+
+    @Test
+    public void testAdd_null_shouldRenderNull() {
+        FeatureMatrix matrix = new FeatureMatrix();
+        matrix.add("token").add((String) null).endRow();
+
+        assertThat(matrix.toString(), is("token null\n"));
+    }
+
+    @Test
+    public void testPrintVector_shouldBeRowOfMatrix() {
+        FeaturesVectorDate features = new FeaturesVectorDate();
+        features.string = "June";
+        features.lineStatus = "LINESTART";
+        features.capitalisation = "INITCAP";
+        features.digit = "NODIGIT";
+        features.month = true;
+        features.punctType = "NOPUNCT";
+
+        FeatureMatrix matrix = new FeatureMatrix();
+        assertThat(features.addTo(matrix), is(true));
+
+        assertThat(features.printVector(), is(matrix.toString()));
+        assertThat(features.printVector(),
+            is("June june J Ju Jun June e ne une June LINESTART INITCAP NODIGIT 0 0 1 NOPUNCT 0\n"));
+    }
+
+    @Test
+    public void testPrintVector_noToken_shouldBeNull() {
+        FeaturesVectorDate features = new FeaturesVectorDate();
+        FeatureMatrix matrix = new FeatureMatrix();
+
+        assertThat(features.addTo(matrix), is(false));
+        assertThat(matrix.isEmpty(), is(true));
+        assertThat(features.printVector(), nullValue());
+    }
+}
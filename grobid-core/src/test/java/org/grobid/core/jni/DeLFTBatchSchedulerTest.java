@@ -0,0 +1,79 @@
+package org.grobid.core.jni;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class DeLFTBatchSchedulerTest {
+    private DeLFTBatchScheduler target;
+
+    // fake tagger labelling each sequence with its number of lines
+    private static List<String> fakeTag(String data) {
+        List<String> res = new ArrayList<>();
+        for (String sequence : data.split("\n\n")) {
+            res.add(sequence + " " + sequence.split("\n").length + "\n");
+        }
+        return res;
+    }
+
+    @After
+    public void tearDown() {
+        if (target != null) {
+            target.close();
+        }
+    }
+
+    @Test
+    public void testTag_singleCall_shouldReturnOneResultPerSequence() throws Exception {
+        target = new DeLFTBatchScheduler("test", DeLFTBatchSchedulerTest::fakeTag, 1, 10, 0);
+
+        assertThat(target.tag("a\nb\n\nc"), is(Arrays.asList("a\nb 2\n", "c 1\n")));
+    }
+
+    @Test
+    public void testTag_concurrentCalls_shouldBeMergedAndSplitBack() throws Exception {
+        // the batch is only closed when full: the three calls of two sequences each fill it exactly
+        target = new DeLFTBatchScheduler("test", DeLFTBatchSchedulerTest::fakeTag, 1, 6, 60000);
+
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<String>>> results = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            final String data = "x" + i + "\ny" + i + "\n\nz" + i;
+            results.add(executor.submit(() -> {
+                start.await();
+                return target.tag(data);
+            }));
+        }
+        start.countDown();
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(results.get(i).get(), is(Arrays.asList("x" + i + "\ny" + i + " 2\n", "z" + i + " 1\n")));
+        }
+        assertThat(target.getNbCalls(), is(3L));
+        assertThat(target.getNbBatches(), is(1L));
+        executor.shutdown();
+    }
+
+    @Test(expected = ExecutionException.class)
+    public void testTag_missingLabelledSequence_shouldFail() throws Exception {
+        target = new DeLFTBatchScheduler("test", data -> fakeTag(data).subList(0, 1), 1, 10, 0);
+
+        target.tag("a\n\nb");
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testTag_afterClose_shouldFail() throws Exception {
+        target = new DeLFTBatchScheduler("test", DeLFTBatchSchedulerTest::fakeTag, 1, 10, 0);
+        target.close();
+
+        target.tag("a");
+    }
+}
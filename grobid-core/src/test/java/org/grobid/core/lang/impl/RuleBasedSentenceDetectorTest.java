@@ -0,0 +1,105 @@
+package org.grobid.core.lang.impl;
+
+import org.grobid.core.utilities.OffsetPosition;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class RuleBasedSentenceDetectorTest {
+
+    private final RuleBasedSentenceDetector target = new RuleBasedSentenceDetector();
+
+    private List<String> sentences(String text) {
+        List<String> result = new ArrayList<>();
+        for (OffsetPosition position : target.detect(text)) {
+            result.add(text.substring(position.start, position.end));
+        }
+        return result;
+    }
+
+    @Test
+    public void testDetect_emptyText_shouldReturnNoSentence() throws Exception {
+        assertThat(target.detect("").size(), is(0));
+        assertThat(target.detect("  ").size(), is(0));
+    }
+
+    @Test
+    public void testDetect_simpleSentences() throws Exception {
+        assertThat(sentences("Bla bla bla. Bli bli bli! Blu blu? And the rest"),
+            is(Arrays.asList("Bla bla bla.", "Bli bli bli!", "Blu blu?", "And the rest")));
+    }
+
+    @Test
+    public void testDetect_abbreviationsAndNumbers_shouldNotSplit() throws Exception {
+        assertThat(sentences("As shown in Fig. 3 and by Smith et al. (2005), the rate is 3.5 mg, e.g. in water. It was measured by Dr. J. Smith."),
+            is(Arrays.asList("As shown in Fig. 3 and by Smith et al. (2005), the rate is 3.5 mg, e.g. in water.",
+                "It was measured by Dr. J. Smith.")));
+    }
+
+    @Test
+    public void testDetect_parenthesisAndQuotes_shouldNotSplit() throws Exception {
+        assertThat(sentences("The sample (see the annex. It is large) was kept. He said \"stop. now\" twice."),
+            is(Arrays.asList("The sample (see the annex. It is large) was kept.", "He said \"stop. now\" twice.")));
+        assertThat(sentences("He asked \"Why?\" and left. \"Go.\" Then it ended."),
+            is(Arrays.asList("He asked \"Why?\" and left.", "\"Go.\"", "Then it ended.")));
+    }
+
+    @Test
+    public void testDetect_numberedReference_shouldBelongToSentence() throws Exception {
+        assertThat(sentences("This was reported before.12 The new results differ.[3, 4] We discuss them."),
+            is(Arrays.asList("This was reported before.12", "The new results differ.[3, 4]", "We discuss them.")));
+    }
+
+    @Test
+    public void testDetect_ellipsis() throws Exception {
+        assertThat(sentences("It was... not good... Then it was."),
+            is(Arrays.asList("It was... not good...", "Then it was.")));
+    }
+
+    @Test
+    public void testDetect_offsetsShouldMatchOriginalText() throws Exception {
+        String text = "  First   sentence.    Second  one.  ";
+        List<OffsetPosition> positions = target.detect(text);
+        assertThat(positions.size(), is(2));
+        assertThat(positions.get(0).start, is(2));
+        assertThat(positions.get(0).end, is(19));
+        assertThat(positions.get(1).start, is(23));
+        assertThat(positions.get(1).end, is(35));
+    }
+
+    @Test
+    public void testDetect_severalParagraphs() throws Exception {
+        List<List<OffsetPosition>> positions = target.detect(Arrays.asList("One. Two.", "", "Three"));
+        assertThat(positions.size(), is(3));
+        assertThat(positions.get(0).size(), is(2));
+        assertThat(positions.get(1).size(), is(0));
+        assertThat(positions.get(2).size(), is(1));
+    }
+
+    @Test
+    public void testDetect_unmatchedOpenings_shouldStillSplit() throws Exception {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            text.append("(a [b ");
+        }
+        text.append("end. Next one.");
+        List<String> result = sentences(text.toString());
+        assertThat(result.size(), is(2));
+        assertThat(result.get(1), is("Next one."));
+    }
+
+    @Test
+    public void testDetect_longParenthesis_shouldNotBeProtected() throws Exception {
+        StringBuilder text = new StringBuilder("See (this");
+        for (int i = 0; i < 200; i++) {
+            text.append(" word");
+        }
+        text.append(". It ends) here.");
+        assertThat(sentences(text.toString()).size(), is(2));
+    }
+}
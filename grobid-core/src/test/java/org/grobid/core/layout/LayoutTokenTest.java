@@ -0,0 +1,53 @@
+package org.grobid.core.layout;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class LayoutTokenTest {
+
+    @Test
+    public void testSetters_sameAttributes_shouldShareStyle() {
+        LayoutToken token1 = new LayoutToken("Title");
+        token1.setFont("times");
+        token1.setBold(true);
+        LayoutToken token2 = new LayoutToken("Abstract");
+        token2.setBold(true);
+        token2.setFont("times");
+
+        assertTrue(token1.getStyle() == token2.getStyle());
+        assertThat(token2.getFont(), is("times"));
+        assertThat(token2.isBold(), is(true));
+        assertThat(token2.isItalic(), is(false));
+    }
+
+    @Test
+    public void testSetter_shouldNotChangeOtherTokens() {
+        LayoutToken token1 = new LayoutToken("Title");
+        token1.setItalic(true);
+        LayoutToken token2 = new LayoutToken(token1);
+        token2.setItalic(false);
+        token2.setSuperscript(true);
+
+        assertThat(token1.isItalic(), is(true));
+        assertThat(token1.isSuperscript(), is(false));
+        assertThat(token2.isItalic(), is(false));
+        assertThat(token2.isSuperscript(), is(true));
+        assertThat(token1.getStyle(), not(token2.getStyle()));
+    }
+
+    @Test
+    public void testNewToken_shouldHaveDefaultStyle() {
+        LayoutToken token = new LayoutToken("Title");
+
+        assertTrue(token.getStyle() == LayoutTokenStyle.DEFAULT);
+        assertThat(token.getFont(), nullValue());
+        assertThat(token.getColorFont(), nullValue());
+        assertThat(token.getRotation(), is(false));
+        assertThat(token.getLabels().isEmpty(), is(true));
+    }
+}
@@ -169,5 +169,17 @@ public class FastMatcherTest {
         assertThat(offsetPositions.get(1).end, is(6));
     }
 
+    @Test
+    public void testMatchCharacter_termsLoadedAfterMatching_shouldBeMatched() throws Exception {
+        target = new FastMatcher(this.getClass().getResourceAsStream("location.txt"));
+        assertThat(target.matchCharacter("This is Paris Bronx"), hasSize(1));
 
+        target.loadTerm("Paris", GrobidAnalyzer.getInstance(), true, false);
+        final List<OffsetPosition> positions = target.matchCharacter("This is Paris Bronx");
+        assertThat(positions, hasSize(2));
+        assertThat(positions.get(0).start, is(8));
+        assertThat(positions.get(0).end, is(13));
+        assertThat(positions.get(1).start, is(14));
+        assertThat(positions.get(1).end, is(19));
+    }
 }
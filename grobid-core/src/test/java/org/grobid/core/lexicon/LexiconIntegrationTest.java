@@ -1,6 +1,8 @@
 package org.grobid.core.lexicon;
 
+import org.apache.commons.io.FileUtils;
 import org.grobid.core.analyzers.GrobidAnalyzer;
+import org.grobid.core.lang.Language;
 import org.grobid.core.utilities.OffsetPosition;
 import org.grobid.core.utilities.LayoutTokensUtil;
 import org.grobid.core.layout.LayoutToken;
@@ -8,9 +10,12 @@ import org.junit.AfterClass;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.File;
 import java.util.List;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.hasSize;
 import static org.junit.Assert.assertNotNull;
@@ -26,6 +31,25 @@ public class LexiconIntegrationTest {
         target = Lexicon.getInstance();
     }
 
+    @Test
+    public void testAddDictionary_withSnapshots_shouldAddEntries() throws Exception {
+        // the snapshots are enabled by the default configuration, the loaded sets are then read-only tables
+        assertThat(LexiconSnapshot.getInstance(), notNullValue());
+
+        File file = File.createTempFile("dictionary", ".wf");
+        try {
+            FileUtils.writeStringToFile(file, "grobidish\tgrobidish\tNc\n", UTF_8);
+            assertThat(target.inDictionary("grobidish"), is(false));
+
+            target.addDictionary(file.getAbsolutePath(), Language.EN);
+
+            assertThat(target.inDictionary("grobidish"), is(true));
+            assertThat(target.inDictionary("house"), is(true));
+        } finally {
+            file.delete();
+        }
+    }
+
     // journals
     @Test
     public void testInAbbrevJournalNames_case1() throws Exception {
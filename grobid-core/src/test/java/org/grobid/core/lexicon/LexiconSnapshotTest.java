@@ -0,0 +1,123 @@
+package org.grobid.core.lexicon;
+
+import org.apache.commons.io.FileUtils;
+import org.grobid.core.utilities.GrobidProperties;
+import org.grobid.core.utilities.OffsetPosition;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class LexiconSnapshotTest {
+
+    private File directory;
+    private LexiconSnapshot snapshot;
+
+    @BeforeClass
+    public static void setInitialContext() throws Exception {
+        GrobidProperties.getInstance();
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("lexicon-snapshot").toFile();
+        snapshot = new LexiconSnapshot(new File(directory, "snapshot"));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        FileUtils.deleteDirectory(directory);
+    }
+
+    @Test
+    public void testRead_written_shouldReturnSameContent() throws Exception {
+        File source = new File(directory, "names.txt");
+        FileUtils.writeStringToFile(source, "Émile\nZoé\n", UTF_8);
+        List<File> sources = Collections.singletonList(source);
+        Set<String> names = new HashSet<>(Arrays.asList("Émile", "Zoé"));
+        Map<String, String> codes = new HashMap<>();
+        codes.put("france", "FR");
+
+        snapshot.write("names", sources, out -> {
+            out.writeSet(names);
+            out.writeMap(codes);
+        });
+
+        assertThat(snapshot.read("names", sources, in -> in.readSet()), is(names));
+        assertThat(snapshot.read("names", sources, in -> {
+            in.readSet();
+            return in.readMap();
+        }), is(codes));
+    }
+
+    @Test
+    public void testReadMap_shouldLookUpInSnapshot() throws Exception {
+        File source = new File(directory, "countries.xml");
+        FileUtils.writeStringToFile(source, "<countries/>", UTF_8);
+        List<File> sources = Collections.singletonList(source);
+        Map<String, String> codes = new HashMap<>();
+        codes.put("france", "FR");
+        codes.put("österreich", "AT");
+
+        snapshot.write("countries", sources, out -> out.writeMap(codes));
+        Map<String, String> read = snapshot.read("countries", sources, in -> in.readMap());
+
+        assertThat(read.get("österreich"), is("AT"));
+        assertThat(read.get("france"), is("FR"));
+        assertThat(read.get("germany"), nullValue());
+        assertThat(read.containsKey("germany"), is(false));
+    }
+
+    @Test
+    public void testRead_writtenMatcher_shouldMatchSameTerms() throws Exception {
+        File source = new File(directory, "journals.txt");
+        FileUtils.writeStringToFile(source, "Nature\nPhysical Review Letters\n", UTF_8);
+        List<File> sources = Collections.singletonList(source);
+        FastMatcher matcher = new FastMatcher(source);
+
+        snapshot.write("journals", sources, out -> out.writeMatcher(matcher));
+        FastMatcher read = snapshot.read("journals", sources, LexiconSnapshot.Input::readMatcher);
+
+        String text = "Published in Physical Review Letters and in Nature.";
+        List<OffsetPosition> expected = matcher.matchCharacter(text);
+        List<OffsetPosition> positions = read.matchCharacter(text);
+        assertThat(positions.size(), is(2));
+        for (int i = 0; i < expected.size(); i++) {
+            assertThat(positions.get(i).start, is(expected.get(i).start));
+            assertThat(positions.get(i).end, is(expected.get(i).end));
+        }
+    }
+
+    @Test
+    public void testRead_sourceModified_shouldReturnNull() throws Exception {
+        File source = new File(directory, "names.txt");
+        FileUtils.writeStringToFile(source, "Émile\n", UTF_8);
+        List<File> sources = Collections.singletonList(source);
+
+        snapshot.write("names", sources, out -> out.writeSet(Collections.singleton("Émile")));
+        FileUtils.writeStringToFile(source, "Émile\nZoé\n", UTF_8);
+
+        assertThat(snapshot.read("names", sources, in -> in.readSet()), nullValue());
+    }
+
+    @Test
+    public void testRead_noSnapshot_shouldReturnNull() throws Exception {
+        assertThat(snapshot.read("names", Collections.singletonList(new File(directory, "names.txt")),
+            in -> in.readSet()), nullValue());
+    }
+}
@@ -13,6 +13,7 @@ import javax.xml.parsers.SAXParserFactory;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.easymock.EasyMock.createMock;
 import static org.hamcrest.CoreMatchers.is;
@@ -144,4 +145,19 @@ public class PDFALTOSaxHandlerTest {
         assertThat(tokenList.get(39).getItalic(), is(true));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testParsing_shouldShareStylesAndTexts() throws Exception {
+        InputStream inputStream = this.getClass().getResourceAsStream("JPS081033701-CC.xml");
+
+        SAXParser p = spf.newSAXParser();
+        p.parse(inputStream, target);
+
+        List<LayoutToken> tokenList = target.getTokenization();
+        List<LayoutToken> commas = tokenList.stream().filter(t -> t.getText().equals(",")).collect(Collectors.toList());
+
+        assertThat(commas, hasSize(greaterThan(1)));
+        assertTrue(commas.get(0).getText() == commas.get(1).getText());
+        assertThat(tokenList.get(0).getStyle(), is(tokenList.get(2).getStyle()));
+        assertTrue(tokenList.get(0).getStyle() == tokenList.get(2).getStyle());
+    }
+}
@@ -12,6 +12,7 @@ import org.grobid.core.engines.label.TaggingLabel;
 import org.grobid.core.factory.GrobidFactory;
 import org.grobid.core.layout.Block;
 import org.grobid.core.utilities.GrobidProperties;
+import org.grobid.core.utilities.GrobidPropertyKeys;
 import org.junit.*;
 
 import java.io.File;
@@ -96,6 +97,28 @@ public class TestFullTextParser extends EngineTest {
         assertTei(tei);
     }
 
+    @Test
+    public void testFullTextParser_parallelStages_shouldGiveSameTei() throws Exception {
+        File inputTmpFile = getInputDocument("/test/Wang-paperAVE2008.pdf");
+        Object originalThreads = GrobidProperties.getProps().get(GrobidPropertyKeys.PROP_FULLTEXT_PIPELINE_THREADS);
+        String sequentialTei;
+        String parallelTei;
+        try {
+            GrobidProperties.setPropertyValue(GrobidPropertyKeys.PROP_FULLTEXT_PIPELINE_THREADS, "0");
+            sequentialTei = engine.fullTextToTEIDoc(inputTmpFile, GrobidAnalysisConfig.defaultInstance()).getTei();
+            GrobidProperties.setPropertyValue(GrobidPropertyKeys.PROP_FULLTEXT_PIPELINE_THREADS, "4");
+            parallelTei = engine.fullTextToTEIDoc(inputTmpFile, GrobidAnalysisConfig.defaultInstance()).getTei();
+        } finally {
+            if (originalThreads == null) {
+                GrobidProperties.getProps().remove(GrobidPropertyKeys.PROP_FULLTEXT_PIPELINE_THREADS);
+            } else {
+                GrobidProperties.getProps().put(GrobidPropertyKeys.PROP_FULLTEXT_PIPELINE_THREADS, originalThreads);
+            }
+        }
+
+        assertEquals(sequentialTei, parallelTei);
+    }
+
     private void assertTei(Document doc) {
         assertDocAndBlockTokenizationSync(doc);
         assertNotNull(doc.getTei());
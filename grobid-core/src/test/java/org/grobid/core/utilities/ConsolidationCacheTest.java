@@ -0,0 +1,83 @@
+package org.grobid.core.utilities;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class ConsolidationCacheTest {
+
+    private static final long TTL = TimeUnit.HOURS.toMillis(1);
+
+    private File directory;
+
+    @Before
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("consolidation-cache").toFile();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        FileUtils.deleteDirectory(directory);
+    }
+
+    @Test
+    public void testKey_shouldBeNormalized() throws Exception {
+        assertThat(ConsolidationCache.key("crossref", " https://doi.org/10.1000/ABC ", "a title", "Smith", "2019", null),
+            is(ConsolidationCache.key("crossref", "10.1000/abc", null, null, null, "another citation")));
+        assertThat(ConsolidationCache.key("crossref", null, "Étude  des réseaux.", "Müller", "2019", null),
+            is(ConsolidationCache.key("crossref", null, "etude des RESEAUX", "muller", "2019", null)));
+        assertThat(ConsolidationCache.key("crossref", null, "A title", "Smith", "2019", null).equals(
+            ConsolidationCache.key("crossref", null, "A title", "Smith", "2018", null)), is(false));
+        assertThat(ConsolidationCache.key("crossref", null, "A title", null, null, null), nullValue());
+    }
+
+    @Test
+    public void testGet_leastRecentlyUsed_shouldBeEvicted() throws Exception {
+        ConsolidationCache cache = new ConsolidationCache(2, TTL, TTL, null);
+        cache.put("a", 200, "{\"a\":1}");
+        cache.put("b", 200, "{\"b\":1}");
+        cache.get("a");
+        cache.put("c", 200, "{\"c\":1}");
+
+        assertThat(cache.size(), is(2));
+        assertThat(cache.get("a").getBody(), is("{\"a\":1}"));
+        assertThat(cache.get("b"), nullValue());
+        assertThat(cache.get("c"), notNullValue());
+    }
+
+    @Test
+    public void testGet_expiredNegativeResult_shouldBeMissing() throws Exception {
+        ConsolidationCache cache = new ConsolidationCache(10, TTL, 0, null);
+        cache.put("found", 200, "{}");
+        cache.put("notFound", 404, null);
+
+        assertThat(cache.get("found").isNegative(), is(false));
+        assertThat(cache.get("notFound"), nullValue());
+    }
+
+    @Test
+    public void testGet_persistentCache_shouldSurviveNewInstance() throws Exception {
+        ConsolidationCache cache = new ConsolidationCache(10, TTL, TTL, directory);
+        cache.put("crossref|doi|10.1000/abc", 200, "{\"message\":\n{\"DOI\":\"10.1000/abc\"}}");
+        cache.put("crossref|doi|10.1000/none", 404, null);
+
+        ConsolidationCache restarted = new ConsolidationCache(10, TTL, TTL, directory);
+        ConsolidationCache.Entry found = restarted.get("crossref|doi|10.1000/abc");
+        assertThat(found.getStatus(), is(200));
+        assertThat(found.getBody(), is("{\"message\":\n{\"DOI\":\"10.1000/abc\"}}"));
+        ConsolidationCache.Entry notFound = restarted.get("crossref|doi|10.1000/none");
+        assertThat(notFound.getStatus(), is(404));
+        assertThat(notFound.isNegative(), is(true));
+        assertThat(restarted.get("crossref|doi|10.1000/other"), nullValue());
+    }
+}
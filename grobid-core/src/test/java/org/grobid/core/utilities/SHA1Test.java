@@ -4,6 +4,10 @@ import org.grobid.core.utilities.SHA1;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
 public class SHA1Test {
 
 	@Test
@@ -13,4 +17,15 @@ public class SHA1Test {
 				SHA1.getSHA1("pass"));
 	}
 
+	@Test
+	public void testgetSHA1_file() throws Exception {
+		File file = File.createTempFile("sha1", ".txt");
+		file.deleteOnExit();
+		Files.write(file.toPath(), "pass".getBytes(StandardCharsets.UTF_8));
+
+		Assert.assertEquals("Hashed value is not the expected one",
+				"9d4e1e23bd5b727046a9e3b4b7db57bd8d6ee684",
+				SHA1.getSHA1(file));
+	}
+
 }
@@ -1,25 +1,21 @@
 package org.grobid.core.utilities;
 
-import org.grobid.core.analyzers.GrobidAnalyzer;
-import org.grobid.core.layout.LayoutToken;
-import org.grobid.core.test.EngineTest;
 import org.junit.Ignore;
 import org.junit.Test;
 
 import com.google.common.collect.Lists;
 
 import java.util.ArrayList;
-import java.util.List;
 
 import static org.hamcrest.CoreMatchers.is;
-import static org.hamcrest.CoreMatchers.startsWith;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.Assert.assertEquals;
-import static org.junit.Assert.assertNotNull;
+import static org.junit.Assume.assumeThat;
 
-@Ignore
-public class UnicodeUtilTest extends EngineTest {
+public class UnicodeUtilTest {
 
+    @Ignore
     @Test
     public void testNormaliseToken() throws Exception {
         String test = "´\rÓÑÔÙØØØ";
@@ -39,4 +35,62 @@ public class UnicodeUtilTest extends EngineTest {
         }
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testNormaliseText_nothingToReplace_shouldReturnSameString() {
+        String text = "Grobid 0.7 - ÓÑÔÙ";
+        assertThat(UnicodeUtil.normaliseText(text), sameInstance(text));
+    }
+
+    @Test
+    public void testNormaliseText_shouldReplaceSpacesDashesAndNewLines() {
+        assertThat(UnicodeUtil.normaliseText("a\u00A0b\u2013c\u0085d\u2022e\uFF08f\uFF09"), is("a b-c\nd\u2022e(f)"));
+    }
+
+    @Test
+    public void testNormaliseText_carriageReturnLineFeed_shouldBeOneNewLine() {
+        assertThat(UnicodeUtil.normaliseText("a\r\nb"), is("a\nb"));
+        assertThat(UnicodeUtil.normaliseText("a\r\rb"), is("a\n\nb"));
+        assertThat(UnicodeUtil.normaliseText("a\n\rb"), is("a\n\nb"));
+        assertThat(UnicodeUtil.normaliseText("a\r\n\r\nb\r"), is("a\n\nb\n"));
+    }
+
+    @Test
+    public void testNormaliseText_supplementaryDash_shouldBeReplaced() {
+        // U+10EAD YEZIDI HYPHENATION MARK, a dash punctuation from Unicode 13
+        assumeThat(Character.getType(0x10EAD), is((int) Character.DASH_PUNCTUATION));
+        String dash = new String(Character.toChars(0x10EAD));
+
+        assertThat(UnicodeUtil.normaliseText("a" + dash + "b"), is("a-b"));
+        assertThat(UnicodeUtil.normaliseText(dash), is("-"));
+    }
+
+    @Test
+    public void testNormaliseText_otherSupplementaryChars_shouldBeKept() {
+        String text = "a" + new String(Character.toChars(0x1D400)) + "b";
+        assertThat(UnicodeUtil.normaliseText(text), sameInstance(text));
+        assertThat(UnicodeUtil.normaliseText(text + "\r\n"), is(text + "\n"));
+        // unpaired surrogates are kept as they are
+        assertThat(UnicodeUtil.normaliseText("a\uD803 \uDEADb"), is("a\uD803 \uDEADb"));
+        assertThat(UnicodeUtil.normaliseText("a\uD803"), is("a\uD803"));
+    }
+
+    @Test
+    public void testNormaliseTextAndRemoveSpaces_shouldRemoveSpacesAndNewLines() {
+        assertThat(UnicodeUtil.normaliseTextAndRemoveSpaces("a b c\r\nd e\tf\u2013g"), is("abcdef-g"));
+        assertThat(UnicodeUtil.normaliseTextAndRemoveSpaces(" \r\n\u3000"), is(""));
+    }
+
+    @Test
+    public void testNormaliseTextAndRemoveSpaces_nothingToReplace_shouldReturnSameString() {
+        String text = "Grobid-0.7";
+        assertThat(UnicodeUtil.normaliseTextAndRemoveSpaces(text), sameInstance(text));
+    }
+
+    @Test
+    public void testNormaliseTextAndRemoveSpaces_supplementaryDash_shouldBeReplaced() {
+        assumeThat(Character.getType(0x10EAD), is((int) Character.DASH_PUNCTUATION));
+        String dash = new String(Character.toChars(0x10EAD));
+
+        assertThat(UnicodeUtil.normaliseTextAndRemoveSpaces("a " + dash + " b"), is("a-b"));
+    }
+}
@@ -2,9 +2,14 @@ package org.grobid.core.utilities;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 
 import java.util.List;
 import java.util.ArrayList;
+import java.util.UUID;
+
+import org.apache.commons.io.FileUtils;
 
 import org.junit.Test;
 import static org.junit.Assert.*;
@@ -120,6 +125,32 @@ public class UtilitiesTest {
 		assertEquals(positions.get(1).end, 10);
 	}
 
+	@Test
+	public void testDeleteOldies_excludedDirectory_shouldKeepItsFiles() throws IOException {
+		File tmp = Files.createTempDirectory("tmp").toFile();
+		try {
+			long old = System.currentTimeMillis() - 3600 * 1000;
+			File work = new File(tmp, "work");
+			File jobs = new File(work, "jobs");
+			File job = new File(jobs, UUID.randomUUID().toString() + ".tei.xml");
+			File origin = new File(tmp, "origin");
+			File temp = new File(origin, "input.pdf");
+			FileUtils.writeStringToFile(job, "<TEI/>", StandardCharsets.UTF_8);
+			FileUtils.writeStringToFile(temp, "pdf", StandardCharsets.UTF_8);
+			for (File file : new File[]{job, jobs, work, temp, origin}) {
+				file.setLastModified(old);
+			}
+
+			assertTrue(Utilities.deleteOldies(tmp, 300, new File(tmp, "work")));
+
+			assertTrue(job.exists());
+			assertFalse(temp.exists());
+			assertFalse(origin.exists());
+			assertTrue(tmp.exists());
+		} finally {
+			FileUtils.deleteQuietly(tmp);
+		}
+	}
 
 	private static String getString() {
 		return "1 \" ' A \n \t \r test\n\\n \n M";
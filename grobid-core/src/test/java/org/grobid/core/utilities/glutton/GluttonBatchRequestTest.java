@@ -0,0 +1,158 @@
+package org.grobid.core.utilities.glutton;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.commons.io.IOUtils;
+import org.grobid.core.utilities.GrobidProperties;
+import org.grobid.core.utilities.GrobidPropertyKeys;
+import org.grobid.core.utilities.crossref.CrossrefDeserializer;
+import org.grobid.core.utilities.crossref.CrossrefRequestListener;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class GluttonBatchRequestTest {
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    private HttpServer server;
+    private final AtomicInteger nbRequests = new AtomicInteger();
+    // glutton settings of the loaded properties, restored after each test
+    private Object originalHost;
+    private Object originalPort;
+
+    private static class DoiDeserializer extends CrossrefDeserializer<String> {
+        @Override
+        protected String deserializeOneItem(JsonNode item) {
+            return item.get("DOI").asText();
+        }
+    }
+
+    private static class Collector extends CrossrefRequestListener<String> {
+        Integer status;
+        List<String> results;
+
+        @Override
+        public void onResponse(Response<String> response) {
+            status = response.status;
+            results = response.results;
+        }
+    }
+
+    @BeforeClass
+    public static void setInitialContext() {
+        GrobidProperties.getInstance();
+    }
+
+    /**
+     * Stub of the glutton batch lookup, answering the DOI of each query or null for the queries without DOI
+     */
+    @Before
+    public void setUp() throws Exception {
+        originalHost = GrobidProperties.getProps().get(GrobidPropertyKeys.PROP_GLUTTON_HOST);
+        originalPort = GrobidProperties.getProps().get(GrobidPropertyKeys.PROP_GLUTTON_PORT);
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext(GluttonBatchRequest.BATCH_PATH, exchange -> {
+            nbRequests.incrementAndGet();
+            JsonNode queries = mapper.readTree(IOUtils.toString(exchange.getRequestBody(), UTF_8));
+            ArrayNode answers = mapper.createArrayNode();
+            for (JsonNode query : queries) {
+                if (query.has("doi")) {
+                    answers.addObject().put("DOI", query.get("doi").asText()).put("biblio", query.path("biblio").asText());
+                } else {
+                    answers.addNull();
+                }
+            }
+            byte[] body = mapper.writeValueAsBytes(answers);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+        restoreProperty(GrobidPropertyKeys.PROP_GLUTTON_HOST, originalHost);
+        restoreProperty(GrobidPropertyKeys.PROP_GLUTTON_PORT, originalPort);
+    }
+
+    private static void restoreProperty(String key, Object value) {
+        if (value == null) {
+            GrobidProperties.getProps().remove(key);
+        } else {
+            GrobidProperties.getProps().put(key, value);
+        }
+    }
+
+    private static Map<String, String> query(String doi, String rawCitation) {
+        Map<String, String> params = new HashMap<>();
+        if (doi != null)
+            params.put("DOI", doi);
+        params.put("query.bibliographic", rawCitation);
+        return params;
+    }
+
+    @Test
+    public void testExecute_shouldNotifyEachReference() throws Exception {
+        List<Collector> collectors = Arrays.asList(new Collector(), new Collector());
+        new GluttonBatchRequest<String>("http://localhost:" + server.getAddress().getPort() + GluttonBatchRequest.BATCH_PATH,
+            Arrays.asList(query("10.1000/a", "first"), query(null, "second")), new DoiDeserializer(),
+            new ArrayList<CrossrefRequestListener<String>>(collectors)).execute();
+
+        assertThat(nbRequests.get(), is(1));
+        assertThat(collectors.get(0).status, is(200));
+        assertThat(collectors.get(0).results, is(Arrays.asList("10.1000/a")));
+        assertThat(collectors.get(1).status, is(404));
+        assertThat(collectors.get(1).results, nullValue());
+    }
+
+    @Test
+    public void testPushBatchRequest_shouldMapAnswersBackToReferences() throws Exception {
+        GrobidProperties.setPropertyValue(GrobidPropertyKeys.PROP_GLUTTON_HOST, "localhost");
+        GrobidProperties.setPropertyValue(GrobidPropertyKeys.PROP_GLUTTON_PORT, String.valueOf(server.getAddress().getPort()));
+
+        List<Map<String, String>> params = new ArrayList<>();
+        List<CrossrefRequestListener<String>> listeners = new ArrayList<>();
+        List<Collector> collectors = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            params.add(query(i == 3 ? null : "10.1000/" + i, "citation " + i));
+            Collector collector = new Collector();
+            collectors.add(collector);
+            listeners.add(collector);
+        }
+        long threadId = Thread.currentThread().getId();
+        GluttonClient client = GluttonClient.getInstance();
+        client.pushBatchRequest(params, new DoiDeserializer(), threadId, listeners, 2);
+        client.finish(threadId);
+
+        assertThat(nbRequests.get(), is(3));
+        for (int i = 0; i < 5; i++) {
+            if (i == 3) {
+                assertThat(collectors.get(i).status, is(404));
+            } else {
+                assertThat(collectors.get(i).results, is(Arrays.asList("10.1000/" + i)));
+            }
+        }
+    }
+}
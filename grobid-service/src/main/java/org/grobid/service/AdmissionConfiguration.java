@@ -0,0 +1,88 @@
+package org.grobid.service;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Limits of the processing requests admitted by the service, see {@link org.grobid.service.admission.AdmissionFilter}.
+ * A maximum of 0 processed requests stands for the size of the engine pool.
+ */
+public class AdmissionConfiguration {
+    @JsonProperty
+    private boolean enabled = true;
+
+    @JsonProperty
+    private int maxProcessedDocuments = 0;
+
+    @JsonProperty
+    private int maxQueuedDocuments = 20;
+
+    @JsonProperty
+    private int maxProcessedTexts = 0;
+
+    @JsonProperty
+    private int maxQueuedTexts = 100;
+
+    // in seconds
+    @JsonProperty
+    private int maxQueueWait = 60;
+
+    // in seconds
+    @JsonProperty
+    private int retryAfter = 10;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxProcessedDocuments() {
+        return maxProcessedDocuments;
+    }
+
+    public void setMaxProcessedDocuments(int maxProcessedDocuments) {
+        this.maxProcessedDocuments = maxProcessedDocuments;
+    }
+
+    public int getMaxQueuedDocuments() {
+        return maxQueuedDocuments;
+    }
+
+    public void setMaxQueuedDocuments(int maxQueuedDocuments) {
+        this.maxQueuedDocuments = maxQueuedDocuments;
+    }
+
+    public int getMaxProcessedTexts() {
+        return maxProcessedTexts;
+    }
+
+    public void setMaxProcessedTexts(int maxProcessedTexts) {
+        this.maxProcessedTexts = maxProcessedTexts;
+    }
+
+    public int getMaxQueuedTexts() {
+        return maxQueuedTexts;
+    }
+
+    public void setMaxQueuedTexts(int maxQueuedTexts) {
+        this.maxQueuedTexts = maxQueuedTexts;
+    }
+
+    public int getMaxQueueWait() {
+        return maxQueueWait;
+    }
+
+    public void setMaxQueueWait(int maxQueueWait) {
+        this.maxQueueWait = maxQueueWait;
+    }
+
+    public int getRetryAfter() {
+        return retryAfter;
+    }
+
+    public void setRetryAfter(int retryAfter) {
+        this.retryAfter = retryAfter;
+    }
+}
@@ -0,0 +1,44 @@
+package org.grobid.service;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Settings of the cache of the results of the PDF services, see {@link org.grobid.service.cache.ResultCache}.
+ */
+public class CacheConfiguration {
+    @JsonProperty
+    private boolean enabled = false;
+
+    // in megabytes, total size of the cached results
+    @JsonProperty
+    private int maxSize = 1024;
+
+    // directory of the cached results, by default the cache directory under the work path of grobid, which the
+    // cleaning of the old temporary files does not touch
+    @JsonProperty
+    private String directory;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+}
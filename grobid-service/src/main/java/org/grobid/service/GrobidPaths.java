@@ -46,6 +46,11 @@ public interface GrobidPaths {
 	 */
 	String PATH_FULL_TEXT_ASSET = "processFulltextAssetDocument";
 
+	/**
+	 * path extension for processing full text of a batch of documents.
+	 */
+	String PATH_FULL_TEXT_BATCH = "processFulltextBatch";
+
 	/**
 	 * path extension for processing full text of documents.
 	 */
@@ -140,4 +145,14 @@ public interface GrobidPaths {
 	 * path extension for getting version
 	 */
 	String PATH_GET_VERSION = "version";
+
+	/**
+	 * path extension for getting the state of the engine pool, which is resized on the admin connector
+	 */
+	String PATH_ENGINE_POOL = "enginePool";
+
+	/**
+	 * path extension for the asynchronous processing jobs
+	 */
+	String PATH_JOBS = "jobs";
 }
@@ -11,12 +11,16 @@ import org.grobid.core.utilities.GrobidProperties;
 import org.grobid.core.engines.Engine;
 import org.grobid.core.factory.GrobidPoolingFactory;
 
+import org.grobid.service.jobs.Job;
+import org.grobid.service.process.GrobidRestProcessBatch;
 import org.grobid.service.process.GrobidRestProcessFiles;
 import org.grobid.service.process.GrobidRestProcessGeneric;
+import org.grobid.service.process.GrobidRestProcessJobs;
 import org.grobid.service.process.GrobidRestProcessString;
 import org.grobid.service.util.BibTexMediaType;
 import org.grobid.service.util.ExpectedResponseType;
 import org.grobid.service.util.GrobidRestUtils;
+import org.grobid.service.util.NdjsonMediaType;
 import org.grobid.service.util.ZipUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -65,6 +69,12 @@ public class GrobidRestService implements GrobidPaths {
     @Inject
     private GrobidRestProcessString restProcessString;
 
+    @Inject
+    private GrobidRestProcessJobs restProcessJobs;
+
+    @Inject
+    private GrobidRestProcessBatch restProcessBatch;
+
     @Inject
     public GrobidRestService(GrobidServiceConfiguration configuration) {
         GrobidProperties.set_GROBID_HOME_PATH(new File(configuration.getGrobid().getGrobidHome()).getAbsolutePath());
@@ -114,6 +124,16 @@ public class GrobidRestService implements GrobidPaths {
         return restProcessGeneric.getVersion();
     }
 
+    /**
+     * @see org.grobid.service.process.GrobidRestProcessGeneric#getEnginePool()
+     */
+    @Path(GrobidPaths.PATH_ENGINE_POOL)
+    @Produces(MediaType.APPLICATION_JSON)
+    @GET
+    public Response getEnginePool() {
+        return restProcessGeneric.getEnginePool();
+    }
+
     /**
      * @see org.grobid.service.process.GrobidRestProcessGeneric#getDescription_html(UriInfo)
      */
@@ -344,6 +364,282 @@ public class GrobidRestService implements GrobidPaths {
         );
     }
 
+    @Path(PATH_FULL_TEXT_BATCH)
+    @Consumes(MediaType.MULTIPART_FORM_DATA)
+    @Produces("application/zip")
+    @POST
+    public Response processFulltextBatchReturnZip_post(
+        @FormDataParam(INPUT) List<FormDataBodyPart> inputs,
+        @DefaultValue("0") @FormDataParam(CONSOLIDATE_HEADER) String consolidateHeader,
+        @DefaultValue("0") @FormDataParam(CONSOLIDATE_CITATIONS) String consolidateCitations,
+        @DefaultValue("0") @FormDataParam(INCLUDE_RAW_AFFILIATIONS) String includeRawAffiliations,
+        @DefaultValue("0") @FormDataParam(INCLUDE_RAW_CITATIONS) String includeRawCitations,
+        @DefaultValue("-1") @FormDataParam("start") int startPage,
+        @DefaultValue("-1") @FormDataParam("end") int endPage,
+        @FormDataParam("generateIDs") String generateIDs,
+        @FormDataParam("segmentSentences") String segmentSentences,
+        @FormDataParam("teiCoordinates") List<FormDataBodyPart> coordinates) {
+        return processFulltextBatch(
+            inputs, consolidateHeader, consolidateCitations,
+            includeRawAffiliations, includeRawCitations,
+            startPage, endPage, generateIDs, segmentSentences, coordinates, ExpectedResponseType.ZIP
+        );
+    }
+
+    @Path(PATH_FULL_TEXT_BATCH)
+    @Consumes(MediaType.MULTIPART_FORM_DATA)
+    @Produces("application/zip")
+    @PUT
+    public Response processFulltextBatchReturnZip(
+        @FormDataParam(INPUT) List<FormDataBodyPart> inputs,
+        @DefaultValue("0") @FormDataParam(CONSOLIDATE_HEADER) String consolidateHeader,
+        @DefaultValue("0") @FormDataParam(CONSOLIDATE_CITATIONS) String consolidateCitations,
+        @DefaultValue("0") @FormDataParam(INCLUDE_RAW_AFFILIATIONS) String includeRawAffiliations,
+        @DefaultValue("0") @FormDataParam(INCLUDE_RAW_CITATIONS) String includeRawCitations,
+        @DefaultValue("-1") @FormDataParam("start") int startPage,
+        @DefaultValue("-1") @FormDataParam("end") int endPage,
+        @FormDataParam("generateIDs") String generateIDs,
+        @FormDataParam("segmentSentences") String segmentSentences,
+        @FormDataParam("teiCoordinates") List<FormDataBodyPart> coordinates) {
+        return processFulltextBatch(
+            inputs, consolidateHeader, consolidateCitations,
+            includeRawAffiliations, includeRawCitations,
+            startPage, endPage, generateIDs, segmentSentences, coordinates, ExpectedResponseType.ZIP
+        );
+    }
+
+    @Path(PATH_FULL_TEXT_BATCH)
+    @Consumes(MediaType.MULTIPART_FORM_DATA)
+    @Produces(NdjsonMediaType.MEDIA_TYPE)
+    @POST
+    public Response processFulltextBatchReturnNdjson_post(
+        @FormDataParam(INPUT) List<FormDataBodyPart> inputs,
+        @DefaultValue("0") @FormDataParam(CONSOLIDATE_HEADER) String consolidateHeader,
+        @DefaultValue("0") @FormDataParam(CONSOLIDATE_CITATIONS) String consolidateCitations,
+        @DefaultValue("0") @FormDataParam(INCLUDE_RAW_AFFILIATIONS) String includeRawAffiliations,
+        @DefaultValue("0") @FormDataParam(INCLUDE_RAW_CITATIONS) String includeRawCitations,
+        @DefaultValue("-1") @FormDataParam("start") int startPage,
+        @DefaultValue("-1") @FormDataParam("end") int endPage,
+        @FormDataParam("generateIDs") String generateIDs,
+        @FormDataParam("segmentSentences") String segmentSentences,
+        @FormDataParam("teiCoordinates") List<FormDataBodyPart> coordinates) {
+        return processFulltextBatch(
+            inputs, consolidateHeader, consolidateCitations,
+            includeRawAffiliations, includeRawCitations,
+            startPage, endPage, generateIDs, segmentSentences, coordinates, ExpectedResponseType.NDJSON
+        );
+    }
+
+    @Path(PATH_FULL_TEXT_BATCH)
+    @Consumes(MediaType.MULTIPART_FORM_DATA)
+    @Produces(NdjsonMediaType.MEDIA_TYPE)
+    @PUT
+    public Response processFulltextBatchReturnNdjson(
+        @FormDataParam(INPUT) List<FormDataBodyPart> inputs,
+        @DefaultValue("0") @FormDataParam(CONSOLIDATE_HEADER) String consolidateHeader,
+        @DefaultValue("0") @FormDataParam(CONSOLIDATE_CITATIONS) String consolidateCitations,
+        @DefaultValue("0") @FormDataParam(INCLUDE_RAW_AFFILIATIONS) String includeRawAffiliations,
+        @DefaultValue("0") @FormDataParam(INCLUDE_RAW_CITATIONS) String includeRawCitations,
+        @DefaultValue("-1") @FormDataParam("start") int startPage,
+        @DefaultValue("-1") @FormDataParam("end") int endPage,
+        @FormDataParam("generateIDs") String generateIDs,
+        @FormDataParam("segmentSentences") String segmentSentences,
+        @FormDataParam("teiCoordinates") List<FormDataBodyPart> coordinates) {
+        return processFulltextBatch(
+            inputs, consolidateHeader, consolidateCitations,
+            includeRawAffiliations, includeRawCitations,
+            startPage, endPage, generateIDs, segmentSentences, coordinates, ExpectedResponseType.NDJSON
+        );
+    }
+
+    private Response processFulltextBatch(List<FormDataBodyPart> inputs,
+                                          String consolidateHeader,
+                                          String consolidateCitations,
+                                          String includeRawAffiliations,
+                                          String includeRawCitations,
+                                          int startPage,
+                                          int endPage,
+                                          String generateIDs,
+                                          String segmentSentences,
+                                          List<FormDataBodyPart> coordinates,
+                                          ExpectedResponseType expectedResponseType) {
+        return restProcessBatch.processFulltextBatch(
+            inputs,
+            validateConsolidationParam(consolidateHeader),
+            validateConsolidationParam(consolidateCitations),
+            validateIncludeRawParam(includeRawAffiliations),
+            validateIncludeRawParam(includeRawCitations),
+            startPage, endPage,
+            validateGenerateIdParam(generateIDs),
+            validateGenerateIdParam(segmentSentences),
+            collectCoordinates(coordinates),
+            expectedResponseType
+        );
+    }
+
+    /**
+     * @see org.grobid.service.process.GrobidRestProcessJobs#submitFulltextDocument
+     */
+    @Path(PATH_JOBS + "/" + PATH_FULL_TEXT)
+    @Consumes(MediaType.MULTIPART_FORM_DATA)
+    @Produces(MediaType.APPLICATION_JSON)
+    @POST
+    public Response submitFulltextJob_post(
+        @FormDataParam(INPUT) InputStream inputStream,
+        @DefaultValue("0") @FormDataParam(CONSOLIDATE_HEADER) String consolidateHeader,
+        @DefaultValue("0") @FormDataParam(CONSOLIDATE_CITATIONS) String consolidateCitations,
+        @DefaultValue("0") @FormDataParam(INCLUDE_RAW_AFFILIATIONS) String includeRawAffiliations,
+        @DefaultValue("0") @FormDataParam(INCLUDE_RAW_CITATIONS) String includeRawCitations,
+        @DefaultValue("-1") @FormDataParam("start") int startPage,
+        @DefaultValue("-1") @FormDataParam("end") int endPage,
+        @FormDataParam("generateIDs") String generateIDs,
+        @FormDataParam("segmentSentences") String segmentSentences,
+        @FormDataParam("teiCoordinates") List<FormDataBodyPart> coordinates) {
+        return submitFulltextJob(
+            Job.Type.TEI, inputStream, consolidateHeader, consolidateCitations,
+            includeRawAffiliations, includeRawCitations,
+            startPage, endPage, generateIDs, segmentSentences, coordinates
+        );
+    }
+
+    /**
+     * @see org.grobid.service.process.GrobidRestProcessJobs#submitFulltextDocument
+     */
+    @Path(PATH_JOBS + "/" + PATH_FULL_TEXT)
+    @Consumes(MediaType.MULTIPART_FORM_DATA)
+    @Produces(MediaType.APPLICATION_JSON)
+    @PUT
+    public Response submitFulltextJob(
+        @FormDataParam(INPUT) InputStream inputStream,
+        @DefaultValue("0") @FormDataParam(CONSOLIDATE_HEADER) String consolidateHeader,
+        @DefaultValue("0") @FormDataParam(CONSOLIDATE_CITATIONS) String consolidateCitations,
+        @DefaultValue("0") @FormDataParam(INCLUDE_RAW_AFFILIATIONS) String includeRawAffiliations,
+        @DefaultValue("0") @FormDataParam(INCLUDE_RAW_CITATIONS) String includeRawCitations,
+        @DefaultValue("-1") @FormDataParam("start") int startPage,
+        @DefaultValue("-1") @FormDataParam("end") int endPage,
+        @FormDataParam("generateIDs") String generateIDs,
+        @FormDataParam("segmentSentences") String segmentSentences,
+        @FormDataParam("teiCoordinates") List<FormDataBodyPart> coordinates) {
+        return submitFulltextJob(
+            Job.Type.TEI, inputStream, consolidateHeader, consolidateCitations,
+            includeRawAffiliations, includeRawCitations,
+            startPage, endPage, generateIDs, segmentSentences, coordinates
+        );
+    }
+
+    /**
+     * @see org.grobid.service.process.GrobidRestProcessJobs#submitFulltextDocument
+     */
+    @Path(PATH_JOBS + "/" + PATH_FULL_TEXT_ASSET)
+    @Consumes(MediaType.MULTIPART_FORM_DATA)
+    @Produces(MediaType.APPLICATION_JSON)
+    @POST
+    public Response submitFulltextAssetJob_post(
+        @FormDataParam(INPUT) InputStream inputStream,
+        @DefaultValue("0") @FormDataParam(CONSOLIDATE_HEADER) String consolidateHeader,
+        @DefaultValue("0") @FormDataParam(CONSOLIDATE_CITATIONS) String consolidateCitations,
+        @DefaultValue("0") @FormDataParam(INCLUDE_RAW_AFFILIATIONS) String includeRawAffiliations,
+        @DefaultValue("0") @FormDataParam(INCLUDE_RAW_CITATIONS) String includeRawCitations,
+        @DefaultValue("-1") @FormDataParam("start") int startPage,
+        @DefaultValue("-1") @FormDataParam("end") int endPage,
+        @FormDataParam("generateIDs") String generateIDs,
+        @FormDataParam("segmentSentences") String segmentSentences,
+        @FormDataParam("teiCoordinates") List<FormDataBodyPart> coordinates) {
+        return submitFulltextJob(
+            Job.Type.ASSETS, inputStream, consolidateHeader, consolidateCitations,
+            includeRawAffiliations, includeRawCitations,
+            startPage, endPage, generateIDs, segmentSentences, coordinates
+        );
+    }
+
+    /**
+     * @see org.grobid.service.process.GrobidRestProcessJobs#submitFulltextDocument
+     */
+    @Path(PATH_JOBS + "/" + PATH_FULL_TEXT_ASSET)
+    @Consumes(MediaType.MULTIPART_FORM_DATA)
+    @Produces(MediaType.APPLICATION_JSON)
+    @PUT
+    public Response submitFulltextAssetJob(
+        @FormDataParam(INPUT) InputStream inputStream,
+        @DefaultValue("0") @FormDataParam(CONSOLIDATE_HEADER) String consolidateHeader,
+        @DefaultValue("0") @FormDataParam(CONSOLIDATE_CITATIONS) String consolidateCitations,
+        @DefaultValue("0") @FormDataParam(INCLUDE_RAW_AFFILIATIONS) String includeRawAffiliations,
+        @DefaultValue("0") @FormDataParam(INCLUDE_RAW_CITATIONS) String includeRawCitations,
+        @DefaultValue("-1") @FormDataParam("start") int startPage,
+        @DefaultValue("-1") @FormDataParam("end") int endPage,
+        @FormDataParam("generateIDs") String generateIDs,
+        @FormDataParam("segmentSentences") String segmentSentences,
+        @FormDataParam("teiCoordinates") List<FormDataBodyPart> coordinates) {
+        return submitFulltextJob(
+            Job.Type.ASSETS, inputStream, consolidateHeader, consolidateCitations,
+            includeRawAffiliations, includeRawCitations,
+            startPage, endPage, generateIDs, segmentSentences, coordinates
+        );
+    }
+
+    private Response submitFulltextJob(Job.Type type,
+                                       InputStream inputStream,
+                                       String consolidateHeader,
+                                       String consolidateCitations,
+                                       String includeRawAffiliations,
+                                       String includeRawCitations,
+                                       int startPage,
+                                       int endPage,
+                                       String generateIDs,
+                                       String segmentSentences,
+                                       List<FormDataBodyPart> coordinates) {
+        return restProcessJobs.submitFulltextDocument(
+            type, inputStream,
+            validateConsolidationParam(consolidateHeader),
+            validateConsolidationParam(consolidateCitations),
+            validateIncludeRawParam(includeRawAffiliations),
+            validateIncludeRawParam(includeRawCitations),
+            startPage, endPage,
+            validateGenerateIdParam(generateIDs),
+            validateGenerateIdParam(segmentSentences),
+            collectCoordinates(coordinates)
+        );
+    }
+
+    /**
+     * @see org.grobid.service.process.GrobidRestProcessJobs#getJobs()
+     */
+    @Path(PATH_JOBS)
+    @Produces(MediaType.APPLICATION_JSON)
+    @GET
+    public Response getJobs() {
+        return restProcessJobs.getJobs();
+    }
+
+    /**
+     * @see org.grobid.service.process.GrobidRestProcessJobs#getJob(String)
+     */
+    @Path(PATH_JOBS + "/{id}")
+    @Produces(MediaType.APPLICATION_JSON)
+    @GET
+    public Response getJob(@PathParam("id") String id) {
+        return restProcessJobs.getJob(id);
+    }
+
+    /**
+     * @see org.grobid.service.process.GrobidRestProcessJobs#getJobResult(String, int)
+     */
+    @Path(PATH_JOBS + "/{id}/result")
+    @GET
+    public Response getJobResult(@PathParam("id") String id, @DefaultValue("0") @QueryParam("wait") int wait) {
+        return restProcessJobs.getJobResult(id, wait);
+    }
+
+    /**
+     * @see org.grobid.service.process.GrobidRestProcessJobs#removeJob(String)
+     */
+    @Path(PATH_JOBS + "/{id}")
+    @Produces(MediaType.APPLICATION_JSON)
+    @DELETE
+    public Response removeJob(@PathParam("id") String id) {
+        return restProcessJobs.removeJob(id);
+    }
+
     /*@Path(PATH_CITATION_PATENT_TEI)
     @Consumes(MediaType.MULTIPART_FORM_DATA)
     @Produces(MediaType.APPLICATION_XML)
@@ -25,6 +25,19 @@ public class GrobidServicePropConfiguration {
     @JsonProperty
     private String corsAllowedHeaders = "X-Requested-With,Content-Type,Accept,Origin";
 
+    // maximum size of the engine pool settable at runtime on the admin connector, 0 for the initial size
+    @JsonProperty
+    private int maxEnginePoolSize = 0;
+
+    @JsonProperty
+    private AdmissionConfiguration admission = new AdmissionConfiguration();
+
+    @JsonProperty
+    private JobConfiguration jobs = new JobConfiguration();
+
+    @JsonProperty
+    private CacheConfiguration cache = new CacheConfiguration();
+
     public String getGrobidHome() {
         return grobidHome;
     }
@@ -80,4 +93,36 @@ public class GrobidServicePropConfiguration {
     public void setCorsAllowedHeaders(String corsAllowedHeaders) {
         this.corsAllowedHeaders = corsAllowedHeaders;
     }
+
+    public int getMaxEnginePoolSize() {
+        return maxEnginePoolSize;
+    }
+
+    public void setMaxEnginePoolSize(int maxEnginePoolSize) {
+        this.maxEnginePoolSize = maxEnginePoolSize;
+    }
+
+    public AdmissionConfiguration getAdmission() {
+        return admission;
+    }
+
+    public void setAdmission(AdmissionConfiguration admission) {
+        this.admission = admission;
+    }
+
+    public JobConfiguration getJobs() {
+        return jobs;
+    }
+
+    public void setJobs(JobConfiguration jobs) {
+        this.jobs = jobs;
+    }
+
+    public CacheConfiguration getCache() {
+        return cache;
+    }
+
+    public void setCache(CacheConfiguration cache) {
+        this.cache = cache;
+    }
 }
@@ -0,0 +1,69 @@
+package org.grobid.service;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Settings of the asynchronous processing jobs, see {@link org.grobid.service.jobs.JobManager}.
+ */
+public class JobConfiguration {
+    // number of documents processed at the same time by the jobs, sharing the engine pool with the other requests
+    @JsonProperty
+    private int workers = 2;
+
+    // maximum number of jobs kept in the store, queued, running or finished
+    @JsonProperty
+    private int maxJobs = 100;
+
+    // in seconds, time the result of a finished job is kept
+    @JsonProperty
+    private int expiry = 3600;
+
+    // in seconds, maximum time a request for a result waits for the job to finish
+    @JsonProperty
+    private int maxWait = 60;
+
+    // directory of the input and result files, by default the jobs directory under the work path of grobid, which
+    // the cleaning of the old temporary files does not touch
+    @JsonProperty
+    private String directory;
+
+    public int getWorkers() {
+        return workers;
+    }
+
+    public void setWorkers(int workers) {
+        this.workers = workers;
+    }
+
+    public int getMaxJobs() {
+        return maxJobs;
+    }
+
+    public void setMaxJobs(int maxJobs) {
+        this.maxJobs = maxJobs;
+    }
+
+    public int getExpiry() {
+        return expiry;
+    }
+
+    public void setExpiry(int expiry) {
+        this.expiry = expiry;
+    }
+
+    public int getMaxWait() {
+        return maxWait;
+    }
+
+    public void setMaxWait(int maxWait) {
+        this.maxWait = maxWait;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+}
@@ -0,0 +1,47 @@
+package org.grobid.service.admin;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableMultimap;
+import com.google.common.collect.Iterables;
+import io.dropwizard.servlets.tasks.Task;
+import org.grobid.core.factory.GrobidPoolingFactory;
+
+import java.io.PrintWriter;
+
+/**
+ * Admin task changing the maximum number of engines of the pool without restarting the service, with
+ * POST /tasks/engine-pool-size?size=N on the admin connector. The size is bounded, each engine of the
+ * pool being created on demand and the admission limits following the size of the pool.
+ */
+public class EnginePoolSizeTask extends Task {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final String SIZE = "size";
+
+    private final int maxSize;
+
+    /**
+     * @param maxSize the maximum size of the pool which can be set
+     */
+    public EnginePoolSizeTask(int maxSize) {
+        super("engine-pool-size");
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public void execute(ImmutableMultimap<String, String> parameters, PrintWriter output) throws Exception {
+        String size = Iterables.getFirst(parameters.get(SIZE), null);
+        int newSize;
+        try {
+            newSize = Integer.parseInt(size);
+        } catch (NumberFormatException e) {
+            newSize = 0;
+        }
+        if (newSize < 1 || newSize > maxSize) {
+            output.println("Invalid pool size: " + size + ", the size must be between 1 and " + maxSize);
+            return;
+        }
+        GrobidPoolingFactory.setPoolSize(newSize);
+        output.println(MAPPER.writeValueAsString(GrobidPoolingFactory.getPoolStatistics()));
+    }
+}
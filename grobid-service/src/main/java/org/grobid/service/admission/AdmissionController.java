@@ -0,0 +1,119 @@
+package org.grobid.service.admission;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntSupplier;
+
+/**
+ * Bounds the number of requests of a class processed at the same time and the number of requests waiting
+ * for their turn, the other ones being rejected right away so that they can be retried on another node
+ * rather than piling up on a saturated one.
+ */
+public class AdmissionController {
+    private final String name;
+    private final IntSupplier maxProcessed;
+    private final int maxQueued;
+    private final long maxWaitNanos;
+
+    private final ReentrantLock lock = new ReentrantLock(true);
+    private final Condition released = lock.newCondition();
+    private int processed = 0;
+    private int queued = 0;
+    private long rejected = 0;
+
+    /**
+     * @param maxProcessed maximum number of requests processed at the same time, possibly changing at runtime
+     *                     like the size of the engine pool
+     * @param maxQueued    maximum number of requests waiting for being processed
+     * @param maxWait      maximum time a request waits in the queue, in milliseconds
+     */
+    public AdmissionController(String name, IntSupplier maxProcessed, int maxQueued, long maxWait) {
+        this.name = name;
+        this.maxProcessed = maxProcessed;
+        this.maxQueued = maxQueued;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWait);
+    }
+
+    /**
+     * Admits a request, waiting in the queue if the maximum of processed requests is reached.
+     * By contract, an admitted request must call {@link #release()} once processed.
+     *
+     * @return false if the request is rejected, the queue being full or the wait too long
+     */
+    public boolean admit() throws InterruptedException {
+        lock.lock();
+        try {
+            if (processed < maxProcessed.getAsInt()) {
+                processed++;
+                return true;
+            }
+            if (queued >= maxQueued) {
+                rejected++;
+                return false;
+            }
+            queued++;
+            try {
+                long nanos = maxWaitNanos;
+                while (processed >= maxProcessed.getAsInt()) {
+                    if (nanos <= 0) {
+                        rejected++;
+                        return false;
+                    }
+                    nanos = released.awaitNanos(nanos);
+                }
+                processed++;
+                return true;
+            } finally {
+                queued--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void release() {
+        lock.lock();
+        try {
+            processed--;
+            // all the waiting requests check again, the maximum may have been raised meanwhile
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getProcessed() {
+        lock.lock();
+        try {
+            return processed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the number of requests waiting for being processed
+     */
+    public int getQueued() {
+        lock.lock();
+        try {
+            return queued;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getRejected() {
+        lock.lock();
+        try {
+            return rejected;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
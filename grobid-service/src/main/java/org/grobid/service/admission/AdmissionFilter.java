@@ -0,0 +1,102 @@
+package org.grobid.service.admission;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.core.HttpHeaders;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Admission control of the processing requests of the REST service.
+ *
+ * The requests are admitted by the controller of their endpoint class before anything else, in particular
+ * before the upload of the document is read and written in a temporary file. When a controller rejects
+ * a request, the service answers right away with a 503 status and a Retry-After header, instead of
+ * blocking the request until an engine of the pool gets free.
+ */
+public class AdmissionFilter implements Filter {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AdmissionFilter.class);
+
+    // controller of each endpoint, by path under the root of the API
+    private final Map<String, AdmissionController> controllers = new HashMap<>();
+    private final int retryAfter;
+
+    /**
+     * @param retryAfter number of seconds after which a rejected request may be retried
+     */
+    public AdmissionFilter(int retryAfter) {
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Controls the processing requests of the given endpoints with the controller.
+     */
+    public AdmissionFilter control(AdmissionController controller, String... paths) {
+        for (String path : paths) {
+            controllers.put(path, controller);
+        }
+        return this;
+    }
+
+    /**
+     * @return the controller of the request, or null if the request is not controlled
+     */
+    AdmissionController getController(HttpServletRequest request) {
+        String method = request.getMethod();
+        if (!HttpMethod.POST.equals(method) && !HttpMethod.PUT.equals(method)) {
+            return null;
+        }
+        return controllers.get(StringUtils.strip(request.getPathInfo(), "/"));
+    }
+
+    @Override
+    public void init(FilterConfig filterConfig) {
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+        throws IOException, ServletException {
+        AdmissionController controller = getController((HttpServletRequest) request);
+        if (controller == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        boolean admitted;
+        try {
+            admitted = controller.admit();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            admitted = false;
+        }
+        if (!admitted) {
+            LOGGER.warn("Too many " + controller.getName() + " requests, sending service unavailable.");
+            HttpServletResponse httpResponse = (HttpServletResponse) response;
+            httpResponse.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+            httpResponse.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            return;
+        }
+
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            controller.release();
+        }
+    }
+
+    @Override
+    public void destroy() {
+    }
+}
@@ -0,0 +1,167 @@
+package org.grobid.service.cache;
+
+import org.apache.commons.io.FileUtils;
+import org.grobid.core.exceptions.GrobidResourceException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache of strings in the files of a directory, bounded by the total size of the files, the least recently
+ * used entries being removed first. The entries of a previous run are kept, in the order of the last
+ * modification of their file. The files or the directory removed by another process are forgotten, the
+ * directory being created again at the next entry.
+ */
+public class DiskLruCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DiskLruCache.class);
+
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final File directory;
+    private final long maxSize;
+
+    // size of each entry, in access order
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long size = 0;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * @param maxSize maximum total size of the entries, in bytes
+     */
+    public DiskLruCache(File directory, long maxSize) {
+        this.directory = directory;
+        this.maxSize = maxSize;
+        try {
+            FileUtils.forceMkdir(directory);
+        } catch (IOException e) {
+            throw new GrobidResourceException("Cannot initialize the cache directory " + directory.getPath(), e);
+        }
+
+        File[] files = directory.listFiles();
+        if (files != null) {
+            Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+            for (File file : files) {
+                if (file.getName().endsWith(TEMP_SUFFIX)) {
+                    FileUtils.deleteQuietly(file);
+                } else if (file.isFile()) {
+                    entries.put(file.getName(), file.length());
+                    size += file.length();
+                }
+            }
+        }
+        evict();
+    }
+
+    /**
+     * @param key name of a file, e.g. a hash value
+     * @return the cached value, or null if the key is not in the cache
+     */
+    public String get(String key) {
+        synchronized (this) {
+            if (entries.get(key) == null) {
+                misses.incrementAndGet();
+                return null;
+            }
+        }
+        File file = new File(directory, key);
+        try {
+            String value = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+            // keeps the order of use for the next run
+            file.setLastModified(System.currentTimeMillis());
+            hits.incrementAndGet();
+            return value;
+        } catch (IOException e) {
+            // evicted in the meantime, or removed by another process
+            synchronized (this) {
+                if (!file.exists()) {
+                    remove(key);
+                }
+            }
+            misses.incrementAndGet();
+            return null;
+        }
+    }
+
+    /**
+     * Caches a value, the least recently used entries being removed if the cache is full.
+     * A value larger than the cache is ignored.
+     */
+    public void put(String key, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > maxSize) {
+            return;
+        }
+        try {
+            if (!directory.isDirectory()) {
+                synchronized (this) {
+                    if (!directory.isDirectory()) {
+                        LOGGER.warn("The cache directory " + directory.getPath() + " was removed, creating it again");
+                        FileUtils.forceMkdir(directory);
+                        entries.clear();
+                        size = 0;
+                    }
+                }
+            }
+            // written aside so that the readers never see a partial file
+            File temp = File.createTempFile("entry", TEMP_SUFFIX, directory);
+            Files.write(temp.toPath(), bytes);
+            synchronized (this) {
+                Files.move(temp.toPath(), new File(directory, key).toPath(), StandardCopyOption.REPLACE_EXISTING);
+                Long previous = entries.put(key, (long) bytes.length);
+                size += bytes.length - (previous == null ? 0 : previous);
+                evict();
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Cannot cache the entry " + key, e);
+        }
+    }
+
+    private void remove(String key) {
+        Long previous = entries.remove(key);
+        if (previous != null) {
+            size -= previous;
+        }
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<String, Long>> iterator = entries.entrySet().iterator();
+        while (size > maxSize && iterator.hasNext()) {
+            Map.Entry<String, Long> eldest = iterator.next();
+            iterator.remove();
+            size -= eldest.getValue();
+            FileUtils.deleteQuietly(new File(directory, eldest.getKey()));
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * @return the total size of the entries, in bytes
+     */
+    public synchronized long getSize() {
+        return size;
+    }
+
+    public synchronized int getCount() {
+        return entries.size();
+    }
+}
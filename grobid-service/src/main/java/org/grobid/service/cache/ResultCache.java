@@ -0,0 +1,160 @@
+package org.grobid.service.cache;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import org.grobid.core.utilities.GrobidProperties;
+import org.grobid.core.utilities.GrobidPropertyKeys;
+import org.grobid.core.utilities.SHA1;
+import org.grobid.service.CacheConfiguration;
+import org.grobid.service.GrobidServiceConfiguration;
+import org.grobid.service.util.GrobidRestUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Cache of the results of the PDF services, so that a document submitted again with the same parameters
+ * is answered without being processed and without borrowing an engine.
+ *
+ * A result is cached under the hash of the content of the document, of the service, of its parameters and
+ * of the version of GROBID, of the models and of the settings changing the results (tagging engines,
+ * consolidation service, sentence detector). The results obtained with consolidation are cached as well,
+ * the cache being cleared by removing its directory.
+ */
+@Singleton
+public class ResultCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ResultCache.class);
+
+    // grobid properties changing the results besides the models, the engine of each model having its own key
+    private static final List<String> SETTINGS = Arrays.asList(
+        GrobidPropertyKeys.PROP_GROBID_DELFT_ELMO,
+        GrobidPropertyKeys.PROP_SENTENCE_DETECTOR_FACTORY,
+        GrobidPropertyKeys.PROP_CONSOLIDATION_SERVICE,
+        GrobidPropertyKeys.PROP_GLUTTON_HOST,
+        GrobidPropertyKeys.PROP_GLUTTON_PORT,
+        GrobidPropertyKeys.PROP_CROSSREF_HOST,
+        GrobidPropertyKeys.PROP_CROSSREF_PORT
+    );
+
+    private final CacheConfiguration configuration;
+
+    // initialized at the first request, once the grobid properties giving the paths are loaded
+    private volatile DiskLruCache cache = null;
+    private String modelVersion = null;
+
+    @Inject
+    public ResultCache(GrobidServiceConfiguration configuration, MetricRegistry metrics) {
+        this.configuration = configuration.getGrobid().getCache();
+        if (this.configuration.isEnabled()) {
+            metrics.register("cache.hits", (Gauge<Long>) () -> cache == null ? 0 : cache.getHits());
+            metrics.register("cache.misses", (Gauge<Long>) () -> cache == null ? 0 : cache.getMisses());
+            metrics.register("cache.entries", (Gauge<Integer>) () -> cache == null ? 0 : cache.getCount());
+            metrics.register("cache.size", (Gauge<Long>) () -> cache == null ? 0 : cache.getSize());
+        }
+    }
+
+    private synchronized DiskLruCache getCache() {
+        if (cache == null) {
+            File directory = configuration.getDirectory() != null ? new File(configuration.getDirectory())
+                : new File(GrobidProperties.getWorkPath(), "cache");
+            modelVersion = getModelVersion(GrobidProperties.getVersion(), GrobidProperties.getModelPath(),
+                getSettings(GrobidProperties.getProps(), GrobidProperties.getConsolidationService().toString()));
+            cache = new DiskLruCache(directory, configuration.getMaxSize() * 1024L * 1024L);
+        }
+        return cache;
+    }
+
+    /**
+     * @param input      the uploaded document
+     * @param service    the path of the service
+     * @param parameters the parameters of the service changing its result
+     * @return the key of the result of the service, or null if the cache is disabled
+     */
+    public String key(File input, String service, Object... parameters) {
+        if (!configuration.isEnabled()) {
+            return null;
+        }
+        getCache();
+        StringBuilder key = new StringBuilder();
+        try {
+            key.append(SHA1.getSHA1(input));
+        } catch (IOException e) {
+            LOGGER.warn("Cannot hash the input file " + input.getPath(), e);
+            return null;
+        }
+        key.append('\t').append(service);
+        for (Object parameter : parameters) {
+            key.append('\t').append(parameter);
+        }
+        key.append('\t').append(modelVersion);
+        return SHA1.getSHA1(key.toString());
+    }
+
+    /**
+     * @return the cached result, or null if there is none
+     */
+    public String get(String key) {
+        if (key == null) {
+            return null;
+        }
+        return getCache().get(key);
+    }
+
+    /**
+     * Caches a result, the empty results being not cached.
+     */
+    public void put(String key, String result) {
+        if (key == null || GrobidRestUtils.isResultNullOrEmpty(result)) {
+            return;
+        }
+        getCache().put(key, result);
+    }
+
+    /**
+     * @param consolidationService the consolidation service in use, which can be set without its property
+     * @return the grobid settings changing the results besides the models, in a stable order
+     */
+    static String getSettings(Properties properties, String consolidationService) {
+        Map<String, String> settings = new TreeMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            if (key.startsWith(GrobidPropertyKeys.PROP_GROBID_CRF_ENGINE) || SETTINGS.contains(key)) {
+                settings.put(key, properties.getProperty(key));
+            }
+        }
+        settings.put(GrobidPropertyKeys.PROP_CONSOLIDATION_SERVICE, consolidationService);
+        return settings.toString();
+    }
+
+    /**
+     * @return an identifier of the version of GROBID, of the models and of the settings, changing when a model
+     * file is updated or when a setting changes
+     */
+    static String getModelVersion(String version, File modelPath, String settings) {
+        StringBuilder models = new StringBuilder(version).append('\n').append(settings);
+        try (Stream<Path> paths = Files.walk(modelPath.toPath())) {
+            Iterator<Path> iterator = paths.filter(Files::isRegularFile).sorted().iterator();
+            while (iterator.hasNext()) {
+                File file = iterator.next().toFile();
+                models.append('\n').append(file.getPath())
+                    .append('\t').append(file.length())
+                    .append('\t').append(file.lastModified());
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Cannot list the model files under " + modelPath.getPath(), e);
+        }
+        return SHA1.getSHA1(models.toString());
+    }
+}
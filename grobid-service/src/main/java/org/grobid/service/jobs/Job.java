@@ -0,0 +1,131 @@
+package org.grobid.service.jobs;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An asynchronous processing of a document, serialized in JSON as its status.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class Job {
+    public enum Type {
+        // TEI of the full text
+        TEI,
+        // ZIP archive of the TEI of the full text and the images
+        ASSETS
+    }
+
+    public enum Status {
+        QUEUED, RUNNING, DONE, FAILED
+    }
+
+    private final String id;
+    private final Type type;
+    private final long submitted;
+
+    private volatile Status status = Status.QUEUED;
+    private volatile Long started;
+    private volatile Long finished;
+    private volatile String error;
+    private volatile boolean result = false;
+    private volatile Future<?> future;
+    private final CountDownLatch done = new CountDownLatch(1);
+
+    Job(String id, Type type) {
+        this.id = id;
+        this.type = type;
+        this.submitted = System.currentTimeMillis();
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * @return the submission time, in milliseconds since the epoch
+     */
+    public long getSubmitted() {
+        return submitted;
+    }
+
+    public Long getStarted() {
+        return started;
+    }
+
+    public Long getFinished() {
+        return finished;
+    }
+
+    /**
+     * @return the message of the error of a failed job
+     */
+    public String getError() {
+        return error;
+    }
+
+    /**
+     * @return false if the job is done but its result is empty
+     */
+    public boolean hasResult() {
+        return result;
+    }
+
+    public boolean hasFinished() {
+        return status == Status.DONE || status == Status.FAILED;
+    }
+
+    /**
+     * Waits for the job to finish.
+     *
+     * @param timeout maximum time to wait, in milliseconds
+     * @return true if the job is finished
+     */
+    public boolean await(long timeout) throws InterruptedException {
+        return done.await(timeout, TimeUnit.MILLISECONDS);
+    }
+
+    void setFuture(Future<?> future) {
+        this.future = future;
+    }
+
+    /**
+     * Cancels the processing of the job if it is not started yet.
+     */
+    void cancel() {
+        if (future != null) {
+            future.cancel(false);
+        }
+    }
+
+    void start() {
+        started = System.currentTimeMillis();
+        status = Status.RUNNING;
+    }
+
+    void succeed(boolean result) {
+        this.result = result;
+        finish(Status.DONE);
+    }
+
+    void fail(String error) {
+        this.error = error;
+        finish(Status.FAILED);
+    }
+
+    private void finish(Status status) {
+        finished = System.currentTimeMillis();
+        this.status = status;
+        done.countDown();
+    }
+}
@@ -0,0 +1,152 @@
+package org.grobid.service.jobs;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import org.apache.commons.io.FileUtils;
+import org.grobid.core.engines.Engine;
+import org.grobid.core.engines.config.GrobidAnalysisConfig;
+import org.grobid.core.factory.GrobidPoolingFactory;
+import org.grobid.core.utilities.GrobidProperties;
+import org.grobid.core.utilities.IOUtilities;
+import org.grobid.core.utilities.KeyGen;
+import org.grobid.service.GrobidServiceConfiguration;
+import org.grobid.service.JobConfiguration;
+import org.grobid.service.util.GrobidRestUtils;
+import org.grobid.service.util.ZipUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Processes the documents of the jobs in the background with a fixed number of workers, so that a client
+ * submits a document and gets its result later instead of keeping a connection open during the whole
+ * processing.
+ */
+@Singleton
+public class JobManager {
+    private static final Logger LOGGER = LoggerFactory.getLogger(JobManager.class);
+
+    private final JobConfiguration configuration;
+
+    private JobStore store = null;
+    private ExecutorService workers = null;
+    private ScheduledExecutorService cleaner = null;
+
+    @Inject
+    public JobManager(GrobidServiceConfiguration configuration) {
+        this.configuration = configuration.getGrobid().getJobs();
+    }
+
+    // initialized at the first job, once the grobid properties giving the temporary path are loaded
+    public synchronized JobStore getStore() {
+        if (store == null) {
+            File directory = configuration.getDirectory() != null ? new File(configuration.getDirectory())
+                : new File(GrobidProperties.getWorkPath(), "jobs");
+            long expiry = TimeUnit.SECONDS.toMillis(configuration.getExpiry());
+            store = new JobStore(directory, configuration.getMaxJobs(), expiry);
+
+            workers = Executors.newFixedThreadPool(configuration.getWorkers(),
+                new ThreadFactoryBuilder().setNameFormat("grobid-job-%d").setDaemon(true).build());
+            cleaner = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("grobid-job-cleaner").setDaemon(true).build());
+            long period = Math.max(expiry / 10, TimeUnit.SECONDS.toMillis(1));
+            cleaner.scheduleWithFixedDelay(store::removeExpired, period, period, TimeUnit.MILLISECONDS);
+        }
+        return store;
+    }
+
+    /**
+     * Submits the processing of a document.
+     *
+     * @param inputStream the data of the document, read before returning
+     * @param config      the configuration of the full text processing, the asset path being set by the job
+     * @return the queued job, or null if the store is full
+     */
+    public Job submit(Job.Type type, InputStream inputStream, GrobidAnalysisConfig config) throws IOException {
+        JobStore store = getStore();
+        Job job = store.create(type);
+        if (job == null) {
+            return null;
+        }
+        try {
+            Files.copy(inputStream, store.getInputFile(job).toPath());
+        } catch (IOException e) {
+            store.remove(job.getId());
+            throw e;
+        }
+        job.setFuture(workers.submit(() -> process(job, config)));
+        return job;
+    }
+
+    public Job get(String id) {
+        return getStore().get(id);
+    }
+
+    public Job remove(String id) {
+        return getStore().remove(id);
+    }
+
+    /**
+     * @return the maximum time a request for the result of a job waits for the job to finish, in milliseconds
+     */
+    public long getMaxWait() {
+        return TimeUnit.SECONDS.toMillis(configuration.getMaxWait());
+    }
+
+    private void process(Job job, GrobidAnalysisConfig config) {
+        job.start();
+        Engine engine = null;
+        String assetPath = null;
+        try {
+            engine = GrobidRestUtils.waitForEngine();
+            if (job.getType() == Job.Type.ASSETS) {
+                assetPath = GrobidProperties.getTempPath().getPath() + File.separator + KeyGen.getKey();
+                config = GrobidAnalysisConfig.builder(config).pdfAssetPath(new File(assetPath)).build();
+            }
+
+            String tei = engine.fullTextToTEI(store.getInputFile(job), config);
+
+            boolean result = !GrobidRestUtils.isResultNullOrEmpty(tei);
+            if (result) {
+                try (OutputStream out = new FileOutputStream(store.getResultFile(job))) {
+                    if (job.getType() == Job.Type.ASSETS) {
+                        ZipUtils.zipTeiAndAssets(tei, new File(assetPath), out);
+                    } else {
+                        out.write(tei.getBytes(StandardCharsets.UTF_8));
+                    }
+                }
+            }
+            job.succeed(result);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.fail("Interrupted");
+        } catch (Exception e) {
+            LOGGER.error("An unexpected exception occurs when processing the job " + job.getId(), e);
+            job.fail(e.getMessage());
+        } finally {
+            if (engine != null) {
+                GrobidPoolingFactory.returnEngine(engine);
+            }
+            if (assetPath != null) {
+                IOUtilities.removeTempDirectory(assetPath);
+            }
+            FileUtils.deleteQuietly(store.getInputFile(job));
+            // the job may have been removed during its processing
+            if (!store.contains(job)) {
+                FileUtils.deleteQuietly(store.getResultFile(job));
+            }
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package org.grobid.service.jobs;
+
+import org.apache.commons.io.FileUtils;
+import org.grobid.core.exceptions.GrobidResourceException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Bounded store of the jobs, keeping the input and the result file of each job in a directory until the
+ * job is removed or its result expires.
+ */
+public class JobStore {
+    private static final Logger LOGGER = LoggerFactory.getLogger(JobStore.class);
+
+    // names of the input and result files of the jobs, see getInputFile and getResultFile
+    private static final Pattern JOB_FILE =
+        Pattern.compile("[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}\\.(pdf|tei\\.xml|zip)");
+
+    private final File directory;
+    private final int maxJobs;
+    private final long expiry;
+
+    // jobs in the order of their submission
+    private final Map<String, Job> jobs = new LinkedHashMap<>();
+
+    /**
+     * @param directory directory of the files of the jobs, the job files of a previous run being deleted,
+     *                  other files are left untouched
+     * @param maxJobs   maximum number of jobs in the store, whatever their status
+     * @param expiry    time the result of a finished job is kept, in milliseconds
+     */
+    public JobStore(File directory, int maxJobs, long expiry) {
+        this.directory = directory;
+        this.maxJobs = maxJobs;
+        this.expiry = expiry;
+        try {
+            FileUtils.forceMkdir(directory);
+        } catch (IOException e) {
+            throw new GrobidResourceException("Cannot initialize the job directory " + directory.getPath(), e);
+        }
+        deleteLeftoverFiles();
+    }
+
+    /**
+     * Creates a new queued job.
+     *
+     * @return null if the store is full, even after the removal of the expired jobs
+     */
+    public synchronized Job create(Job.Type type) {
+        if (jobs.size() >= maxJobs) {
+            removeExpired();
+            if (jobs.size() >= maxJobs) {
+                return null;
+            }
+        }
+        Job job = new Job(UUID.randomUUID().toString(), type);
+        jobs.put(job.getId(), job);
+        return job;
+    }
+
+    /**
+     * @return the job, or null if the job is unknown, removed or expired
+     */
+    public synchronized Job get(String id) {
+        return jobs.get(id);
+    }
+
+    /**
+     * Removes a job with its files, the job being cancelled if it is not started yet.
+     *
+     * @return the removed job, or null if the job is unknown
+     */
+    public synchronized Job remove(String id) {
+        Job job = jobs.remove(id);
+        if (job != null) {
+            job.cancel();
+            deleteFiles(job);
+        }
+        return job;
+    }
+
+    /**
+     * Removes the finished jobs whose result expired.
+     *
+     * @return the number of removed jobs
+     */
+    public synchronized int removeExpired() {
+        long now = System.currentTimeMillis();
+        int removed = 0;
+        Iterator<Job> iterator = jobs.values().iterator();
+        while (iterator.hasNext()) {
+            Job job = iterator.next();
+            if (job.hasFinished() && now - job.getFinished() >= expiry) {
+                iterator.remove();
+                deleteFiles(job);
+                removed++;
+            }
+        }
+        if (removed > 0) {
+            LOGGER.debug("Removed " + removed + " expired jobs");
+        }
+        return removed;
+    }
+
+    /**
+     * @return true if the job is still in the store, i.e. if its files must be kept
+     */
+    public synchronized boolean contains(Job job) {
+        return jobs.get(job.getId()) == job;
+    }
+
+    public File getInputFile(Job job) {
+        return new File(directory, job.getId() + ".pdf");
+    }
+
+    public File getResultFile(Job job) {
+        return new File(directory, job.getId() + (job.getType() == Job.Type.ASSETS ? ".zip" : ".tei.xml"));
+    }
+
+    public synchronized int size() {
+        return jobs.size();
+    }
+
+    /**
+     * @return the number of jobs of each status
+     */
+    public synchronized Map<Job.Status, Integer> countByStatus() {
+        Map<Job.Status, Integer> counts = new EnumMap<>(Job.Status.class);
+        for (Job.Status status : Job.Status.values()) {
+            counts.put(status, 0);
+        }
+        for (Job job : jobs.values()) {
+            counts.merge(job.getStatus(), 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    private void deleteLeftoverFiles() {
+        File[] leftovers = directory.listFiles((dir, name) -> JOB_FILE.matcher(name).matches());
+        if (leftovers == null) {
+            throw new GrobidResourceException("Cannot list the job directory " + directory.getPath());
+        }
+        for (File leftover : leftovers) {
+            FileUtils.deleteQuietly(leftover);
+        }
+        if (leftovers.length > 0) {
+            LOGGER.info("Deleted " + leftovers.length + " job files of a previous run in " + directory.getPath());
+        }
+    }
+
+    private void deleteFiles(Job job) {
+        FileUtils.deleteQuietly(getInputFile(job));
+        FileUtils.deleteQuietly(getResultFile(job));
+    }
+}
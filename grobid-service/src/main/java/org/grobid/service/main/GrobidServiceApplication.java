@@ -1,6 +1,7 @@
 package org.grobid.service.main;
 
 
+import com.codahale.metrics.Gauge;
 import com.google.common.collect.Lists;
 import com.google.inject.Module;
 import com.hubspot.dropwizard.guicier.GuiceBundle;
@@ -11,7 +12,15 @@ import io.dropwizard.setup.Bootstrap;
 import io.dropwizard.setup.Environment;
 import org.apache.commons.lang3.ArrayUtils;
 import org.eclipse.jetty.servlets.CrossOriginFilter;
+import org.grobid.core.factory.GrobidPoolingFactory;
+import org.grobid.core.factory.InstrumentedPool;
+import org.grobid.core.utilities.GrobidProperties;
+import org.grobid.service.AdmissionConfiguration;
+import org.grobid.service.GrobidPaths;
 import org.grobid.service.GrobidServiceConfiguration;
+import org.grobid.service.admin.EnginePoolSizeTask;
+import org.grobid.service.admission.AdmissionController;
+import org.grobid.service.admission.AdmissionFilter;
 import org.grobid.service.modules.GrobidServiceModule;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -22,6 +31,8 @@ import java.io.File;
 import java.util.Arrays;
 import java.util.EnumSet;
 import java.util.List;
+import java.util.function.IntSupplier;
+import java.util.function.ToIntFunction;
 
 
 public final class GrobidServiceApplication extends Application<GrobidServiceConfiguration> {
@@ -73,12 +84,70 @@ public final class GrobidServiceApplication extends Application<GrobidServiceCon
         // Add URL mapping
         cors.addMappingForUrlPatterns(EnumSet.allOf(DispatcherType.class), true, RESOURCES + "/*");
 
+        registerAdmissionFilter(configuration.getGrobid().getAdmission(), environment);
+
+        // Engine pool monitoring, the gauges do not create the pool, which is created by the first request
+        registerPoolGauge(environment, "engine-pool.size", InstrumentedPool::getMaxSize, GrobidProperties.getMaxPoolConnections());
+        registerPoolGauge(environment, "engine-pool.active", InstrumentedPool::getNumActive, 0);
+        registerPoolGauge(environment, "engine-pool.idle", InstrumentedPool::getNumIdle, 0);
+        registerPoolGauge(environment, "engine-pool.waiting", InstrumentedPool::getNumWaiting, 0);
+        // the pool is resized on the admin connector only, within a configured bound
+        int maxEnginePoolSize = configuration.getGrobid().getMaxEnginePoolSize() > 0 ?
+            configuration.getGrobid().getMaxEnginePoolSize() : GrobidProperties.getMaxPoolConnections();
+        environment.admin().addTask(new EnginePoolSizeTask(maxEnginePoolSize));
+
         //Error handling
 //        environment.jersey().register(new GrobidExceptionMapper());
 //        environment.jersey().register(new GrobidServiceExceptionMapper());
 //        environment.jersey().register(new WebApplicationExceptionMapper());
     }
 
+    /**
+     * Admission control of the processing requests, the documents and the short texts being bounded
+     * separately so that the quick text requests are not rejected because of long PDF processing.
+     */
+    private void registerAdmissionFilter(AdmissionConfiguration admission, Environment environment) {
+        if (!admission.isEnabled()) {
+            return;
+        }
+        long maxWait = admission.getMaxQueueWait() * 1000L;
+        AdmissionController documents = new AdmissionController("document",
+            maxProcessed(admission.getMaxProcessedDocuments()), admission.getMaxQueuedDocuments(), maxWait);
+        AdmissionController texts = new AdmissionController("text",
+            maxProcessed(admission.getMaxProcessedTexts()), admission.getMaxQueuedTexts(), maxWait);
+        AdmissionFilter filter = new AdmissionFilter(admission.getRetryAfter())
+            .control(documents, GrobidPaths.PATH_HEADER, GrobidPaths.PATH_FULL_TEXT, GrobidPaths.PATH_FULL_TEXT_ASSET,
+                GrobidPaths.PATH_FULL_TEXT_BATCH, GrobidPaths.PATH_REFERENCES, GrobidPaths.PATH_CITATION_PATENT_ST36, GrobidPaths.PATH_CITATION_PATENT_PDF,
+                GrobidPaths.PATH_PDF_ANNOTATION, GrobidPaths.PATH_REFERENCES_PDF_ANNOTATION,
+                GrobidPaths.PATH_CITATIONS_PATENT_PDF_ANNOTATION)
+            .control(texts, GrobidPaths.PATH_DATE, GrobidPaths.PATH_HEADER_NAMES, GrobidPaths.PATH_CITE_NAMES,
+                GrobidPaths.PATH_AFFILIATION, GrobidPaths.PATH_CITATION, GrobidPaths.PATH_CITATION_PATENT_TXT);
+
+        // after the CORS filter, so that the rejections have the CORS headers
+        final FilterRegistration.Dynamic registration = environment.servlets().addFilter("admission", filter);
+        registration.addMappingForUrlPatterns(EnumSet.of(DispatcherType.REQUEST), true, RESOURCES + "/*");
+
+        for (AdmissionController controller : Arrays.asList(documents, texts)) {
+            String prefix = "admission." + controller.getName() + "s.";
+            environment.metrics().register(prefix + "processed", (Gauge<Integer>) controller::getProcessed);
+            environment.metrics().register(prefix + "queued", (Gauge<Integer>) controller::getQueued);
+            environment.metrics().register(prefix + "rejected", (Gauge<Long>) controller::getRejected);
+        }
+    }
+
+    private static void registerPoolGauge(Environment environment, String name, 
+                                          ToIntFunction<InstrumentedPool<?>> value, int valueWithoutPool) {
+        environment.metrics().register(name, (Gauge<Integer>) () -> {
+            InstrumentedPool<?> pool = GrobidPoolingFactory.getPool();
+            return pool == null ? valueWithoutPool : value.applyAsInt(pool);
+        });
+    }
+
+    private static IntSupplier maxProcessed(int max) {
+        // the engine pool can be resized at runtime
+        return max > 0 ? () -> max : GrobidProperties::getMaxPoolConnections;
+    }
+
     // ========== static ==========
     public static void main(String... args) throws Exception {
         if (ArrayUtils.getLength(args) < 2) {
@@ -7,12 +7,16 @@ import com.google.inject.Provides;
 import com.hubspot.dropwizard.guicier.DropwizardAwareModule;
 import org.grobid.service.GrobidRestService;
 import org.grobid.service.GrobidServiceConfiguration;
+import org.grobid.service.cache.ResultCache;
 import org.grobid.service.exceptions.mapper.GrobidExceptionMapper;
 import org.grobid.service.exceptions.mapper.GrobidExceptionsTranslationUtility;
 import org.grobid.service.exceptions.mapper.GrobidServiceExceptionMapper;
 import org.grobid.service.exceptions.mapper.WebApplicationExceptionMapper;
+import org.grobid.service.jobs.JobManager;
+import org.grobid.service.process.GrobidRestProcessBatch;
 import org.grobid.service.process.GrobidRestProcessFiles;
 import org.grobid.service.process.GrobidRestProcessGeneric;
+import org.grobid.service.process.GrobidRestProcessJobs;
 import org.grobid.service.process.GrobidRestProcessString;
 import org.grobid.service.resources.HealthResource;
 
@@ -32,6 +36,10 @@ public class GrobidServiceModule extends DropwizardAwareModule<GrobidServiceConf
         binder.bind(GrobidRestProcessFiles.class);
         binder.bind(GrobidRestProcessGeneric.class);
         binder.bind(GrobidRestProcessString.class);
+        binder.bind(GrobidRestProcessJobs.class);
+        binder.bind(GrobidRestProcessBatch.class);
+        binder.bind(JobManager.class);
+        binder.bind(ResultCache.class);
 
         //Exception Mappers
         binder.bind(GrobidServiceExceptionMapper.class);
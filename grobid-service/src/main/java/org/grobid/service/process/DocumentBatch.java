@@ -0,0 +1,118 @@
+package org.grobid.service.process;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.FilenameUtils;
+import org.grobid.service.util.ZipUtils;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * The documents of a batch, written in a temporary directory before being processed, the PDF files
+ * of the uploaded ZIP archives being extracted.
+ */
+public class DocumentBatch implements Closeable {
+
+    public static class Document {
+        private final String name;
+        private final File file;
+
+        Document(String name, File file) {
+            this.name = name;
+            this.file = file;
+        }
+
+        /**
+         * @return the name of the uploaded file or of the ZIP entry, unique in the batch even without its
+         * extension, the results being named after it
+         */
+        public String getName() {
+            return name;
+        }
+
+        public File getFile() {
+            return file;
+        }
+    }
+
+    private final File directory;
+    private final List<Document> documents = new ArrayList<>();
+    // names of the documents without their extension
+    private final Set<String> names = new HashSet<>();
+    private int fileCount = 0;
+
+    public DocumentBatch(File directory) throws IOException {
+        this.directory = directory;
+        FileUtils.forceMkdir(directory);
+    }
+
+    /**
+     * Adds an uploaded file, a PDF document or a ZIP archive whose PDF documents are added.
+     *
+     * @param name the name of the uploaded file, possibly null
+     */
+    public void add(String name, InputStream input) throws IOException {
+        File file = newFile();
+        Files.copy(input, file.toPath());
+        if (!ZipUtils.isZipFile(file)) {
+            addDocument(name != null ? name : "document.pdf", file);
+            return;
+        }
+        try (ZipInputStream zip = new ZipInputStream(new FileInputStream(file))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                // skips the directories and the metadata of the archivers
+                if (entry.isDirectory() || !entry.getName().toLowerCase().endsWith(".pdf")
+                    || entry.getName().startsWith("__MACOSX/")) {
+                    continue;
+                }
+                File entryFile = newFile();
+                Files.copy(zip, entryFile.toPath());
+                addDocument(entry.getName(), entryFile);
+            }
+        } finally {
+            FileUtils.deleteQuietly(file);
+        }
+    }
+
+    private File newFile() {
+        // the files are not named after the uploads, whose names are not safe
+        return new File(directory, (fileCount++) + ".pdf");
+    }
+
+    private void addDocument(String name, File file) {
+        String unique = name;
+        for (int i = 1; !names.add(FilenameUtils.removeExtension(unique)); i++) {
+            unique = FilenameUtils.removeExtension(name) + "-" + i
+                + (FilenameUtils.getExtension(name).isEmpty() ? "" : "." + FilenameUtils.getExtension(name));
+        }
+        documents.add(new Document(unique, file));
+    }
+
+    public List<Document> getDocuments() {
+        return Collections.unmodifiableList(documents);
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    /**
+     * Removes the files of the batch.
+     */
+    @Override
+    public void close() {
+        FileUtils.deleteQuietly(directory);
+    }
+}
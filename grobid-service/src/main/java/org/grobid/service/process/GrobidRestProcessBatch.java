@@ -0,0 +1,290 @@
+package org.grobid.service.process;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.FilenameUtils;
+import org.glassfish.jersey.media.multipart.FormDataBodyPart;
+import org.grobid.core.engines.Engine;
+import org.grobid.core.engines.config.GrobidAnalysisConfig;
+import org.grobid.core.factory.GrobidPoolingFactory;
+import org.grobid.core.utilities.GrobidProperties;
+import org.grobid.core.utilities.KeyGen;
+import org.grobid.service.GrobidPaths;
+import org.grobid.service.cache.ResultCache;
+import org.grobid.service.util.ExpectedResponseType;
+import org.grobid.service.util.GrobidRestUtils;
+import org.grobid.service.util.NdjsonMediaType;
+import org.grobid.service.util.ZipUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.Status;
+import javax.ws.rs.core.StreamingOutput;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Web service processing the full text of a batch of documents in a single request: the documents are
+ * processed in parallel by workers borrowing an engine for each document, and the result of each
+ * document is streamed back as soon as it is processed. The workers are fewer than the engines of the
+ * pool, so that a batch leaves an engine to the other requests.
+ */
+@Singleton
+public class GrobidRestProcessBatch {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GrobidRestProcessBatch.class);
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Inject
+    private ResultCache resultCache;
+
+    @Inject
+    public GrobidRestProcessBatch() {
+
+    }
+
+    static class Result {
+        final String name;
+        final Status status;
+        final String tei;
+        final String error;
+
+        Result(String name, Status status, String tei, String error) {
+            this.name = name;
+            this.status = status;
+            this.tei = tei;
+            this.error = error;
+        }
+    }
+
+    /**
+     * Uploads a batch of documents and streams back their full text in TEI, the parameters being the ones of
+     * {@link GrobidRestProcessFiles#processFulltextDocument}.
+     *
+     * @param inputs               the uploaded PDF documents or ZIP archives of PDF documents
+     * @param expectedResponseType ZIP for an archive with an entry for each document, NDJSON for a JSON
+     *                             line for each document
+     * @return a response object streaming the results in the order the documents are processed
+     */
+    public Response processFulltextBatch(final List<FormDataBodyPart> inputs,
+                                         final int consolidateHeader,
+                                         final int consolidateCitations,
+                                         final boolean includeRawAffiliations,
+                                         final boolean includeRawCitations,
+                                         final int startPage,
+                                         final int endPage,
+                                         final boolean generateIDs,
+                                         final boolean segmentSentences,
+                                         final List<String> teiCoordinates,
+                                         final ExpectedResponseType expectedResponseType) {
+        DocumentBatch batch = null;
+        try {
+            // under the work path, so that the documents waiting for a worker are not removed as old temp files
+            batch = new DocumentBatch(new File(new File(GrobidProperties.getWorkPath(), "batches"), KeyGen.getKey()));
+            if (inputs != null) {
+                for (FormDataBodyPart input : inputs) {
+                    batch.add(input.getContentDisposition().getFileName(), input.getValueAs(InputStream.class));
+                }
+            }
+        } catch (IOException exp) {
+            LOGGER.error("The input files cannot be written.", exp);
+            if (batch != null) {
+                batch.close();
+            }
+            return Response.status(Status.INTERNAL_SERVER_ERROR).entity(exp.getMessage()).build();
+        }
+        if (batch.size() == 0) {
+            batch.close();
+            return Response.status(Status.BAD_REQUEST).entity("No PDF document in the batch").build();
+        }
+
+        GrobidAnalysisConfig config =
+            GrobidAnalysisConfig.builder()
+                .consolidateHeader(consolidateHeader)
+                .consolidateCitations(consolidateCitations)
+                .includeRawAffiliations(includeRawAffiliations)
+                .includeRawCitations(includeRawCitations)
+                .startPage(startPage)
+                .endPage(endPage)
+                .generateTeiIds(generateIDs)
+                .generateTeiCoordinates(teiCoordinates)
+                .withSentenceSegmentation(segmentSentences)
+                .build();
+        // same key as the results of processFulltextDocument
+        Object[] cacheParameters = {consolidateHeader, consolidateCitations, includeRawAffiliations,
+            includeRawCitations, startPage, endPage, generateIDs, segmentSentences, teiCoordinates};
+
+        final DocumentBatch documents = batch;
+        StreamingOutput output = out -> {
+            try {
+                process(documents, config, cacheParameters, expectedResponseType, out);
+            } finally {
+                documents.close();
+            }
+        };
+        if (expectedResponseType == ExpectedResponseType.NDJSON) {
+            return Response.ok(output).type(NdjsonMediaType.MEDIA_TYPE + "; charset=UTF-8").build();
+        }
+        return Response.ok(output)
+            .type("application/zip")
+            .header("Content-Disposition", "attachment; filename=\"result.zip\"")
+            .build();
+    }
+
+    private void process(DocumentBatch batch,
+                         GrobidAnalysisConfig config,
+                         Object[] cacheParameters,
+                         ExpectedResponseType expectedResponseType,
+                         OutputStream out) throws IOException {
+        BlockingQueue<DocumentBatch.Document> documents = new LinkedBlockingQueue<>(batch.getDocuments());
+        BlockingQueue<Result> results = new LinkedBlockingQueue<>();
+        int workers = getWorkerCount(batch.size(), GrobidProperties.getMaxPoolConnections());
+        AtomicInteger runningWorkers = new AtomicInteger(workers);
+        ExecutorService executor = Executors.newFixedThreadPool(workers,
+            new ThreadFactoryBuilder().setNameFormat("grobid-batch-%d").setDaemon(true).build());
+        ZipOutputStream zip = expectedResponseType == ExpectedResponseType.NDJSON ? null : new ZipOutputStream(out);
+        try {
+            for (int i = 0; i < workers; i++) {
+                executor.submit(() -> {
+                    try {
+                        work(documents, results, config, cacheParameters);
+                    } finally {
+                        runningWorkers.decrementAndGet();
+                    }
+                });
+            }
+            int written = 0;
+            while (written < batch.size()) {
+                Result result = results.poll(1, TimeUnit.SECONDS);
+                if (result == null) {
+                    if (runningWorkers.get() > 0 || !results.isEmpty()) {
+                        continue;
+                    }
+                    // the workers stopped without processing the remaining documents
+                    DocumentBatch.Document document = documents.poll();
+                    if (document == null) {
+                        break;
+                    }
+                    result = new Result(document.getName(), Status.SERVICE_UNAVAILABLE, null,
+                        "The document was not processed");
+                }
+                if (zip != null) {
+                    writeZipEntry(zip, result);
+                } else {
+                    writeJsonLine(out, result);
+                }
+                out.flush();
+                written++;
+            }
+            if (zip != null) {
+                zip.finish();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted batch", e);
+        } finally {
+            // stops the workers after their current document if the client is gone
+            documents.clear();
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * @return the number of workers of a batch, one engine of the pool being left to the other requests
+     * when the pool has more than one engine
+     */
+    static int getWorkerCount(int documents, int engines) {
+        return Math.max(1, Math.min(documents, engines - 1));
+    }
+
+    /**
+     * Processes the documents until there is none left, a result being posted for each document taken,
+     * whatever the failure.
+     */
+    private void work(BlockingQueue<DocumentBatch.Document> documents,
+                      BlockingQueue<Result> results,
+                      GrobidAnalysisConfig config,
+                      Object[] cacheParameters) {
+        DocumentBatch.Document document;
+        while ((document = documents.poll()) != null) {
+            Result result;
+            Engine engine = null;
+            try {
+                String cacheKey = resultCache.key(document.getFile(), GrobidPaths.PATH_FULL_TEXT, cacheParameters);
+                String tei = resultCache.get(cacheKey);
+                if (tei == null) {
+                    // the engine is borrowed for each document, so that the other requests get engines too
+                    engine = GrobidRestUtils.waitForEngine();
+                    tei = engine.fullTextToTEI(document.getFile(), config);
+                    resultCache.put(cacheKey, tei);
+                }
+                result = GrobidRestUtils.isResultNullOrEmpty(tei) ?
+                    new Result(document.getName(), Status.NO_CONTENT, null, null) :
+                    new Result(document.getName(), Status.OK, tei, null);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                result = new Result(document.getName(), Status.SERVICE_UNAVAILABLE, null, "Interrupted batch");
+            } catch (Throwable exp) {
+                LOGGER.error("An unexpected exception occurs when processing " + document.getName(), exp);
+                result = new Result(document.getName(), Status.INTERNAL_SERVER_ERROR, null, exp.getMessage());
+            } finally {
+                if (engine != null) {
+                    GrobidPoolingFactory.returnEngine(engine);
+                }
+                FileUtils.deleteQuietly(document.getFile());
+            }
+            results.add(result);
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Writes the TEI of a document as an entry named after the document, the error of a failed document
+     * as a text entry and nothing for an empty result.
+     */
+    static void writeZipEntry(ZipOutputStream zip, Result result) throws IOException {
+        String name = FilenameUtils.removeExtension(result.name);
+        if (result.status == Status.OK) {
+            ZipUtils.putEntry(zip, name + ".tei.xml", result.tei);
+        } else if (result.error != null) {
+            ZipUtils.putEntry(zip, name + ".error.txt", result.error);
+        }
+    }
+
+    /**
+     * Writes a JSON line with the name of the document, the HTTP status of its processing and its TEI
+     * or its error.
+     */
+    static void writeJsonLine(OutputStream out, Result result) throws IOException {
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("name", result.name);
+        line.put("status", result.status.getStatusCode());
+        if (result.tei != null) {
+            line.put("tei", result.tei);
+        }
+        if (result.error != null) {
+            line.put("error", result.error);
+        }
+        out.write(MAPPER.writeValueAsBytes(line));
+        out.write('\n');
+    }
+}
@@ -16,10 +16,13 @@ import org.grobid.core.utilities.KeyGen;
 import org.grobid.core.visualization.BlockVisualizer;
 import org.grobid.core.visualization.CitationsVisualizer;
 import org.grobid.core.visualization.FigureTableVisualizer;
+import org.grobid.service.GrobidPaths;
+import org.grobid.service.cache.ResultCache;
 import org.grobid.service.exceptions.GrobidServiceException;
 import org.grobid.service.util.BibTexMediaType;
 import org.grobid.service.util.ExpectedResponseType;
 import org.grobid.service.util.GrobidRestUtils;
+import org.grobid.service.util.ZipUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -28,12 +31,9 @@ import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
 import java.io.*;
-import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.NoSuchElementException;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipOutputStream;
 
 /**
  * Web services consuming a file
@@ -43,6 +43,9 @@ public class GrobidRestProcessFiles {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(GrobidRestProcessFiles.class);
 
+    @Inject
+    private ResultCache resultCache;
+
     @Inject
     public GrobidRestProcessFiles() {
 
@@ -67,13 +70,6 @@ public class GrobidRestProcessFiles {
         File originFile = null;
         Engine engine = null;
         try {
-            engine = Engine.getEngine(true);
-            // conservative check, if no engine is free in the pool a NoSuchElementException is normally thrown
-            if (engine == null) {
-                throw new GrobidServiceException(
-                    "No GROBID engine available", Status.SERVICE_UNAVAILABLE);
-            }
-
             originFile = IOUtilities.writeInputFile(inputStream);
             if (originFile == null) {
                 LOGGER.error("The input file cannot be written.");
@@ -81,13 +77,25 @@ public class GrobidRestProcessFiles {
                     "The input file cannot be written. ", Status.INTERNAL_SERVER_ERROR);
             } 
 
-            // starts conversion process
-            retVal = engine.processHeader(
-                originFile.getAbsolutePath(),
-                consolidate,
-                includeRawAffiliations,
-                null
-            );
+            String cacheKey = resultCache.key(originFile, GrobidPaths.PATH_HEADER, consolidate, includeRawAffiliations);
+            retVal = resultCache.get(cacheKey);
+            if (retVal == null) {
+                engine = Engine.getEngine(true);
+                // conservative check, if no engine is free in the pool a NoSuchElementException is normally thrown
+                if (engine == null) {
+                    throw new GrobidServiceException(
+                        "No GROBID engine available", Status.SERVICE_UNAVAILABLE);
+                }
+
+                // starts conversion process
+                retVal = engine.processHeader(
+                    originFile.getAbsolutePath(),
+                    consolidate,
+                    includeRawAffiliations,
+                    null
+                );
+                resultCache.put(cacheKey, retVal);
+            }
 
             if (GrobidRestUtils.isResultNullOrEmpty(retVal)) {
                 response = Response.status(Response.Status.NO_CONTENT).build();
@@ -150,13 +158,6 @@ public class GrobidRestProcessFiles {
         File originFile = null;
         Engine engine = null;
         try {
-            engine = Engine.getEngine(true);
-            // conservative check, if no engine is free in the pool a NoSuchElementException is normally thrown
-            if (engine == null) {
-                throw new GrobidServiceException(
-                    "No GROBID engine available", Status.SERVICE_UNAVAILABLE);
-            }
-
             originFile = IOUtilities.writeInputFile(inputStream);
             if (originFile == null) {
                 LOGGER.error("The input file cannot be written.");
@@ -178,7 +179,21 @@ public class GrobidRestProcessFiles {
                     .withSentenceSegmentation(segmentSentences)
                     .build();
 
-            retVal = engine.fullTextToTEI(originFile, config);
+            String cacheKey = resultCache.key(originFile, GrobidPaths.PATH_FULL_TEXT,
+                consolidateHeader, consolidateCitations, includeRawAffiliations, includeRawCitations,
+                startPage, endPage, generateIDs, segmentSentences, teiCoordinates);
+            retVal = resultCache.get(cacheKey);
+            if (retVal == null) {
+                engine = Engine.getEngine(true);
+                // conservative check, if no engine is free in the pool a NoSuchElementException is normally thrown
+                if (engine == null) {
+                    throw new GrobidServiceException(
+                        "No GROBID engine available", Status.SERVICE_UNAVAILABLE);
+                }
+
+                retVal = engine.fullTextToTEI(originFile, config);
+                resultCache.put(cacheKey, retVal);
+            }
 
             if (GrobidRestUtils.isResultNullOrEmpty(retVal)) {
                 response = Response.status(Response.Status.NO_CONTENT).build();
@@ -278,39 +293,12 @@ public class GrobidRestProcessFiles {
                 response = Response.status(Status.NO_CONTENT).build();
             } else {
 
-                response = Response.status(Status.OK).type("application/zip").build();
-
                 ByteArrayOutputStream ouputStream = new ByteArrayOutputStream();
-                ZipOutputStream out = new ZipOutputStream(ouputStream);
-                out.putNextEntry(new ZipEntry("tei.xml"));
-                out.write(retVal.getBytes(Charset.forName("UTF-8")));
-                // put now the assets, i.e. all the files under the asset path
-                File assetPathDir = new File(assetPath);
-                if (assetPathDir.exists()) {
-                    File[] files = assetPathDir.listFiles();
-                    if (files != null) {
-                        byte[] buffer = new byte[1024];
-                        for (final File currFile : files) {
-                            if (currFile.getName().toLowerCase().endsWith(".jpg")
-                                || currFile.getName().toLowerCase().endsWith(".png")) {
-                                try {
-                                    ZipEntry ze = new ZipEntry(currFile.getName());
-                                    out.putNextEntry(ze);
-                                    FileInputStream in = new FileInputStream(currFile);
-                                    int len;
-                                    while ((len = in.read(buffer)) > 0) {
-                                        out.write(buffer, 0, len);
-                                    }
-                                    in.close();
-                                    out.closeEntry();
-                                } catch (IOException e) {
-                                    throw new GrobidServiceException("IO Exception when zipping", e, Status.INTERNAL_SERVER_ERROR);
-                                }
-                            }
-                        }
-                    }
+                try {
+                    ZipUtils.zipTeiAndAssets(retVal, new File(assetPath), ouputStream);
+                } catch (IOException e) {
+                    throw new GrobidServiceException("IO Exception when zipping", e, Status.INTERNAL_SERVER_ERROR);
                 }
-                out.finish();
 
                 response = Response
                     .ok()
@@ -318,7 +306,6 @@ public class GrobidRestProcessFiles {
                     .entity(ouputStream.toByteArray())
                     .header("Content-Disposition", "attachment; filename=\"result.zip\"")
                     .build();
-                out.close();
             }
         } catch (NoSuchElementException nseExp) {
             LOGGER.error("Could not get an engine from the pool within configured time. Sending service unavailable.");
@@ -490,13 +477,6 @@ public class GrobidRestProcessFiles {
         File originFile = null;
         Engine engine = null;
         try {
-            engine = Engine.getEngine(true);
-            // conservative check, if no engine is free in the pool a NoSuchElementException is normally thrown
-            if (engine == null) {
-                throw new GrobidServiceException(
-                    "No GROBID engine available", Status.SERVICE_UNAVAILABLE);
-            }
-
             originFile = IOUtilities.writeInputFile(inputStream);
             if (originFile == null) {
                 LOGGER.error("The input file cannot be written.");
@@ -504,41 +484,62 @@ public class GrobidRestProcessFiles {
                     "The input file cannot be written.", Status.INTERNAL_SERVER_ERROR);
             } 
 
-            // starts conversion process
-            List<BibDataSet> bibDataSetList = engine.processReferences(originFile, consolidate);
+            String cacheKey = resultCache.key(originFile, GrobidPaths.PATH_REFERENCES,
+                consolidate, includeRawCitations, expectedResponseType);
+            String retVal = resultCache.get(cacheKey);
+            if (retVal == null) {
+                engine = Engine.getEngine(true);
+                // conservative check, if no engine is free in the pool a NoSuchElementException is normally thrown
+                if (engine == null) {
+                    throw new GrobidServiceException(
+                        "No GROBID engine available", Status.SERVICE_UNAVAILABLE);
+                }
 
-            if (bibDataSetList.isEmpty()) {
+                // starts conversion process
+                List<BibDataSet> bibDataSetList = engine.processReferences(originFile, consolidate);
+
+                if (bibDataSetList.isEmpty()) {
+                    retVal = null;
+                } else if (expectedResponseType == ExpectedResponseType.BIBTEX) {
+                    StringBuilder result = new StringBuilder();
+                    GrobidAnalysisConfig config = new GrobidAnalysisConfig.GrobidAnalysisConfigBuilder().includeRawCitations(includeRawCitations).build();
+                    int p = 0;
+                    for (BibDataSet res : bibDataSetList) {
+                        result.append(res.getResBib().toBibTeX(Integer.toString(p), config));
+                        result.append("\n");
+                        p++;
+                    }
+                    retVal = result.toString();
+                } else {
+                    StringBuilder result = new StringBuilder();
+                    // dummy header
+                    result.append("<TEI xmlns=\"http://www.tei-c.org/ns/1.0\" " +
+                        "xmlns:xlink=\"http://www.w3.org/1999/xlink\" " +
+                        "\n xmlns:mml=\"http://www.w3.org/1998/Math/MathML\">\n");
+                    result.append("\t<teiHeader/>\n\t<text>\n\t\t<front/>\n\t\t" +
+                        "<body/>\n\t\t<back>\n\t\t\t<div>\n\t\t\t\t<listBibl>\n");
+                    int p = 0;
+                    for (BibDataSet bibDataSet : bibDataSetList) {
+                        result.append(bibDataSet.toTEI(p, includeRawCitations));
+                        result.append("\n");
+                        p++;
+                    }
+                    result.append("\t\t\t\t</listBibl>\n\t\t\t</div>\n\t\t</back>\n\t</text>\n</TEI>\n");
+                    retVal = result.toString();
+                }
+                resultCache.put(cacheKey, retVal);
+            }
+
+            if (retVal == null) {
                 response = Response.status(Status.NO_CONTENT).build();
             } else if (expectedResponseType == ExpectedResponseType.BIBTEX) {
-                StringBuilder result = new StringBuilder();
-                GrobidAnalysisConfig config = new GrobidAnalysisConfig.GrobidAnalysisConfigBuilder().includeRawCitations(includeRawCitations).build();
-                int p = 0;
-                for (BibDataSet res : bibDataSetList) {
-                    result.append(res.getResBib().toBibTeX(Integer.toString(p), config));
-                    result.append("\n");
-                    p++;
-                }
                 response = Response.status(Status.OK)
-                                   .entity(result.toString())
+                                   .entity(retVal)
                                    .header(HttpHeaders.CONTENT_TYPE, BibTexMediaType.MEDIA_TYPE + "; charset=UTF-8")
                                    .build();
             } else {
-                StringBuilder result = new StringBuilder();
-                // dummy header
-                result.append("<TEI xmlns=\"http://www.tei-c.org/ns/1.0\" " +
-                    "xmlns:xlink=\"http://www.w3.org/1999/xlink\" " +
-                    "\n xmlns:mml=\"http://www.w3.org/1998/Math/MathML\">\n");
-                result.append("\t<teiHeader/>\n\t<text>\n\t\t<front/>\n\t\t" +
-                    "<body/>\n\t\t<back>\n\t\t\t<div>\n\t\t\t\t<listBibl>\n");
-                int p = 0;
-                for (BibDataSet bibDataSet : bibDataSetList) {
-                    result.append(bibDataSet.toTEI(p, includeRawCitations));
-                    result.append("\n");
-                    p++;
-                }
-                result.append("\t\t\t\t</listBibl>\n\t\t\t</div>\n\t\t</back>\n\t</text>\n</TEI>\n");
                 response = Response.status(Status.OK)
-                                   .entity(result.toString())
+                                   .entity(retVal)
                                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_XML + "; charset=UTF-8")
                                    .build();
             }
@@ -655,13 +656,6 @@ public class GrobidRestProcessFiles {
         File originFile = null;
         Engine engine = null;
         try {
-            engine = Engine.getEngine(true);
-            // conservative check, if no engine is free in the pool a NoSuchElementException is normally thrown
-            if (engine == null) {
-                throw new GrobidServiceException(
-                    "No GROBID engine available", Status.SERVICE_UNAVAILABLE);
-            }
-
             originFile = IOUtilities.writeInputFile(inputStream);
             if (originFile == null) {
                 LOGGER.error("The input file cannot be written.");
@@ -680,9 +674,21 @@ public class GrobidRestProcessFiles {
                 .generateTeiCoordinates(elementWithCoords)
                 .build();
 
-            DocumentSource documentSource = DocumentSource.fromPdf(originFile);
-            Document teiDoc = engine.fullTextToTEIDoc(originFile, config);
-            String json = CitationsVisualizer.getJsonAnnotations(teiDoc, null);
+            String cacheKey = resultCache.key(originFile, GrobidPaths.PATH_REFERENCES_PDF_ANNOTATION,
+                consolidateHeader, consolidateCitations, includeRawCitations);
+            String json = resultCache.get(cacheKey);
+            if (json == null) {
+                engine = Engine.getEngine(true);
+                // conservative check, if no engine is free in the pool a NoSuchElementException is normally thrown
+                if (engine == null) {
+                    throw new GrobidServiceException(
+                        "No GROBID engine available", Status.SERVICE_UNAVAILABLE);
+                }
+
+                Document teiDoc = engine.fullTextToTEIDoc(originFile, config);
+                json = CitationsVisualizer.getJsonAnnotations(teiDoc, null);
+                resultCache.put(cacheKey, json);
+            }
 
             if (json != null) {
                 response = Response
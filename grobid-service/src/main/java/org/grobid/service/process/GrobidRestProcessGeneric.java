@@ -2,6 +2,7 @@ package org.grobid.service.process;
 
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import org.grobid.core.factory.GrobidPoolingFactory;
 import org.grobid.core.utilities.GrobidProperties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -72,4 +73,15 @@ public class GrobidRestProcessGeneric {
     public Response getVersion() {
         return Response.status(Status.OK).entity(GrobidProperties.getVersion()).build();
     }
+
+    /**
+     * Returns the state of the engine pool: size, active, idle and waiting counts, and the
+     * histograms of the time spent by the requests to obtain an engine.
+     *
+     * @return a response object containing the pool statistics as JSON.
+     */
+    public Response getEnginePool() {
+        return Response.status(Status.OK).entity(GrobidPoolingFactory.getPoolStatistics())
+                .type(MediaType.APPLICATION_JSON).build();
+    }
 }
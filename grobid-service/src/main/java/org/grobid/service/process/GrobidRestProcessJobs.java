@@ -0,0 +1,171 @@
+package org.grobid.service.process;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import org.grobid.core.engines.config.GrobidAnalysisConfig;
+import org.grobid.service.GrobidPaths;
+import org.grobid.service.GrobidServiceConfiguration;
+import org.grobid.service.jobs.Job;
+import org.grobid.service.jobs.JobManager;
+import org.grobid.service.jobs.JobStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.Status;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Web services of the asynchronous processing jobs: a document is submitted as a job, whose status is then
+ * polled and whose result is fetched once the job is done.
+ */
+@Singleton
+public class GrobidRestProcessJobs {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GrobidRestProcessJobs.class);
+
+    private final JobManager jobManager;
+    private final int retryAfter;
+
+    @Inject
+    public GrobidRestProcessJobs(JobManager jobManager, GrobidServiceConfiguration configuration) {
+        this.jobManager = jobManager;
+        this.retryAfter = configuration.getGrobid().getAdmission().getRetryAfter();
+    }
+
+    /**
+     * Submits the full text processing of a document, the parameters being the ones of
+     * {@link GrobidRestProcessFiles#processFulltextDocument}.
+     *
+     * @param type TEI for the full text, ASSETS for a ZIP archive of the full text and the images
+     * @return a response object with the status 202 and the job as JSON, the URI of the job being given
+     * in the Location header
+     */
+    public Response submitFulltextDocument(final Job.Type type,
+                                           final InputStream inputStream,
+                                           final int consolidateHeader,
+                                           final int consolidateCitations,
+                                           final boolean includeRawAffiliations,
+                                           final boolean includeRawCitations,
+                                           final int startPage,
+                                           final int endPage,
+                                           final boolean generateIDs,
+                                           final boolean segmentSentences,
+                                           final List<String> teiCoordinates) {
+        GrobidAnalysisConfig config =
+            GrobidAnalysisConfig.builder()
+                .consolidateHeader(consolidateHeader)
+                .consolidateCitations(consolidateCitations)
+                .includeRawAffiliations(includeRawAffiliations)
+                .includeRawCitations(includeRawCitations)
+                .startPage(startPage)
+                .endPage(endPage)
+                .generateTeiIds(generateIDs)
+                .generateTeiCoordinates(teiCoordinates)
+                .withSentenceSegmentation(segmentSentences)
+                .build();
+
+        Job job;
+        try {
+            job = jobManager.submit(type, inputStream, config);
+        } catch (Exception exp) {
+            LOGGER.error("The input file of the job cannot be written.", exp);
+            return Response.status(Status.INTERNAL_SERVER_ERROR).entity(exp.getMessage()).build();
+        }
+        if (job == null) {
+            LOGGER.warn("Too many jobs, sending service unavailable.");
+            return Response.status(Status.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter))
+                .build();
+        }
+        return Response.status(Status.ACCEPTED)
+            .location(URI.create(GrobidPaths.PATH_JOBS + "/" + job.getId()))
+            .entity(job)
+            .type(MediaType.APPLICATION_JSON)
+            .build();
+    }
+
+    /**
+     * @return a response object with the number of jobs of each status as JSON
+     */
+    public Response getJobs() {
+        JobStore store = jobManager.getStore();
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("size", store.size());
+        statistics.put("status", store.countByStatus());
+        return Response.status(Status.OK).entity(statistics).type(MediaType.APPLICATION_JSON).build();
+    }
+
+    /**
+     * @return a response object with the job as JSON, or the status 404 if the job is unknown or expired
+     */
+    public Response getJob(String id) {
+        Job job = jobManager.get(id);
+        if (job == null) {
+            return Response.status(Status.NOT_FOUND).build();
+        }
+        return Response.status(Status.OK).entity(job).type(MediaType.APPLICATION_JSON).build();
+    }
+
+    /**
+     * Gives the result of a job, possibly waiting for the job to finish.
+     *
+     * @param wait maximum number of seconds to wait for the job to finish, bounded by the configuration
+     * @return a response object with the result of the job, or with the status 202 and the job as JSON
+     * if the job is not finished yet, 204 if the result is empty, 500 and the error if the job failed and
+     * 404 if the job is unknown or expired
+     */
+    public Response getJobResult(String id, int wait) {
+        Job job = jobManager.get(id);
+        if (job == null) {
+            return Response.status(Status.NOT_FOUND).build();
+        }
+        if (wait > 0) {
+            try {
+                job.await(Math.min(TimeUnit.SECONDS.toMillis(wait), jobManager.getMaxWait()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        switch (job.getStatus()) {
+            case FAILED:
+                return Response.status(Status.INTERNAL_SERVER_ERROR).entity(job.getError()).build();
+            case DONE:
+                if (!job.hasResult()) {
+                    return Response.status(Status.NO_CONTENT).build();
+                }
+                if (job.getType() == Job.Type.ASSETS) {
+                    return Response.ok(jobManager.getStore().getResultFile(job))
+                        .type("application/zip")
+                        .header("Content-Disposition", "attachment; filename=\"result.zip\"")
+                        .build();
+                }
+                return Response.ok(jobManager.getStore().getResultFile(job))
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_XML + "; charset=UTF-8")
+                    .build();
+            default:
+                return Response.status(Status.ACCEPTED).entity(job).type(MediaType.APPLICATION_JSON).build();
+        }
+    }
+
+    /**
+     * Removes a job and its result, the processing of the job being cancelled if it is not started yet.
+     *
+     * @return a response object with the removed job as JSON, or the status 404 if the job is unknown
+     */
+    public Response removeJob(String id) {
+        Job job = jobManager.remove(id);
+        if (job == null) {
+            return Response.status(Status.NOT_FOUND).build();
+        }
+        return Response.status(Status.OK).entity(job).type(MediaType.APPLICATION_JSON).build();
+    }
+}
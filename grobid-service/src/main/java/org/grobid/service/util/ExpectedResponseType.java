@@ -1,5 +1,5 @@
 package org.grobid.service.util;
 
 public enum ExpectedResponseType {
-    BIBTEX, XML
+    BIBTEX, XML, ZIP, NDJSON
 }
@@ -1,6 +1,8 @@
 package org.grobid.service.util;
 
 import org.apache.commons.lang3.StringUtils;
+import org.grobid.core.engines.Engine;
+import org.grobid.core.factory.GrobidPoolingFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -24,6 +26,14 @@ public class GrobidRestUtils {
         return StringUtils.isBlank(result);
     }
 
+    /**
+     * Waits for an engine of the pool without the maximum wait of the requests, for the background
+     * processing of the documents. The engine must be returned to the pool once used.
+     */
+    public static Engine waitForEngine() throws InterruptedException {
+        return GrobidPoolingFactory.waitForEngineFromPool(true);
+    }
+
     public static Annotation getAnnotationFor(int type) {
         GrobidRestUtils.Annotation annotType = null;
         if (type == 0)
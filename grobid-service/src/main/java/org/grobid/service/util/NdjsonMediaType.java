@@ -0,0 +1,8 @@
+package org.grobid.service.util;
+
+/**
+ * Newline delimited JSON, one JSON object per line.
+ */
+public class NdjsonMediaType {
+    public static final String MEDIA_TYPE = "application/x-ndjson";
+}
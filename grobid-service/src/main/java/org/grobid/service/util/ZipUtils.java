@@ -4,6 +4,7 @@ import org.grobid.core.utilities.IOUtilities;
 
 import java.io.BufferedOutputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -12,6 +13,9 @@ import java.util.Enumeration;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 import java.io.PushbackInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.zip.ZipOutputStream;
 import java.util.zip.GZIPInputStream;
 
 public class ZipUtils {
@@ -44,6 +48,49 @@ public class ZipUtils {
 		out.close();
 	}
 
+	/**
+	 * Write a ZIP archive with the TEI result as tei.xml and the images of the asset directory.
+	 *
+	 * @param assetDirectory directory of the assets extracted from the PDF, possibly not existing
+	 */
+	public static void zipTeiAndAssets(String tei, File assetDirectory, OutputStream output) throws IOException {
+		ZipOutputStream out = new ZipOutputStream(output);
+		putEntry(out, "tei.xml", tei);
+		// put now the assets, i.e. all the files under the asset path
+		File[] files = assetDirectory.listFiles();
+		if (files != null) {
+			for (final File currFile : files) {
+				if (currFile.getName().toLowerCase().endsWith(".jpg")
+					|| currFile.getName().toLowerCase().endsWith(".png")) {
+					out.putNextEntry(new ZipEntry(currFile.getName()));
+					Files.copy(currFile.toPath(), out);
+					out.closeEntry();
+				}
+			}
+		}
+		out.finish();
+	}
+
+	/**
+	 * Write a text entry in a ZIP archive, encoded in UTF-8.
+	 */
+	public static void putEntry(ZipOutputStream out, String name, String content) throws IOException {
+		out.putNextEntry(new ZipEntry(name));
+		out.write(content.getBytes(StandardCharsets.UTF_8));
+		out.closeEntry();
+	}
+
+	/**
+	 * Check whether a file starts with the signature of a ZIP archive.
+	 */
+	public static boolean isZipFile(File file) throws IOException {
+		byte[] signature = new byte[4];
+		try (InputStream in = new FileInputStream(file)) {
+			return in.read(signature) == 4
+				&& signature[0] == 'P' && signature[1] == 'K' && signature[2] == 3 && signature[3] == 4;
+		}
+	}
+
 	public static final void main(String[] args) {
 		Enumeration entries;
 		ZipFile zipFile;
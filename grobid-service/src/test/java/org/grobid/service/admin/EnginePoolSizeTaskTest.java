@@ -0,0 +1,37 @@
+package org.grobid.service.admin;
+
+import com.google.common.collect.ImmutableMultimap;
+import org.junit.Test;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.startsWith;
+import static org.junit.Assert.assertThat;
+
+public class EnginePoolSizeTaskTest {
+
+    @Test
+    public void testExecute_aboveMaximum_shouldRejectSize() throws Exception {
+        assertThat(execute(new EnginePoolSizeTask(4), "100000"),
+            is("Invalid pool size: 100000, the size must be between 1 and 4"));
+    }
+
+    @Test
+    public void testExecute_invalidSize_shouldRejectSize() throws Exception {
+        EnginePoolSizeTask task = new EnginePoolSizeTask(4);
+
+        assertThat(execute(task, "0"), startsWith("Invalid pool size: 0"));
+        assertThat(execute(task, "four"), startsWith("Invalid pool size: four"));
+        assertThat(execute(task, null), startsWith("Invalid pool size: null"));
+    }
+
+    private static String execute(EnginePoolSizeTask task, String size) throws Exception {
+        ImmutableMultimap<String, String> parameters = size == null ?
+            ImmutableMultimap.of() : ImmutableMultimap.of("size", size);
+        StringWriter output = new StringWriter();
+        task.execute(parameters, new PrintWriter(output));
+        return output.toString().trim();
+    }
+}
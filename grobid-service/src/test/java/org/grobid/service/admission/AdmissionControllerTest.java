@@ -0,0 +1,104 @@
+package org.grobid.service.admission;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class AdmissionControllerTest {
+
+    @Test
+    public void testAdmit_queueFull_shouldReject() throws Exception {
+        AdmissionController controller = new AdmissionController("document", () -> 1, 0, 1000);
+
+        assertThat(controller.admit(), is(true));
+        assertThat(controller.admit(), is(false));
+        assertThat(controller.getRejected(), is(1L));
+
+        controller.release();
+        assertThat(controller.admit(), is(true));
+        assertThat(controller.getProcessed(), is(1));
+    }
+
+    @Test
+    public void testAdmit_waitTooLong_shouldReject() throws Exception {
+        AdmissionController controller = new AdmissionController("document", () -> 1, 1, 50);
+
+        assertThat(controller.admit(), is(true));
+        assertThat(controller.admit(), is(false));
+        assertThat(controller.getQueued(), is(0));
+    }
+
+    @Test
+    public void testAdmit_released_shouldAdmitQueued() throws Exception {
+        AdmissionController controller = new AdmissionController("text", () -> 1, 1, 10000);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            assertThat(controller.admit(), is(true));
+            Future<Boolean> queued = executor.submit(controller::admit);
+            while (controller.getQueued() == 0) {
+                Thread.sleep(5);
+            }
+
+            controller.release();
+
+            assertThat(queued.get(5, TimeUnit.SECONDS), is(true));
+            assertThat(controller.getProcessed(), is(1));
+            assertThat(controller.getQueued(), is(0));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testAdmit_maxRaised_shouldAdmitMore() throws Exception {
+        AtomicInteger max = new AtomicInteger(1);
+        AdmissionController controller = new AdmissionController("document", max::get, 0, 1000);
+
+        assertThat(controller.admit(), is(true));
+        assertThat(controller.admit(), is(false));
+        max.set(2);
+        assertThat(controller.admit(), is(true));
+    }
+
+    @Test
+    public void testAdmit_concurrent_shouldNotExceedMax() throws Exception {
+        AdmissionController controller = new AdmissionController("document", () -> 2, 100, 10000);
+        AtomicInteger current = new AtomicInteger();
+        AtomicInteger highest = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(8);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            for (int i = 0; i < 8; i++) {
+                executor.submit(() -> {
+                    try {
+                        if (controller.admit()) {
+                            highest.accumulateAndGet(current.incrementAndGet(), Math::max);
+                            Thread.sleep(20);
+                            current.decrementAndGet();
+                            controller.release();
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        done.countDown();
+                    }
+                    return null;
+                });
+            }
+            assertThat(done.await(10, TimeUnit.SECONDS), is(true));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(highest.get() <= 2, is(true));
+        assertThat(controller.getRejected(), is(0L));
+    }
+}
@@ -0,0 +1,111 @@
+package org.grobid.service.cache;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class DiskLruCacheTest {
+    private File directory;
+
+    @Before
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("cache").toFile();
+    }
+
+    @After
+    public void tearDown() {
+        FileUtils.deleteQuietly(directory);
+    }
+
+    @Test
+    public void testGet_shouldCountHitsAndMisses() {
+        DiskLruCache cache = new DiskLruCache(directory, 100);
+        cache.put("a", "<TEI/>");
+
+        assertThat(cache.get("a"), is("<TEI/>"));
+        assertThat(cache.get("b"), nullValue());
+        assertThat(cache.getHits(), is(1L));
+        assertThat(cache.getMisses(), is(1L));
+        assertThat(cache.getSize(), is(6L));
+    }
+
+    @Test
+    public void testPut_full_shouldEvictLeastRecentlyUsed() {
+        DiskLruCache cache = new DiskLruCache(directory, 10);
+        cache.put("a", "aaaa");
+        cache.put("b", "bbbb");
+        cache.get("a");
+
+        cache.put("c", "cccc");
+
+        assertThat(cache.get("b"), nullValue());
+        assertThat(new File(directory, "b").exists(), is(false));
+        assertThat(cache.get("a"), is("aaaa"));
+        assertThat(cache.get("c"), is("cccc"));
+        assertThat(cache.getSize(), is(8L));
+    }
+
+    @Test
+    public void testPut_sameKey_shouldReplaceValue() {
+        DiskLruCache cache = new DiskLruCache(directory, 10);
+        cache.put("a", "aaaa");
+        cache.put("a", "aa");
+
+        assertThat(cache.get("a"), is("aa"));
+        assertThat(cache.getCount(), is(1));
+        assertThat(cache.getSize(), is(2L));
+    }
+
+    @Test
+    public void testPut_tooLarge_shouldIgnoreValue() {
+        DiskLruCache cache = new DiskLruCache(directory, 2);
+        cache.put("a", "aaaa");
+
+        assertThat(cache.get("a"), nullValue());
+        assertThat(cache.getCount(), is(0));
+    }
+
+    @Test
+    public void testNew_shouldKeepPreviousEntries() {
+        new DiskLruCache(directory, 100).put("a", "aaaa");
+
+        DiskLruCache cache = new DiskLruCache(directory, 100);
+
+        assertThat(cache.get("a"), is("aaaa"));
+        assertThat(cache.getSize(), is(4L));
+    }
+
+    @Test
+    public void testGet_fileRemoved_shouldForgetEntry() {
+        DiskLruCache cache = new DiskLruCache(directory, 100);
+        cache.put("a", "aaaa");
+        cache.put("b", "bb");
+        FileUtils.deleteQuietly(new File(directory, "a"));
+
+        assertThat(cache.get("a"), nullValue());
+        assertThat(cache.getCount(), is(1));
+        assertThat(cache.getSize(), is(2L));
+    }
+
+    @Test
+    public void testPut_directoryRemoved_shouldCreateItAgain() {
+        DiskLruCache cache = new DiskLruCache(directory, 100);
+        cache.put("a", "aaaa");
+        FileUtils.deleteQuietly(directory);
+
+        cache.put("b", "bb");
+
+        assertThat(cache.get("b"), is("bb"));
+        assertThat(cache.get("a"), nullValue());
+        assertThat(cache.getCount(), is(1));
+        assertThat(cache.getSize(), is(2L));
+    }
+}
@@ -0,0 +1,107 @@
+package org.grobid.service.jobs;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class JobStoreTest {
+    private File directory;
+
+    @Before
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("jobs").toFile();
+    }
+
+    @After
+    public void tearDown() {
+        FileUtils.deleteQuietly(directory);
+    }
+
+    @Test
+    public void testCreate_storeFull_shouldReturnNull() {
+        JobStore store = new JobStore(directory, 2, 60000);
+
+        assertThat(store.create(Job.Type.TEI), notNullValue());
+        Job job = store.create(Job.Type.ASSETS);
+        job.start();
+        job.succeed(true);
+
+        assertThat(store.create(Job.Type.TEI), nullValue());
+        assertThat(store.size(), is(2));
+    }
+
+    @Test
+    public void testCreate_expiredJob_shouldReplaceIt() throws Exception {
+        JobStore store = new JobStore(directory, 2, 0);
+        Job running = store.create(Job.Type.TEI);
+        running.start();
+        Job finished = store.create(Job.Type.TEI);
+        finished.fail("error");
+        Files.write(store.getResultFile(finished).toPath(), new byte[]{1});
+
+        Job job = store.create(Job.Type.TEI);
+
+        assertThat(job, notNullValue());
+        assertThat(store.get(finished.getId()), nullValue());
+        assertThat(store.get(running.getId()), is(running));
+        assertThat(store.getResultFile(finished).exists(), is(false));
+    }
+
+    @Test
+    public void testRemove_shouldDeleteFiles() throws Exception {
+        JobStore store = new JobStore(directory, 10, 60000);
+        Job job = store.create(Job.Type.ASSETS);
+        Files.write(store.getInputFile(job).toPath(), new byte[]{1});
+        Files.write(store.getResultFile(job).toPath(), new byte[]{1});
+
+        assertThat(store.remove(job.getId()), is(job));
+
+        assertThat(store.contains(job), is(false));
+        assertThat(store.getInputFile(job).exists(), is(false));
+        assertThat(store.getResultFile(job).exists(), is(false));
+        assertThat(store.remove(job.getId()), nullValue());
+    }
+
+    @Test
+    public void testCountByStatus() {
+        JobStore store = new JobStore(directory, 10, 60000);
+        store.create(Job.Type.TEI);
+        store.create(Job.Type.TEI).start();
+        store.create(Job.Type.TEI).succeed(false);
+
+        Map<Job.Status, Integer> counts = store.countByStatus();
+
+        assertThat(counts.get(Job.Status.QUEUED), is(1));
+        assertThat(counts.get(Job.Status.RUNNING), is(1));
+        assertThat(counts.get(Job.Status.DONE), is(1));
+        assertThat(counts.get(Job.Status.FAILED), is(0));
+    }
+
+    @Test
+    public void testNew_shouldDeleteOnlyJobFiles() throws Exception {
+        String id = UUID.randomUUID().toString();
+        File leftoverInput = new File(directory, id + ".pdf");
+        File leftoverResult = new File(directory, id + ".tei.xml");
+        File other = new File(directory, "leftover.pdf");
+        Files.write(leftoverInput.toPath(), new byte[]{1});
+        Files.write(leftoverResult.toPath(), new byte[]{1});
+        Files.write(other.toPath(), new byte[]{1});
+
+        new JobStore(directory, 10, 60000);
+
+        assertThat(leftoverInput.exists(), is(false));
+        assertThat(leftoverResult.exists(), is(false));
+        assertThat(other.exists(), is(true));
+    }
+}
@@ -0,0 +1,109 @@
+package org.grobid.service.process;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class DocumentBatchTest {
+    private File directory;
+
+    @Before
+    public void setUp() throws Exception {
+        directory = new File(Files.createTempDirectory("batch").toFile(), "documents");
+    }
+
+    @After
+    public void tearDown() {
+        FileUtils.deleteQuietly(directory.getParentFile());
+    }
+
+    @Test
+    public void testAdd_pdf_shouldAddDocument() throws Exception {
+        DocumentBatch batch = new DocumentBatch(directory);
+        batch.add("paper.pdf", new ByteArrayInputStream(bytes("%PDF-1.4")));
+        batch.add(null, new ByteArrayInputStream(bytes("%PDF-1.5")));
+
+        assertThat(batch.size(), is(2));
+        assertThat(batch.getDocuments().get(0).getName(), is("paper.pdf"));
+        assertThat(batch.getDocuments().get(1).getName(), is("document.pdf"));
+        assertThat(new String(Files.readAllBytes(batch.getDocuments().get(0).getFile().toPath()),
+            StandardCharsets.UTF_8), is("%PDF-1.4"));
+    }
+
+    @Test
+    public void testAdd_zip_shouldAddPdfEntries() throws Exception {
+        ByteArrayOutputStream archive = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(archive)) {
+            putEntry(zip, "a.pdf", "%PDF-a");
+            putEntry(zip, "dir/b.PDF", "%PDF-b");
+            putEntry(zip, "readme.txt", "text");
+            putEntry(zip, "__MACOSX/._a.pdf", "metadata");
+        }
+
+        DocumentBatch batch = new DocumentBatch(directory);
+        batch.add("papers.zip", new ByteArrayInputStream(archive.toByteArray()));
+
+        assertThat(batch.size(), is(2));
+        assertThat(batch.getDocuments().get(0).getName(), is("a.pdf"));
+        assertThat(batch.getDocuments().get(1).getName(), is("dir/b.PDF"));
+        assertThat(new String(Files.readAllBytes(batch.getDocuments().get(1).getFile().toPath()),
+            StandardCharsets.UTF_8), is("%PDF-b"));
+        // only the extracted documents are kept
+        assertThat(directory.list().length, is(2));
+    }
+
+    @Test
+    public void testAdd_sameName_shouldMakeNamesUnique() throws Exception {
+        DocumentBatch batch = new DocumentBatch(directory);
+        batch.add("paper.pdf", new ByteArrayInputStream(bytes("%PDF-1")));
+        batch.add("paper.pdf", new ByteArrayInputStream(bytes("%PDF-2")));
+        batch.add("paper.pdf", new ByteArrayInputStream(bytes("%PDF-3")));
+
+        assertThat(batch.getDocuments().get(1).getName(), is("paper-1.pdf"));
+        assertThat(batch.getDocuments().get(2).getName(), is("paper-2.pdf"));
+    }
+
+    @Test
+    public void testAdd_sameNameWithoutExtension_shouldMakeNamesUnique() throws Exception {
+        DocumentBatch batch = new DocumentBatch(directory);
+        batch.add("paper.pdf", new ByteArrayInputStream(bytes("%PDF-1")));
+        batch.add("paper.PDF", new ByteArrayInputStream(bytes("%PDF-2")));
+        batch.add("paper", new ByteArrayInputStream(bytes("%PDF-3")));
+
+        assertThat(batch.getDocuments().get(0).getName(), is("paper.pdf"));
+        assertThat(batch.getDocuments().get(1).getName(), is("paper-1.PDF"));
+        assertThat(batch.getDocuments().get(2).getName(), is("paper-2"));
+    }
+
+    @Test
+    public void testClose_shouldRemoveFiles() throws Exception {
+        DocumentBatch batch = new DocumentBatch(directory);
+        batch.add("paper.pdf", new ByteArrayInputStream(bytes("%PDF-1.4")));
+
+        batch.close();
+
+        assertThat(directory.exists(), is(false));
+    }
+
+    private static byte[] bytes(String content) {
+        return content.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void putEntry(ZipOutputStream zip, String name, String content) throws Exception {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(bytes(content));
+        zip.closeEntry();
+    }
+}
@@ -0,0 +1,24 @@
+package org.grobid.service.process;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class GrobidRestProcessBatchTest {
+
+    @Test
+    public void testGetWorkerCount_shouldLeaveAnEngine() {
+        assertThat(GrobidRestProcessBatch.getWorkerCount(10, 4), is(3));
+    }
+
+    @Test
+    public void testGetWorkerCount_fewDocuments_shouldHaveOneWorkerPerDocument() {
+        assertThat(GrobidRestProcessBatch.getWorkerCount(2, 10), is(2));
+    }
+
+    @Test
+    public void testGetWorkerCount_singleEngine_shouldHaveOneWorker() {
+        assertThat(GrobidRestProcessBatch.getWorkerCount(10, 1), is(1));
+    }
+}